@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jsscripting.internal;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.automation.jsscripting.internal.OpenhabGraalJSScriptEngine.PreparedEngine;
+import org.openhab.automation.jsscripting.internal.fs.watch.JSDependencyTracker;
+import org.openhab.core.common.ThreadPoolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps GraalJS engines with an initialized polyglot context ready for new script engines.
+ *
+ * <p>
+ * Creating and initializing a context takes a noticeable amount of time, which otherwise delays the first run of a
+ * transformation or script after it has been loaded or changed. Engines taken from the pool are replaced in the
+ * background. Only the creation of the context is done in advance: a taken engine belongs to one script engine only,
+ * and the globals and the openHAB JavaScript library are still evaluated per script engine, as they depend on it.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+public class GraalJSContextPool {
+    private static final String THREAD_POOL_NAME = "jsscripting";
+
+    private final Logger logger = LoggerFactory.getLogger(GraalJSContextPool.class);
+
+    private final Supplier<PreparedEngine> preparer;
+    private final Consumer<PreparedEngine> initializer;
+    private final Executor executor;
+
+    private final ConcurrentLinkedQueue<PreparedEngine> idle = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final AtomicBoolean refilling = new AtomicBoolean();
+    private volatile int size;
+
+    private final AtomicLong taken = new AtomicLong();
+    private final AtomicLong missed = new AtomicLong();
+    private final AtomicLong waitTime = new AtomicLong();
+
+    public GraalJSContextPool(GraalJSScriptEngineConfiguration configuration, JSDependencyTracker jsDependencyTracker) {
+        this(() -> OpenhabGraalJSScriptEngine.prepare(configuration, jsDependencyTracker),
+                OpenhabGraalJSScriptEngine::initialize, ThreadPoolManager.getPool(THREAD_POOL_NAME));
+    }
+
+    /**
+     * @param preparer creates an engine with a new context
+     * @param initializer initializes the context of an engine
+     * @param executor runs the refills
+     */
+    GraalJSContextPool(Supplier<PreparedEngine> preparer, Consumer<PreparedEngine> initializer, Executor executor) {
+        this.preparer = preparer;
+        this.initializer = initializer;
+        this.executor = executor;
+    }
+
+    /**
+     * Sets the number of engines to keep ready. Engines above the new size are closed.
+     *
+     * @param size the number of engines, 0 disables the pool
+     */
+    public void setSize(int size) {
+        this.size = size;
+        while (idleCount.get() > size) {
+            PreparedEngine engine = poll();
+            if (engine == null) {
+                break;
+            }
+            close(engine);
+        }
+        refill();
+    }
+
+    /**
+     * Replaces all idle engines, e.g. because they were created with an outdated configuration.
+     */
+    public void clear() {
+        int size = this.size;
+        setSize(0);
+        setSize(size);
+    }
+
+    /**
+     * Takes an engine from the pool, or creates a new one if the pool is empty.
+     *
+     * @return an engine which has not been used by a script yet
+     */
+    public PreparedEngine take() {
+        long start = System.nanoTime();
+        PreparedEngine engine = poll();
+        if (engine == null) {
+            engine = preparer.get();
+            if (size > 0) {
+                missed.incrementAndGet();
+            }
+        }
+        if (size > 0) {
+            taken.incrementAndGet();
+            waitTime.addAndGet(System.nanoTime() - start);
+            refill();
+        }
+        return engine;
+    }
+
+    /**
+     * Closes all idle engines and stops refilling the pool.
+     */
+    public void close() {
+        setSize(0);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getIdle() {
+        return idleCount.get();
+    }
+
+    /**
+     * @return the number of engines taken while the pool was enabled
+     */
+    public long getTaken() {
+        return taken.get();
+    }
+
+    /**
+     * @return the number of engines that had to be created because the pool was empty
+     */
+    public long getMissed() {
+        return missed.get();
+    }
+
+    /**
+     * @return the total time spent taking engines while the pool was enabled in nanoseconds
+     */
+    public long getWaitTime() {
+        return waitTime.get();
+    }
+
+    private @Nullable PreparedEngine poll() {
+        PreparedEngine engine = idle.poll();
+        if (engine != null) {
+            idleCount.decrementAndGet();
+        }
+        return engine;
+    }
+
+    private void refill() {
+        if (idleCount.get() < size && refilling.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                try {
+                    while (idleCount.get() < size) {
+                        PreparedEngine engine = preparer.get();
+                        initializer.accept(engine);
+                        idle.offer(engine);
+                        idleCount.incrementAndGet();
+                    }
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to prepare GraalJS context: {}", e.getMessage());
+                    refilling.set(false);
+                    return;
+                }
+                refilling.set(false);
+                // the size may have changed or engines may have been taken while the last one was created
+                setSize(size);
+            });
+        }
+    }
+
+    private void close(PreparedEngine engine) {
+        try {
+            engine.engine().close();
+        } catch (RuntimeException e) {
+            logger.debug("Failed to close GraalJS context: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jsscripting.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Registers the metrics of the GraalJS script engines and the {@link GraalJSContextPool} in the openHAB meter
+ * registry.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+public class GraalJSMetrics {
+    private static final String METRIC_PREFIX = "openhab.automation.jsscripting.";
+    private static final String POOL_METRIC_PREFIX = METRIC_PREFIX + "pool.";
+
+    private final GraalJSContextPool pool;
+    private final List<Meter> meters = new ArrayList<>();
+    private @Nullable MeterRegistry registry;
+    private volatile @Nullable Timer initialization;
+
+    public GraalJSMetrics(GraalJSContextPool pool) {
+        this.pool = pool;
+    }
+
+    public synchronized void bind(MeterRegistry registry) {
+        unbind();
+        meters.add(Gauge.builder(POOL_METRIC_PREFIX + "size", pool, GraalJSContextPool::getSize)
+                .description("Contexts to keep ready").register(registry));
+        meters.add(Gauge.builder(POOL_METRIC_PREFIX + "idle", pool, GraalJSContextPool::getIdle)
+                .description("Contexts ready to be used").register(registry));
+        meters.add(FunctionCounter.builder(POOL_METRIC_PREFIX + "taken", pool, GraalJSContextPool::getTaken)
+                .description("Contexts taken from the pool").register(registry));
+        meters.add(FunctionCounter.builder(POOL_METRIC_PREFIX + "missed", pool, GraalJSContextPool::getMissed)
+                .description("Contexts created on demand because the pool was empty").register(registry));
+        meters.add(FunctionTimer
+                .builder(POOL_METRIC_PREFIX + "wait", pool, GraalJSContextPool::getTaken,
+                        GraalJSContextPool::getWaitTime, TimeUnit.NANOSECONDS)
+                .description("Time spent waiting for a context").register(registry));
+        Timer initialization = Timer.builder(METRIC_PREFIX + "engine.initialization")
+                .description("Time spent injecting the globals and the openHAB JavaScript library into an engine")
+                .publishPercentileHistogram().register(registry);
+        meters.add(initialization);
+        this.initialization = initialization;
+        this.registry = registry;
+    }
+
+    /**
+     * Records the initialization of a script engine.
+     *
+     * @param duration the duration of the initialization in nanoseconds
+     */
+    public void recordInitialization(long duration) {
+        Timer initialization = this.initialization;
+        if (initialization != null) {
+            initialization.record(duration, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public synchronized void unbind() {
+        MeterRegistry registry = this.registry;
+        if (registry != null) {
+            meters.forEach(registry::remove);
+        }
+        meters.clear();
+        initialization = null;
+        this.registry = null;
+    }
+}
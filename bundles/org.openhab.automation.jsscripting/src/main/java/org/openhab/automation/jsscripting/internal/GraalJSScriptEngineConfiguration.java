@@ -33,6 +33,7 @@ public class GraalJSScriptEngineConfiguration {
     private static final String CFG_SCRIPT_CONDITION_WRAPPER_ENABLED = "scriptConditionWrapperEnabled";
     private static final String CFG_EVENT_CONVERSION_ENABLED = "eventConversionEnabled";
     private static final String CFG_DEPENDENCY_TRACKING_ENABLED = "dependencyTrackingEnabled";
+    private static final String CFG_CONTEXT_POOL_ENABLED = "contextPoolEnabled";
 
     private static final int INJECTION_ENABLED_FOR_SCRIPT_MODULES_ONLY = 1;
     private static final int INJECTION_ENABLED_FOR_SCRIPT_MODULES_AND_TRANSFORMATIONS = 2;
@@ -43,6 +44,7 @@ public class GraalJSScriptEngineConfiguration {
     private boolean scriptConditionWrapperEnabled = false;
     private boolean eventConversionEnabled = true;
     private boolean dependencyTrackingEnabled = true;
+    private boolean contextPoolEnabled = false;
 
     /**
      * Create a new configuration instance from the given parameters.
@@ -63,6 +65,7 @@ public class GraalJSScriptEngineConfiguration {
         boolean oldDependencyTrackingEnabled = dependencyTrackingEnabled;
         boolean oldScriptConditionWrapperEnabled = scriptConditionWrapperEnabled;
         boolean oldEventConversionEnabled = eventConversionEnabled;
+        boolean oldContextPoolEnabled = contextPoolEnabled;
 
         this.update(config);
 
@@ -91,6 +94,9 @@ public class GraalJSScriptEngineConfiguration {
                         "Disabled event conversion for JavaScript Scripting. Please resave your scripts to apply this change.");
             }
         }
+        if (oldContextPoolEnabled != contextPoolEnabled) {
+            logger.info("{} context pool for JavaScript Scripting.", contextPoolEnabled ? "Enabled" : "Disabled");
+        }
     }
 
     /**
@@ -111,6 +117,7 @@ public class GraalJSScriptEngineConfiguration {
                 true);
         dependencyTrackingEnabled = ConfigParser.valueAsOrElse(config.get(CFG_DEPENDENCY_TRACKING_ENABLED),
                 Boolean.class, true);
+        contextPoolEnabled = ConfigParser.valueAsOrElse(config.get(CFG_CONTEXT_POOL_ENABLED), Boolean.class, false);
     }
 
     /**
@@ -163,4 +170,13 @@ public class GraalJSScriptEngineConfiguration {
     public boolean isDependencyTrackingEnabled() {
         return dependencyTrackingEnabled;
     }
+
+    /**
+     * Whether initialized contexts are kept ready for new script engines (see {@link GraalJSContextPool}).
+     *
+     * @return whether the context pool is enabled
+     */
+    public boolean isContextPoolEnabled() {
+        return contextPoolEnabled;
+    }
 }
@@ -26,11 +26,15 @@ import org.openhab.core.OpenHAB;
 import org.openhab.core.automation.module.script.ScriptDependencyTracker;
 import org.openhab.core.automation.module.script.ScriptEngineFactory;
 import org.openhab.core.config.core.ConfigurableService;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
 import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -63,6 +67,8 @@ public class GraalJSScriptEngineFactory implements ScriptEngineFactory {
 
     private final JSScriptServiceUtil jsScriptServiceUtil;
     private final JSDependencyTracker jsDependencyTracker;
+    private final GraalJSContextPool contextPool;
+    private final GraalJSMetrics metrics;
 
     @Activate
     public GraalJSScriptEngineFactory(final @Reference JSScriptServiceUtil jsScriptServiceUtil,
@@ -72,15 +78,38 @@ public class GraalJSScriptEngineFactory implements ScriptEngineFactory {
         this.jsDependencyTracker = jsDependencyTracker;
         this.jsScriptServiceUtil = jsScriptServiceUtil;
         this.configuration = new GraalJSScriptEngineConfiguration(config);
+        this.contextPool = new GraalJSContextPool(configuration, jsDependencyTracker);
+        this.metrics = new GraalJSMetrics(contextPool);
 
         if (OpenhabGraalJSScriptEngine.getLanguage() == null) {
             logger.error(LANG_NOT_INITIALIZED_MSG);
+        } else {
+            updateContextPool();
         }
     }
 
     @Modified
     protected void modified(Map<String, ?> config) {
         configuration.modified(config);
+        // idle engines were prepared with the previous configuration
+        contextPool.clear();
+        if (OpenhabGraalJSScriptEngine.getLanguage() != null) {
+            updateContextPool();
+        }
+    }
+
+    @Deactivate
+    protected void deactivate() {
+        contextPool.close();
+    }
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    public void setMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        metrics.bind(meterRegistryProvider.getOHMeterRegistry());
+    }
+
+    public void unsetMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        metrics.unbind();
     }
 
     @Override
@@ -103,11 +132,15 @@ public class GraalJSScriptEngineFactory implements ScriptEngineFactory {
             return null;
         }
         return new DebuggingGraalScriptEngine<>(
-                new OpenhabGraalJSScriptEngine(configuration, jsScriptServiceUtil, jsDependencyTracker));
+                new OpenhabGraalJSScriptEngine(configuration, jsScriptServiceUtil, contextPool.take(), metrics));
     }
 
     @Override
     public @Nullable ScriptDependencyTracker getDependencyTracker() {
         return jsDependencyTracker;
     }
+
+    private void updateContextPool() {
+        contextPool.setSize(configuration.isContextPoolEnabled() ? Runtime.getRuntime().availableProcessors() : 0);
+    }
 }
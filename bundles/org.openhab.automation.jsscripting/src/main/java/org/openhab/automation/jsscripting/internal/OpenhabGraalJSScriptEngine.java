@@ -35,6 +35,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -54,7 +55,7 @@ import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.Value;
 import org.graalvm.polyglot.io.IOAccess;
 import org.openhab.automation.jsscripting.internal.fs.DelegatingFileSystem;
-import org.openhab.automation.jsscripting.internal.fs.PrefixedSeekableByteChannel;
+import org.openhab.automation.jsscripting.internal.fs.ModuleSourceCache;
 import org.openhab.automation.jsscripting.internal.fs.ReadOnlySeekableByteArrayChannel;
 import org.openhab.automation.jsscripting.internal.fs.watch.JSDependencyTracker;
 import org.openhab.automation.jsscripting.internal.scriptengine.InvocationInterceptingScriptEngineWithInvocableAndCompilableAndAutoCloseable;
@@ -119,6 +120,9 @@ public class OpenhabGraalJSScriptEngine
             .compile("^\\s*\\(\\s*(?:function\\s*[\\w$]*\\s*\\([^)]*\\)|\\([^)]*\\)\\s*=>)\\s*\\{?.*$");
 
     private static final String REQUIRE_WRAPPER_NAME = "__wraprequire__";
+    /** Sources of the modules loaded by all instances, prefixed to use the wrapped "require" function */
+    private static final ModuleSourceCache MODULE_SOURCE_CACHE = new ModuleSourceCache(
+            OpenhabGraalJSScriptEngine.class, ("require=" + REQUIRE_WRAPPER_NAME + "(require);").getBytes());
 
     static {
         File cachePath = Path.of(OpenHAB.getUserDataFolder(), "cache", "org.graalvm.polyglot").toFile();
@@ -163,9 +167,10 @@ public class OpenhabGraalJSScriptEngine
     private final JSRuntimeFeatures jsRuntimeFeatures;
     private final LifecycleTracker lifecycleTracker = new LifecycleTracker();
     private final GraalJSScriptEngineConfiguration configuration;
+    private final GraalJSMetrics metrics;
 
-    // these fields start as null because they are populated on first use
-    private @Nullable Consumer<String> scriptDependencyListener;
+    /** the listener for script dependencies, which is populated on first use */
+    private final AtomicReference<@Nullable Consumer<String>> scriptDependencyListener;
     private String engineIdentifier = "<uninitialized>";
 
     private boolean initialized = false;
@@ -174,14 +179,27 @@ public class OpenhabGraalJSScriptEngine
     /**
      * Creates an implementation of ScriptEngine {@code (& Invocable)}, wrapping the contained engine,
      * that tracks the script lifecycle and provides hooks for scripts to do so too.
+     *
+     * @param preparedEngine the engine to wrap, see {@link #prepare}
+     * @param metrics the metrics to record the initialization time to
      */
     public OpenhabGraalJSScriptEngine(GraalJSScriptEngineConfiguration configuration,
-            JSScriptServiceUtil jsScriptServiceUtil, JSDependencyTracker jsDependencyTracker) {
-        super(null); // delegate depends on fields not yet initialized, so we cannot set it immediately
+            JSScriptServiceUtil jsScriptServiceUtil, PreparedEngine preparedEngine, GraalJSMetrics metrics) {
+        super(preparedEngine.engine());
         this.configuration = configuration;
+        this.metrics = metrics;
         this.jsRuntimeFeatures = jsScriptServiceUtil.getJSRuntimeFeatures(lock);
+        this.scriptDependencyListener = preparedEngine.scriptDependencyListener();
+    }
 
-        delegate = GraalJSScriptEngine.create(ENGINE, Context.newBuilder(LANGUAGE_ID) //
+    /**
+     * Creates the GraalJS engine wrapped by an {@link OpenhabGraalJSScriptEngine}. It does not depend on the script, so
+     * it can be created in advance.
+     */
+    public static PreparedEngine prepare(GraalJSScriptEngineConfiguration configuration,
+            JSDependencyTracker jsDependencyTracker) {
+        AtomicReference<@Nullable Consumer<String>> scriptDependencyListener = new AtomicReference<>();
+        GraalJSScriptEngine engine = GraalJSScriptEngine.create(ENGINE, Context.newBuilder(LANGUAGE_ID) //
                 .allowIO(IOAccess.newBuilder() //
                         .fileSystem(new DelegatingFileSystem(FileSystems.getDefault().provider()) {
                             @Override
@@ -189,25 +207,17 @@ public class OpenhabGraalJSScriptEngine
                                     FileAttribute<?>... attrs) throws IOException {
                                 if (configuration.isDependencyTrackingEnabled()
                                         && path.startsWith(GraalJSScriptEngineFactory.JS_LIB_PATH)) {
-                                    Consumer<String> localScriptDependencyListener = scriptDependencyListener;
+                                    Consumer<String> localScriptDependencyListener = scriptDependencyListener.get();
                                     if (localScriptDependencyListener != null) {
                                         localScriptDependencyListener.accept(path.toString());
                                     }
                                 }
 
                                 if (path.toString().endsWith(".js")) {
-                                    SeekableByteChannel sbc = null;
-                                    if (isRootNodePath(path)) {
-                                        InputStream is = getClass().getResourceAsStream(nodeFileToResource(path));
-                                        if (is == null) {
-                                            throw new IOException("Could not read " + path);
-                                        }
-                                        sbc = new ReadOnlySeekableByteArrayChannel(is.readAllBytes());
-                                    } else {
-                                        sbc = super.newByteChannel(path, options, attrs);
-                                    }
-                                    return new PrefixedSeekableByteChannel(
-                                            ("require=" + REQUIRE_WRAPPER_NAME + "(require);").getBytes(), sbc);
+                                    byte[] source = isRootNodePath(path)
+                                            ? MODULE_SOURCE_CACHE.getResource(nodeFileToResource(path))
+                                            : MODULE_SOURCE_CACHE.getFile(path);
+                                    return new ReadOnlySeekableByteArrayChannel(source);
                                 } else {
                                     return super.newByteChannel(path, options, attrs);
                                 }
@@ -217,7 +227,8 @@ public class OpenhabGraalJSScriptEngine
                             public void checkAccess(Path path, Set<? extends AccessMode> modes,
                                     LinkOption... linkOptions) throws IOException {
                                 if (isRootNodePath(path)) {
-                                    if (getClass().getResource(nodeFileToResource(path)) == null) {
+                                    if (OpenhabGraalJSScriptEngine.class
+                                            .getResource(nodeFileToResource(path)) == null) {
                                         throw new NoSuchFileException(path.toString());
                                     }
                                 } else {
@@ -253,7 +264,7 @@ public class OpenhabGraalJSScriptEngine
                 // - allowEnvironmentAccess(EnvironmentAccess.INHERIT)
                 .allowAllAccess(true) //
                 // allow class lookup from scripts
-                .hostClassLoader(getClass().getClassLoader()) //
+                .hostClassLoader(OpenhabGraalJSScriptEngine.class.getClassLoader()) //
                 // allow experimental options
                 .allowExperimentalOptions(true) //
                 // choose the path to look for CommonJS module (i.e. node_modules)
@@ -265,6 +276,14 @@ public class OpenhabGraalJSScriptEngine
                 .option("js.ecmascript-version", "2025") //
                 // enable CommonJS module support
                 .option("js.commonjs-require", "true"));
+        return new PreparedEngine(engine, scriptDependencyListener);
+    }
+
+    /**
+     * Initializes the polyglot context of a prepared engine, which is otherwise created on first use.
+     */
+    public static void initialize(PreparedEngine preparedEngine) {
+        preparedEngine.engine().getPolyglotContext().initialize(LANGUAGE_ID);
     }
 
     @Override
@@ -279,6 +298,7 @@ public class OpenhabGraalJSScriptEngine
         if (initialized) {
             return;
         }
+        long start = System.nanoTime();
 
         ScriptContext ctx = delegate.getContext();
         if (ctx == null) {
@@ -305,7 +325,7 @@ public class OpenhabGraalJSScriptEngine
                     "Failed to retrieve script dependency listener from engine bindings. Script dependency tracking will be disabled for engine '{}'.",
                     engineIdentifier);
         }
-        scriptDependencyListener = localScriptDependencyListener;
+        scriptDependencyListener.set(localScriptDependencyListener);
 
         ScriptExtensionModuleProvider scriptExtensionModuleProvider = new ScriptExtensionModuleProvider(
                 scriptExtensionAccessor, lock, lifecycleTracker);
@@ -355,7 +375,10 @@ public class OpenhabGraalJSScriptEngine
                     delegate.eval(OPENHAB_JS_INJECTION_CODE);
                 }
             }
-            logger.debug("Successfully initialized GraalJS script engine '{}'.", engineIdentifier);
+            long duration = System.nanoTime() - start;
+            metrics.recordInitialization(duration);
+            logger.debug("Successfully initialized GraalJS script engine '{}' in {} ms.", engineIdentifier,
+                    TimeUnit.NANOSECONDS.toMillis(duration));
         } catch (ScriptException e) {
             logger.error("Could not inject global script", e);
         }
@@ -611,4 +634,12 @@ public class OpenhabGraalJSScriptEngine
     public static @Nullable Language getLanguage() {
         return ENGINE.getLanguages().get(LANGUAGE_ID);
     }
+
+    /**
+     * A GraalJS engine for an {@link OpenhabGraalJSScriptEngine}, together with the listener its file system reports
+     * script dependencies to.
+     */
+    public record PreparedEngine(GraalJSScriptEngine engine,
+            AtomicReference<@Nullable Consumer<String>> scriptDependencyListener) {
+    }
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jsscripting.internal.fs;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Caches the prefixed sources of JavaScript modules loaded by the script engines.
+ *
+ * <p>
+ * All engines share one polyglot engine, which reuses the parsed code of equal sources. Serving the same bytes to
+ * every engine avoids reading each module from disk again for every script, e.g. for all script files on startup.
+ * Files are read again when their modification time or size changes, resources of the bundle never change.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+public class ModuleSourceCache {
+
+    private static final int MAX_CACHE_SIZE = 512;
+
+    private final Class<?> resourceClass;
+    private final byte[] prefix;
+    private final Map<String, byte[]> resources = new ConcurrentHashMap<>();
+    private final Map<Path, CachedFile> files = new ConcurrentHashMap<>();
+
+    /**
+     * @param resourceClass the class used to load resources
+     * @param prefix the bytes prepended to each source
+     */
+    public ModuleSourceCache(Class<?> resourceClass, byte[] prefix) {
+        this.resourceClass = resourceClass;
+        this.prefix = prefix;
+    }
+
+    /**
+     * @param name the name of a resource of the bundle
+     * @return the prefixed content of the resource
+     * @throws IOException if the resource does not exist or cannot be read
+     */
+    public byte[] getResource(String name) throws IOException {
+        byte[] source = resources.get(name);
+        if (source == null) {
+            try (InputStream is = resourceClass.getResourceAsStream(name)) {
+                if (is == null) {
+                    throw new IOException("Could not read " + name);
+                }
+                source = prefixed(is.readAllBytes());
+            }
+            if (resources.size() >= MAX_CACHE_SIZE) {
+                resources.clear();
+            }
+            resources.put(name, source);
+        }
+        return source;
+    }
+
+    /**
+     * @param path the path of a file
+     * @return the prefixed content of the file
+     * @throws IOException if the file cannot be read
+     */
+    public byte[] getFile(Path path) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        long size = attributes.size();
+
+        CachedFile cached = files.get(path);
+        if (cached != null && cached.lastModified() == lastModified && cached.size() == size) {
+            return cached.source();
+        }
+
+        byte[] source = prefixed(Files.readAllBytes(path));
+        if (files.size() >= MAX_CACHE_SIZE) {
+            files.clear();
+        }
+        files.put(path, new CachedFile(source, lastModified, size));
+        return source;
+    }
+
+    private byte[] prefixed(byte[] content) {
+        byte[] source = new byte[prefix.length + content.length];
+        System.arraycopy(prefix, 0, source, 0, prefix.length);
+        System.arraycopy(content, 0, source, prefix.length, content.length);
+        return source;
+    }
+
+    private record CachedFile(byte[] source, long lastModified, long size) {
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jsscripting.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.automation.jsscripting.internal.OpenhabGraalJSScriptEngine.PreparedEngine;
+
+import com.oracle.truffle.js.scriptengine.GraalJSScriptEngine;
+
+/**
+ * Tests for {@link GraalJSContextPool}.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+public class GraalJSContextPoolTest {
+
+    private final List<PreparedEngine> prepared = new ArrayList<>();
+    private final List<PreparedEngine> initialized = new ArrayList<>();
+    private final List<Runnable> refills = new ArrayList<>();
+
+    private PreparedEngine prepare() {
+        PreparedEngine engine = new PreparedEngine(mock(GraalJSScriptEngine.class), new AtomicReference<>());
+        prepared.add(engine);
+        return engine;
+    }
+
+    private GraalJSContextPool createPool(Executor executor) {
+        return new GraalJSContextPool(this::prepare, initialized::add, executor);
+    }
+
+    @Test
+    public void poolIsFilledWithInitializedEngines() {
+        GraalJSContextPool pool = createPool(Runnable::run);
+
+        pool.setSize(2);
+
+        assertEquals(2, pool.getIdle());
+        assertEquals(prepared, initialized);
+        assertEquals(2, prepared.size());
+    }
+
+    @Test
+    public void takeReturnsIdleEngineAndRefills() {
+        GraalJSContextPool pool = createPool(Runnable::run);
+        pool.setSize(2);
+
+        PreparedEngine engine = pool.take();
+
+        assertSame(prepared.get(0), engine);
+        assertEquals(1, pool.getTaken());
+        assertEquals(0, pool.getMissed());
+        assertEquals(2, pool.getIdle());
+        assertEquals(3, prepared.size());
+    }
+
+    @Test
+    public void takeFromEmptyPoolCreatesEngine() {
+        GraalJSContextPool pool = createPool(refills::add);
+        pool.setSize(1);
+        assertEquals(0, pool.getIdle());
+
+        PreparedEngine engine = pool.take();
+
+        assertSame(prepared.get(0), engine);
+        assertFalse(initialized.contains(engine));
+        assertEquals(1, pool.getTaken());
+        assertEquals(1, pool.getMissed());
+
+        refills.get(0).run();
+        assertEquals(1, pool.getIdle());
+    }
+
+    @Test
+    public void disabledPoolCreatesEnginesOnDemand() {
+        GraalJSContextPool pool = createPool(Runnable::run);
+
+        pool.take();
+
+        assertEquals(0, pool.getIdle());
+        assertEquals(1, prepared.size());
+        assertEquals(0, pool.getTaken());
+        assertEquals(0, pool.getMissed());
+    }
+
+    @Test
+    public void shrinkingPoolClosesIdleEngines() {
+        GraalJSContextPool pool = createPool(Runnable::run);
+        pool.setSize(3);
+
+        pool.setSize(1);
+
+        assertEquals(1, pool.getIdle());
+        verify(prepared.get(0).engine()).close();
+        verify(prepared.get(1).engine()).close();
+        verify(prepared.get(2).engine(), never()).close();
+    }
+
+    @Test
+    public void failingCloseDoesNotStopShrinking() {
+        GraalJSContextPool pool = createPool(Runnable::run);
+        pool.setSize(2);
+        doThrow(new IllegalStateException("Failed")).when(prepared.get(0).engine()).close();
+
+        pool.setSize(0);
+
+        assertEquals(0, pool.getIdle());
+        verify(prepared.get(1).engine()).close();
+    }
+
+    @Test
+    public void clearReplacesIdleEngines() {
+        GraalJSContextPool pool = createPool(Runnable::run);
+        pool.setSize(2);
+
+        pool.clear();
+
+        assertEquals(2, pool.getIdle());
+        assertEquals(4, prepared.size());
+        verify(prepared.get(0).engine()).close();
+        verify(prepared.get(1).engine()).close();
+        verify(prepared.get(2).engine(), never()).close();
+        verify(prepared.get(3).engine(), never()).close();
+        assertSame(prepared.get(2), pool.take());
+    }
+
+    @Test
+    public void closeClosesIdleEnginesAndStopsRefilling() {
+        GraalJSContextPool pool = createPool(Runnable::run);
+        pool.setSize(2);
+
+        pool.close();
+        pool.take();
+
+        assertEquals(0, pool.getIdle());
+        assertEquals(3, prepared.size());
+        verify(prepared.get(0).engine()).close();
+        verify(prepared.get(1).engine()).close();
+    }
+
+    @Test
+    public void failedRefillIsRetriedWithNextTake() {
+        List<RuntimeException> failures = new ArrayList<>(List.of(new IllegalStateException("Failed")));
+        GraalJSContextPool pool = new GraalJSContextPool(() -> {
+            if (!failures.isEmpty()) {
+                throw failures.remove(0);
+            }
+            return prepare();
+        }, initialized::add, Runnable::run);
+
+        pool.setSize(1);
+        assertEquals(0, pool.getIdle());
+
+        pool.take();
+        assertEquals(1, pool.getIdle());
+    }
+}
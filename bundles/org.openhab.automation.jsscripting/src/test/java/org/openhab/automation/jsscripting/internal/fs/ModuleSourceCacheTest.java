@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jsscripting.internal.fs;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link ModuleSourceCache}.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+public class ModuleSourceCacheTest {
+
+    private static final String PREFIX = "// prefix\n";
+
+    private final ModuleSourceCache cache = new ModuleSourceCache(ModuleSourceCacheTest.class,
+            PREFIX.getBytes(StandardCharsets.UTF_8));
+
+    private @TempDir @NonNullByDefault({}) Path tempDir;
+
+    private Path writeModule(String content) throws IOException {
+        return Files.writeString(tempDir.resolve("module.js"), content);
+    }
+
+    @Test
+    public void fileIsPrefixed() throws IOException {
+        Path module = writeModule("module.exports = 1;");
+
+        assertEquals(PREFIX + "module.exports = 1;", new String(cache.getFile(module), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void unchangedFileIsServedFromCache() throws IOException {
+        Path module = writeModule("module.exports = 1;");
+
+        assertSame(cache.getFile(module), cache.getFile(module));
+    }
+
+    @Test
+    public void fileWithOtherSizeIsReadAgain() throws IOException {
+        Path module = writeModule("module.exports = 1;");
+        FileTime lastModified = Files.getLastModifiedTime(module);
+        cache.getFile(module);
+
+        writeModule("module.exports = 12;");
+        Files.setLastModifiedTime(module, lastModified);
+
+        assertEquals(PREFIX + "module.exports = 12;", new String(cache.getFile(module), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void fileWithOtherModificationTimeIsReadAgain() throws IOException {
+        Path module = writeModule("module.exports = 1;");
+        FileTime lastModified = Files.getLastModifiedTime(module);
+        cache.getFile(module);
+
+        writeModule("module.exports = 2;");
+        Files.setLastModifiedTime(module, FileTime.fromMillis(lastModified.toMillis() + 2000));
+
+        assertEquals(PREFIX + "module.exports = 2;", new String(cache.getFile(module), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void deletedFileIsNotServedFromCache() throws IOException {
+        Path module = writeModule("module.exports = 1;");
+        cache.getFile(module);
+
+        Files.delete(module);
+
+        assertThrows(IOException.class, () -> cache.getFile(module));
+    }
+
+    @Test
+    public void resourceIsPrefixedAndCached() throws IOException {
+        byte[] source = cache.getResource("module.js");
+
+        assertEquals(PREFIX + "module.exports = 42;\n", new String(source, StandardCharsets.UTF_8));
+        assertSame(source, cache.getResource("module.js"));
+    }
+
+    @Test
+    public void missingResourceIsRejected() {
+        assertThrows(IOException.class, () -> cache.getResource("missing.js"));
+    }
+}
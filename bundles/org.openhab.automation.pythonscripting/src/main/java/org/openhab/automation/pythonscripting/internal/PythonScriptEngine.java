@@ -31,6 +31,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -146,8 +147,11 @@ public class PythonScriptEngine extends InvocationInterceptingPythonScriptEngine
 
     /** {@link Lock} synchronization of multi-thread access */
     private final Lock lock = new ReentrantLock();
+    private final AtomicLong lockContentions = new AtomicLong();
+    private final AtomicLong lockWaitTime = new AtomicLong();
 
     private PythonScriptEngineConfiguration pythonScriptEngineConfiguration;
+    private final PythonScriptingMetrics metrics;
 
     private boolean initialized = false;
 
@@ -169,6 +173,7 @@ public class PythonScriptEngine extends InvocationInterceptingPythonScriptEngine
     public PythonScriptEngine(PythonScriptEngineConfiguration pythonScriptEngineConfiguration,
             PythonScriptEngineFactory pythonScriptEngineFactory) {
         this.pythonScriptEngineConfiguration = pythonScriptEngineConfiguration;
+        this.metrics = pythonScriptEngineFactory.getMetrics();
 
         this.scriptOutputStream = new ContextOutput(new ContextOutputLogger(logger, Level.INFO));
         this.scriptErrorStream = new ContextOutput(new ContextOutputLogger(logger, Level.ERROR));
@@ -233,9 +238,39 @@ public class PythonScriptEngine extends InvocationInterceptingPythonScriptEngine
         init(engine, contextConfig, pythonScriptEngineFactory);
     }
 
+    /**
+     * Creates the polyglot context and initializes the Python language, which is otherwise done on first use.
+     */
+    void initializeContext() {
+        getPolyglotContext().initialize(GraalPythonScriptEngine.LANGUAGE_ID);
+    }
+
+    /**
+     * @return the number of times the lock was held by another thread when it was acquired
+     */
+    long getLockContentions() {
+        return lockContentions.get();
+    }
+
+    /**
+     * @return the total time spent waiting for the lock in nanoseconds
+     */
+    long getLockWaitTime() {
+        return lockWaitTime.get();
+    }
+
+    private void acquireLock() {
+        if (!lock.tryLock()) {
+            long start = System.nanoTime();
+            lock.lock();
+            lockContentions.incrementAndGet();
+            lockWaitTime.addAndGet(System.nanoTime() - start);
+        }
+    }
+
     @Override
     protected void beforeInvocation() throws PolyglotException {
-        lock.lock();
+        acquireLock();
         logger.debug("Lock acquired before invocation for engine '{}'", this.engineIdentifier);
 
         if (initialized) {
@@ -248,6 +283,7 @@ public class PythonScriptEngine extends InvocationInterceptingPythonScriptEngine
         String engineIdentifier = (String) ctx.getAttribute(CONTEXT_KEY_ENGINE_IDENTIFIER);
         if (engineIdentifier != null) {
             this.engineIdentifier = engineIdentifier;
+            metrics.addEngine(this, engineIdentifier);
         } else {
             logger.warn("Failed to retrieve script identifier");
         }
@@ -427,7 +463,7 @@ public class PythonScriptEngine extends InvocationInterceptingPythonScriptEngine
 
     @Override
     public void lock() {
-        lock.lock();
+        acquireLock();
         logger.debug("Lock acquired for engine '{}'.", this.engineIdentifier);
     }
 
@@ -459,6 +495,7 @@ public class PythonScriptEngine extends InvocationInterceptingPythonScriptEngine
     @Override
     public void close() {
         lock.lock();
+        metrics.removeEngine(this);
 
         if (!isClosed()) {
             try {
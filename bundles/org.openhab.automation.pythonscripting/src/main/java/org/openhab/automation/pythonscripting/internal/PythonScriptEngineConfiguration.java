@@ -73,6 +73,7 @@ public class PythonScriptEngineConfiguration {
         public boolean dependencyTrackingEnabled = true;
         public boolean cachingEnabled = true;
         public boolean jythonEmulation = false;
+        public boolean contextPoolEnabled = false;
         public String pipModules = "";
     }
 
@@ -203,6 +204,10 @@ public class PythonScriptEngineConfiguration {
         return configuration.jythonEmulation;
     }
 
+    public boolean isContextPoolEnabled() {
+        return configuration.contextPoolEnabled;
+    }
+
     public String getPIPModules() {
         return configuration.pipModules;
     }
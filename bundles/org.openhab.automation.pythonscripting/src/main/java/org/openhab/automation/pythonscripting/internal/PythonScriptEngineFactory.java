@@ -30,12 +30,15 @@ import org.openhab.core.automation.module.script.ScriptDependencyTracker;
 import org.openhab.core.automation.module.script.ScriptEngineFactory;
 import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.i18n.TimeZoneProvider;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
 import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -59,6 +62,8 @@ public class PythonScriptEngineFactory implements ScriptEngineFactory, ScriptEng
     private final List<String> scriptTypes = Arrays.asList("py", SCRIPT_TYPE);
     private final PythonDependencyTracker pythonDependencyTracker;
     private final PythonScriptEngineConfiguration configuration;
+    private final PythonScriptEnginePool enginePool;
+    private final PythonScriptingMetrics metrics;
 
     private final @Nullable Language language;
 
@@ -84,16 +89,33 @@ public class PythonScriptEngineFactory implements ScriptEngineFactory, ScriptEng
         this.pythonDependencyTracker = pythonDependencyTracker;
         this.configuration = new PythonScriptEngineConfiguration(config);
         this.configuration.init(this);
+
+        this.enginePool = new PythonScriptEnginePool(() -> new PythonScriptEngine(configuration, this));
+        this.metrics = new PythonScriptingMetrics(enginePool);
+        updateEnginePool();
     }
 
     @Deactivate
     public void cleanup() {
         logger.debug("Unloading PythonScriptEngineFactory");
+        enginePool.close();
     }
 
     @Modified
     protected void modified(Map<String, Object> config) {
         this.configuration.modified(config, this);
+        // idle engines were created with the previous configuration
+        enginePool.clear();
+        updateEnginePool();
+    }
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    public void setMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        metrics.bind(meterRegistryProvider.getOHMeterRegistry());
+    }
+
+    public void unsetMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        metrics.unbind();
     }
 
     @Override
@@ -130,7 +152,7 @@ public class PythonScriptEngineFactory implements ScriptEngineFactory, ScriptEng
         if (language == null) {
             return null;
         }
-        return new PythonScriptEngine(configuration, this);
+        return enginePool.take();
     }
 
     @Override
@@ -141,4 +163,16 @@ public class PythonScriptEngineFactory implements ScriptEngineFactory, ScriptEng
     public PythonScriptEngineConfiguration getConfiguration() {
         return this.configuration;
     }
+
+    public PythonScriptingMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    private void updateEnginePool() {
+        if (language != null && configuration.isContextPoolEnabled()) {
+            enginePool.setSize(Runtime.getRuntime().availableProcessors());
+        } else {
+            enginePool.setSize(0);
+        }
+    }
 }
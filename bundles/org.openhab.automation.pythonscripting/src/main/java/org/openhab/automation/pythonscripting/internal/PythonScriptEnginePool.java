@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.pythonscripting.internal;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps script engines with an initialized GraalPy context ready for new scripts.
+ *
+ * <p>
+ * Creating a GraalPy context and importing the site module takes a noticeable amount of time, which otherwise delays
+ * the first run of each rule and transformation, e.g. when many scripts are loaded at once. Engines taken from the pool
+ * are replaced in the background. Only the bare context is prepared in advance: a taken engine belongs to one script
+ * only, and the helper library is still imported per script, as it depends on the scope of the script.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+public class PythonScriptEnginePool {
+    private static final String THREAD_POOL_NAME = "pythonscripting";
+
+    private final Logger logger = LoggerFactory.getLogger(PythonScriptEnginePool.class);
+
+    private final Supplier<PythonScriptEngine> engineSupplier;
+    private final Executor executor;
+
+    private final ConcurrentLinkedQueue<PythonScriptEngine> idle = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final AtomicBoolean refilling = new AtomicBoolean();
+    private volatile int size;
+
+    private final AtomicLong taken = new AtomicLong();
+    private final AtomicLong missed = new AtomicLong();
+    private final AtomicLong waitTime = new AtomicLong();
+
+    /**
+     * @param engineSupplier creates new engines with the current configuration
+     */
+    public PythonScriptEnginePool(Supplier<PythonScriptEngine> engineSupplier) {
+        this(engineSupplier, ThreadPoolManager.getPool(THREAD_POOL_NAME));
+    }
+
+    /**
+     * @param engineSupplier creates new engines with the current configuration
+     * @param executor runs the refills
+     */
+    PythonScriptEnginePool(Supplier<PythonScriptEngine> engineSupplier, Executor executor) {
+        this.engineSupplier = engineSupplier;
+        this.executor = executor;
+    }
+
+    /**
+     * Sets the number of engines to keep ready. Engines above the new size are closed.
+     *
+     * @param size the number of engines, 0 disables the pool
+     */
+    public void setSize(int size) {
+        this.size = size;
+        while (idleCount.get() > size) {
+            PythonScriptEngine engine = poll();
+            if (engine == null) {
+                break;
+            }
+            close(engine);
+        }
+        refill();
+    }
+
+    /**
+     * Replaces all idle engines, e.g. because they were created with an outdated configuration.
+     */
+    public void clear() {
+        int size = this.size;
+        setSize(0);
+        setSize(size);
+    }
+
+    /**
+     * Takes an engine from the pool, or creates a new one if the pool is empty.
+     *
+     * @return an engine which has not been used by a script yet
+     */
+    public PythonScriptEngine take() {
+        long start = System.nanoTime();
+        PythonScriptEngine engine = poll();
+        if (engine == null) {
+            engine = engineSupplier.get();
+            if (size > 0) {
+                missed.incrementAndGet();
+            }
+        }
+        if (size > 0) {
+            taken.incrementAndGet();
+            waitTime.addAndGet(System.nanoTime() - start);
+            refill();
+        }
+        return engine;
+    }
+
+    /**
+     * Closes all idle engines and stops refilling the pool.
+     */
+    public void close() {
+        setSize(0);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getIdle() {
+        return idleCount.get();
+    }
+
+    /**
+     * @return the number of engines taken while the pool was enabled
+     */
+    public long getTaken() {
+        return taken.get();
+    }
+
+    /**
+     * @return the number of engines that had to be created because the pool was empty
+     */
+    public long getMissed() {
+        return missed.get();
+    }
+
+    /**
+     * @return the total time spent taking engines while the pool was enabled in nanoseconds
+     */
+    public long getWaitTime() {
+        return waitTime.get();
+    }
+
+    private @Nullable PythonScriptEngine poll() {
+        PythonScriptEngine engine = idle.poll();
+        if (engine != null) {
+            idleCount.decrementAndGet();
+        }
+        return engine;
+    }
+
+    private void refill() {
+        if (idleCount.get() < size && refilling.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                try {
+                    while (idleCount.get() < size) {
+                        PythonScriptEngine engine = engineSupplier.get();
+                        engine.initializeContext();
+                        idle.offer(engine);
+                        idleCount.incrementAndGet();
+                    }
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to prepare GraalPy context: {}", e.getMessage());
+                    refilling.set(false);
+                    return;
+                }
+                refilling.set(false);
+                // the size may have changed or engines may have been taken while the last one was created
+                setSize(size);
+            });
+        }
+    }
+
+    private void close(PythonScriptEngine engine) {
+        try {
+            engine.close();
+        } catch (RuntimeException e) {
+            logger.debug("Failed to close GraalPy context: {}", e.getMessage());
+        }
+    }
+}
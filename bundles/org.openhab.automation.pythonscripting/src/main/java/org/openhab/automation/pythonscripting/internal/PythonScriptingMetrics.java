@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.pythonscripting.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * Registers the metrics of the {@link PythonScriptEnginePool} and the lock contention of each
+ * {@link PythonScriptEngine} in the openHAB meter registry.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+public class PythonScriptingMetrics {
+    private static final String METRIC_PREFIX = "openhab.automation.pythonscripting.";
+    private static final String POOL_METRIC_PREFIX = METRIC_PREFIX + "pool.";
+    private static final String ENGINE_METRIC_PREFIX = METRIC_PREFIX + "engine.";
+    private static final String ENGINE_TAG = "engine";
+    private static final String INSTANCE_TAG = "instance";
+
+    private final PythonScriptEnginePool pool;
+    private final List<Meter> meters = new ArrayList<>();
+    /** the tags of the engines in use, several engines may run scripts with the same identifier */
+    private final Map<PythonScriptEngine, Tags> engines = new HashMap<>();
+    private long instances = 0;
+    private final Map<PythonScriptEngine, List<Meter>> engineMeters = new HashMap<>();
+    private @Nullable MeterRegistry registry;
+
+    public PythonScriptingMetrics(PythonScriptEnginePool pool) {
+        this.pool = pool;
+    }
+
+    public synchronized void bind(MeterRegistry registry) {
+        unbind();
+        meters.add(Gauge.builder(POOL_METRIC_PREFIX + "size", pool, PythonScriptEnginePool::getSize)
+                .description("Contexts to keep ready").register(registry));
+        meters.add(Gauge.builder(POOL_METRIC_PREFIX + "idle", pool, PythonScriptEnginePool::getIdle)
+                .description("Contexts ready to be used").register(registry));
+        meters.add(FunctionCounter.builder(POOL_METRIC_PREFIX + "taken", pool, PythonScriptEnginePool::getTaken)
+                .description("Contexts taken from the pool").register(registry));
+        meters.add(FunctionCounter.builder(POOL_METRIC_PREFIX + "missed", pool, PythonScriptEnginePool::getMissed)
+                .description("Contexts created on demand because the pool was empty").register(registry));
+        meters.add(FunctionTimer
+                .builder(POOL_METRIC_PREFIX + "wait", pool, PythonScriptEnginePool::getTaken,
+                        PythonScriptEnginePool::getWaitTime, TimeUnit.NANOSECONDS)
+                .description("Time spent waiting for a context").register(registry));
+        this.registry = registry;
+        engines.forEach((engine, tags) -> engineMeters.put(engine, registerEngine(registry, engine, tags)));
+    }
+
+    public synchronized void unbind() {
+        MeterRegistry registry = this.registry;
+        if (registry != null) {
+            meters.forEach(registry::remove);
+            engineMeters.values().forEach(list -> list.forEach(registry::remove));
+        }
+        meters.clear();
+        engineMeters.clear();
+        this.registry = null;
+    }
+
+    /**
+     * Registers the lock contention metrics of an engine. The meters are tagged with the identifier of the script and
+     * a number distinguishing engines with the same identifier.
+     *
+     * @param engine the engine
+     * @param identifier the identifier of its script
+     */
+    public synchronized void addEngine(PythonScriptEngine engine, String identifier) {
+        if (engines.containsKey(engine)) {
+            return;
+        }
+        Tags tags = Tags.of(ENGINE_TAG, identifier, INSTANCE_TAG, String.valueOf(++instances));
+        engines.put(engine, tags);
+        MeterRegistry registry = this.registry;
+        if (registry != null) {
+            engineMeters.put(engine, registerEngine(registry, engine, tags));
+        }
+    }
+
+    public synchronized void removeEngine(PythonScriptEngine engine) {
+        engines.remove(engine);
+        List<Meter> removed = engineMeters.remove(engine);
+        MeterRegistry registry = this.registry;
+        if (registry != null && removed != null) {
+            removed.forEach(registry::remove);
+        }
+    }
+
+    private static List<Meter> registerEngine(MeterRegistry registry, PythonScriptEngine engine, Tags tags) {
+        return List.of(
+                FunctionCounter
+                        .builder(ENGINE_METRIC_PREFIX + "lock.contended", engine,
+                                PythonScriptEngine::getLockContentions)
+                        .description("Invocations that had to wait for another invocation of the script")
+                        .tags(tags).register(registry),
+                FunctionTimer
+                        .builder(ENGINE_METRIC_PREFIX + "lock.wait", engine, PythonScriptEngine::getLockContentions,
+                                PythonScriptEngine::getLockWaitTime, TimeUnit.NANOSECONDS)
+                        .description("Time spent waiting for another invocation of the script")
+                        .tags(tags).register(registry));
+    }
+}
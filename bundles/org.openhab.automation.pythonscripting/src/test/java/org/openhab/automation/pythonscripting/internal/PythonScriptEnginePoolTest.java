@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.pythonscripting.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link PythonScriptEnginePool}.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+public class PythonScriptEnginePoolTest {
+
+    private final List<PythonScriptEngine> created = new ArrayList<>();
+    private final List<Runnable> refills = new ArrayList<>();
+
+    private PythonScriptEngine create() {
+        PythonScriptEngine engine = mock(PythonScriptEngine.class);
+        created.add(engine);
+        return engine;
+    }
+
+    private PythonScriptEnginePool createPool(Executor executor) {
+        return new PythonScriptEnginePool(this::create, executor);
+    }
+
+    @Test
+    public void poolIsFilledWithInitializedEngines() {
+        PythonScriptEnginePool pool = createPool(Runnable::run);
+
+        pool.setSize(2);
+
+        assertEquals(2, pool.getIdle());
+        assertEquals(2, created.size());
+        created.forEach(engine -> verify(engine).initializeContext());
+    }
+
+    @Test
+    public void takeReturnsIdleEngineAndRefills() {
+        PythonScriptEnginePool pool = createPool(Runnable::run);
+        pool.setSize(2);
+
+        PythonScriptEngine engine = pool.take();
+
+        assertSame(created.get(0), engine);
+        assertEquals(1, pool.getTaken());
+        assertEquals(0, pool.getMissed());
+        assertEquals(2, pool.getIdle());
+        assertEquals(3, created.size());
+    }
+
+    @Test
+    public void takeFromEmptyPoolCreatesEngine() {
+        PythonScriptEnginePool pool = createPool(refills::add);
+        pool.setSize(1);
+        assertEquals(0, pool.getIdle());
+
+        PythonScriptEngine engine = pool.take();
+
+        assertSame(created.get(0), engine);
+        verify(engine, never()).initializeContext();
+        assertEquals(1, pool.getTaken());
+        assertEquals(1, pool.getMissed());
+
+        refills.get(0).run();
+        assertEquals(1, pool.getIdle());
+    }
+
+    @Test
+    public void disabledPoolCreatesEnginesOnDemand() {
+        PythonScriptEnginePool pool = createPool(Runnable::run);
+
+        pool.take();
+
+        assertEquals(0, pool.getIdle());
+        assertEquals(1, created.size());
+        assertEquals(0, pool.getTaken());
+        assertEquals(0, pool.getMissed());
+    }
+
+    @Test
+    public void shrinkingPoolClosesIdleEngines() {
+        PythonScriptEnginePool pool = createPool(Runnable::run);
+        pool.setSize(3);
+
+        pool.setSize(1);
+
+        assertEquals(1, pool.getIdle());
+        verify(created.get(0)).close();
+        verify(created.get(1)).close();
+        verify(created.get(2), never()).close();
+    }
+
+    @Test
+    public void failingCloseDoesNotStopShrinking() {
+        PythonScriptEnginePool pool = createPool(Runnable::run);
+        pool.setSize(2);
+        doThrow(new IllegalStateException("Failed")).when(created.get(0)).close();
+
+        pool.setSize(0);
+
+        assertEquals(0, pool.getIdle());
+        verify(created.get(1)).close();
+    }
+
+    @Test
+    public void clearReplacesIdleEngines() {
+        PythonScriptEnginePool pool = createPool(Runnable::run);
+        pool.setSize(2);
+
+        pool.clear();
+
+        assertEquals(2, pool.getIdle());
+        assertEquals(4, created.size());
+        verify(created.get(0)).close();
+        verify(created.get(1)).close();
+        verify(created.get(2), never()).close();
+        verify(created.get(3), never()).close();
+        assertSame(created.get(2), pool.take());
+    }
+
+    @Test
+    public void closeClosesIdleEnginesAndStopsRefilling() {
+        PythonScriptEnginePool pool = createPool(Runnable::run);
+        pool.setSize(2);
+
+        pool.close();
+        pool.take();
+
+        assertEquals(0, pool.getIdle());
+        assertEquals(3, created.size());
+        verify(created.get(0)).close();
+        verify(created.get(1)).close();
+    }
+
+    @Test
+    public void failedRefillIsRetriedWithNextTake() {
+        List<RuntimeException> failures = new ArrayList<>(List.of(new IllegalStateException("Failed")));
+        PythonScriptEnginePool pool = new PythonScriptEnginePool(() -> {
+            if (!failures.isEmpty()) {
+                throw failures.remove(0);
+            }
+            return create();
+        }, Runnable::run);
+
+        pool.setSize(1);
+        assertEquals(0, pool.getIdle());
+
+        pool.take();
+        assertEquals(1, pool.getIdle());
+    }
+}
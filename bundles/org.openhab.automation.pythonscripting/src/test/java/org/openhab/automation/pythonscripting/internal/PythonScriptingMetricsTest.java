@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.pythonscripting.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests for {@link PythonScriptingMetrics}.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+public class PythonScriptingMetricsTest {
+    private static final String CONTENDED = "openhab.automation.pythonscripting.engine.lock.contended";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final PythonScriptingMetrics metrics = new PythonScriptingMetrics(
+            new PythonScriptEnginePool(() -> mock(PythonScriptEngine.class), Runnable::run));
+
+    private int contendedCounters() {
+        return registry.find(CONTENDED).tag("engine", "script").functionCounters().size();
+    }
+
+    @Test
+    public void enginesWithSameIdentifierHaveOwnMeters() {
+        PythonScriptEngine first = mock(PythonScriptEngine.class);
+        PythonScriptEngine second = mock(PythonScriptEngine.class);
+        when(first.getLockContentions()).thenReturn(1L);
+        when(second.getLockContentions()).thenReturn(2L);
+        metrics.bind(registry);
+
+        metrics.addEngine(first, "script");
+        metrics.addEngine(second, "script");
+
+        assertEquals(2, contendedCounters());
+        assertEquals(3.0, registry.find(CONTENDED).functionCounters().stream().mapToDouble(FunctionCounter::count)
+                .sum());
+    }
+
+    @Test
+    public void removingEngineKeepsMetersOfEngineWithSameIdentifier() {
+        PythonScriptEngine first = mock(PythonScriptEngine.class);
+        PythonScriptEngine second = mock(PythonScriptEngine.class);
+        when(second.getLockContentions()).thenReturn(2L);
+        metrics.addEngine(first, "script");
+        metrics.addEngine(second, "script");
+        metrics.bind(registry);
+
+        metrics.removeEngine(first);
+
+        assertEquals(1, contendedCounters());
+        assertEquals(2.0, registry.get(CONTENDED).functionCounter().count());
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homeassistant.internal;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.homeassistant.internal.config.dto.MqttComponentConfig;
+import org.openhab.binding.homeassistant.internal.exception.ConfigurationException;
+
+/**
+ * Caches the processed discovery config of each discovery topic, as long as the payload doesn't change.
+ *
+ * <p>
+ * The same retained discovery message is processed by the discovery service, by the handler of its thing, and again
+ * when components are created, and once more for each thing after a broker reconnect. Validating the payload against
+ * the Home Assistant schemas in Python is by far the most expensive part of that. Processed configs are only read, so
+ * they can be shared. Invalid configs are cached as well. Concurrent requests for the same payload wait for the first
+ * one to be processed. If processing fails unexpectedly, the waiting requests fail as well and the payload is processed
+ * again by the next request.
+ *
+ * <p>
+ * The cache is kept in memory only, and cache misses are processed one at a time. Processed configs are Python
+ * objects of the single GraalPy context of the {@link HomeAssistantPythonBridge}: they can neither be stored without
+ * running Python again after a restart, nor be created by other contexts for use in this one.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+public class DiscoveryConfigCache {
+    private static final int MAX_CACHE_SIZE = 10000;
+
+    private final HomeAssistantMetrics metrics;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public DiscoveryConfigCache(HomeAssistantMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * @param topic the short discovery topic
+     * @param payload the discovery payload
+     * @param processor processes the payload if it is not cached
+     * @return the processed configs
+     * @throws ConfigurationException if the payload is invalid
+     */
+    public List<MqttComponentConfig> get(String topic, String payload,
+            BiFunction<String, String, List<MqttComponentConfig>> processor) {
+        CompletableFuture<List<MqttComponentConfig>> future = new CompletableFuture<>();
+        Entry entry = entries.compute(topic, (key, existing) -> existing != null && existing.payload().equals(payload)
+                ? existing
+                : new Entry(payload, future));
+
+        if (entry.configs() != future) {
+            metrics.recordCachedDiscoveryConfig();
+            try {
+                return entry.configs().join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof ConfigurationException configurationException) {
+                    throw new ConfigurationException(configurationException.getMessage(), configurationException);
+                }
+                throw e;
+            }
+        }
+
+        metrics.recordProcessedDiscoveryConfig();
+        if (entries.size() > MAX_CACHE_SIZE) {
+            entries.clear();
+        }
+        try {
+            List<MqttComponentConfig> configs = processor.apply(topic, payload);
+            future.complete(configs);
+            return configs;
+        } catch (ConfigurationException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } catch (Throwable e) {
+            // unexpected errors may not happen again, but waiting requests must not wait forever
+            entries.remove(topic, entry);
+            future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private record Entry(String payload, CompletableFuture<List<MqttComponentConfig>> configs) {
+    }
+}
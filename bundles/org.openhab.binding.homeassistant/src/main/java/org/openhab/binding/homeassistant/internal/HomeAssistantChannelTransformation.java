@@ -20,6 +20,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.graalvm.polyglot.PolyglotException;
 import org.graalvm.polyglot.Value;
 import org.openhab.binding.homeassistant.internal.component.AbstractComponent;
+import org.openhab.binding.homeassistant.internal.template.NativeTemplate;
 import org.openhab.core.thing.binding.generic.ChannelTransformation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,6 +44,7 @@ public class HomeAssistantChannelTransformation extends ChannelTransformation {
     private final HomeAssistantPythonBridge python;
     private final AbstractComponent<?> component;
     private final Value template;
+    private final @Nullable NativeTemplate nativeTemplate;
     private final boolean command;
     private final String defaultValue;
     private final boolean parseValueAsInteger;
@@ -69,6 +71,7 @@ public class HomeAssistantChannelTransformation extends ChannelTransformation {
         this.component = component;
         this.command = command;
         this.template = command ? python.newCommandTemplate(template) : python.newValueTemplate(template);
+        this.nativeTemplate = python.compileNativeTemplate(template);
         this.defaultValue = defaultValue;
         this.parseValueAsInteger = parseValueAsInteger;
     }
@@ -97,6 +100,16 @@ public class HomeAssistantChannelTransformation extends ChannelTransformation {
     }
 
     public @Nullable String transform(Object value) {
+        // most templates are simple enough to be rendered without the cost of calling into Python
+        NativeTemplate nativeTemplate = this.nativeTemplate;
+        if (nativeTemplate != null && python.isNativeTemplates()) {
+            String result = command ? nativeTemplate.renderCommand(value) : nativeTemplate.renderValue(value);
+            if (result != null) {
+                python.getMetrics().recordNativeRender();
+                return result;
+            }
+        }
+        python.getMetrics().recordPythonRender();
         try {
             return command ? python.renderCommandTemplate(template, value)
                     : python.renderValueTemplate(template, value, defaultValue);
@@ -108,6 +121,7 @@ public class HomeAssistantChannelTransformation extends ChannelTransformation {
     }
 
     public @Nullable String transform(Object value, Map<String, @Nullable Object> variables) {
+        python.getMetrics().recordPythonRender();
         try {
             return command ? python.renderCommandTemplate(template, value, variables)
                     : python.renderValueTemplate(template, value, defaultValue, variables);
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homeassistant.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.homeassistant.internal.template.NativeTemplate;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Counts the templates rendered by a {@link NativeTemplate} and the ones which had to be rendered by Python, as well
+ * as the hits and misses of the {@link DiscoveryConfigCache}, and registers the counts in the openHAB meter registry.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+public class HomeAssistantMetrics {
+    private static final String METRIC_PREFIX = "openhab.binding.homeassistant.";
+    private static final String RENDERS_METRIC = METRIC_PREFIX + "template.renders";
+    private static final String DISCOVERY_CONFIGS_METRIC = METRIC_PREFIX + "discovery.configs";
+
+    private final AtomicLong nativeRenders = new AtomicLong();
+    private final AtomicLong pythonRenders = new AtomicLong();
+    private final AtomicLong cachedDiscoveryConfigs = new AtomicLong();
+    private final AtomicLong processedDiscoveryConfigs = new AtomicLong();
+    private final List<Meter> meters = new ArrayList<>();
+    private @Nullable MeterRegistry registry;
+
+    public void recordNativeRender() {
+        nativeRenders.incrementAndGet();
+    }
+
+    public void recordPythonRender() {
+        pythonRenders.incrementAndGet();
+    }
+
+    public void recordCachedDiscoveryConfig() {
+        cachedDiscoveryConfigs.incrementAndGet();
+    }
+
+    public void recordProcessedDiscoveryConfig() {
+        processedDiscoveryConfigs.incrementAndGet();
+    }
+
+    public long getNativeRenders() {
+        return nativeRenders.get();
+    }
+
+    public long getPythonRenders() {
+        return pythonRenders.get();
+    }
+
+    public long getCachedDiscoveryConfigs() {
+        return cachedDiscoveryConfigs.get();
+    }
+
+    public long getProcessedDiscoveryConfigs() {
+        return processedDiscoveryConfigs.get();
+    }
+
+    public synchronized void bind(MeterRegistry registry) {
+        unbind();
+        meters.add(FunctionCounter.builder(RENDERS_METRIC, this, HomeAssistantMetrics::getNativeRenders)
+                .tag("renderer", "native").description("Templates rendered natively").register(registry));
+        meters.add(FunctionCounter.builder(RENDERS_METRIC, this, HomeAssistantMetrics::getPythonRenders)
+                .tag("renderer", "python").description("Templates rendered by Python").register(registry));
+        meters.add(FunctionCounter
+                .builder(DISCOVERY_CONFIGS_METRIC, this, HomeAssistantMetrics::getCachedDiscoveryConfigs)
+                .tag("result", "cached").description("Discovery configs taken from the cache").register(registry));
+        meters.add(FunctionCounter
+                .builder(DISCOVERY_CONFIGS_METRIC, this, HomeAssistantMetrics::getProcessedDiscoveryConfigs)
+                .tag("result", "processed").description("Discovery configs processed by Python").register(registry));
+        this.registry = registry;
+    }
+
+    public synchronized void unbind() {
+        MeterRegistry registry = this.registry;
+        if (registry != null) {
+            meters.forEach(registry::remove);
+        }
+        meters.clear();
+        this.registry = null;
+    }
+}
@@ -31,9 +31,16 @@ import org.graalvm.python.embedding.GraalPyResources;
 import org.graalvm.python.embedding.VirtualFileSystem;
 import org.openhab.binding.homeassistant.internal.config.dto.MqttComponentConfig;
 import org.openhab.binding.homeassistant.internal.exception.ConfigurationException;
+import org.openhab.binding.homeassistant.internal.template.NativeTemplate;
 import org.openhab.core.OpenHAB;
+import org.openhab.core.config.core.Configuration;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,7 +50,7 @@ import org.slf4j.LoggerFactory;
  * @author Cody Cutrer - Initial contribution
  */
 @NonNullByDefault
-@Component(service = HomeAssistantPythonBridge.class)
+@Component(service = HomeAssistantPythonBridge.class, configurationPid = "org.openhab.binding.homeassistant")
 public class HomeAssistantPythonBridge {
     private static final String PYTHON = "python";
     private final Logger logger = LoggerFactory.getLogger(HomeAssistantPythonBridge.class);
@@ -51,9 +58,18 @@ public class HomeAssistantPythonBridge {
     private final Value newRawTemplateMeth, newCommandTemplateMeth, newValueTemplateMeth, renderCommandTemplateMeth,
             renderValueTemplateMeth, renderCommandTemplateWithVariablesMeth, renderValueTemplateWithVariablesMeth,
             processDiscoveryConfigMeth, listMeth;
+    private final HomeAssistantMetrics metrics = new HomeAssistantMetrics();
+    private final DiscoveryConfigCache discoveryConfigCache = new DiscoveryConfigCache(metrics);
+    private volatile boolean nativeTemplates = true;
 
-    @Activate
     public HomeAssistantPythonBridge() {
+        this(null);
+    }
+
+    @Activate
+    public HomeAssistantPythonBridge(@Nullable Map<String, Object> properties) {
+        nativeTemplates = new Configuration(properties).as(HomeAssistantConfiguration.class).nativeTemplates;
+
         VirtualFileSystem vfs = VirtualFileSystem.newBuilder().resourceLoadingClass(HomeAssistantPythonBridge.class)
                 .build();
 
@@ -120,6 +136,52 @@ public class HomeAssistantPythonBridge {
         listMeth = bindings.getMember("list");
     }
 
+    @Modified
+    protected void modified(@Nullable Map<String, Object> properties) {
+        nativeTemplates = new Configuration(properties).as(HomeAssistantConfiguration.class).nativeTemplates;
+    }
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    public void setMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        metrics.bind(meterRegistryProvider.getOHMeterRegistry());
+    }
+
+    public void unsetMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        metrics.unbind();
+    }
+
+    public HomeAssistantMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @return whether templates compiled to Java are rendered without calling into Python
+     */
+    public boolean isNativeTemplates() {
+        return nativeTemplates;
+    }
+
+    /**
+     * Compiles a template to Java, so that it can be rendered without calling into Python.
+     *
+     * @param template a Template, or None
+     * @return the compiled template, or null if it has to be rendered by Python
+     */
+    public @Nullable NativeTemplate compileNativeTemplate(Value template) {
+        if (template.isNull() || !template.hasMember("template")) {
+            return null;
+        }
+        Value source = template.getMember("template");
+        if (source == null || !source.isString()) {
+            return null;
+        }
+        NativeTemplate nativeTemplate = NativeTemplate.compile(source.asString());
+        if (nativeTemplate == null) {
+            logger.debug("Template '{}' will be rendered by Python", source.asString());
+        }
+        return nativeTemplate;
+    }
+
     public Value newRawTemplate(String template) {
         return newRawTemplateMeth.execute(template);
     }
@@ -149,7 +211,19 @@ public class HomeAssistantPythonBridge {
         return renderValueTemplateWithVariablesMeth.execute(template, payload, defaultValue, variables).asString();
     }
 
+    /**
+     * Processes a discovery message, or returns the result of a previous call for the same topic and payload.
+     *
+     * @param topic the short discovery topic
+     * @param payload the discovery payload
+     * @return the configs of the components
+     * @throws ConfigurationException if the payload is invalid
+     */
     public List<MqttComponentConfig> processDiscoveryConfig(String topic, String payload) {
+        return discoveryConfigCache.get(topic, payload, this::doProcessDiscoveryConfig);
+    }
+
+    private List<MqttComponentConfig> doProcessDiscoveryConfig(String topic, String payload) {
         try {
             @SuppressWarnings("unchecked")
             List<Value> configs = (List<Value>) toJava(processDiscoveryConfigMeth.execute(topic, payload));
@@ -0,0 +1,762 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homeassistant.internal.template;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A Home Assistant template compiled to Java, rendering the same result as Python for the subset of templates which
+ * covers most templates found in discovery messages.
+ *
+ * <p>
+ * Supported are text with expressions ({@code {{ ... }}}) made of literals, the variables {@code value} and
+ * {@code value_json}, attribute and item lookups, comparisons, {@code and}, {@code or}, {@code not}, conditional
+ * expressions, {@code + - * / ~}, the functions {@code iif}, {@code float} and {@code int}, and the filters
+ * {@code float}, {@code int}, {@code round}, {@code iif}, {@code lower}, {@code upper} and {@code string}.
+ *
+ * <p>
+ * {@link #compile(String)} returns null for other templates. The render methods return null whenever the result could
+ * differ from Python's, e.g. for undefined values, errors, or values without a supported string representation. In
+ * both cases the template has to be rendered by Python.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+public final class NativeTemplate {
+    // MAX_TEMPLATE_OUTPUT in helpers/template/__init__.py
+    private static final int MAX_OUTPUT_LENGTH = 256 * 1024;
+    // the attributes of a dict, which Jinja prefers over items with the same key
+    private static final Set<String> DICT_ATTRIBUTES = Set.of("clear", "copy", "fromkeys", "get", "items", "keys",
+            "pop", "popitem", "setdefault", "update", "values");
+    private static final Set<String> FUNCTIONS = Set.of("float", "int", "iif");
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NativeTemplate.class);
+
+    private final String template;
+    private final boolean isStatic;
+    private final List<Node> parts;
+    private final boolean usesValueJson;
+
+    private NativeTemplate(String template, boolean isStatic, List<Node> parts, boolean usesValueJson) {
+        this.template = template;
+        this.isStatic = isStatic;
+        this.parts = parts;
+        this.usesValueJson = usesValueJson;
+    }
+
+    /**
+     * @param source the source of the template
+     * @return the compiled template, or null if the template is not supported
+     */
+    public static @Nullable NativeTemplate compile(String source) {
+        // Template strips the source, and treats it as static if it doesn't contain any Jinja syntax
+        String template = PythonValues.strip(source);
+        if (!template.contains("{") || !(template.contains("{{") || template.contains("{%")
+                || template.contains("{#"))) {
+            return new NativeTemplate(template, true, List.of(), false);
+        }
+        try {
+            Parser parser = new Parser(template);
+            List<Node> parts = parser.parseTemplate();
+            return new NativeTemplate(template, false, parts, parser.usesValueJson);
+        } catch (UnsupportedTemplateException e) {
+            LOGGER.trace("Template '{}' is not supported natively: {}", template, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Renders the template as MqttValueTemplate.render_with_possible_json_value() does.
+     *
+     * @param payload the received payload
+     * @return the rendered template, or null if the template has to be rendered by Python
+     */
+    public @Nullable String renderValue(Object payload) {
+        if (isStatic) {
+            return template;
+        }
+        if (!(payload instanceof String value)) {
+            return null;
+        }
+        try {
+            // Python always parses the payload, which may fail for other reasons than invalid JSON for large ones
+            Object valueJson = usesValueJson || value.length() > 1000 ? PythonJson.parse(value) : PythonJson.INVALID;
+            Variables variables = valueJson == PythonJson.INVALID ? new Variables(value, null, false)
+                    : new Variables(value, valueJson, true);
+            return PythonValues.strip(render(variables));
+        } catch (UnsupportedTemplateException e) {
+            LOGGER.trace("Template '{}' is not supported natively for '{}': {}", template, value, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Renders the template as MqttCommandTemplate.render() does.
+     *
+     * @param value the command value
+     * @return the rendered template, or null if the template has to be rendered by Python
+     */
+    public @Nullable String renderCommand(Object value) {
+        Object commandValue = value instanceof Integer i ? Long.valueOf(i) : value;
+        if (!(commandValue instanceof String || commandValue instanceof Long)) {
+            return null;
+        }
+        String result;
+        if (isStatic) {
+            result = template;
+        } else {
+            try {
+                result = render(new Variables(commandValue, null, false));
+            } catch (UnsupportedTemplateException e) {
+                LOGGER.trace("Template '{}' is not supported natively for '{}': {}", template, value, e.getMessage());
+                return null;
+            }
+            if (result.length() > MAX_OUTPUT_LENGTH) {
+                return null;
+            }
+            result = PythonValues.strip(result);
+        }
+        // convert_outgoing_mqtt_payload() converts these into bytes
+        if (result.startsWith("b'") || result.startsWith("b\"")) {
+            return null;
+        }
+        return result;
+    }
+
+    private String render(Variables variables) {
+        StringBuilder builder = new StringBuilder();
+        for (Node part : parts) {
+            builder.append(PythonValues.str(part.evaluate(variables)));
+        }
+        return builder.toString();
+    }
+
+    private record Variables(@Nullable Object value, @Nullable Object valueJson, boolean valueJsonDefined) {
+    }
+
+    @FunctionalInterface
+    private interface Node {
+        @Nullable
+        Object evaluate(Variables variables);
+    }
+
+    private static @Nullable Object getAttribute(@Nullable Object object, String name) {
+        if (object instanceof Map<?, ?> map && !DICT_ATTRIBUTES.contains(name) && map.containsKey(name)) {
+            return map.get(name);
+        }
+        throw new UnsupportedTemplateException("undefined attribute " + name);
+    }
+
+    private static @Nullable Object getItem(@Nullable Object object, @Nullable Object key) {
+        if (object instanceof Map<?, ?> map && key instanceof String && map.containsKey(key)) {
+            return map.get(key);
+        }
+        if (object instanceof List<?> list && key instanceof Long index) {
+            long i = index < 0 ? index + list.size() : index;
+            if (i >= 0 && i < list.size()) {
+                return list.get((int) i);
+            }
+        }
+        throw new UnsupportedTemplateException("undefined item " + key);
+    }
+
+    private static @Nullable Object toFloat(String name, List<@Nullable Object> arguments) {
+        checkArguments(name, arguments, 1, 2);
+        Double result = PythonValues.toFloat(arguments.get(0));
+        return result != null ? result : defaultValue(name, arguments, 1);
+    }
+
+    private static @Nullable Object toInt(String name, List<@Nullable Object> arguments) {
+        // the base argument is not supported
+        checkArguments(name, arguments, 1, 2);
+        Long result = PythonValues.toInt(arguments.get(0));
+        return result != null ? result : defaultValue(name, arguments, 1);
+    }
+
+    private static @Nullable Object round(List<@Nullable Object> arguments) {
+        checkArguments("round", arguments, 1, 4);
+        long precision = 0;
+        if (arguments.size() > 1) {
+            if (!(arguments.get(1) instanceof Long p) || p > 308) {
+                throw new UnsupportedTemplateException("round precision");
+            }
+            precision = p;
+        }
+        if (arguments.size() > 2) {
+            Object method = arguments.get(2);
+            if (!(method instanceof String) || "ceil".equals(method) || "floor".equals(method)
+                    || "half".equals(method)) {
+                throw new UnsupportedTemplateException("round method " + method);
+            }
+        }
+        Double value = PythonValues.toFloat(arguments.get(0));
+        if (value == null || (precision == 0 && value.isNaN())) {
+            return defaultValue("round", arguments, 3);
+        }
+        double result = PythonValues.round(value, precision);
+        return precision == 0 ? (Object) PythonValues.truncate(result) : (Object) result;
+    }
+
+    private static @Nullable Object iif(List<@Nullable Object> arguments) {
+        checkArguments("iif", arguments, 1, 4);
+        Object value = arguments.get(0);
+        if (value == null && arguments.size() > 3) {
+            return arguments.get(3);
+        }
+        if (PythonValues.isTrue(value)) {
+            return arguments.size() > 1 ? arguments.get(1) : Boolean.TRUE;
+        }
+        return arguments.size() > 2 ? arguments.get(2) : Boolean.FALSE;
+    }
+
+    private static String changeCase(String name, List<@Nullable Object> arguments) {
+        checkArguments(name, arguments, 1, 1);
+        String string = PythonValues.str(arguments.get(0));
+        for (int i = 0; i < string.length(); i++) {
+            if (string.charAt(i) > '\u007f') {
+                throw new UnsupportedTemplateException("case of non-ASCII characters");
+            }
+        }
+        return "upper".equals(name) ? string.toUpperCase(Locale.ROOT) : string.toLowerCase(Locale.ROOT);
+    }
+
+    private static String string(List<@Nullable Object> arguments) {
+        checkArguments("string", arguments, 1, 1);
+        return PythonValues.str(arguments.get(0));
+    }
+
+    private static @Nullable Object defaultValue(String name, List<@Nullable Object> arguments, int index) {
+        if (arguments.size() <= index) {
+            throw new UnsupportedTemplateException(name + " without default");
+        }
+        return arguments.get(index);
+    }
+
+    private static void checkArguments(String name, List<@Nullable Object> arguments, int min, int max) {
+        if (arguments.size() < min || arguments.size() > max) {
+            throw new UnsupportedTemplateException("arguments of " + name);
+        }
+    }
+
+    /**
+     * A function or filter, which Python calls with all arguments evaluated.
+     */
+    @FunctionalInterface
+    private interface Function {
+        @Nullable
+        Object apply(List<@Nullable Object> arguments);
+    }
+
+    private enum TokenType {
+        NAME,
+        STRING,
+        NUMBER,
+        OPERATOR,
+        END
+    }
+
+    private record Token(TokenType type, String text, @Nullable Object value) {
+        boolean is(TokenType type, String text) {
+            return this.type == type && this.text.equals(text);
+        }
+
+        boolean isOperator(String text) {
+            return is(TokenType.OPERATOR, text);
+        }
+
+        boolean isName(String text) {
+            return is(TokenType.NAME, text);
+        }
+    }
+
+    /**
+     * Parses the supported subset of Jinja, following the structure and precedence of Jinja's parser.
+     */
+    private static class Parser {
+        private final String template;
+        private int position;
+        private List<Token> tokens = List.of();
+        private int index;
+        private boolean usesValueJson;
+
+        Parser(String template) {
+            this.template = template;
+        }
+
+        List<Node> parseTemplate() {
+            List<Node> parts = new ArrayList<>();
+            while (position < template.length()) {
+                int start = template.indexOf("{{", position);
+                String text = template.substring(position, start < 0 ? template.length() : start);
+                if (text.contains("{%") || text.contains("{#")) {
+                    throw new UnsupportedTemplateException("statements and comments");
+                }
+                if (!text.isEmpty()) {
+                    String data = normalizeNewlines(text);
+                    parts.add(variables -> data);
+                }
+                if (start < 0) {
+                    break;
+                }
+                position = start + 2;
+                if (position < template.length()
+                        && (template.charAt(position) == '-' || template.charAt(position) == '+')) {
+                    throw new UnsupportedTemplateException("whitespace control");
+                }
+                tokens = tokenize();
+                index = 0;
+                parts.add(parseExpression());
+                if (current().type() != TokenType.END) {
+                    throw new UnsupportedTemplateException("unexpected " + current().text());
+                }
+            }
+            return parts;
+        }
+
+        private Node parseExpression() {
+            Node node = parseOr();
+            while (current().isName("if")) {
+                index++;
+                Node condition = parseOr();
+                if (!current().isName("else")) {
+                    throw new UnsupportedTemplateException("conditional expression without else");
+                }
+                index++;
+                Node ifTrue = node;
+                Node ifFalse = parseExpression();
+                node = variables -> PythonValues.isTrue(condition.evaluate(variables)) ? ifTrue.evaluate(variables)
+                        : ifFalse.evaluate(variables);
+            }
+            return node;
+        }
+
+        private Node parseOr() {
+            Node left = parseAnd();
+            while (current().isName("or")) {
+                index++;
+                Node l = left;
+                Node r = parseAnd();
+                left = variables -> {
+                    Object value = l.evaluate(variables);
+                    return PythonValues.isTrue(value) ? value : r.evaluate(variables);
+                };
+            }
+            return left;
+        }
+
+        private Node parseAnd() {
+            Node left = parseNot();
+            while (current().isName("and")) {
+                index++;
+                Node l = left;
+                Node r = parseNot();
+                left = variables -> {
+                    Object value = l.evaluate(variables);
+                    return PythonValues.isTrue(value) ? r.evaluate(variables) : value;
+                };
+            }
+            return left;
+        }
+
+        private Node parseNot() {
+            if (current().isName("not")) {
+                index++;
+                Node operand = parseNot();
+                return variables -> !PythonValues.isTrue(operand.evaluate(variables));
+            }
+            return parseCompare();
+        }
+
+        private Node parseCompare() {
+            Node left = parseMath1();
+            Token token = current();
+            if (token.type() != TokenType.OPERATOR
+                    || !Set.of("==", "!=", "<", "<=", ">", ">=").contains(token.text())) {
+                if (token.isName("in") || token.isName("not")) {
+                    throw new UnsupportedTemplateException("membership test");
+                }
+                return left;
+            }
+            index++;
+            Node right = parseMath1();
+            if (current().type() == TokenType.OPERATOR
+                    && Set.of("==", "!=", "<", "<=", ">", ">=").contains(current().text())) {
+                throw new UnsupportedTemplateException("chained comparison");
+            }
+            return switch (token.text()) {
+                case "==" -> variables -> PythonValues.equal(left.evaluate(variables), right.evaluate(variables));
+                case "!=" -> variables -> !PythonValues.equal(left.evaluate(variables), right.evaluate(variables));
+                default -> variables -> {
+                    Integer result = PythonValues.compare(left.evaluate(variables), right.evaluate(variables));
+                    if (result == null) {
+                        return false;
+                    }
+                    return switch (token.text()) {
+                        case "<" -> result < 0;
+                        case "<=" -> result <= 0;
+                        case ">" -> result > 0;
+                        default -> result >= 0;
+                    };
+                };
+            };
+        }
+
+        private Node parseMath1() {
+            Node left = parseConcat();
+            while (current().isOperator("+") || current().isOperator("-")) {
+                boolean add = current().isOperator("+");
+                index++;
+                Node l = left;
+                Node r = parseConcat();
+                left = add ? variables -> PythonValues.add(l.evaluate(variables), r.evaluate(variables))
+                        : variables -> PythonValues.subtract(l.evaluate(variables), r.evaluate(variables));
+            }
+            return left;
+        }
+
+        private Node parseConcat() {
+            List<Node> operands = new ArrayList<>();
+            operands.add(parseMath2());
+            while (current().isOperator("~")) {
+                index++;
+                operands.add(parseMath2());
+            }
+            if (operands.size() == 1) {
+                return operands.get(0);
+            }
+            return variables -> {
+                StringBuilder builder = new StringBuilder();
+                for (Node operand : operands) {
+                    builder.append(PythonValues.str(operand.evaluate(variables)));
+                }
+                return builder.toString();
+            };
+        }
+
+        private Node parseMath2() {
+            Node left = parseUnary(true);
+            while (current().isOperator("*") || current().isOperator("/")) {
+                boolean multiply = current().isOperator("*");
+                index++;
+                Node l = left;
+                Node r = parseUnary(true);
+                left = multiply ? variables -> PythonValues.multiply(l.evaluate(variables), r.evaluate(variables))
+                        : variables -> PythonValues.divide(l.evaluate(variables), r.evaluate(variables));
+            }
+            return left;
+        }
+
+        private Node parseUnary(boolean withFilter) {
+            Node node;
+            if (current().isOperator("-")) {
+                index++;
+                Node operand = parseUnary(false);
+                node = variables -> PythonValues.negate(operand.evaluate(variables));
+            } else if (current().isOperator("+")) {
+                index++;
+                Node operand = parseUnary(false);
+                node = variables -> PythonValues.plus(operand.evaluate(variables));
+            } else {
+                node = parsePrimary();
+            }
+            node = parsePostfix(node);
+            return withFilter ? parseFilters(node) : node;
+        }
+
+        private Node parsePrimary() {
+            Token token = current();
+            index++;
+            switch (token.type()) {
+                case NAME:
+                    return parseName(token.text());
+                case STRING:
+                    StringBuilder builder = new StringBuilder((String) token.value());
+                    // adjacent strings are concatenated
+                    while (current().type() == TokenType.STRING) {
+                        builder.append((String) current().value());
+                        index++;
+                    }
+                    String string = builder.toString();
+                    return variables -> string;
+                case NUMBER:
+                    Object number = token.value();
+                    return variables -> number;
+                default:
+                    if (token.isOperator("(")) {
+                        Node node = parseExpression();
+                        expect(")");
+                        return node;
+                    }
+                    throw new UnsupportedTemplateException("unexpected " + token.text());
+            }
+        }
+
+        private Node parseName(String name) {
+            switch (name) {
+                case "true", "True":
+                    return variables -> Boolean.TRUE;
+                case "false", "False":
+                    return variables -> Boolean.FALSE;
+                case "none", "None":
+                    return variables -> null;
+                case "value":
+                    return Variables::value;
+                case "value_json":
+                    usesValueJson = true;
+                    return variables -> {
+                        if (!variables.valueJsonDefined()) {
+                            throw new UnsupportedTemplateException("undefined value_json");
+                        }
+                        return variables.valueJson();
+                    };
+                default:
+                    if (FUNCTIONS.contains(name) && current().isOperator("(")) {
+                        index++;
+                        List<Node> arguments = parseArguments();
+                        return function(name, arguments);
+                    }
+                    throw new UnsupportedTemplateException("variable " + name);
+            }
+        }
+
+        private Node parsePostfix(Node node) {
+            while (true) {
+                if (current().isOperator(".")) {
+                    index++;
+                    Token token = current();
+                    if (token.type() != TokenType.NAME || token.text().startsWith("_")) {
+                        throw new UnsupportedTemplateException("attribute " + token.text());
+                    }
+                    index++;
+                    Node object = node;
+                    String name = token.text();
+                    node = variables -> getAttribute(object.evaluate(variables), name);
+                } else if (current().isOperator("[")) {
+                    index++;
+                    Node key = parseExpression();
+                    expect("]");
+                    Node object = node;
+                    node = variables -> getItem(object.evaluate(variables), key.evaluate(variables));
+                } else if (current().isOperator("(")) {
+                    throw new UnsupportedTemplateException("call");
+                } else {
+                    return node;
+                }
+            }
+        }
+
+        private Node parseFilters(Node node) {
+            while (true) {
+                if (current().isOperator("|")) {
+                    index++;
+                    Token token = current();
+                    if (token.type() != TokenType.NAME) {
+                        throw new UnsupportedTemplateException("filter " + token.text());
+                    }
+                    index++;
+                    List<Node> arguments = new ArrayList<>();
+                    arguments.add(node);
+                    if (current().isOperator("(")) {
+                        index++;
+                        arguments.addAll(parseArguments());
+                    }
+                    node = filter(token.text(), arguments);
+                } else if (current().isName("is") || current().isOperator("(")) {
+                    throw new UnsupportedTemplateException("test or call");
+                } else {
+                    return node;
+                }
+            }
+        }
+
+        private List<Node> parseArguments() {
+            List<Node> arguments = new ArrayList<>();
+            while (!current().isOperator(")")) {
+                if (!arguments.isEmpty()) {
+                    expect(",");
+                    if (current().isOperator(")")) {
+                        break;
+                    }
+                }
+                arguments.add(parseExpression());
+            }
+            index++;
+            return arguments;
+        }
+
+        private Node function(String name, List<Node> arguments) {
+            Function function = switch (name) {
+                case "float" -> values -> toFloat(name, values);
+                case "int" -> values -> toInt(name, values);
+                default -> NativeTemplate::iif;
+            };
+            return call(function, arguments);
+        }
+
+        private Node filter(String name, List<Node> arguments) {
+            Function filter = switch (name) {
+                case "float" -> values -> toFloat(name, values);
+                case "int" -> values -> toInt(name, values);
+                case "round" -> NativeTemplate::round;
+                case "iif" -> NativeTemplate::iif;
+                case "lower", "upper" -> values -> changeCase(name, values);
+                case "string" -> NativeTemplate::string;
+                default -> throw new UnsupportedTemplateException("filter " + name);
+            };
+            return call(filter, arguments);
+        }
+
+        private Node call(Function function, List<Node> arguments) {
+            return variables -> {
+                List<@Nullable Object> values = new ArrayList<>(arguments.size());
+                for (Node argument : arguments) {
+                    values.add(argument.evaluate(variables));
+                }
+                return function.apply(values);
+            };
+        }
+
+        private Token current() {
+            return tokens.get(Math.min(index, tokens.size() - 1));
+        }
+
+        private void expect(String operator) {
+            if (!current().isOperator(operator)) {
+                throw new UnsupportedTemplateException("expected " + operator);
+            }
+            index++;
+        }
+
+        /**
+         * Splits the expression at the current position into tokens, up to and including the closing braces.
+         */
+        private List<Token> tokenize() {
+            List<Token> result = new ArrayList<>();
+            while (true) {
+                if (position >= template.length()) {
+                    throw new UnsupportedTemplateException("unclosed expression");
+                }
+                char c = template.charAt(position);
+                if (c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f' || c == '\u000b') {
+                    position++;
+                } else if (template.startsWith("}}", position)) {
+                    position += 2;
+                    result.add(new Token(TokenType.END, "}}", null));
+                    return result;
+                } else if (template.startsWith("-}}", position) || template.startsWith("+}}", position)) {
+                    throw new UnsupportedTemplateException("whitespace control");
+                } else if (c == '\'' || c == '"') {
+                    int end = template.indexOf(c, position + 1);
+                    if (end < 0) {
+                        throw new UnsupportedTemplateException("unclosed string");
+                    }
+                    String string = template.substring(position + 1, end);
+                    if (string.indexOf('\\') >= 0) {
+                        throw new UnsupportedTemplateException("escape sequence");
+                    }
+                    position = end + 1;
+                    result.add(new Token(TokenType.STRING, string, normalizeNewlines(string)));
+                } else if (c >= '0' && c <= '9') {
+                    result.add(tokenizeNumber());
+                } else if (isNameStart(c)) {
+                    int start = position;
+                    while (position < template.length() && isNamePart(template.charAt(position))) {
+                        position++;
+                    }
+                    result.add(new Token(TokenType.NAME, template.substring(start, position), null));
+                } else if (template.startsWith("==", position) || template.startsWith("!=", position)
+                        || template.startsWith("<=", position) || template.startsWith(">=", position)) {
+                    result.add(new Token(TokenType.OPERATOR, template.substring(position, position + 2), null));
+                    position += 2;
+                } else if (template.startsWith("//", position) || template.startsWith("**", position)) {
+                    throw new UnsupportedTemplateException("operator " + template.substring(position, position + 2));
+                } else if ("+-*/~<>|.,()[]".indexOf(c) >= 0) {
+                    result.add(new Token(TokenType.OPERATOR, String.valueOf(c), null));
+                    position++;
+                } else {
+                    throw new UnsupportedTemplateException("character " + c);
+                }
+            }
+        }
+
+        private Token tokenizeNumber() {
+            int start = position;
+            skipDigits();
+            boolean isFloat = false;
+            if (position + 1 < template.length() && template.charAt(position) == '.'
+                    && isDigit(template.charAt(position + 1))) {
+                isFloat = true;
+                position++;
+                skipDigits();
+            }
+            if (position < template.length()
+                    && (template.charAt(position) == 'e' || template.charAt(position) == 'E')) {
+                int exponent = position + 1;
+                if (exponent < template.length()
+                        && (template.charAt(exponent) == '+' || template.charAt(exponent) == '-')) {
+                    exponent++;
+                }
+                if (exponent < template.length() && isDigit(template.charAt(exponent))) {
+                    isFloat = true;
+                    position = exponent;
+                    skipDigits();
+                }
+            }
+            // Jinja doesn't accept leading zeros in ints and also supports underscores, hex, octal and binary ints
+            if ((position < template.length() && isNamePart(template.charAt(position)))
+                    || (!isFloat && position - start > 1 && template.charAt(start) == '0')) {
+                throw new UnsupportedTemplateException("number");
+            }
+            String number = template.substring(start, position);
+            if (isFloat) {
+                return new Token(TokenType.NUMBER, number, Double.parseDouble(number));
+            }
+            try {
+                return new Token(TokenType.NUMBER, number, Long.parseLong(number));
+            } catch (NumberFormatException e) {
+                throw new UnsupportedTemplateException("int out of range");
+            }
+        }
+
+        private void skipDigits() {
+            while (position < template.length() && isDigit(template.charAt(position))) {
+                position++;
+            }
+        }
+
+        private static boolean isDigit(char c) {
+            return c >= '0' && c <= '9';
+        }
+
+        private static boolean isNameStart(char c) {
+            return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_';
+        }
+
+        private static boolean isNamePart(char c) {
+            return isNameStart(c) || isDigit(c);
+        }
+
+        private static String normalizeNewlines(String text) {
+            return text.indexOf('\r') < 0 ? text : text.replace("\r\n", "\n").replace('\r', '\n');
+        }
+    }
+}
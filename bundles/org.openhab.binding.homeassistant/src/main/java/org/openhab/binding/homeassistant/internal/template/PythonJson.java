@@ -0,0 +1,293 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homeassistant.internal.template;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Parses JSON exactly like Python's json.loads(), which Home Assistant uses to provide value_json.
+ *
+ * <p>
+ * In contrast to a common JSON parser this accepts NaN, Infinity and -Infinity, rejects control characters in
+ * strings and keeps the last value of duplicate keys. Ints which do not fit in a long and deeply nested documents
+ * are not supported.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+final class PythonJson {
+    /**
+     * Returned by {@link #parse(String)} if Python raises a JSONDecodeError.
+     */
+    static final Object INVALID = new Object();
+
+    private static final int MAX_DEPTH = 64;
+
+    private final String json;
+    private int position;
+    private int depth;
+
+    private PythonJson(String json) {
+        this.json = json;
+    }
+
+    /**
+     * @return the parsed value, or {@link #INVALID}
+     * @throws UnsupportedTemplateException if the value cannot be represented
+     */
+    static @Nullable Object parse(String json) {
+        PythonJson parser = new PythonJson(json);
+        try {
+            parser.skipWhitespace();
+            Object value = parser.parseValue();
+            parser.skipWhitespace();
+            return parser.position == json.length() ? value : INVALID;
+        } catch (InvalidJsonException e) {
+            return INVALID;
+        }
+    }
+
+    private @Nullable Object parseValue() {
+        if (position >= json.length()) {
+            throw new InvalidJsonException();
+        }
+        char c = json.charAt(position);
+        switch (c) {
+            case '"':
+                position++;
+                return parseString();
+            case '{':
+                position++;
+                return parseObject();
+            case '[':
+                position++;
+                return parseArray();
+            case 'n':
+                return parseLiteral("null", null);
+            case 't':
+                return parseLiteral("true", Boolean.TRUE);
+            case 'f':
+                return parseLiteral("false", Boolean.FALSE);
+            case 'N':
+                return parseLiteral("NaN", Double.NaN);
+            case 'I':
+                return parseLiteral("Infinity", Double.POSITIVE_INFINITY);
+            case '-':
+                if (json.startsWith("-Infinity", position)) {
+                    position += 9;
+                    return Double.NEGATIVE_INFINITY;
+                }
+                return parseNumber();
+            default:
+                if (c >= '0' && c <= '9') {
+                    return parseNumber();
+                }
+                throw new InvalidJsonException();
+        }
+    }
+
+    private @Nullable Object parseLiteral(String literal, @Nullable Object value) {
+        if (!json.startsWith(literal, position)) {
+            throw new InvalidJsonException();
+        }
+        position += literal.length();
+        return value;
+    }
+
+    private Object parseNumber() {
+        int start = position;
+        if (json.charAt(position) == '-') {
+            position++;
+        }
+        if (position < json.length() && json.charAt(position) >= '1' && json.charAt(position) <= '9') {
+            skipDigits();
+        } else if (position < json.length() && json.charAt(position) == '0') {
+            position++;
+        } else {
+            throw new InvalidJsonException();
+        }
+        boolean isFloat = false;
+        if (position + 1 < json.length() && json.charAt(position) == '.' && isDigit(position + 1)) {
+            isFloat = true;
+            position++;
+            skipDigits();
+        }
+        if (position < json.length() && (json.charAt(position) == 'e' || json.charAt(position) == 'E')) {
+            int exponentStart = position;
+            position++;
+            if (position < json.length() && (json.charAt(position) == '+' || json.charAt(position) == '-')) {
+                position++;
+            }
+            if (isDigit(position)) {
+                isFloat = true;
+                skipDigits();
+            } else {
+                position = exponentStart;
+            }
+        }
+        String number = json.substring(start, position);
+        if (isFloat) {
+            return Double.parseDouble(number);
+        }
+        try {
+            return Long.parseLong(number);
+        } catch (NumberFormatException e) {
+            throw new UnsupportedTemplateException("int out of range");
+        }
+    }
+
+    private String parseString() {
+        StringBuilder builder = new StringBuilder();
+        while (true) {
+            if (position >= json.length()) {
+                throw new InvalidJsonException();
+            }
+            char c = json.charAt(position++);
+            if (c == '"') {
+                return builder.toString();
+            }
+            if (c < ' ') {
+                throw new InvalidJsonException();
+            }
+            if (c != '\\') {
+                builder.append(c);
+                continue;
+            }
+            if (position >= json.length()) {
+                throw new InvalidJsonException();
+            }
+            char escape = json.charAt(position++);
+            switch (escape) {
+                case '"', '\\', '/' -> builder.append(escape);
+                case 'b' -> builder.append('\b');
+                case 'f' -> builder.append('\f');
+                case 'n' -> builder.append('\n');
+                case 'r' -> builder.append('\r');
+                case 't' -> builder.append('\t');
+                case 'u' -> builder.append(parseHex());
+                default -> throw new InvalidJsonException();
+            }
+        }
+    }
+
+    private char parseHex() {
+        if (position + 4 > json.length()) {
+            throw new InvalidJsonException();
+        }
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            int digit = Character.digit(json.charAt(position++), 16);
+            if (digit < 0 || json.charAt(position - 1) > 'f') {
+                throw new InvalidJsonException();
+            }
+            value = value * 16 + digit;
+        }
+        return (char) value;
+    }
+
+    private Map<String, @Nullable Object> parseObject() {
+        enter();
+        Map<String, @Nullable Object> map = new LinkedHashMap<>();
+        skipWhitespace();
+        if (position < json.length() && json.charAt(position) == '}') {
+            position++;
+            depth--;
+            return map;
+        }
+        while (true) {
+            expect('"');
+            String key = parseString();
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+            map.put(key, parseValue());
+            skipWhitespace();
+            if (position < json.length() && json.charAt(position) == '}') {
+                position++;
+                depth--;
+                return map;
+            }
+            expect(',');
+            skipWhitespace();
+        }
+    }
+
+    private List<@Nullable Object> parseArray() {
+        enter();
+        List<@Nullable Object> list = new ArrayList<>();
+        skipWhitespace();
+        if (position < json.length() && json.charAt(position) == ']') {
+            position++;
+            depth--;
+            return list;
+        }
+        while (true) {
+            list.add(parseValue());
+            skipWhitespace();
+            if (position < json.length() && json.charAt(position) == ']') {
+                position++;
+                depth--;
+                return list;
+            }
+            expect(',');
+            skipWhitespace();
+        }
+    }
+
+    private void enter() {
+        if (++depth > MAX_DEPTH) {
+            throw new UnsupportedTemplateException("JSON nesting too deep");
+        }
+    }
+
+    private void expect(char c) {
+        if (position >= json.length() || json.charAt(position) != c) {
+            throw new InvalidJsonException();
+        }
+        position++;
+    }
+
+    private void skipWhitespace() {
+        while (position < json.length()) {
+            char c = json.charAt(position);
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                return;
+            }
+            position++;
+        }
+    }
+
+    private void skipDigits() {
+        while (isDigit(position)) {
+            position++;
+        }
+    }
+
+    private boolean isDigit(int index) {
+        return index < json.length() && json.charAt(index) >= '0' && json.charAt(index) <= '9';
+    }
+
+    private static class InvalidJsonException extends RuntimeException {
+        private static final long serialVersionUID = -2150867512383917302L;
+
+        InvalidJsonException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,453 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homeassistant.internal.template;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Implements the Python semantics of the values a {@link NativeTemplate} works with.
+ *
+ * <p>
+ * Values are represented as null (None), {@link Boolean}, {@link Long} (int), {@link Double} (float), {@link String},
+ * {@link List} and {@link Map}. Whenever Python would behave differently from what is implemented here, e.g. for ints
+ * which do not fit in a long, an {@link UnsupportedTemplateException} is thrown.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+final class PythonValues {
+    private static final Pattern FLOAT_PATTERN = Pattern.compile("[+-]?(\\d+\\.?\\d*|\\.\\d+)([eE][+-]?\\d+)?");
+    private static final Pattern INT_PATTERN = Pattern.compile("[+-]?\\d+");
+    private static final Pattern SPECIAL_FLOAT_PATTERN = Pattern.compile("([+-]?)(inf|infinity|nan)",
+            Pattern.CASE_INSENSITIVE);
+    // 2^53, the largest magnitude up to which every long converts to a double exactly
+    private static final long MAX_EXACT_LONG = 1L << 53;
+
+    private PythonValues() {
+    }
+
+    /**
+     * @return the result of Python's str()
+     */
+    static String str(@Nullable Object value) {
+        if (value == null) {
+            return "None";
+        }
+        if (value instanceof String s) {
+            return s;
+        }
+        if (value instanceof Boolean b) {
+            return b ? "True" : "False";
+        }
+        if (value instanceof Long l) {
+            return l.toString();
+        }
+        if (value instanceof Double d) {
+            return repr(d);
+        }
+        throw new UnsupportedTemplateException("string representation of " + value.getClass().getSimpleName());
+    }
+
+    /**
+     * @return the result of Python's repr() for a float, i.e. the shortest representation that reads back as the
+     *         same value
+     */
+    static String repr(double value) {
+        if (Double.isNaN(value)) {
+            return "nan";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "inf" : "-inf";
+        }
+        if (value == 0) {
+            return 1 / value < 0 ? "-0.0" : "0.0";
+        }
+        double abs = Math.abs(value);
+        BigDecimal decimal = new BigDecimal(Double.toString(abs)).stripTrailingZeros();
+        if (decimal.precision() == 2) {
+            // Java may prefer a closer two digit representation where a single digit one suffices
+            BigDecimal shorter = new BigDecimal(abs).round(new MathContext(1, RoundingMode.HALF_EVEN));
+            if (Double.parseDouble(shorter.toString()) == abs) {
+                decimal = shorter.stripTrailingZeros();
+            }
+        }
+        String digits = decimal.unscaledValue().toString();
+        int point = digits.length() - decimal.scale();
+
+        StringBuilder builder = new StringBuilder();
+        if (value < 0) {
+            builder.append('-');
+        }
+        if (point <= -4 || point > 16) {
+            builder.append(digits.charAt(0));
+            if (digits.length() > 1) {
+                builder.append('.').append(digits, 1, digits.length());
+            }
+            int exponent = point - 1;
+            builder.append(exponent < 0 ? "e-" : "e+");
+            if (Math.abs(exponent) < 10) {
+                builder.append('0');
+            }
+            builder.append(Math.abs(exponent));
+        } else if (point <= 0) {
+            builder.append("0.").append("0".repeat(-point)).append(digits);
+        } else if (point >= digits.length()) {
+            builder.append(digits).append("0".repeat(point - digits.length())).append(".0");
+        } else {
+            builder.append(digits, 0, point).append('.').append(digits, point, digits.length());
+        }
+        return builder.toString();
+    }
+
+    /**
+     * @return whether the character is whitespace according to Python's str.isspace()
+     */
+    static boolean isSpace(char c) {
+        if (c <= ' ') {
+            return c == ' ' || (c >= '\t' && c <= '\r') || (c >= '\u001c' && c <= '\u001f');
+        }
+        return c == 0x85 || c == 0xa0 || c == 0x1680 || (c >= 0x2000 && c <= 0x200a) || c == 0x2028 || c == 0x2029
+                || c == 0x202f || c == 0x205f || c == 0x3000;
+    }
+
+    /**
+     * @return the result of Python's str.strip()
+     */
+    static String strip(String value) {
+        int start = 0;
+        int end = value.length();
+        while (start < end && isSpace(value.charAt(start))) {
+            start++;
+        }
+        while (end > start && isSpace(value.charAt(end - 1))) {
+            end--;
+        }
+        return value.substring(start, end);
+    }
+
+    /**
+     * @return the result of Python's bool()
+     */
+    static boolean isTrue(@Nullable Object value) {
+        if (value == null) {
+            return false;
+        }
+        if (value instanceof Boolean b) {
+            return b;
+        }
+        if (value instanceof Long l) {
+            return l != 0;
+        }
+        if (value instanceof Double d) {
+            return d != 0;
+        }
+        if (value instanceof String s) {
+            return !s.isEmpty();
+        }
+        if (value instanceof List<?> list) {
+            return !list.isEmpty();
+        }
+        if (value instanceof Map<?, ?> map) {
+            return !map.isEmpty();
+        }
+        throw new UnsupportedTemplateException("truth value of " + value.getClass().getSimpleName());
+    }
+
+    /**
+     * @return the result of Python's float(), or null if Python raises a ValueError or TypeError
+     */
+    static @Nullable Double toFloat(@Nullable Object value) {
+        if (value instanceof Double d) {
+            return d;
+        }
+        if (value instanceof Long l) {
+            return l.doubleValue();
+        }
+        if (value instanceof Boolean b) {
+            return b ? 1.0 : 0.0;
+        }
+        if (value instanceof String s) {
+            return parseFloat(s);
+        }
+        return null;
+    }
+
+    /**
+     * @return the result of Jinja's int filter without default, or null if it returns the default
+     */
+    static @Nullable Long toInt(@Nullable Object value) {
+        if (value instanceof Long l) {
+            return l;
+        }
+        if (value instanceof Boolean b) {
+            return b ? 1L : 0L;
+        }
+        if (value instanceof String s) {
+            checkNumberLiteral(s);
+            String stripped = strip(s);
+            if (INT_PATTERN.matcher(stripped).matches()) {
+                try {
+                    return Long.parseLong(stripped.startsWith("+") ? stripped.substring(1) : stripped);
+                } catch (NumberFormatException e) {
+                    throw new UnsupportedTemplateException("int out of range");
+                }
+            }
+        }
+        Double d = toFloat(value);
+        if (d == null || d.isNaN()) {
+            return null;
+        }
+        return truncate(d);
+    }
+
+    /**
+     * @return the result of Python's int() for a float
+     */
+    static long truncate(double value) {
+        if (Double.isNaN(value) || Math.abs(value) >= 0x1p63) {
+            throw new UnsupportedTemplateException("int out of range");
+        }
+        return (long) value;
+    }
+
+    /**
+     * @return the result of Python's round() for a float
+     */
+    static double round(double value, long digits) {
+        if (!Double.isFinite(value) || value == 0 || digits > 323) {
+            return value;
+        }
+        if (digits < -308) {
+            return Math.copySign(0.0, value);
+        }
+        double result = new BigDecimal(value).setScale((int) digits, RoundingMode.HALF_EVEN).doubleValue();
+        if (Double.isInfinite(result)) {
+            throw new UnsupportedTemplateException("rounded value too large");
+        }
+        return result == 0 ? Math.copySign(0.0, value) : result;
+    }
+
+    /**
+     * @return the result of Python's == operator
+     */
+    static boolean equal(@Nullable Object left, @Nullable Object right) {
+        Object leftNumber = number(left);
+        Object rightNumber = number(right);
+        if (leftNumber != null && rightNumber != null) {
+            Integer result = compareNumbers(leftNumber, rightNumber);
+            return result != null && result == 0;
+        }
+        if (left == null || right == null) {
+            return left == right;
+        }
+        if (left instanceof String || right instanceof String) {
+            return left.equals(right);
+        }
+        if (leftNumber == null && rightNumber == null) {
+            throw new UnsupportedTemplateException("comparison of containers");
+        }
+        return false;
+    }
+
+    /**
+     * @return the ordering of two values as of Python's < and > operators, or null if they are unordered because a
+     *         value is NaN
+     */
+    static @Nullable Integer compare(@Nullable Object left, @Nullable Object right) {
+        Object leftNumber = number(left);
+        Object rightNumber = number(right);
+        if (leftNumber != null && rightNumber != null) {
+            return compareNumbers(leftNumber, rightNumber);
+        }
+        if (left instanceof String l && right instanceof String r) {
+            return Integer.signum(compareCodePoints(l, r));
+        }
+        throw new UnsupportedTemplateException("ordering of incompatible values");
+    }
+
+    static Object add(@Nullable Object left, @Nullable Object right) {
+        if (left instanceof String l && right instanceof String r) {
+            return l + r;
+        }
+        Object l = requireNumber(left);
+        Object r = requireNumber(right);
+        if (l instanceof Long a && r instanceof Long b) {
+            try {
+                return Math.addExact(a, b);
+            } catch (ArithmeticException e) {
+                throw new UnsupportedTemplateException("int out of range");
+            }
+        }
+        return toDouble(l) + toDouble(r);
+    }
+
+    static Object subtract(@Nullable Object left, @Nullable Object right) {
+        Object l = requireNumber(left);
+        Object r = requireNumber(right);
+        if (l instanceof Long a && r instanceof Long b) {
+            try {
+                return Math.subtractExact(a, b);
+            } catch (ArithmeticException e) {
+                throw new UnsupportedTemplateException("int out of range");
+            }
+        }
+        return toDouble(l) - toDouble(r);
+    }
+
+    static Object multiply(@Nullable Object left, @Nullable Object right) {
+        Object l = requireNumber(left);
+        Object r = requireNumber(right);
+        if (l instanceof Long a && r instanceof Long b) {
+            try {
+                return Math.multiplyExact(a, b);
+            } catch (ArithmeticException e) {
+                throw new UnsupportedTemplateException("int out of range");
+            }
+        }
+        return toDouble(l) * toDouble(r);
+    }
+
+    static Object divide(@Nullable Object left, @Nullable Object right) {
+        Object l = requireNumber(left);
+        Object r = requireNumber(right);
+        if (toDouble(r) == 0) {
+            throw new UnsupportedTemplateException("division by zero");
+        }
+        if (l instanceof Long a && r instanceof Long b
+                && (Math.abs(a) > MAX_EXACT_LONG || Math.abs(b) > MAX_EXACT_LONG)) {
+            // Python divides large ints exactly before rounding
+            throw new UnsupportedTemplateException("int out of range");
+        }
+        return toDouble(l) / toDouble(r);
+    }
+
+    static Object negate(@Nullable Object value) {
+        Object number = requireNumber(value);
+        if (number instanceof Long l) {
+            if (l == Long.MIN_VALUE) {
+                throw new UnsupportedTemplateException("int out of range");
+            }
+            return -l;
+        }
+        return -(Double) number;
+    }
+
+    static Object plus(@Nullable Object value) {
+        return requireNumber(value);
+    }
+
+    private static Object requireNumber(@Nullable Object value) {
+        Object number = number(value);
+        if (number == null) {
+            throw new UnsupportedTemplateException("arithmetic on non-number");
+        }
+        return number;
+    }
+
+    /**
+     * @return the value as {@link Long} or {@link Double}, or null if it is not a number
+     */
+    private static @Nullable Object number(@Nullable Object value) {
+        if (value instanceof Boolean b) {
+            return b ? 1L : 0L;
+        }
+        if (value instanceof Long || value instanceof Double) {
+            return value;
+        }
+        return null;
+    }
+
+    private static double toDouble(Object number) {
+        if (number instanceof Long l) {
+            return l.doubleValue();
+        }
+        return (Double) number;
+    }
+
+    private static @Nullable Integer compareNumbers(Object left, Object right) {
+        if (left instanceof Long l && right instanceof Long r) {
+            return Long.compare(l, r);
+        }
+        if (left instanceof Double l && right instanceof Double r) {
+            if (l.isNaN() || r.isNaN()) {
+                return null;
+            }
+            return l < r ? -1 : l > r ? 1 : 0;
+        }
+        if (left instanceof Double l) {
+            Integer result = compareNumbers(right, l);
+            return result == null ? null : -result;
+        }
+        // a long compared to a double, compared exactly as Python does
+        long l = (Long) left;
+        double r = (Double) right;
+        if (Double.isNaN(r)) {
+            return null;
+        }
+        if (Double.isInfinite(r)) {
+            return r > 0 ? -1 : 1;
+        }
+        return BigDecimal.valueOf(l).compareTo(new BigDecimal(r));
+    }
+
+    private static int compareCodePoints(String left, String right) {
+        int length = Math.min(left.length(), right.length());
+        for (int i = 0; i < length; i++) {
+            char l = left.charAt(i);
+            char r = right.charAt(i);
+            if (l != r) {
+                if (Character.isSurrogate(l) || Character.isSurrogate(r)) {
+                    return Integer.compare(left.codePointAt(i), right.codePointAt(i));
+                }
+                return Character.compare(l, r);
+            }
+        }
+        return Integer.compare(left.length(), right.length());
+    }
+
+    private static @Nullable Double parseFloat(String value) {
+        checkNumberLiteral(value);
+        String stripped = strip(value);
+        if (FLOAT_PATTERN.matcher(stripped).matches()) {
+            return Double.parseDouble(stripped);
+        }
+        Matcher matcher = SPECIAL_FLOAT_PATTERN.matcher(stripped);
+        if (matcher.matches()) {
+            double result = matcher.group(2).equalsIgnoreCase("nan") ? Double.NaN : Double.POSITIVE_INFINITY;
+            return "-".equals(matcher.group(1)) ? -result : result;
+        }
+        return null;
+    }
+
+    /**
+     * Python also accepts non-ASCII digits and underscores between digits in number literals, but doesn't strip all
+     * whitespace characters around them.
+     */
+    private static void checkNumberLiteral(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c > '\u007f' || c == '_' || (c >= '\u001c' && c <= '\u001f')) {
+                throw new UnsupportedTemplateException("number literal");
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homeassistant.internal.template;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Thrown when a template, or rendering it with a given value, is not supported by {@link NativeTemplate} and has to
+ * be rendered by Python instead. It carries no stack trace, as it is part of the normal flow.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+class UnsupportedTemplateException extends RuntimeException {
+    private static final long serialVersionUID = 4725079140823573412L;
+
+    UnsupportedTemplateException(String message) {
+        super(message, null, false, false);
+    }
+}
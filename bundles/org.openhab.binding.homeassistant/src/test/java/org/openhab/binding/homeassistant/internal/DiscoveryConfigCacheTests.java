@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homeassistant.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.homeassistant.internal.config.dto.MqttComponentConfig;
+import org.openhab.binding.homeassistant.internal.exception.ConfigurationException;
+
+/**
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+public class DiscoveryConfigCacheTests {
+    private final HomeAssistantMetrics metrics = new HomeAssistantMetrics();
+    private final DiscoveryConfigCache cache = new DiscoveryConfigCache(metrics);
+    private final AtomicInteger processed = new AtomicInteger();
+
+    @Test
+    public void testSamePayloadIsProcessedOnce() {
+        List<MqttComponentConfig> configs = cache.get("switch/a", "{}", this::process);
+
+        assertThat(cache.get("switch/a", "{}", this::process), is(sameInstance(configs)));
+        assertThat(processed.get(), is(1));
+        assertThat(metrics.getProcessedDiscoveryConfigs(), is(1L));
+        assertThat(metrics.getCachedDiscoveryConfigs(), is(1L));
+    }
+
+    @Test
+    public void testChangedPayloadIsProcessedAgain() {
+        cache.get("switch/a", "{}", this::process);
+        cache.get("switch/b", "{}", this::process);
+        cache.get("switch/a", "{\"name\": \"a\"}", this::process);
+        cache.get("switch/a", "{}", this::process);
+
+        assertThat(processed.get(), is(4));
+        assertThat(metrics.getCachedDiscoveryConfigs(), is(0L));
+    }
+
+    @Test
+    public void testInvalidPayloadIsCached() {
+        assertThrows(ConfigurationException.class, () -> cache.get("switch/a", "invalid", this::process));
+        assertThrows(ConfigurationException.class, () -> cache.get("switch/a", "invalid", this::process));
+
+        assertThat(processed.get(), is(1));
+    }
+
+    @Test
+    public void testUnexpectedErrorIsNotCached() {
+        assertThrows(IllegalStateException.class, () -> cache.get("switch/a", "{}", (topic, payload) -> {
+            throw new IllegalStateException();
+        }));
+        cache.get("switch/a", "{}", this::process);
+
+        assertThat(processed.get(), is(1));
+    }
+
+    @Test
+    public void testErrorIsNotCached() {
+        assertThrows(StackOverflowError.class, () -> cache.get("switch/a", "{}", (topic, payload) -> {
+            throw new StackOverflowError();
+        }));
+        cache.get("switch/a", "{}", this::process);
+
+        assertThat(processed.get(), is(1));
+    }
+
+    @Test
+    public void testErrorReleasesWaitingRequest() throws Exception {
+        CountDownLatch processing = new CountDownLatch(1);
+        CountDownLatch fail = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> cache.get("switch/a", "{}", (topic, payload) -> {
+                processing.countDown();
+                try {
+                    fail.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new StackOverflowError();
+            }));
+            assertThat(processing.await(5, TimeUnit.SECONDS), is(true));
+            Future<?> waiting = executor.submit(() -> cache.get("switch/a", "{}", this::process));
+            // the waiting request is counted as cached before it waits for the first one
+            while (metrics.getCachedDiscoveryConfigs() == 0) {
+                Thread.sleep(1);
+            }
+
+            fail.countDown();
+
+            ExecutionException e = assertThrows(ExecutionException.class, () -> waiting.get(5, TimeUnit.SECONDS));
+            assertThat(e.getCause() instanceof CompletionException completionException
+                    && completionException.getCause() instanceof StackOverflowError, is(true));
+            assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+            assertThat(processed.get(), is(0));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<MqttComponentConfig> process(String topic, String payload) {
+        processed.incrementAndGet();
+        if ("invalid".equals(payload)) {
+            throw new ConfigurationException("invalid payload");
+        }
+        return new ArrayList<>();
+    }
+}
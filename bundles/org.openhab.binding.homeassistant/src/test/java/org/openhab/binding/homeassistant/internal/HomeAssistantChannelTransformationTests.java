@@ -13,12 +13,17 @@
 package org.openhab.binding.homeassistant.internal;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.*;
 
+import java.util.Map;
+import java.util.Objects;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.graalvm.polyglot.Value;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -27,6 +32,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.openhab.binding.homeassistant.internal.component.AbstractComponent;
+import org.openhab.binding.homeassistant.internal.template.NativeTemplate;
 
 /**
  * @author Jochen Klein - Initial contribution
@@ -108,6 +114,61 @@ public class HomeAssistantChannelTransformationTests extends AbstractHomeAssista
                 is("off"));
     }
 
+    @Test
+    public void testNativeTemplatesMatchPython() {
+        String[][] cases = { //
+                { "{{ value_json.temperature }}", "{\"temperature\": 21.5}" },
+                { "{{ value_json['a']['b'][-1] }}", "{\"a\": {\"b\": [1, 2.0, 1e16]}}" },
+                { "{{ value_json.a }}", "{\"a\": null, \"b\": true}" }, //
+                { "{{ value | float }}", " 21 " }, //
+                { "{{ value | float(0) }}", "abc" }, //
+                { "{{ value | int }}", "12.7" }, //
+                { "{{ value_json.t | round(1) }}", "{\"t\": 21.456}" },
+                { "{{ value_json.t | round }}", "{\"t\": 2.5}" },
+                { "{{ value_json.t | round(2, 'common') }}", "{\"t\": 2.675}" },
+                { "{{ value | upper }} {{ value | lower }}", "On" },
+                { "{{ value_json.on | iif('ON', 'OFF') }}", "{\"on\": 0}" },
+                { "{{ iif(value_json.on, 'ON', 'OFF', 'NULL') }}", "{\"on\": null}" },
+                { "{{ 'ON' if value_json.state == 1 else 'OFF' }}", "{\"state\": 1.0}" },
+                { "{{ value | float * 10 }}", "2.5" }, //
+                { "{{ (value | float / 3) | round(2) }}", "10" },
+                { "{{ value_json.x ~ ' %' }}", "{\"x\": 5}" },
+                { "{{ not value_json.x and value_json.x > -1 }}", "{\"x\": 0}" },
+                { "{{ 0.00001 }} {{ 4 / 2 }} {{ 'a' 'b' }}", "x" }, //
+                { "a\r\n{{ value }}", "b" } };
+        for (String[] testCase : cases) {
+            Value template = PYTHON.newRawTemplate(testCase[0]);
+            NativeTemplate nativeTemplate = PYTHON.compileNativeTemplate(template);
+            assertThat(testCase[0], nativeTemplate, is(notNullValue()));
+            String expected = PYTHON.renderValueTemplate(PYTHON.newValueTemplate(template), testCase[1],
+                    HomeAssistantChannelTransformation.PAYLOAD_SENTINEL_NONE);
+            assertThat(testCase[0], Objects.requireNonNull(nativeTemplate).renderValue(testCase[1]), is(expected));
+        }
+    }
+
+    @Test
+    public void testDisabledNativeTemplatesAreRenderedByPython() {
+        HomeAssistantMetrics metrics = PYTHON.getMetrics();
+        HomeAssistantChannelTransformation transformation = new HomeAssistantChannelTransformation(PYTHON, component,
+                PYTHON.newRawTemplate("{{ value | upper }}"), false);
+
+        PYTHON.modified(Map.of("nativeTemplates", false));
+        try {
+            long nativeRenders = metrics.getNativeRenders();
+            long pythonRenders = metrics.getPythonRenders();
+
+            assertThat(transformation.transform("on"), is("ON"));
+            assertThat(metrics.getNativeRenders(), is(nativeRenders));
+            assertThat(metrics.getPythonRenders(), is(pythonRenders + 1));
+        } finally {
+            PYTHON.modified(Map.of("nativeTemplates", true));
+        }
+
+        long nativeRenders = metrics.getNativeRenders();
+        assertThat(transformation.transform("on"), is("ON"));
+        assertThat(metrics.getNativeRenders(), is(nativeRenders + 1));
+    }
+
     protected @Nullable Object transform(String template, Object value) {
         return new HomeAssistantChannelTransformation(PYTHON, component, PYTHON.newRawTemplate(template), false)
                 .transform(value);
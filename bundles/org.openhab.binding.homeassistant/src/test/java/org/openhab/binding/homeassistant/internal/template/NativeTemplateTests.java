@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homeassistant.internal.template;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+public class NativeTemplateTests {
+
+    @Test
+    public void testStaticTemplate() {
+        assertThat(renderValue("  ON \n", "x"), is("ON"));
+        assertThat(renderValue("{ \"state\": 1 }", "x"), is("{ \"state\": 1 }"));
+        assertThat(renderCommand("b'ON'", "x"), is(nullValue()));
+    }
+
+    @Test
+    public void testValueJson() {
+        assertThat(renderValue("{{ value_json.temperature }}", "{\"temperature\": 21.5}"), is("21.5"));
+        assertThat(renderValue("{{ value_json['a']['b'][-1] }}", "{\"a\": {\"b\": [1, 2, 3]}}"), is("3"));
+        assertThat(renderValue("{{ value_json.a.b }}", "{\"a\": {\"b\": null}}"), is("None"));
+        assertThat(renderValue("{{ value_json.on }}", "{\"on\": true}"), is("True"));
+        assertThat(renderValue("{{ value_json }}", "1e16"), is("1e+16"));
+        assertThat(renderValue("{{ value_json['items'] }}", "{\"items\": 5}"), is("5"));
+    }
+
+    @Test
+    public void testFilters() {
+        assertThat(renderValue("{{ value | float }}", " 21 "), is("21.0"));
+        assertThat(renderValue("{{ value | float(0) }}", "abc"), is("0"));
+        assertThat(renderValue("{{ value | int }}", "12.7"), is("12"));
+        assertThat(renderValue("{{ value | int(none) }}", "abc"), is("None"));
+        assertThat(renderValue("{{ value_json.t | round(1) }}", "{\"t\": 21.456}"), is("21.5"));
+        assertThat(renderValue("{{ value_json.t | round }}", "{\"t\": 2.5}"), is("2"));
+        assertThat(renderValue("{{ value_json.t | round(2, 'common') }}", "{\"t\": 2.675}"), is("2.67"));
+        assertThat(renderValue("{{ value | upper }}", "on"), is("ON"));
+        assertThat(renderValue("{{ value_json.on | iif('ON', 'OFF') }}", "{\"on\": 0}"), is("OFF"));
+        assertThat(renderValue("{{ iif(value_json.on, 'ON', 'OFF', 'NULL') }}", "{\"on\": null}"), is("NULL"));
+    }
+
+    @Test
+    public void testExpressions() {
+        assertThat(renderValue("{{ 'ON' if value_json.state == 1 else 'OFF' }}", "{\"state\": 1.0}"), is("ON"));
+        assertThat(renderValue("{{ value | float * 10 }}", "2.5"), is("25.0"));
+        assertThat(renderValue("{{ (value | float / 3) | round(2) }}", "10"), is("3.33"));
+        assertThat(renderValue("{{ value_json.x ~ ' %' }}", "{\"x\": 5}"), is("5 %"));
+        assertThat(renderValue("{{ not value_json.x and value_json.x > -1 }}", "{\"x\": 0}"), is("True"));
+        assertThat(renderValue("{{ 0.00001 }} {{ 4 / 2 }} {{ 'a' 'b' }}", "x"), is("1e-05 2.0 ab"));
+        assertThat(renderValue("a\r\n{{ value }}", "b"), is("a\nb"));
+    }
+
+    @Test
+    public void testCommand() {
+        assertThat(renderCommand("{\"state\": \"{{ value | lower }}\"}", "ON"), is("{\"state\": \"on\"}"));
+        assertThat(renderCommand("{{ value + 1 }}", 5), is("6"));
+        assertThat(renderCommand("b'{{ value }}'", "ON"), is(nullValue()));
+    }
+
+    @Test
+    public void testUnsupportedTemplates() {
+        assertThat(NativeTemplate.compile("{% if value %}ON{% endif %}"), is(nullValue()));
+        assertThat(NativeTemplate.compile("{{ value | regex_findall('a') }}"), is(nullValue()));
+        assertThat(NativeTemplate.compile("{{ value_json.x is defined }}"), is(nullValue()));
+        assertThat(NativeTemplate.compile("{{ value if value }}"), is(nullValue()));
+        assertThat(NativeTemplate.compile("{{- value }}"), is(nullValue()));
+        assertThat(NativeTemplate.compile("{{ pi }}"), is(nullValue()));
+        assertThat(NativeTemplate.compile("{{ '\\n' }}"), is(nullValue()));
+        assertThat(NativeTemplate.compile("{{ 010 }}"), is(nullValue()));
+        assertThat(NativeTemplate.compile("{{}}"), is(nullValue()));
+    }
+
+    @Test
+    public void testFallback() {
+        // undefined values
+        assertThat(renderValue("{{ value_json.x }}", "not json"), is(nullValue()));
+        assertThat(renderValue("{{ value_json.missing }}", "{\"x\": 5}"), is(nullValue()));
+        assertThat(renderValue("{{ value_json.items }}", "{\"items\": 5}"), is(nullValue()));
+        // errors
+        assertThat(renderValue("{{ value | int }}", "abc"), is(nullValue()));
+        assertThat(renderValue("{{ value_json.x > 'a' }}", "{\"x\": 5}"), is(nullValue()));
+        assertThat(renderValue("{{ value_json.x / 0 }}", "{\"x\": 5}"), is(nullValue()));
+        // values without a supported representation
+        assertThat(renderValue("{{ value_json }}", "{\"x\": 5}"), is(nullValue()));
+        assertThat(renderValue("{{ value_json }}", "12345678901234567890"), is(nullValue()));
+        assertThat(renderValue("{{ value | upper }}", "état"), is(nullValue()));
+        assertThat(renderValue("{{ value }}", 5), is(nullValue()));
+    }
+
+    private @Nullable String renderValue(String template, Object payload) {
+        NativeTemplate nativeTemplate = NativeTemplate.compile(template);
+        assertThat(nativeTemplate, is(notNullValue()));
+        return Objects.requireNonNull(nativeTemplate).renderValue(payload);
+    }
+
+    private @Nullable String renderCommand(String template, Object value) {
+        NativeTemplate nativeTemplate = NativeTemplate.compile(template);
+        assertThat(nativeTemplate, is(notNullValue()));
+        return Objects.requireNonNull(nativeTemplate).renderCommand(value);
+    }
+}
@@ -0,0 +1,460 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.dynamodb.internal;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+import software.amazon.awssdk.enhanced.dynamodb.model.WriteBatch;
+import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
+
+/**
+ * Coalesces stored items into BatchWriteItem requests of at most 25 items per table.
+ *
+ * Items are sent when a full batch is pending, and at the latest every {@code bufferCommitIntervalMillis}. Only one
+ * request is in flight at a time.
+ *
+ * Items returned as UnprocessedItems, and whole requests rejected due to throttling, are put back to the front of the
+ * queue and retried after a jittered, exponentially growing delay. The same delay paces consecutive requests while
+ * the table is throttled, and is halved with every request that is fully processed, so the send rate adapts to the
+ * provisioned write capacity.
+ *
+ * If the table does not exist yet, the first item of the batch is written with {@link TableCreatingPutItem}, which
+ * creates the table, and the rest of the batch is retried.
+ *
+ * @author Dan Cunningham - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class DynamoDBBatchWriter {
+
+    /**
+     * Maximum number of put requests in a single BatchWriteItem request
+     */
+    public static final int MAX_BATCH_SIZE = 25;
+    private static final long MIN_SEND_DELAY_MS = 50;
+    private static final long MAX_SEND_DELAY_MS = 20_000;
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(30);
+
+    enum Outcome {
+        OK,
+        THROTTLED,
+        FAILED
+    }
+
+    private record Batch(Class<? extends DynamoDBItem<?>> dtoClass, List<DynamoDBItem<?>> items) {
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(DynamoDBBatchWriter.class);
+
+    private final DynamoDBPersistenceService service;
+    private final ScheduledExecutorService scheduler;
+    private final int capacity;
+    private final long flushIntervalMs;
+
+    private final AtomicBoolean sending = new AtomicBoolean();
+    private final Map<Class<? extends DynamoDBItem<?>>, Deque<DynamoDBItem<?>>> pending = new LinkedHashMap<>();
+    private int queuedItems = 0;
+    private int inFlightItems = 0;
+    private long droppedItems = 0;
+    private long throttledItems = 0;
+    private long sendDelayMs = 0;
+
+    private volatile boolean closed = false;
+    private @Nullable ScheduledFuture<?> flushJob;
+    private volatile @Nullable ScheduledFuture<?> nextSend;
+
+    /**
+     * @param service the persistence service providing the client and tables
+     * @param scheduler the scheduler running the sends
+     * @param capacity the maximum number of pending items, further items are dropped
+     * @param flushIntervalMs the maximum time in milliseconds an item waits for a full batch
+     */
+    public DynamoDBBatchWriter(DynamoDBPersistenceService service, ScheduledExecutorService scheduler, int capacity,
+            long flushIntervalMs) {
+        this.service = service;
+        this.scheduler = scheduler;
+        this.capacity = Math.max(MAX_BATCH_SIZE, capacity);
+        this.flushIntervalMs = Math.max(1, flushIntervalMs);
+    }
+
+    public void start() {
+        flushJob = scheduler.scheduleWithFixedDelay(this::trigger, flushIntervalMs, flushIntervalMs,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the periodic sends and writes all pending items, waiting at most 30 seconds.
+     *
+     * @return the number of items that could not be written
+     */
+    public int close() {
+        closed = true;
+        ScheduledFuture<?> job = flushJob;
+        if (job != null) {
+            job.cancel(false);
+            flushJob = null;
+        }
+        ScheduledFuture<?> localNextSend = nextSend;
+        if (localNextSend != null && localNextSend.cancel(false)) {
+            // the retry was waiting for its backoff, the drain below takes over
+            sending.set(false);
+        }
+
+        drain(CLOSE_TIMEOUT);
+
+        int remaining = getPendingItems();
+        if (remaining > 0) {
+            logger.warn("{} buffered items could not be written to DynamoDB and are lost", remaining);
+        }
+        return remaining;
+    }
+
+    /**
+     * Writes all pending items in the calling thread, waiting at most for the given timeout. A request already in
+     * flight, or waiting for its retry delay, is completed first.
+     *
+     * @param timeout the maximum time to wait
+     * @return true if no items are pending anymore
+     */
+    public boolean flush(Duration timeout) {
+        drain(timeout);
+        // an item added during the drain could not trigger a send
+        if (getQueuedItems() >= MAX_BATCH_SIZE) {
+            trigger();
+        }
+        return getPendingItems() == 0;
+    }
+
+    private void drain(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            while (System.nanoTime() < deadline) {
+                if (!sending.compareAndSet(false, true)) {
+                    // wait for the request in flight
+                    Thread.sleep(50);
+                    continue;
+                }
+                @Nullable
+                CompletableFuture<Outcome> request = null;
+                try {
+                    Batch batch = take();
+                    if (batch == null) {
+                        break;
+                    }
+                    request = write(batch);
+                    Outcome outcome = request.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    request = null;
+                    long delay = adaptSendDelay(outcome);
+                    if (outcome != Outcome.OK) {
+                        Thread.sleep(Math.min(jitter(delay),
+                                Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()))));
+                    }
+                } finally {
+                    if (request == null || request.isDone()) {
+                        sending.set(false);
+                    } else {
+                        // the request is still in flight, no other request may be sent before it has completed
+                        request.whenComplete((outcome, exception) -> {
+                            adaptSendDelay(outcome == null ? Outcome.FAILED : outcome);
+                            finish();
+                        });
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            logger.debug("Writing buffered items failed: {} {}", e.getClass().getSimpleName(), e.getMessage());
+        }
+    }
+
+    /**
+     * Adds an item. Never blocks on DynamoDB; the item is dropped if the buffer is full.
+     */
+    public void add(DynamoDBItem<?> dto) {
+        boolean full;
+        synchronized (this) {
+            if (queuedItems + inFlightItems >= capacity) {
+                if (++droppedItems % 1000 == 1) {
+                    logger.warn("DynamoDB write buffer is full, dropping items ({} dropped so far)", droppedItems);
+                }
+                return;
+            }
+            pending.computeIfAbsent(dtoClass(dto), k -> new ArrayDeque<>()).addLast(dto);
+            full = ++queuedItems >= MAX_BATCH_SIZE;
+        }
+        if (full) {
+            trigger();
+        }
+    }
+
+    /**
+     * @return the number of items waiting to be written, including items of the request in flight
+     */
+    public synchronized int getPendingItems() {
+        return queuedItems + inFlightItems;
+    }
+
+    /**
+     * @return the number of item writes rejected by DynamoDB due to throttling and retried
+     */
+    public synchronized long getThrottledItems() {
+        return throttledItems;
+    }
+
+    public synchronized long getDroppedItems() {
+        return droppedItems;
+    }
+
+    /**
+     * @return the current base delay between requests in milliseconds, zero when DynamoDB is not throttling
+     */
+    public synchronized long getSendDelayMillis() {
+        return sendDelayMs;
+    }
+
+    private void trigger() {
+        if (!closed && sending.compareAndSet(false, true)) {
+            scheduler.execute(this::sendNext);
+        }
+    }
+
+    private void sendNext() {
+        Batch batch = closed ? null : take();
+        if (batch == null) {
+            finish();
+            return;
+        }
+        write(batch).whenComplete((outcome, exception) -> {
+            long delay = adaptSendDelay(outcome == null ? Outcome.FAILED : outcome);
+            if (closed) {
+                finish();
+            } else if (outcome != Outcome.OK) {
+                nextSend = scheduler.schedule(this::sendNext, jitter(delay), TimeUnit.MILLISECONDS);
+            } else if (getQueuedItems() >= MAX_BATCH_SIZE) {
+                nextSend = scheduler.schedule(this::sendNext, jitter(delay), TimeUnit.MILLISECONDS);
+            } else {
+                finish();
+            }
+        });
+    }
+
+    private void finish() {
+        sending.set(false);
+        // an item added while the flag was still set could not trigger a send
+        if (getQueuedItems() >= MAX_BATCH_SIZE) {
+            trigger();
+        }
+    }
+
+    private synchronized int getQueuedItems() {
+        return queuedItems;
+    }
+
+    /**
+     * Takes the next batch, at most {@link #MAX_BATCH_SIZE} items of a single table. Tables take turns.
+     *
+     * A request must not contain the same key twice, so of several values of an item with the same timestamp only
+     * the last one is kept, which is the value a sequence of PutItem requests would have left.
+     */
+    private synchronized @Nullable Batch take() {
+        Iterator<Map.Entry<Class<? extends DynamoDBItem<?>>, Deque<DynamoDBItem<?>>>> entries = pending.entrySet()
+                .iterator();
+        if (!entries.hasNext()) {
+            return null;
+        }
+        Map.Entry<Class<? extends DynamoDBItem<?>>, Deque<DynamoDBItem<?>>> entry = entries.next();
+        entries.remove();
+        Deque<DynamoDBItem<?>> queue = entry.getValue();
+        List<DynamoDBItem<?>> items = new ArrayList<>(Math.min(MAX_BATCH_SIZE, queue.size()));
+        Map<String, Integer> indexByKey = new HashMap<>();
+        DynamoDBItem<?> item;
+        while (items.size() < MAX_BATCH_SIZE && (item = queue.pollFirst()) != null) {
+            queuedItems--;
+            Integer index = indexByKey.putIfAbsent(item.getName() + "@" + item.getTime().toInstant(), items.size());
+            if (index == null) {
+                items.add(item);
+            } else {
+                items.set(index, item);
+            }
+        }
+        if (!queue.isEmpty()) {
+            // move to the end, so that the other table is served next
+            pending.put(entry.getKey(), queue);
+        }
+        inFlightItems += items.size();
+        return new Batch(entry.getKey(), items);
+    }
+
+    private synchronized void done(int count) {
+        inFlightItems -= count;
+    }
+
+    private synchronized void requeue(Class<? extends DynamoDBItem<?>> dtoClass,
+            List<? extends DynamoDBItem<?>> items) {
+        inFlightItems -= items.size();
+        Deque<DynamoDBItem<?>> queue = pending.computeIfAbsent(dtoClass, k -> new ArrayDeque<>());
+        for (int i = items.size() - 1; i >= 0; i--) {
+            queue.addFirst(items.get(i));
+        }
+        queuedItems += items.size();
+        // keep the newest items
+        while (queuedItems + inFlightItems > capacity && !queue.isEmpty()) {
+            queue.pollFirst();
+            queuedItems--;
+            droppedItems++;
+        }
+        if (queue.isEmpty()) {
+            pending.remove(dtoClass);
+        }
+    }
+
+    private synchronized void throttled(int count) {
+        throttledItems += count;
+    }
+
+    /**
+     * Doubles the delay between requests after a throttled or failed request, and halves it after a successful one.
+     *
+     * @return the new delay in milliseconds
+     */
+    synchronized long adaptSendDelay(Outcome outcome) {
+        if (outcome == Outcome.OK) {
+            sendDelayMs = sendDelayMs / 2 < MIN_SEND_DELAY_MS ? 0 : sendDelayMs / 2;
+        } else {
+            sendDelayMs = Math.min(MAX_SEND_DELAY_MS, Math.max(MIN_SEND_DELAY_MS, sendDelayMs * 2));
+        }
+        return sendDelayMs;
+    }
+
+    /**
+     * @return a random delay between half and all of the given delay
+     */
+    static long jitter(long delayMs) {
+        return delayMs <= 0 ? 0 : delayMs / 2 + ThreadLocalRandom.current().nextLong(delayMs / 2 + 1);
+    }
+
+    @SuppressWarnings("unchecked") // OK since the DTO classes are not generic
+    private static Class<? extends DynamoDBItem<?>> dtoClass(DynamoDBItem<?> dto) {
+        return (Class<? extends DynamoDBItem<?>>) dto.getClass();
+    }
+
+    private CompletableFuture<Outcome> write(Batch batch) {
+        return write(batch.dtoClass(), batch.items());
+    }
+
+    private <T extends DynamoDBItem<?>> CompletableFuture<Outcome> write(Class<T> dtoClass,
+            List<DynamoDBItem<?>> items) {
+        final DynamoDbEnhancedAsyncClient client;
+        final DynamoDbAsyncTable<T> table;
+        try {
+            client = service.getEnhancedClient();
+            table = service.getTable(dtoClass);
+            if (client == null) {
+                throw new IllegalStateException("Client not ready");
+            }
+        } catch (IllegalStateException e) {
+            logger.debug("BatchWriteItem: client not ready, keeping {} items", items.size());
+            requeue(dtoClass, items);
+            return CompletableFuture.completedFuture(Outcome.FAILED);
+        }
+
+        WriteBatch.Builder<T> writeBatch = WriteBatch.builder(dtoClass).mappedTableResource(table);
+        items.forEach(item -> writeBatch.addPutItem(dtoClass.cast(item)));
+        Instant start = Instant.now();
+        return client
+                .batchWriteItem(req -> req.writeBatches(writeBatch.build())
+                        .overrideConfiguration(service::overrideConfig))
+                .handleAsync((result, exception) -> {
+                    if (exception == null) {
+                        List<T> unprocessed = result.unprocessedPutItemsForTable(table);
+                        if (unprocessed.isEmpty()) {
+                            done(items.size());
+                            logger.trace("BatchWriteItem: {} items written to table {} in {} ms.", items.size(),
+                                    table.tableName(), Duration.between(start, Instant.now()).toMillis());
+                            return CompletableFuture.completedFuture(Outcome.OK);
+                        }
+                        done(items.size() - unprocessed.size());
+                        throttled(unprocessed.size());
+                        requeue(dtoClass, unprocessed);
+                        logger.debug("BatchWriteItem: {} of {} items unprocessed by table {}, retrying",
+                                unprocessed.size(), items.size(), table.tableName());
+                        return CompletableFuture.completedFuture(Outcome.THROTTLED);
+                    }
+
+                    Throwable cause = exception.getCause();
+                    if (!(exception instanceof CompletionException) || cause == null) {
+                        cause = exception;
+                    }
+                    if (cause instanceof ResourceNotFoundException) {
+                        // The table does not exist yet. Let the first item create it, the others follow with the
+                        // next batch
+                        logger.trace("BatchWriteItem: Table '{}' was not present. Creating it with a single PutItem",
+                                table.tableName());
+                        T first = dtoClass.cast(items.get(0));
+                        requeue(dtoClass, items.subList(1, items.size()));
+                        return new TableCreatingPutItem<>(service, first, table).putItemAsync()
+                                .handle((_void, putException) -> {
+                                    // failure is logged by TableCreatingPutItem
+                                    done(1);
+                                    return putException == null ? Outcome.OK : Outcome.FAILED;
+                                });
+                    } else if (cause instanceof SdkServiceException serviceException
+                            && serviceException.isThrottlingException()) {
+                        throttled(items.size());
+                        requeue(dtoClass, items);
+                        logger.debug("BatchWriteItem: request throttled by table {}, retrying {} items",
+                                table.tableName(), items.size());
+                        return CompletableFuture.completedFuture(Outcome.THROTTLED);
+                    } else if (cause instanceof SdkClientException || (cause instanceof SdkServiceException
+                            serverException && serverException.statusCode() >= 500)) {
+                        requeue(dtoClass, items);
+                        logger.debug("BatchWriteItem: failed with {} {}, retrying {} items",
+                                cause.getClass().getSimpleName(), cause.getMessage(), items.size());
+                        return CompletableFuture.completedFuture(Outcome.FAILED);
+                    } else {
+                        done(items.size());
+                        logger.warn("BatchWriteItem: failed (final) with {} {}. {} items not stored.",
+                                cause.getClass().getSimpleName(), cause.getMessage(), items.size());
+                        return CompletableFuture.completedFuture(Outcome.OK);
+                    }
+                }, service.getExecutor()).thenCompose(outcome -> outcome);
+    }
+}
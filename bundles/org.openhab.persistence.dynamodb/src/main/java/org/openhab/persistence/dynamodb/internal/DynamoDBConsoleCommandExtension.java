@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.dynamodb.internal;
+
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.console.Console;
+import org.openhab.core.io.console.ConsoleCommandCompleter;
+import org.openhab.core.io.console.StringsCompleter;
+import org.openhab.core.io.console.extensions.AbstractConsoleCommandExtension;
+import org.openhab.core.io.console.extensions.ConsoleCommandExtension;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * Karaf console commands for the DynamoDB persistence service.
+ *
+ * <pre>
+ * openhab:dynamodb buffer - show the state of the write buffer
+ * </pre>
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = ConsoleCommandExtension.class)
+public class DynamoDBConsoleCommandExtension extends AbstractConsoleCommandExtension
+        implements ConsoleCommandCompleter {
+
+    private static final String CMD_BUFFER = "buffer";
+    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(List.of(CMD_BUFFER), false);
+
+    private final DynamoDBPersistenceService persistenceService;
+
+    @Activate
+    public DynamoDBConsoleCommandExtension(@Reference DynamoDBPersistenceService persistenceService) {
+        super("dynamodb", "DynamoDB persistence commands.");
+        this.persistenceService = persistenceService;
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return List.of(buildCommandUsage(CMD_BUFFER, "show pending, throttled and dropped items of the write buffer"));
+    }
+
+    @Override
+    public @Nullable ConsoleCommandCompleter getCompleter() {
+        return this;
+    }
+
+    @Override
+    public boolean complete(String[] args, int cursorArgumentIndex, int cursorPosition, List<String> candidates) {
+        return CMD_COMPLETER.complete(args, cursorArgumentIndex, cursorPosition, candidates);
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        if (args.length == 1 && CMD_BUFFER.equals(args[0])) {
+            DynamoDBBatchWriter batchWriter = persistenceService.getBatchWriter();
+            if (batchWriter == null) {
+                console.println("Write buffer is not active — items are written with PutItem or the service is "
+                        + "not active.");
+                return;
+            }
+            console.println("Pending items:    " + batchWriter.getPendingItems());
+            console.println("Throttled items:  " + batchWriter.getThrottledItems());
+            console.println("Dropped items:    " + batchWriter.getDroppedItems());
+            console.println("Send delay:       " + batchWriter.getSendDelayMillis() + " ms");
+        } else {
+            printUsage(console);
+        }
+    }
+}
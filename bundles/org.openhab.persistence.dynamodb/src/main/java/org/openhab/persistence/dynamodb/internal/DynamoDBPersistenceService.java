@@ -90,8 +90,8 @@ import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
  *
  */
 @NonNullByDefault
-@Component(service = { PersistenceService.class,
-        QueryablePersistenceService.class }, configurationPid = "org.openhab.dynamodb", //
+@Component(service = { PersistenceService.class, QueryablePersistenceService.class,
+        DynamoDBPersistenceService.class }, configurationPid = "org.openhab.dynamodb", //
         property = Constants.SERVICE_PID + "=org.openhab.dynamodb")
 @ConfigurableService(category = "persistence", label = "DynamoDB Persistence Service", description_uri = DynamoDBPersistenceService.CONFIG_URI)
 public class DynamoDBPersistenceService implements QueryablePersistenceService {
@@ -101,6 +101,7 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
     protected static final String CONFIG_URI = "persistence:dynamodb";
 
     private static final String DYNAMODB_THREADPOOL_NAME = "dynamodbPersistenceService";
+    private static final String DYNAMODB_SCHEDULER_NAME = "dynamodbPersistenceServiceScheduler";
 
     private final ItemRegistry itemRegistry;
     private final UnitProvider unitProvider;
@@ -110,9 +111,11 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
     private boolean isProperlyConfigured;
     private @Nullable DynamoDBConfig dbConfig;
     private @Nullable DynamoDBTableNameResolver tableNameResolver;
+    private @Nullable DynamoDBBatchWriter batchWriter;
     private final ExecutorService executor = ThreadPoolManager.getPool(DYNAMODB_THREADPOOL_NAME);
     private static final Duration TIMEOUT_API_CALL = Duration.ofSeconds(60);
     private static final Duration TIMEOUT_API_CALL_ATTEMPT = Duration.ofSeconds(5);
+    private static final Duration TIMEOUT_QUERY_FLUSH = Duration.ofSeconds(10);
     private Map<Class<? extends DynamoDBItem<?>>, DynamoDbAsyncTable<? extends DynamoDBItem<?>>> tableCache = new ConcurrentHashMap<>(
             2);
 
@@ -155,6 +158,11 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
         return endpointOverride;
     }
 
+    @Nullable
+    DynamoDbEnhancedAsyncClient getEnhancedClient() {
+        return client;
+    }
+
     @Nullable
     DynamoDbAsyncClient getLowLevelClient() {
         return lowLevelClient;
@@ -174,6 +182,16 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
         return dbConfig;
     }
 
+    /**
+     * Returns the write buffer, for tests and the Karaf console command.
+     *
+     * @return the write buffer, or null if the service is not activated or buffering is disabled
+     */
+    @Nullable
+    DynamoDBBatchWriter getBatchWriter() {
+        return batchWriter;
+    }
+
     @Activate
     public void activate(final @Nullable BundleContext bundleContext, final Map<String, Object> config) {
         disconnect();
@@ -195,6 +213,13 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
             return;
         }
 
+        if (localDbConfig.getBufferSize() > 0) {
+            DynamoDBBatchWriter localBatchWriter = new DynamoDBBatchWriter(this,
+                    ThreadPoolManager.getScheduledPool(DYNAMODB_SCHEDULER_NAME), localDbConfig.getBufferSize(),
+                    localDbConfig.getBufferCommitIntervalMillis());
+            localBatchWriter.start();
+            batchWriter = localBatchWriter;
+        }
         isProperlyConfigured = true;
         logger.debug("dynamodb persistence service activated");
     }
@@ -275,7 +300,7 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
         }
     }
 
-    private <T extends DynamoDBItem<?>> DynamoDbAsyncTable<T> getTable(Class<T> dtoClass) {
+    <T extends DynamoDBItem<?>> DynamoDbAsyncTable<T> getTable(Class<T> dtoClass) {
         DynamoDbEnhancedAsyncClient localClient = client;
         DynamoDBTableNameResolver localTableNameResolver = tableNameResolver;
         if (!ensureClient() || localClient == null || localTableNameResolver == null) {
@@ -314,6 +339,12 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
     }
 
     private void disconnect() {
+        DynamoDBBatchWriter localBatchWriter = batchWriter;
+        if (localBatchWriter != null) {
+            // write the buffered items while the client is still open
+            localBatchWriter.close();
+            batchWriter = null;
+        }
         DynamoDbAsyncClient localLowLevelClient = lowLevelClient;
         if (client == null || localLowLevelClient == null) {
             return;
@@ -362,6 +393,11 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
             logger.warn("DynamoDB not connected. Returning empty query results.");
             return Collections.emptyList();
         }
+        DynamoDBBatchWriter localBatchWriter = batchWriter;
+        if (localBatchWriter != null && !localBatchWriter.flush(TIMEOUT_QUERY_FLUSH)) {
+            logger.debug("{} buffered items could not be written and are missing from the query results",
+                    localBatchWriter.getPendingItems());
+        }
 
         //
         // Resolve unclear table schema if needed
@@ -559,6 +595,11 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
             }
             logger.trace("store() called with item {} {} '{}', which was converted to DTO {}",
                     copiedItem.getClass().getSimpleName(), effectiveName, copiedItem.getState(), dto);
+            DynamoDBBatchWriter localBatchWriter = batchWriter;
+            if (localBatchWriter != null) {
+                localBatchWriter.add(dto);
+                return;
+            }
             dto.accept(new DynamoDBItemVisitor<TableCreatingPutItem<? extends DynamoDBItem<?>>>() {
 
                 @Override
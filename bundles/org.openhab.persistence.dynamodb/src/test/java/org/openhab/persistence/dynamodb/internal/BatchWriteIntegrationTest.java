@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.dynamodb.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
+import org.openhab.core.persistence.HistoricItem;
+
+/**
+ * Stores more items than fit into a single BatchWriteItem request, starting without a table.
+ *
+ * @author Dan Cunningham - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class BatchWriteIntegrationTest extends BaseIntegrationTest {
+
+    public static final boolean LEGACY_MODE = false;
+    private static final String NAME = "number";
+    private static final int STATE_COUNT = 3 * DynamoDBBatchWriter.MAX_BATCH_SIZE + 5;
+
+    private static @Nullable ZonedDateTime storeStart;
+
+    @SuppressWarnings("null")
+    @BeforeAll
+    public static void populateData() {
+        Map<String, Object> config = getConfig(LEGACY_MODE, null, null);
+        config.put("bufferSize", "1000");
+        config.put("bufferCommitIntervalMillis", "200");
+        service.activate(null, config);
+        assertNotNull(service.getBatchWriter());
+
+        storeStart = ZonedDateTime.now();
+        NumberItem item = (NumberItem) ITEMS.get(NAME);
+        for (int i = 0; i < STATE_COUNT; i++) {
+            item.setState(new DecimalType(i));
+            try {
+                // Add some delay to enforce different timestamps in ms accuracy
+                Thread.sleep(2);
+            } catch (InterruptedException e) {
+                fail("Interrupted");
+                return;
+            }
+            service.store(item);
+        }
+    }
+
+    @SuppressWarnings("null")
+    @AfterAll
+    public static void deactivateService() {
+        service.deactivate();
+    }
+
+    @SuppressWarnings("null")
+    @Test
+    public void testAllItemsWritten() {
+        waitForAssert(() -> {
+            FilterCriteria criteria = new FilterCriteria();
+            criteria.setItemName(NAME);
+            criteria.setBeginDate(Objects.requireNonNull(storeStart));
+            criteria.setOrdering(Ordering.ASCENDING);
+            criteria.setPageNumber(0);
+            criteria.setPageSize(1000);
+            List<DecimalType> expectedStates = new ArrayList<>();
+            for (int i = 0; i < STATE_COUNT; i++) {
+                expectedStates.add(new DecimalType(i));
+            }
+            List<DecimalType> actualStates = new ArrayList<>();
+            for (HistoricItem historicItem : BaseIntegrationTest.service.query(criteria)) {
+                actualStates.add((DecimalType) historicItem.getState());
+            }
+            assertEquals(expectedStates, actualStates);
+        });
+
+        DynamoDBBatchWriter batchWriter = BaseIntegrationTest.service.getBatchWriter();
+        assertNotNull(batchWriter);
+        waitForAssert(() -> assertEquals(0, batchWriter.getPendingItems()));
+        assertEquals(0, batchWriter.getDroppedItems());
+        if (hasFakeServer()) {
+            // the local server does not throttle
+            assertEquals(0, batchWriter.getThrottledItems());
+            assertEquals(0, batchWriter.getSendDelayMillis());
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.dynamodb.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.openhab.persistence.dynamodb.internal.DynamoDBBatchWriter.Outcome;
+
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteResult;
+
+/**
+ * Tests the adaptive delay between the requests of {@link DynamoDBBatchWriter}.
+ *
+ * Unless stated otherwise, the service mock provides no client, so every request fails and its items are kept.
+ *
+ * @author Dan Cunningham - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class DynamoDBBatchWriterTest {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final DynamoDBBatchWriter writer = new DynamoDBBatchWriter(mock(DynamoDBPersistenceService.class),
+            scheduler, 100, 60000);
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    private void addItems(int count) {
+        addItems(writer, count);
+    }
+
+    private static void addItems(DynamoDBBatchWriter writer, int count) {
+        ZonedDateTime time = ZonedDateTime.now();
+        for (int i = 0; i < count; i++) {
+            writer.add(new DynamoDBBigDecimalItem("item", BigDecimal.valueOf(i), time.plusSeconds(i), null));
+        }
+    }
+
+    @Test
+    public void delayDoublesAfterFailedRequestsUpToMaximum() {
+        assertEquals(50, writer.adaptSendDelay(Outcome.THROTTLED));
+        assertEquals(100, writer.adaptSendDelay(Outcome.THROTTLED));
+        assertEquals(200, writer.adaptSendDelay(Outcome.FAILED));
+        for (int i = 0; i < 20; i++) {
+            writer.adaptSendDelay(Outcome.THROTTLED);
+        }
+        assertEquals(20000, writer.getSendDelayMillis());
+    }
+
+    @Test
+    public void delayHalvesAfterSuccessfulRequests() {
+        writer.adaptSendDelay(Outcome.THROTTLED);
+        writer.adaptSendDelay(Outcome.THROTTLED);
+        writer.adaptSendDelay(Outcome.THROTTLED);
+
+        assertEquals(100, writer.adaptSendDelay(Outcome.OK));
+        assertEquals(50, writer.adaptSendDelay(Outcome.OK));
+        assertEquals(0, writer.adaptSendDelay(Outcome.OK));
+        assertEquals(0, writer.adaptSendDelay(Outcome.OK));
+    }
+
+    @Test
+    public void jitterIsBetweenHalfAndFullDelay() {
+        assertEquals(0, DynamoDBBatchWriter.jitter(0));
+        for (int i = 0; i < 1000; i++) {
+            long delay = DynamoDBBatchWriter.jitter(1000);
+            assertTrue(delay >= 500 && delay <= 1000, "Delay out of range: " + delay);
+        }
+    }
+
+    @Test
+    public void failingRequestsAreRetriedWithGrowingDelay() throws InterruptedException {
+        addItems(DynamoDBBatchWriter.MAX_BATCH_SIZE);
+
+        long timeout = System.currentTimeMillis() + 10000;
+        while (writer.getSendDelayMillis() < 400 && System.currentTimeMillis() < timeout) {
+            Thread.sleep(20);
+        }
+        assertTrue(writer.getSendDelayMillis() >= 400, "Delay did not grow: " + writer.getSendDelayMillis());
+        assertEquals(DynamoDBBatchWriter.MAX_BATCH_SIZE, writer.getPendingItems());
+        assertEquals(0, writer.getDroppedItems());
+    }
+
+    @Test
+    public void flushKeepsItemsThatCannotBeWritten() {
+        addItems(3);
+
+        assertFalse(writer.flush(Duration.ofMillis(300)));
+        assertEquals(3, writer.getPendingItems());
+    }
+
+    @Test
+    public void requestOutlastingFlushBlocksFurtherRequestsUntilItCompletes() throws InterruptedException {
+        CompletableFuture<BatchWriteResult> response = new CompletableFuture<>();
+        DynamoDBPersistenceService service = mock(DynamoDBPersistenceService.class);
+        DynamoDbEnhancedAsyncClient client = mock(DynamoDbEnhancedAsyncClient.class);
+        when(service.getEnhancedClient()).thenReturn(client);
+        doReturn(mock(DynamoDbAsyncTable.class)).when(service).getTable(any());
+        when(client.batchWriteItem(ArgumentMatchers.<Consumer<BatchWriteItemEnhancedRequest.Builder>> any()))
+                .thenReturn(response);
+        DynamoDBBatchWriter writer = new DynamoDBBatchWriter(service, scheduler, 100, 60000);
+        addItems(writer, 3);
+
+        assertFalse(writer.flush(Duration.ofMillis(200)));
+        assertFalse(writer.flush(Duration.ofMillis(200)));
+        verify(client, times(1))
+                .batchWriteItem(ArgumentMatchers.<Consumer<BatchWriteItemEnhancedRequest.Builder>> any());
+
+        BatchWriteResult result = mock(BatchWriteResult.class);
+        when(result.unprocessedPutItemsForTable(any())).thenReturn(List.of());
+        response.complete(result);
+
+        assertTrue(writer.flush(Duration.ofSeconds(5)));
+    }
+}
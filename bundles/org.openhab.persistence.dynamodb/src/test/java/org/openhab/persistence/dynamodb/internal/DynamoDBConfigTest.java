@@ -81,6 +81,8 @@ public class DynamoDBConfigTest {
         assertEquals(1, fromConfig.getWriteCapacityUnits());
         assertEquals(Optional.empty(), fromConfig.getRetryPolicy().map(RetryPolicy::retryMode));
         assertEquals(ExpectedTableSchema.MAYBE_LEGACY, fromConfig.getTableRevision());
+        assertEquals(0, fromConfig.getBufferSize());
+        assertEquals(1000, fromConfig.getBufferCommitIntervalMillis());
     }
 
     @SuppressWarnings("null")
@@ -254,5 +256,15 @@ public class DynamoDBConfigTest {
         assertEquals(5, fromConfig.getWriteCapacityUnits());
         assertEquals(Optional.empty(), fromConfig.getRetryPolicy().map(RetryPolicy::retryMode));
         assertEquals(ExpectedTableSchema.MAYBE_LEGACY, fromConfig.getTableRevision());
+        assertEquals(112, fromConfig.getBufferSize());
+        assertEquals(501, fromConfig.getBufferCommitIntervalMillis());
+    }
+
+    @Test
+    public void testInvalidBufferSettings() throws Exception {
+        assertNull(DynamoDBConfig.fromConfig(mapFrom("region", "eu-west-1", "accessKey", "access1", "secretKey",
+                "secret1", "bufferSize", "-1")));
+        assertNull(DynamoDBConfig.fromConfig(mapFrom("region", "eu-west-1", "accessKey", "access1", "secretKey",
+                "secret1", "bufferSize", "100", "bufferCommitIntervalMillis", "0")));
     }
 }
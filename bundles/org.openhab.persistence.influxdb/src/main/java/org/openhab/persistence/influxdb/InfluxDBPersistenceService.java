@@ -14,6 +14,7 @@ package org.openhab.persistence.influxdb;
 
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.*;
 
+import java.nio.file.Path;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
@@ -24,17 +25,20 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.OpenHAB;
 import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.core.ConfigurableService;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemFactory;
 import org.openhab.core.items.ItemRegistry;
@@ -52,9 +56,12 @@ import org.openhab.persistence.influxdb.internal.FilterCriteriaQueryCreator;
 import org.openhab.persistence.influxdb.internal.InfluxDBConfiguration;
 import org.openhab.persistence.influxdb.internal.InfluxDBHistoricItem;
 import org.openhab.persistence.influxdb.internal.InfluxDBMetadataService;
+import org.openhab.persistence.influxdb.internal.InfluxDBMetrics;
 import org.openhab.persistence.influxdb.internal.InfluxDBPersistentItemInfo;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
+import org.openhab.persistence.influxdb.internal.InfluxDBSpool;
 import org.openhab.persistence.influxdb.internal.InfluxDBStateConvertUtils;
+import org.openhab.persistence.influxdb.internal.InfluxDBWriteQueue;
 import org.openhab.persistence.influxdb.internal.InfluxPoint;
 import org.openhab.persistence.influxdb.internal.influx1.InfluxDB1RepositoryImpl;
 import org.openhab.persistence.influxdb.internal.influx2.InfluxDB2RepositoryImpl;
@@ -97,8 +104,8 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
 
     private final Logger logger = LoggerFactory.getLogger(InfluxDBPersistenceService.class);
 
-    private static final int COMMIT_INTERVAL = 3; // in s
     protected static final String CONFIG_URI = "persistence:influxdb";
+    private static final Path SPOOL_FOLDER = Path.of(OpenHAB.getUserDataFolder(), "persistence", "influxdb", "spool");
 
     // External dependencies
     private final ItemRegistry itemRegistry;
@@ -109,8 +116,12 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
     private boolean serviceActivated;
 
     // storage
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("org.openhab.influxdb");
     private final ScheduledFuture<?> storeJob;
-    private final BlockingQueue<InfluxPoint> pointsQueue = new LinkedBlockingQueue<>();
+    private final ExecutorService writeExecutor = ThreadPoolManager.getPool("org.openhab.influxdb.writer");
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final InfluxDBWriteQueue pointsQueue;
+    private final InfluxDBMetrics metrics;
 
     // conversion
     private final Set<ItemFactory> itemFactories = new HashSet<>();
@@ -123,10 +134,15 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         this.influxDBMetadataService = influxDBMetadataService;
         this.configuration = new InfluxDBConfiguration(config);
         if (configuration.isValid()) {
+            InfluxDBSpool spool = configuration.getQueueOverflow() == InfluxDBWriteQueue.OverflowPolicy.SPOOL
+                    ? new InfluxDBSpool(SPOOL_FOLDER, configuration.getMaxSpoolSize())
+                    : null;
+            this.pointsQueue = new InfluxDBWriteQueue(configuration.getMaxQueueSize(), spool);
+            this.metrics = new InfluxDBMetrics(pointsQueue);
             this.influxDBRepository = createInfluxDBRepository();
             this.influxDBRepository.connect();
-            this.storeJob = ThreadPoolManager.getScheduledPool("org.openhab.influxdb")
-                    .scheduleWithFixedDelay(this::commit, COMMIT_INTERVAL, COMMIT_INTERVAL, TimeUnit.SECONDS);
+            this.storeJob = scheduler.scheduleWithFixedDelay(this::commit, configuration.getFlushInterval(),
+                    configuration.getFlushInterval(), TimeUnit.MILLISECONDS);
             serviceActivated = true;
         } else {
             throw new IllegalArgumentException("Configuration invalid.");
@@ -154,9 +170,14 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         storeJob.cancel(false);
         commit(); // ensure we at least tried to store the data;
 
-        if (!pointsQueue.isEmpty()) {
-            logger.warn("InfluxDB failed to finally store {} points.", pointsQueue.size());
+        int lostPoints = pointsQueue.close();
+        if (lostPoints > 0) {
+            logger.warn("InfluxDB failed to finally store {} points.", lostPoints);
+        } else if (!pointsQueue.isEmpty()) {
+            logger.info("InfluxDB spooled {} points, they will be stored after the next start.",
+                    pointsQueue.getSpooledPoints());
         }
+        metrics.unbind();
 
         influxDBRepository.disconnect();
         logger.info("InfluxDB persistence service stopped.");
@@ -209,10 +230,12 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
                 logger.trace("Ignoring item {}, conversion to an InfluxDB point failed.", item.getName());
                 return;
             }
-            if (pointsQueue.offer(point)) {
-                logger.trace("Queued {} for item {}", point, item);
-            } else {
-                logger.warn("Failed to queue {} for item {}", point, item);
+            pointsQueue.add(point);
+            logger.trace("Queued {} for item {}", point, item);
+            // write a full batch immediately instead of waiting for the flush interval
+            if (pointsQueue.getQueuedPoints() >= configuration.getBatchSize()
+                    && flushRequested.compareAndSet(false, true)) {
+                scheduler.execute(this::commit);
             }
         });
     }
@@ -280,13 +303,24 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         return false;
     }
 
-    private void commit() {
+    // Visible for testing
+    synchronized void commit() {
+        flushRequested.set(false);
         if (!pointsQueue.isEmpty() && checkConnection()) {
-            List<InfluxPoint> points = new ArrayList<>();
-            pointsQueue.drainTo(points);
-            if (!influxDBRepository.write(points)) {
-                logger.warn("Re-queuing {} elements, failed to write batch.", points.size());
-                pointsQueue.addAll(points);
+            // spooled points are older than queued points, write them first
+            if (!pointsQueue.replaySpool(points -> write(points).isEmpty())) {
+                logger.warn("Failed to write spooled points, {} points remaining.", pointsQueue.getSpooledPoints());
+                influxDBRepository.disconnect();
+                return;
+            }
+            List<InfluxPoint> points = pointsQueue.drain();
+            if (points.isEmpty()) {
+                return;
+            }
+            List<InfluxPoint> failedPoints = write(points);
+            if (!failedPoints.isEmpty()) {
+                logger.warn("Re-queuing {} elements, failed to write batch.", failedPoints.size());
+                pointsQueue.requeue(failedPoints);
                 influxDBRepository.disconnect();
             } else {
                 logger.trace("Wrote {} elements to database", points.size());
@@ -294,6 +328,61 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         }
     }
 
+    /**
+     * Writes points in chunks of the configured batch size. At most the configured number of writer threads write
+     * chunks concurrently.
+     *
+     * @return the points that failed to be written, in their original order
+     */
+    // Visible for testing
+    List<InfluxPoint> write(List<InfluxPoint> points) {
+        int batchSize = configuration.getBatchSize();
+        if (points.size() <= batchSize) {
+            return writeChunk(points) ? List.of() : points;
+        }
+        List<List<InfluxPoint>> chunks = new ArrayList<>();
+        for (int i = 0; i < points.size(); i += batchSize) {
+            chunks.add(points.subList(i, Math.min(points.size(), i + batchSize)));
+        }
+        boolean[] written = new boolean[chunks.size()];
+        int writers = Math.min(configuration.getWriteThreads(), chunks.size());
+        List<CompletableFuture<Void>> lanes = new ArrayList<>();
+        for (int lane = 0; lane < writers; lane++) {
+            int first = lane;
+            lanes.add(CompletableFuture.runAsync(() -> {
+                for (int i = first; i < written.length; i += writers) {
+                    written[i] = writeChunk(chunks.get(i));
+                }
+            }, writeExecutor));
+        }
+        CompletableFuture.allOf(lanes.toArray(CompletableFuture[]::new)).join();
+        List<InfluxPoint> failedPoints = new ArrayList<>();
+        for (int i = 0; i < written.length; i++) {
+            if (!written[i]) {
+                failedPoints.addAll(chunks.get(i));
+            }
+        }
+        return failedPoints;
+    }
+
+    private boolean writeChunk(List<InfluxPoint> chunk) {
+        long start = System.nanoTime();
+        if (!influxDBRepository.write(chunk)) {
+            return false;
+        }
+        metrics.recordFlush(chunk.size(), System.nanoTime() - start);
+        return true;
+    }
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    public void setMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        metrics.bind(meterRegistryProvider.getOHMeterRegistry());
+    }
+
+    public void unsetMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        metrics.unbind();
+    }
+
     /**
      * Convert incoming data to an {@link InfluxPoint} for further processing. This is needed because storage is
      * asynchronous and the item data may have changed.
@@ -39,6 +39,13 @@ public class InfluxDBConfiguration {
     public static final String ADD_CATEGORY_TAG_PARAM = "addCategoryTag";
     public static final String ADD_LABEL_TAG_PARAM = "addLabelTag";
     public static final String ADD_TYPE_TAG_PARAM = "addTypeTag";
+    public static final String MAX_QUEUE_SIZE_PARAM = "maxQueueSize";
+    public static final String QUEUE_OVERFLOW_PARAM = "queueOverflow";
+    public static final String MAX_SPOOL_SIZE_PARAM = "maxSpoolSize";
+    public static final String BATCH_SIZE_PARAM = "batchSize";
+    public static final String FLUSH_INTERVAL_PARAM = "flushInterval";
+    public static final String WRITE_THREADS_PARAM = "writeThreads";
+    public static final String GZIP_PARAM = "gzip";
     private final Logger logger = LoggerFactory.getLogger(InfluxDBConfiguration.class);
     private final String url;
     private final String user;
@@ -51,6 +58,13 @@ public class InfluxDBConfiguration {
     private final boolean addCategoryTag;
     private final boolean addTypeTag;
     private final boolean addLabelTag;
+    private final int maxQueueSize;
+    private final InfluxDBWriteQueue.OverflowPolicy queueOverflow;
+    private final long maxSpoolSize;
+    private final int batchSize;
+    private final int flushInterval;
+    private final int writeThreads;
+    private final boolean gzip;
 
     public InfluxDBConfiguration(Map<String, Object> config) {
         url = ConfigParser.valueAsOrElse(config.get(URL_PARAM), String.class, "http://127.0.0.1:8086");
@@ -64,6 +78,24 @@ public class InfluxDBConfiguration {
         addCategoryTag = ConfigParser.valueAsOrElse(config.get(ADD_CATEGORY_TAG_PARAM), Boolean.class, false);
         addLabelTag = ConfigParser.valueAsOrElse(config.get(ADD_LABEL_TAG_PARAM), Boolean.class, false);
         addTypeTag = ConfigParser.valueAsOrElse(config.get(ADD_TYPE_TAG_PARAM), Boolean.class, false);
+        maxQueueSize = Math.max(1, ConfigParser.valueAsOrElse(config.get(MAX_QUEUE_SIZE_PARAM), Integer.class, 50000));
+        queueOverflow = parseQueueOverflow(
+                ConfigParser.valueAsOrElse(config.get(QUEUE_OVERFLOW_PARAM), String.class, "SPOOL"));
+        maxSpoolSize = ConfigParser.valueAsOrElse(config.get(MAX_SPOOL_SIZE_PARAM), Long.class, 100L) * 1024 * 1024;
+        batchSize = Math.max(1, ConfigParser.valueAsOrElse(config.get(BATCH_SIZE_PARAM), Integer.class, 5000));
+        flushInterval = Math.max(100,
+                ConfigParser.valueAsOrElse(config.get(FLUSH_INTERVAL_PARAM), Integer.class, 3000));
+        writeThreads = Math.max(1, ConfigParser.valueAsOrElse(config.get(WRITE_THREADS_PARAM), Integer.class, 2));
+        gzip = ConfigParser.valueAsOrElse(config.get(GZIP_PARAM), Boolean.class, true);
+    }
+
+    private InfluxDBWriteQueue.OverflowPolicy parseQueueOverflow(String value) {
+        try {
+            return InfluxDBWriteQueue.OverflowPolicy.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid queue overflow policy {}, spooling to disk", value);
+            return InfluxDBWriteQueue.OverflowPolicy.SPOOL;
+        }
     }
 
     private InfluxDBVersion parseInfluxVersion(@Nullable String value) {
@@ -154,12 +186,48 @@ public class InfluxDBConfiguration {
         return version;
     }
 
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    public InfluxDBWriteQueue.OverflowPolicy getQueueOverflow() {
+        return queueOverflow;
+    }
+
+    /**
+     * @return the maximum size of the spool in bytes
+     */
+    public long getMaxSpoolSize() {
+        return maxSpoolSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @return the maximum time in milliseconds points are queued before they are written
+     */
+    public int getFlushInterval() {
+        return flushInterval;
+    }
+
+    public int getWriteThreads() {
+        return writeThreads;
+    }
+
+    public boolean isGzip() {
+        return gzip;
+    }
+
     @Override
     public String toString() {
         return "InfluxDBConfiguration{url='" + url + "', user='" + user + "', password='" + password.length()
                 + " chars', token='" + token.length() + " chars', databaseName='" + databaseName
                 + "', retentionPolicy='" + retentionPolicy + "', version=" + version + ", replaceUnderscore="
                 + replaceUnderscore + ", addCategoryTag=" + addCategoryTag + ", addTypeTag=" + addTypeTag
-                + ", addLabelTag=" + addLabelTag + '}';
+                + ", addLabelTag=" + addLabelTag + ", maxQueueSize=" + maxQueueSize + ", queueOverflow=" + queueOverflow
+                + ", maxSpoolSize=" + maxSpoolSize + ", batchSize=" + batchSize + ", flushInterval=" + flushInterval
+                + ", writeThreads=" + writeThreads + ", gzip=" + gzip + '}';
     }
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Registers the metrics of the InfluxDB persistence service in the openHAB meter registry.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBMetrics {
+    private static final String METRIC_PREFIX = "openhab.persistence.influxdb.";
+
+    private final InfluxDBWriteQueue writeQueue;
+    private final List<Meter> meters = new ArrayList<>();
+    private @Nullable MeterRegistry registry;
+    private volatile @Nullable DistributionSummary flushSize;
+    private volatile @Nullable Timer flushDuration;
+
+    public InfluxDBMetrics(InfluxDBWriteQueue writeQueue) {
+        this.writeQueue = writeQueue;
+    }
+
+    public synchronized void bind(MeterRegistry registry) {
+        unbind();
+        meters.add(Gauge.builder(METRIC_PREFIX + "points.queued", writeQueue, InfluxDBWriteQueue::getQueuedPoints)
+                .description("Points waiting in memory to be written").register(registry));
+        meters.add(Gauge.builder(METRIC_PREFIX + "points.spooled", writeQueue, InfluxDBWriteQueue::getSpooledPoints)
+                .description("Points spooled to disk while the database was not available").register(registry));
+        meters.add(FunctionCounter
+                .builder(METRIC_PREFIX + "points.dropped", writeQueue, InfluxDBWriteQueue::getDroppedPoints)
+                .description("Points dropped because the write queue or spool was full").register(registry));
+        DistributionSummary flushSize = DistributionSummary.builder(METRIC_PREFIX + "flush.size").baseUnit("points")
+                .description("Points written by a single request").publishPercentileHistogram().register(registry);
+        Timer flushDuration = Timer.builder(METRIC_PREFIX + "flush.duration")
+                .description("Duration of a single write request").publishPercentileHistogram().register(registry);
+        meters.add(flushSize);
+        meters.add(flushDuration);
+        this.flushSize = flushSize;
+        this.flushDuration = flushDuration;
+        this.registry = registry;
+    }
+
+    /**
+     * Records a write request.
+     *
+     * @param points the number of points written
+     * @param duration the duration of the request in nanoseconds
+     */
+    public void recordFlush(int points, long duration) {
+        DistributionSummary flushSize = this.flushSize;
+        Timer flushDuration = this.flushDuration;
+        if (flushSize != null && flushDuration != null) {
+            flushSize.record(points);
+            flushDuration.record(duration, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public synchronized void unbind() {
+        MeterRegistry registry = this.registry;
+        if (registry != null) {
+            meters.forEach(registry::remove);
+        }
+        meters.clear();
+        flushSize = null;
+        flushDuration = null;
+        this.registry = null;
+    }
+}
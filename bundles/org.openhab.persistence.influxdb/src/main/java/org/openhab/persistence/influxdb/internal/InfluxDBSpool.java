@@ -0,0 +1,377 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.FIELD_VALUE_NAME;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link InfluxDBSpool} is an append-only store for points that could not be written to the database. Points are
+ * appended in InfluxDB line protocol to segment files of limited size. Segments are replayed and deleted oldest first,
+ * and the oldest segments are dropped if the spool exceeds its maximum size. Segments left from a previous run are
+ * picked up again.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBSpool {
+    private static final long SEGMENT_SIZE = 1024 * 1024;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".lp";
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final Logger logger = LoggerFactory.getLogger(InfluxDBSpool.class);
+
+    private final Path directory;
+    private final long maxSize;
+    // segments ordered by their name, i.e. by their creation time
+    private final TreeMap<Path, Segment> segments = new TreeMap<>();
+    private @Nullable BufferedWriter writer;
+    private @Nullable Path currentSegment;
+    private long lastSegmentId = 0;
+    private long size = 0;
+    private long spooledPoints = 0;
+    private long droppedPoints = 0;
+
+    private static class Segment {
+        private int points;
+        private long bytes;
+    }
+
+    public InfluxDBSpool(Path directory, long maxSize) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+        loadSegments();
+    }
+
+    /**
+     * Appends points to the spool.
+     */
+    public synchronized void append(List<InfluxPoint> points) {
+        if (points.isEmpty()) {
+            return;
+        }
+        try {
+            BufferedWriter writer = getWriter();
+            // the current segment is always the newest one
+            Segment segment = segments.lastEntry().getValue();
+            for (InfluxPoint point : points) {
+                String line = toLineProtocol(point);
+                if (line == null) {
+                    logger.debug("Unable to spool {}, discarding it", point);
+                    droppedPoints++;
+                    continue;
+                }
+                writer.write(line);
+                writer.write('\n');
+                long bytes = line.getBytes(StandardCharsets.UTF_8).length + 1;
+                segment.points++;
+                segment.bytes += bytes;
+                spooledPoints++;
+                size += bytes;
+            }
+            writer.flush();
+            if (segment.bytes >= SEGMENT_SIZE) {
+                closeWriter();
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to spool {} points to {}: {}", points.size(), directory, e.getMessage());
+            droppedPoints += points.size();
+            closeWriter();
+        }
+        purge();
+    }
+
+    /**
+     * Replays the spooled points, oldest first. Each segment is passed to the writer and deleted once it was written
+     * successfully.
+     *
+     * @param writer writes the points of a segment, returns <code>false</code> if writing failed
+     * @return <code>true</code> if the spool is empty, <code>false</code> if points remain
+     */
+    public boolean replay(Predicate<List<InfluxPoint>> writer) {
+        while (true) {
+            Path segmentPath;
+            synchronized (this) {
+                if (segments.isEmpty()) {
+                    return true;
+                }
+                segmentPath = segments.firstKey();
+                if (segmentPath.equals(currentSegment)) {
+                    closeWriter();
+                }
+            }
+            List<InfluxPoint> points;
+            try {
+                points = readSegment(segmentPath);
+            } catch (IOException e) {
+                logger.warn("Failed to read spooled points from {}, discarding them: {}", segmentPath, e.getMessage());
+                points = List.of();
+            }
+            if (!points.isEmpty() && !writer.test(points)) {
+                return false;
+            }
+            logger.debug("Replayed {} spooled points from {}", points.size(), segmentPath);
+            synchronized (this) {
+                removeSegment(segmentPath);
+            }
+        }
+    }
+
+    public synchronized boolean isEmpty() {
+        return segments.isEmpty();
+    }
+
+    public synchronized long getSpooledPoints() {
+        return spooledPoints;
+    }
+
+    public synchronized long getDroppedPoints() {
+        return droppedPoints;
+    }
+
+    public synchronized void close() {
+        closeWriter();
+    }
+
+    private void loadSegments() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory,
+                SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                Segment segment = new Segment();
+                try (Stream<String> lines = Files.lines(path, StandardCharsets.UTF_8)) {
+                    segment.points = (int) lines.filter(line -> !line.isBlank()).count();
+                }
+                segment.bytes = Files.size(path);
+                segments.put(path, segment);
+                spooledPoints += segment.points;
+                size += segment.bytes;
+                lastSegmentId = Math.max(lastSegmentId, getSegmentId(path));
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to load spooled points from {}: {}", directory, e.getMessage());
+        }
+        if (!segments.isEmpty()) {
+            logger.info("Found {} spooled points in {} segments, they will be written once the database is available",
+                    spooledPoints, segments.size());
+        }
+    }
+
+    private BufferedWriter getWriter() throws IOException {
+        BufferedWriter writer = this.writer;
+        if (writer == null) {
+            Files.createDirectories(directory);
+            lastSegmentId = Math.max(lastSegmentId + 1, System.currentTimeMillis());
+            Path path = directory.resolve(String.format("%s%019d%s", SEGMENT_PREFIX, lastSegmentId, SEGMENT_SUFFIX));
+            writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+            segments.put(path, new Segment());
+            currentSegment = path;
+            this.writer = writer;
+        }
+        return writer;
+    }
+
+    private void closeWriter() {
+        BufferedWriter writer = this.writer;
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                logger.debug("Failed to close spool segment {}: {}", currentSegment, e.getMessage());
+            }
+        }
+        this.writer = null;
+        currentSegment = null;
+    }
+
+    private void purge() {
+        while (size > maxSize && !segments.isEmpty()) {
+            Map.Entry<Path, Segment> oldest = segments.firstEntry();
+            if (oldest.getKey().equals(currentSegment)) {
+                closeWriter();
+            }
+            int points = oldest.getValue().points;
+            logger.warn("Spool exceeds {} bytes, dropping {} points", maxSize, points);
+            droppedPoints += points;
+            removeSegment(oldest.getKey());
+        }
+    }
+
+    private void removeSegment(Path path) {
+        Segment segment = segments.remove(path);
+        if (segment != null) {
+            spooledPoints -= segment.points;
+            size -= segment.bytes;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Failed to delete spool segment {}: {}", path, e.getMessage());
+        }
+    }
+
+    private List<InfluxPoint> readSegment(Path path) throws IOException {
+        List<InfluxPoint> points = new ArrayList<>();
+        for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            InfluxPoint point = fromLineProtocol(line);
+            if (point != null) {
+                points.add(point);
+            } else {
+                logger.debug("Discarding malformed spooled point '{}'", line);
+            }
+        }
+        return points;
+    }
+
+    private static long getSegmentId(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * Formats a point in line protocol. Numbers are written as floats, except for integral types which are written as
+     * integers.
+     *
+     * @return the line, or <code>null</code> if the value of the point is not supported
+     */
+    static @Nullable String toLineProtocol(InfluxPoint point) {
+        Object value = point.getValue();
+        String field;
+        if (value instanceof String string) {
+            field = '"' + escape(string, "\\\"") + '"';
+        } else if (value instanceof BigDecimal decimal) {
+            field = decimal.toPlainString();
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte
+                || value instanceof BigInteger) {
+            field = value + "i";
+        } else if (value instanceof Number number && Double.isFinite(number.doubleValue())) {
+            field = BigDecimal.valueOf(number.doubleValue()).toPlainString();
+        } else if (value instanceof Boolean bool) {
+            field = bool.toString();
+        } else {
+            return null;
+        }
+
+        StringBuilder line = new StringBuilder(escape(point.getMeasurementName(), "\\, ="));
+        for (Map.Entry<String, String> tag : point.getTags().entrySet()) {
+            line.append(',').append(escape(tag.getKey(), "\\, =")).append('=')
+                    .append(escape(tag.getValue(), "\\, ="));
+        }
+        Instant time = point.getTime();
+        long nanos = time.getEpochSecond() * NANOS_PER_SECOND + time.getNano();
+        return line.append(' ').append(FIELD_VALUE_NAME).append('=').append(field).append(' ').append(nanos)
+                .toString();
+    }
+
+    /**
+     * Parses a line written by {@link #toLineProtocol(InfluxPoint)}.
+     *
+     * @return the point, or <code>null</code> if the line is malformed
+     */
+    static @Nullable InfluxPoint fromLineProtocol(String line) {
+        try {
+            int[] pos = { 0 };
+            InfluxPoint.Builder builder = InfluxPoint.newBuilder(readToken(line, pos, ", "));
+            while (line.charAt(pos[0]) == ',') {
+                pos[0]++;
+                String key = readToken(line, pos, "=");
+                pos[0]++;
+                builder.withTag(key, readToken(line, pos, ", "));
+            }
+            pos[0]++;
+            readToken(line, pos, "=");
+            pos[0]++;
+            Object value;
+            if (line.charAt(pos[0]) == '"') {
+                pos[0]++;
+                value = readToken(line, pos, "\"");
+                pos[0]++;
+            } else {
+                String field = readToken(line, pos, " ");
+                if (field.endsWith("i")) {
+                    value = Long.parseLong(field.substring(0, field.length() - 1));
+                } else if ("true".equals(field) || "false".equals(field)) {
+                    value = Boolean.parseBoolean(field);
+                } else {
+                    value = new BigDecimal(field);
+                }
+            }
+            long nanos = Long.parseLong(line.substring(pos[0]).trim());
+            return builder.withValue(value).withTime(Instant.ofEpochSecond(Math.floorDiv(nanos, NANOS_PER_SECOND),
+                    Math.floorMod(nanos, NANOS_PER_SECOND))).build();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static String escape(String value, String special) {
+        StringBuilder result = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (c == '\n') {
+                result.append("\\n");
+            } else if (c == '\r') {
+                result.append("\\r");
+            } else {
+                if (special.indexOf(c) >= 0) {
+                    result.append('\\');
+                }
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    private static String readToken(String line, int[] pos, String delimiters) {
+        StringBuilder token = new StringBuilder();
+        int i = pos[0];
+        while (i < line.length() && delimiters.indexOf(line.charAt(i)) < 0) {
+            char c = line.charAt(i++);
+            if (c == '\\' && i < line.length()) {
+                char escaped = line.charAt(i++);
+                token.append(escaped == 'n' ? '\n' : escaped == 'r' ? '\r' : escaped);
+            } else {
+                token.append(c);
+            }
+        }
+        pos[0] = i;
+        return token.toString();
+    }
+}
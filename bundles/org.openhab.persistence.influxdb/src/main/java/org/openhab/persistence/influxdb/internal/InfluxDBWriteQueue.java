@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link InfluxDBWriteQueue} holds the points waiting to be written to the database. The queue is bounded: when it
+ * is full, either the oldest point is dropped, or all queued points are moved to an {@link InfluxDBSpool} on disk.
+ * Spooled points are older than all queued points and have to be replayed first.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBWriteQueue {
+    public enum OverflowPolicy {
+        DROP_OLDEST,
+        SPOOL
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(InfluxDBWriteQueue.class);
+
+    private final LinkedBlockingDeque<InfluxPoint> queue;
+    private final @Nullable InfluxDBSpool spool;
+    private final AtomicLong droppedPoints = new AtomicLong();
+
+    /**
+     * @param capacity the maximum number of queued points
+     * @param spool the spool for overflowing points, or <code>null</code> to drop the oldest points
+     */
+    public InfluxDBWriteQueue(int capacity, @Nullable InfluxDBSpool spool) {
+        this.queue = new LinkedBlockingDeque<>(capacity);
+        this.spool = spool;
+    }
+
+    /**
+     * Adds a point to the queue, making room for it if the queue is full.
+     */
+    public void add(InfluxPoint point) {
+        while (!queue.offerLast(point)) {
+            synchronized (this) {
+                if (queue.remainingCapacity() > 0) {
+                    continue;
+                }
+                InfluxDBSpool spool = this.spool;
+                if (spool != null) {
+                    List<InfluxPoint> points = new ArrayList<>(queue.size());
+                    queue.drainTo(points);
+                    logger.debug("Write queue is full, spooling {} points", points.size());
+                    spool.append(points);
+                } else if (queue.pollFirst() != null && droppedPoints.incrementAndGet() % 1000 == 1) {
+                    logger.warn("Write queue is full, dropping the oldest points ({} dropped so far)",
+                            droppedPoints.get());
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all queued points.
+     */
+    public List<InfluxPoint> drain() {
+        List<InfluxPoint> points = new ArrayList<>(queue.size());
+        queue.drainTo(points);
+        return points;
+    }
+
+    /**
+     * Returns points that failed to be written. They are spooled if a spool is available, otherwise they are put back
+     * in front of the queue as far as it has room for them.
+     */
+    public void requeue(List<InfluxPoint> points) {
+        InfluxDBSpool spool = this.spool;
+        if (spool != null) {
+            spool.append(points);
+            return;
+        }
+        synchronized (this) {
+            for (int i = points.size() - 1; i >= 0; i--) {
+                if (!queue.offerFirst(points.get(i))) {
+                    droppedPoints.addAndGet(i + 1);
+                    logger.warn("Write queue is full, dropping {} points that failed to be written", i + 1);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the spooled points.
+     *
+     * @param writer writes a list of points, returns <code>false</code> if writing failed
+     * @return <code>true</code> if no spooled points are left
+     */
+    public boolean replaySpool(Predicate<List<InfluxPoint>> writer) {
+        InfluxDBSpool spool = this.spool;
+        return spool == null || spool.replay(writer);
+    }
+
+    /**
+     * Moves all queued points to the spool, if available, so they are written after a restart.
+     *
+     * @return the number of points that have been neither written nor spooled
+     */
+    public int close() {
+        InfluxDBSpool spool = this.spool;
+        if (spool == null) {
+            return queue.size();
+        }
+        spool.append(drain());
+        spool.close();
+        return 0;
+    }
+
+    public boolean isEmpty() {
+        InfluxDBSpool spool = this.spool;
+        return queue.isEmpty() && (spool == null || spool.isEmpty());
+    }
+
+    public int getQueuedPoints() {
+        return queue.size();
+    }
+
+    public long getSpooledPoints() {
+        InfluxDBSpool spool = this.spool;
+        return spool == null ? 0 : spool.getSpooledPoints();
+    }
+
+    public long getDroppedPoints() {
+        InfluxDBSpool spool = this.spool;
+        return droppedPoints.get() + (spool == null ? 0 : spool.getDroppedPoints());
+    }
+}
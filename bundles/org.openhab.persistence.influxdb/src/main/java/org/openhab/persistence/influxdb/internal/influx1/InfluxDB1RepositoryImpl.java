@@ -76,7 +76,9 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
                     configuration.getPassword());
             createdClient.setDatabase(configuration.getDatabaseName());
             createdClient.setRetentionPolicy(configuration.getRetentionPolicy());
-            createdClient.enableBatch(200, 100, TimeUnit.MILLISECONDS);
+            if (configuration.isGzip()) {
+                createdClient.enableGzip();
+            }
             this.client = createdClient;
         } catch (InfluxException | InfluxDBException e) {
             logger.debug("Connection failed", e);
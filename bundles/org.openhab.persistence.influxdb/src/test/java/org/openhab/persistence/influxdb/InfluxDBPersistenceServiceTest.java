@@ -12,22 +12,32 @@
  */
 package org.openhab.persistence.influxdb;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
+import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.BATCH_SIZE_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.DATABASE_PARAM;
+import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.FLUSH_INTERVAL_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.PASSWORD_PARAM;
+import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.QUEUE_OVERFLOW_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.RETENTION_POLICY_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.TOKEN_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.URL_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.USER_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.VERSION_PARAM;
+import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.WRITE_THREADS_PARAM;
 
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
@@ -37,6 +47,7 @@ import org.openhab.core.items.MetadataRegistry;
 import org.openhab.persistence.influxdb.internal.InfluxDBMetadataService;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
 import org.openhab.persistence.influxdb.internal.InfluxDBVersion;
+import org.openhab.persistence.influxdb.internal.InfluxPoint;
 import org.openhab.persistence.influxdb.internal.ItemTestHelper;
 import org.openhab.persistence.influxdb.internal.UnexpectedConditionException;
 
@@ -52,14 +63,16 @@ public class InfluxDBPersistenceServiceTest {
             VERSION_PARAM, InfluxDBVersion.V1.name(), //
             USER_PARAM, "user", PASSWORD_PARAM, "password", //
             DATABASE_PARAM, "openhab", //
-            RETENTION_POLICY_PARAM, "default");
+            RETENTION_POLICY_PARAM, "default", //
+            QUEUE_OVERFLOW_PARAM, "DROP_OLDEST");
 
     private static final Map<String, Object> VALID_V2_CONFIGURATION = Map.of( //
             URL_PARAM, "http://localhost:8086", //
             VERSION_PARAM, InfluxDBVersion.V2.name(), //
             TOKEN_PARAM, "sampletoken", //
             DATABASE_PARAM, "openhab", //
-            RETENTION_POLICY_PARAM, "default");
+            RETENTION_POLICY_PARAM, "default", //
+            QUEUE_OVERFLOW_PARAM, "DROP_OLDEST");
 
     private static final Map<String, Object> INVALID_V1_CONFIGURATION = Map.of(//
             URL_PARAM, "http://localhost:8086", //
@@ -124,6 +137,57 @@ public class InfluxDBPersistenceServiceTest {
         verify(influxDBRepositoryMock, never()).write(any());
     }
 
+    @Test
+    public void writeSplitsPointsIntoChunksOfBatchSize() {
+        InfluxDBPersistenceService instance = getService(withConfig(BATCH_SIZE_PARAM, 2, WRITE_THREADS_PARAM, 2));
+        when(influxDBRepositoryMock.write(any())).thenReturn(true);
+        List<InfluxPoint> points = createPoints(5);
+
+        assertEquals(List.of(), instance.write(points));
+        verify(influxDBRepositoryMock).write(points.subList(0, 2));
+        verify(influxDBRepositoryMock).write(points.subList(2, 4));
+        verify(influxDBRepositoryMock).write(points.subList(4, 5));
+        verify(influxDBRepositoryMock, times(3)).write(any());
+    }
+
+    @Test
+    public void writeReturnsPointsOfFailedChunks() {
+        InfluxDBPersistenceService instance = getService(withConfig(BATCH_SIZE_PARAM, 2, WRITE_THREADS_PARAM, 2));
+        List<InfluxPoint> points = createPoints(7);
+        when(influxDBRepositoryMock.write(any())).thenReturn(true);
+        when(influxDBRepositoryMock.write(points.subList(2, 4))).thenReturn(false);
+        when(influxDBRepositoryMock.write(points.subList(6, 7))).thenReturn(false);
+
+        assertEquals(List.of(points.get(2), points.get(3), points.get(6)), instance.write(points));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void failedPointsAreRequeued() throws UnexpectedConditionException {
+        InfluxDBPersistenceService instance = getService(withConfig(FLUSH_INTERVAL_PARAM, 100));
+        when(influxDBRepositoryMock.isConnected()).thenReturn(true);
+        when(influxDBRepositoryMock.write(any())).thenReturn(false, true);
+        instance.store(ItemTestHelper.createNumberItem("number", 5));
+
+        ArgumentCaptor<List<InfluxPoint>> captor = ArgumentCaptor.forClass(List.class);
+        verify(influxDBRepositoryMock, timeout(5000).times(2)).write(captor.capture());
+        assertEquals(captor.getAllValues().get(0), captor.getAllValues().get(1));
+        verify(influxDBRepositoryMock, after(500).times(2)).write(any());
+    }
+
+    private static Map<String, Object> withConfig(Object... params) {
+        Map<String, Object> config = new HashMap<>(VALID_V2_CONFIGURATION);
+        for (int i = 0; i < params.length; i += 2) {
+            config.put((String) params[i], params[i + 1]);
+        }
+        return config;
+    }
+
+    private static List<InfluxPoint> createPoints(int count) {
+        return IntStream.range(0, count).mapToObj(i -> InfluxPoint.newBuilder("number")
+                .withTime(Instant.ofEpochMilli(i)).withValue(i).withTag("item", "number").build()).toList();
+    }
+
     private InfluxDBPersistenceService getService(Map<String, Object> config) {
         return new InfluxDBPersistenceService(mock(ItemRegistry.class), influxDBMetadataService, config) {
             @Override
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBSpoolTest {
+    private static final Instant TIME = Instant.parse("2024-05-01T10:15:30.123Z");
+
+    private @TempDir @NonNullByDefault({}) Path tempDir;
+
+    @Test
+    public void lineProtocolRoundTrip() {
+        InfluxPoint point = InfluxPoint.newBuilder("living room,temp").withTime(TIME)
+                .withValue("say \"hello\"\nworld\\").withTag("item", "a=b c").build();
+
+        String line = InfluxDBSpool.toLineProtocol(point);
+        assertThat(line, is(notNullValue()));
+        assertThat(line, not(containsString("\n")));
+
+        InfluxPoint parsed = InfluxDBSpool.fromLineProtocol(line);
+        assertThat(parsed, is(notNullValue()));
+        assertThat(parsed.getMeasurementName(), is("living room,temp"));
+        assertThat(parsed.getTime(), is(TIME));
+        assertThat(parsed.getValue(), is("say \"hello\"\nworld\\"));
+        assertThat(parsed.getTags().get("item"), is("a=b c"));
+    }
+
+    @Test
+    public void lineProtocolKeepsNumberTypes() {
+        InfluxPoint decimal = InfluxPoint.newBuilder("m").withTime(TIME).withValue(new BigDecimal("21.50")).build();
+        InfluxPoint integer = InfluxPoint.newBuilder("m").withTime(TIME).withValue(1).build();
+
+        assertThat(InfluxDBSpool.fromLineProtocol(InfluxDBSpool.toLineProtocol(decimal)).getValue(),
+                is(new BigDecimal("21.50")));
+        assertThat(InfluxDBSpool.fromLineProtocol(InfluxDBSpool.toLineProtocol(integer)).getValue(), is(1L));
+    }
+
+    @Test
+    public void spooledPointsAreReplayedInOrderAfterRestart() {
+        InfluxDBSpool spool = new InfluxDBSpool(tempDir, 1024 * 1024);
+        spool.append(List.of(point(1), point(2)));
+        spool.append(List.of(point(3)));
+        spool.close();
+
+        InfluxDBSpool reopened = new InfluxDBSpool(tempDir, 1024 * 1024);
+        assertThat(reopened.getSpooledPoints(), is(3L));
+
+        // a failed write keeps the points
+        assertThat(reopened.replay(points -> false), is(false));
+        assertThat(reopened.getSpooledPoints(), is(3L));
+
+        List<Object> values = new ArrayList<>();
+        assertThat(reopened.replay(points -> {
+            points.forEach(p -> values.add(p.getValue()));
+            return true;
+        }), is(true));
+        assertThat(values, contains(new BigDecimal("1"), new BigDecimal("2"), new BigDecimal("3")));
+        assertThat(reopened.isEmpty(), is(true));
+    }
+
+    @Test
+    public void oldestPointsAreDroppedWhenSpoolIsFull() {
+        InfluxDBSpool spool = new InfluxDBSpool(tempDir, 1);
+        spool.append(List.of(point(1)));
+
+        assertThat(spool.getSpooledPoints(), is(0L));
+        assertThat(spool.getDroppedPoints(), is(1L));
+    }
+
+    private InfluxPoint point(int value) {
+        return InfluxPoint.newBuilder("m").withTime(TIME.plusSeconds(value)).withValue(new BigDecimal(value))
+                .withTag("item", "m").build();
+    }
+}
@@ -12,8 +12,11 @@
  */
 package org.openhab.persistence.inmemory.internal;
 
+import java.math.BigDecimal;
 import java.time.Instant;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
@@ -25,13 +28,18 @@ import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntPredicate;
 import java.util.stream.Collectors;
 
+import javax.measure.Unit;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.config.core.ConfigParser;
 import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.items.Item;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.QuantityType;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.ModifiablePersistenceService;
@@ -66,11 +74,21 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
     protected static final String CONFIG_URI = "persistence:inmemory";
     private final String MAX_ENTRIES_CONFIG = "maxEntries";
     private final long MAX_ENTRIES_DEFAULT = 512;
+    private final String MAX_AGE_CONFIG = "maxAge";
+    private final long MAX_AGE_DEFAULT = 0;
+    private final String NUMERIC_STORAGE_CONFIG = "numericStorage";
+    private final boolean NUMERIC_STORAGE_DEFAULT = false;
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    // the maximum size of an array supported by most VMs
+    private static final int MAX_RING_CAPACITY = Integer.MAX_VALUE - 8;
 
     private final Logger logger = LoggerFactory.getLogger(InMemoryPersistenceService.class);
 
     private final Map<String, PersistItem> persistMap = new ConcurrentHashMap<>();
     private long maxEntries = MAX_ENTRIES_DEFAULT;
+    private long maxAge = MAX_AGE_DEFAULT;
+    private boolean numericStorage = NUMERIC_STORAGE_DEFAULT;
 
     @Activate
     public void activate(Map<String, Object> config) {
@@ -81,14 +99,21 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
     @Modified
     public void modified(Map<String, Object> config) {
         maxEntries = ConfigParser.valueAsOrElse(config.get(MAX_ENTRIES_CONFIG), Long.class, MAX_ENTRIES_DEFAULT);
+        maxAge = ConfigParser.valueAsOrElse(config.get(MAX_AGE_CONFIG), Long.class, MAX_AGE_DEFAULT);
+        numericStorage = ConfigParser.valueAsOrElse(config.get(NUMERIC_STORAGE_CONFIG), Boolean.class,
+                NUMERIC_STORAGE_DEFAULT);
 
         persistMap.values().forEach(persistItem -> {
             Lock lock = persistItem.lock();
             lock.lock();
             try {
-                while (persistItem.database().size() > maxEntries) {
-                    persistItem.database().pollFirst();
+                NumericRingBuffer ring = persistItem.ring;
+                if (ring != null && !numericStorage) {
+                    toGenericStorage(persistItem);
+                } else if (ring != null) {
+                    ring.setMaxCapacity(getRingCapacity());
                 }
+                purge(persistItem);
             } finally {
                 lock.unlock();
             }
@@ -161,8 +186,17 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
         Lock lock = persistItem.lock();
         lock.lock();
         try {
-            List<PersistEntry> toRemove = persistItem.database().stream().filter(e -> applies(e, filter)).toList();
-            toRemove.forEach(persistItem.database()::remove);
+            NumericRingBuffer ring = persistItem.ring;
+            if (ring != null) {
+                int from = getRingBegin(ring, filter);
+                int to = getRingEnd(ring, filter);
+                IntPredicate stateMatcher = getRingStateMatcher(persistItem, ring, filter);
+                ring.removeIf(i -> i >= from && i < to && (stateMatcher == null || stateMatcher.test(i)));
+            } else {
+                List<PersistEntry> toRemove = persistItem.database().stream().filter(e -> applies(e, filter))
+                        .toList();
+                toRemove.forEach(persistItem.database()::remove);
+            }
         } finally {
             lock.unlock();
         }
@@ -189,7 +223,12 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
                 : Comparator.comparing(PersistEntry::timestamp).reversed();
 
         try {
+            NumericRingBuffer ring = persistItem.ring;
+            if (ring != null) {
+                return queryRing(itemName, persistItem, ring, filter);
+            }
             return persistItem.database().stream().filter(e -> applies(e, filter)).sorted(comparator)
+                    .skip((long) filter.getPageNumber() * filter.getPageSize()).limit(filter.getPageSize())
                     .map(e -> toHistoricItem(itemName, e)).toList();
         } finally {
             lock.unlock();
@@ -207,9 +246,19 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
         lock.lock();
         try {
             String name = itemEntry.getKey();
-            Integer count = itemEntry.getValue().database().size();
-            Instant earliest = itemEntry.getValue().database().first().timestamp().toInstant();
-            Instant latest = itemEntry.getValue().database.last().timestamp.toInstant();
+            NumericRingBuffer ring = itemEntry.getValue().ring;
+            Integer count;
+            Instant earliest;
+            Instant latest;
+            if (ring != null && ring.size() > 0) {
+                count = ring.size();
+                earliest = toInstant(ring.timestamp(0));
+                latest = toInstant(ring.timestamp(ring.size() - 1));
+            } else {
+                count = itemEntry.getValue().database().size();
+                earliest = itemEntry.getValue().database().first().timestamp().toInstant();
+                latest = itemEntry.getValue().database.last().timestamp.toInstant();
+            }
             return new PersistenceItemInfo() {
 
                 @Override
@@ -268,16 +317,201 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
         Lock lock = persistItem.lock();
         lock.lock();
         try {
-            persistItem.database().add(new PersistEntry(timestamp, state));
-
-            while (persistItem.database.size() > maxEntries) {
-                persistItem.database().pollFirst();
+            if (!storeNumeric(persistItem, timestamp, state)) {
+                toGenericStorage(persistItem);
+                persistItem.database().add(new PersistEntry(timestamp, state));
             }
+            purge(persistItem);
         } finally {
             lock.unlock();
         }
     }
 
+    /**
+     * Stores a value in the numeric ring buffer of an item. A ring buffer is only used if numeric storage is enabled
+     * and all values of the item are plain decimals or quantities of compatible units.
+     *
+     * @return {@code true} if the value was handled by the ring buffer, {@code false} if it has to be stored in the
+     *         generic storage
+     */
+    private boolean storeNumeric(PersistItem persistItem, ZonedDateTime timestamp, State state) {
+        if (!numericStorage || !persistItem.database().isEmpty()) {
+            return false;
+        }
+        NumericRingBuffer ring = persistItem.ring;
+        Unit<?> unit = ring == null && state instanceof QuantityType<?> quantity ? quantity.getUnit()
+                : persistItem.unit;
+        Double value = toRingValue(state, unit);
+        if (value == null) {
+            return false;
+        }
+        long epochNanos = toEpochNanos(timestamp);
+        if (epochNanos == Long.MIN_VALUE || epochNanos == Long.MAX_VALUE) {
+            // out of the range of the ring buffer
+            return false;
+        }
+        if (ring == null) {
+            ring = new NumericRingBuffer(getRingCapacity());
+            persistItem.ring = ring;
+            persistItem.unit = unit;
+        }
+        ring.add(epochNanos, value);
+        persistItem.zone = timestamp.getZone();
+        return true;
+    }
+
+    /**
+     * Moves all values of an item from its numeric ring buffer to the generic storage.
+     */
+    private void toGenericStorage(PersistItem persistItem) {
+        NumericRingBuffer ring = persistItem.ring;
+        if (ring == null) {
+            return;
+        }
+        for (int i = 0; i < ring.size(); i++) {
+            persistItem.database().add(toPersistEntry(persistItem, ring, i));
+        }
+        persistItem.ring = null;
+        persistItem.unit = null;
+    }
+
+    private void purge(PersistItem persistItem) {
+        NumericRingBuffer ring = persistItem.ring;
+        if (maxAge > 0) {
+            ZonedDateTime oldest = ZonedDateTime.now().minusSeconds(maxAge);
+            if (ring != null) {
+                long oldestNanos = toEpochNanos(oldest);
+                while (ring.size() > 0 && ring.timestamp(0) < oldestNanos) {
+                    ring.removeFirst();
+                }
+            } else {
+                while (!persistItem.database().isEmpty()
+                        && persistItem.database().first().timestamp().isBefore(oldest)) {
+                    persistItem.database().pollFirst();
+                }
+            }
+        }
+        // the ring buffer is limited by its capacity
+        if (ring == null && maxEntries > 0) {
+            while (persistItem.database().size() > maxEntries) {
+                persistItem.database().pollFirst();
+            }
+        }
+    }
+
+    private List<HistoricItem> queryRing(String itemName, PersistItem persistItem, NumericRingBuffer ring,
+            FilterCriteria filter) {
+        int from = getRingBegin(ring, filter);
+        int to = getRingEnd(ring, filter);
+        boolean ascending = filter.getOrdering() == FilterCriteria.Ordering.ASCENDING;
+        IntPredicate stateMatcher = getRingStateMatcher(persistItem, ring, filter);
+        int pageSize = filter.getPageSize();
+        long skip = (long) filter.getPageNumber() * pageSize;
+        if (stateMatcher == null && from < to) {
+            // without a state filter, the first value of the page can be addressed directly
+            int skipped = (int) Math.min(skip, to - from);
+            if (ascending) {
+                from += skipped;
+            } else {
+                to -= skipped;
+            }
+            skip = 0;
+        }
+
+        List<HistoricItem> items = new ArrayList<>(Math.max(0, Math.min(pageSize, to - from)));
+        for (int n = 0; n < to - from && items.size() < pageSize; n++) {
+            int i = ascending ? from + n : to - 1 - n;
+            if (stateMatcher != null && !stateMatcher.test(i)) {
+                continue;
+            }
+            if (skip > 0) {
+                skip--;
+            } else {
+                items.add(toHistoricItem(itemName, toPersistEntry(persistItem, ring, i)));
+            }
+        }
+        return items;
+    }
+
+    private int getRingBegin(NumericRingBuffer ring, FilterCriteria filter) {
+        ZonedDateTime beginDate = filter.getBeginDate();
+        return beginDate == null ? 0 : ring.lowerBound(toEpochNanos(beginDate));
+    }
+
+    private int getRingEnd(NumericRingBuffer ring, FilterCriteria filter) {
+        ZonedDateTime endDate = filter.getEndDate();
+        return endDate == null ? ring.size() : ring.upperBound(toEpochNanos(endDate));
+    }
+
+    /**
+     * Creates a matcher for the state filter of a query on the values of a ring buffer.
+     *
+     * @return the matcher, or {@code null} if the filter has no state filter
+     */
+    private @Nullable IntPredicate getRingStateMatcher(PersistItem persistItem, NumericRingBuffer ring,
+            FilterCriteria filter) {
+        State refState = filter.getState();
+        FilterCriteria.Operator operator = filter.getOperator();
+        if (refState == null) {
+            return null;
+        }
+        Double refValue = toRingValue(refState, persistItem.unit);
+        if (refValue == null) {
+            // compare the full states
+            return i -> applies(toPersistEntry(persistItem, ring, i), filter);
+        }
+        double ref = refValue;
+        return switch (operator) {
+            case EQ -> i -> ring.value(i) == ref;
+            case NEQ -> i -> ring.value(i) != ref;
+            case GT -> i -> ring.value(i) > ref;
+            case GTE -> i -> ring.value(i) >= ref;
+            case LT -> i -> ring.value(i) < ref;
+            case LTE -> i -> ring.value(i) <= ref;
+        };
+    }
+
+    /**
+     * Converts a state to a value of a ring buffer with the given unit.
+     *
+     * @return the value, or {@code null} if the state can not be stored in the ring buffer
+     */
+    private @Nullable Double toRingValue(State state, @Nullable Unit<?> unit) {
+        if (unit == null) {
+            return state.getClass() == DecimalType.class ? ((DecimalType) state).doubleValue() : null;
+        }
+        if (state instanceof QuantityType<?> quantity) {
+            QuantityType<?> converted = quantity.toUnit(unit);
+            return converted == null ? null : converted.doubleValue();
+        }
+        return null;
+    }
+
+    private PersistEntry toPersistEntry(PersistItem persistItem, NumericRingBuffer ring, int index) {
+        BigDecimal value = BigDecimal.valueOf(ring.value(index));
+        Unit<?> unit = persistItem.unit;
+        State state = unit == null ? new DecimalType(value) : new QuantityType<>(value, unit);
+        return new PersistEntry(ZonedDateTime.ofInstant(toInstant(ring.timestamp(index)), persistItem.zone), state);
+    }
+
+    private static long toEpochNanos(ZonedDateTime timestamp) {
+        Instant instant = timestamp.toInstant();
+        try {
+            return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), NANOS_PER_SECOND), instant.getNano());
+        } catch (ArithmeticException e) {
+            return instant.getEpochSecond() < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    private static Instant toInstant(long epochNanos) {
+        return Instant.ofEpochSecond(Math.floorDiv(epochNanos, NANOS_PER_SECOND),
+                Math.floorMod(epochNanos, NANOS_PER_SECOND));
+    }
+
+    private int getRingCapacity() {
+        return maxEntries > 0 ? (int) Math.min(maxEntries, MAX_RING_CAPACITY) : MAX_RING_CAPACITY;
+    }
+
     @SuppressWarnings("unchecked")
     private boolean applies(PersistEntry entry, FilterCriteria filter) {
         ZonedDateTime beginDate = filter.getBeginDate();
@@ -326,6 +560,25 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
     private record PersistEntry(ZonedDateTime timestamp, State state) {
     }
 
-    private record PersistItem(TreeSet<PersistEntry> database, Lock lock) {
+    private static class PersistItem {
+        private final TreeSet<PersistEntry> database;
+        private final Lock lock;
+        // numeric values are kept in a ring buffer instead of the database if numeric storage is enabled
+        private @Nullable NumericRingBuffer ring;
+        private @Nullable Unit<?> unit;
+        private ZoneId zone = ZoneId.systemDefault();
+
+        private PersistItem(TreeSet<PersistEntry> database, Lock lock) {
+            this.database = database;
+            this.lock = lock;
+        }
+
+        private TreeSet<PersistEntry> database() {
+            return database;
+        }
+
+        private Lock lock() {
+            return lock;
+        }
     }
 }
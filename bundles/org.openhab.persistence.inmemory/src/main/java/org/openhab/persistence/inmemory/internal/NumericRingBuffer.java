@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import java.util.function.IntPredicate;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link NumericRingBuffer} stores numeric values sorted by their timestamp in primitive arrays. Values are
+ * addressed by their logical index, {@code 0} being the oldest value. When the maximum capacity is reached, the oldest
+ * value is dropped. The buffer is not thread-safe.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+class NumericRingBuffer {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] timestamps;
+    private double[] values;
+    private int head = 0;
+    private int size = 0;
+    private int maxCapacity;
+
+    NumericRingBuffer(int maxCapacity) {
+        this.maxCapacity = Math.max(1, maxCapacity);
+        int capacity = Math.min(INITIAL_CAPACITY, this.maxCapacity);
+        timestamps = new long[capacity];
+        values = new double[capacity];
+    }
+
+    int size() {
+        return size;
+    }
+
+    long timestamp(int index) {
+        return timestamps[physical(index)];
+    }
+
+    double value(int index) {
+        return values[physical(index)];
+    }
+
+    /**
+     * Adds a value. Values newer than all stored values are appended, older values are inserted at their position.
+     *
+     * @return {@code false} if a value with the same timestamp is already stored, or the buffer is full and the value
+     *         is older than all stored values
+     */
+    boolean add(long timestamp, double value) {
+        if (size == 0 || timestamp > timestamp(size - 1)) {
+            if (size == maxCapacity) {
+                removeFirst();
+            } else {
+                ensureCapacity();
+            }
+            set(size++, timestamp, value);
+            return true;
+        }
+
+        int index = lowerBound(timestamp);
+        if (index < size && timestamp(index) == timestamp) {
+            return false;
+        }
+        if (size == maxCapacity) {
+            if (index == 0) {
+                return false;
+            }
+            removeFirst();
+            index--;
+        } else {
+            ensureCapacity();
+        }
+        for (int i = size; i > index; i--) {
+            set(i, timestamp(i - 1), value(i - 1));
+        }
+        set(index, timestamp, value);
+        size++;
+        return true;
+    }
+
+    void removeFirst() {
+        if (size > 0) {
+            head = physical(1);
+            size--;
+        }
+    }
+
+    /**
+     * Removes all values whose logical index matches the given predicate. The predicate is evaluated once for each
+     * index in ascending order, before any value is moved.
+     */
+    void removeIf(IntPredicate predicate) {
+        int write = 0;
+        for (int read = 0; read < size; read++) {
+            if (!predicate.test(read)) {
+                if (write != read) {
+                    set(write, timestamp(read), value(read));
+                }
+                write++;
+            }
+        }
+        size = write;
+    }
+
+    /**
+     * @return the index of the first value with a timestamp greater than or equal to the given timestamp, or
+     *         {@link #size()} if there is none
+     */
+    int lowerBound(long timestamp) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamp(mid) < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return the index of the first value with a timestamp greater than the given timestamp, or {@link #size()} if
+     *         there is none
+     */
+    int upperBound(long timestamp) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamp(mid) <= timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Sets the maximum capacity, dropping the oldest values if more values are stored.
+     */
+    void setMaxCapacity(int maxCapacity) {
+        this.maxCapacity = Math.max(1, maxCapacity);
+        while (size > this.maxCapacity) {
+            removeFirst();
+        }
+        if (timestamps.length > this.maxCapacity) {
+            resize(this.maxCapacity);
+        }
+    }
+
+    private void ensureCapacity() {
+        if (size == timestamps.length) {
+            resize((int) Math.min((long) timestamps.length * 2, maxCapacity));
+        }
+    }
+
+    private void resize(int capacity) {
+        long[] newTimestamps = new long[capacity];
+        double[] newValues = new double[capacity];
+        for (int i = 0; i < size; i++) {
+            newTimestamps[i] = timestamp(i);
+            newValues[i] = value(i);
+        }
+        timestamps = newTimestamps;
+        values = newValues;
+        head = 0;
+    }
+
+    private void set(int index, long timestamp, double value) {
+        int physical = physical(index);
+        timestamps[physical] = timestamp;
+        values[physical] = value;
+    }
+
+    private int physical(int index) {
+        int physical = head + index;
+        return physical >= timestamps.length ? physical - timestamps.length : physical;
+    }
+}
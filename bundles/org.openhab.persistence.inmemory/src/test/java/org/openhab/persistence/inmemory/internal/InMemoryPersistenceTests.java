@@ -21,6 +21,7 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.TreeSet;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -34,7 +35,9 @@ import org.mockito.quality.Strictness;
 import org.openhab.core.items.GenericItem;
 import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.OnOffType;
 import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.QuantityType;
 import org.openhab.core.library.types.StringType;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
@@ -275,4 +278,62 @@ public class InMemoryPersistenceTests {
 
         // begin date is before first date is already covered by case #1
     }
+
+    @Test
+    public void numericStorageQueriesPage() {
+        service.activate(Map.of("numericStorage", true));
+        ZonedDateTime start = ZonedDateTime.of(2020, 12, 1, 12, 0, 0, 0, ZoneId.systemDefault());
+        // store out of order
+        for (int i = 9; i >= 0; i--) {
+            service.store(item, start.plusMinutes(i), new DecimalType(i));
+        }
+
+        filterCriteria.setBeginDate(start.plusMinutes(2));
+        filterCriteria.setEndDate(start.plusMinutes(8));
+        filterCriteria.setPageSize(3);
+        filterCriteria.setPageNumber(1);
+
+        List<HistoricItem> ascending = new ArrayList<>();
+        filterCriteria.setOrdering(FilterCriteria.Ordering.ASCENDING);
+        service.query(filterCriteria).forEach(ascending::add);
+        assertThat(ascending.stream().map(h -> ((DecimalType) h.getState()).intValue()).toList(), contains(5, 6, 7));
+        assertThat(ascending.get(0).getTimestamp(), is(start.plusMinutes(5)));
+
+        List<Integer> descending = new ArrayList<>();
+        filterCriteria.setOrdering(FilterCriteria.Ordering.DESCENDING);
+        service.query(filterCriteria).forEach(h -> descending.add(((DecimalType) h.getState()).intValue()));
+        assertThat(descending, contains(5, 4, 3));
+    }
+
+    @Test
+    public void numericStorageRespectsMaxEntriesAndStateFilter() {
+        service.activate(Map.of("numericStorage", true, "maxEntries", 5));
+        ZonedDateTime start = ZonedDateTime.of(2020, 12, 1, 12, 0, 0, 0, ZoneId.systemDefault());
+        for (int i = 0; i < 10; i++) {
+            service.store(item, start.plusMinutes(i), new QuantityType<>(i + " W"));
+        }
+
+        List<HistoricItem> stored = new ArrayList<>();
+        service.query(filterCriteria).forEach(stored::add);
+        assertThat(stored, hasSize(5));
+        assertThat(stored.get(0).getState(), is(new QuantityType<>("5 W")));
+
+        filterCriteria.setState(new QuantityType<>("0.007 kW"));
+        filterCriteria.setOperator(FilterCriteria.Operator.GTE);
+        stored.clear();
+        service.query(filterCriteria).forEach(stored::add);
+        assertThat(stored, hasSize(3));
+    }
+
+    @Test
+    public void numericStorageFallsBackForOtherStates() {
+        service.activate(Map.of("numericStorage", true));
+        ZonedDateTime start = ZonedDateTime.of(2020, 12, 1, 12, 0, 0, 0, ZoneId.systemDefault());
+        service.store(item, start, new DecimalType(1));
+        service.store(item, start.plusMinutes(1), OnOffType.ON);
+
+        List<State> stored = new ArrayList<>();
+        service.query(filterCriteria).forEach(h -> stored.add(h.getState()));
+        assertThat(stored, contains(new DecimalType(1), OnOffType.ON));
+    }
 }
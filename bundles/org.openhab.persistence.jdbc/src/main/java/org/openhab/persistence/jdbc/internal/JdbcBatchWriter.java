@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.NamedThreadFactory;
+import org.openhab.persistence.jdbc.internal.dto.ItemValueVO;
+import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
+import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link JdbcBatchWriter} is a write-behind queue for item values. A number of writer threads drain the queue,
+ * each into a batch of at most {@code batchSize} values, and flush it once it is full or its oldest value has
+ * waited {@code batchLatency} milliseconds. Each batch is written in a single transaction on its own pooled
+ * connection. At most {@code queueSize} values are queued, further values are dropped, so that an unreachable
+ * database cannot exhaust the memory.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcBatchWriter {
+    private static final long POLL_TIMEOUT_MS = 1000;
+
+    private final Logger logger = LoggerFactory.getLogger(JdbcBatchWriter.class);
+
+    private final JdbcMapper mapper;
+    private final int batchSize;
+    private final long batchLatency;
+    private final int writerThreads;
+    private final BlockingQueue<PendingValue> queue;
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong flushedValues = new AtomicLong();
+    private final AtomicLong failedValues = new AtomicLong();
+    private final AtomicLong droppedValues = new AtomicLong();
+    private final AtomicLong flushTimeTotal = new AtomicLong();
+    private final AtomicLong flushTimeMax = new AtomicLong();
+    private final AtomicLong lastFlushTime = new AtomicLong();
+
+    private @Nullable ExecutorService executor;
+    private volatile boolean running = false;
+
+    private record PendingValue(ItemValueVO value, long enqueued) {
+    }
+
+    public JdbcBatchWriter(JdbcMapper mapper, int batchSize, int batchLatency, int writerThreads, int queueSize) {
+        this.mapper = mapper;
+        this.batchSize = batchSize;
+        this.batchLatency = batchLatency;
+        this.writerThreads = writerThreads;
+        this.queue = new LinkedBlockingQueue<>(Math.max(batchSize, queueSize));
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        ExecutorService executor = Executors.newFixedThreadPool(writerThreads,
+                new NamedThreadFactory(JdbcPersistenceServiceConstants.SERVICE_ID + "-writer"));
+        for (int i = 0; i < writerThreads; i++) {
+            executor.execute(this::writerLoop);
+        }
+        this.executor = executor;
+        logger.debug("JDBC::JdbcBatchWriter: started {} writers, batchSize={}, batchLatency={} ms", writerThreads,
+                batchSize, batchLatency);
+    }
+
+    /**
+     * Stops the writer threads and synchronously flushes all values still in the queue.
+     */
+    public synchronized void stop() {
+        running = false;
+        ExecutorService executor = this.executor;
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(POLL_TIMEOUT_MS + batchLatency, TimeUnit.MILLISECONDS)) {
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+            this.executor = null;
+        }
+        List<PendingValue> remaining = new ArrayList<>();
+        while (queue.drainTo(remaining, batchSize) > 0) {
+            flush(remaining);
+            remaining.clear();
+        }
+    }
+
+    /**
+     * Queues a value. Never blocks on the database; the value is dropped if the queue is full.
+     */
+    public void add(ItemValueVO value) {
+        if (!queue.offer(new PendingValue(value, System.currentTimeMillis()))) {
+            long dropped = droppedValues.incrementAndGet();
+            if (dropped % 1000 == 1) {
+                logger.warn("JDBC::JdbcBatchWriter: Queue is full, dropping values ({} dropped so far)", dropped);
+            }
+        }
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    public long getFlushCount() {
+        return flushCount.get();
+    }
+
+    public long getFlushedValues() {
+        return flushedValues.get();
+    }
+
+    public long getFailedValues() {
+        return failedValues.get();
+    }
+
+    public long getDroppedValues() {
+        return droppedValues.get();
+    }
+
+    public long getFlushTimeAverage() {
+        long count = flushCount.get();
+        return count == 0 ? 0 : flushTimeTotal.get() / count;
+    }
+
+    public long getFlushTimeMax() {
+        return flushTimeMax.get();
+    }
+
+    public long getLastFlushTime() {
+        return lastFlushTime.get();
+    }
+
+    private void writerLoop() {
+        List<PendingValue> batch = new ArrayList<>(batchSize);
+        try {
+            while (running) {
+                PendingValue first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = first.enqueued() + batchLatency;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingValue next = queue.poll(remaining, TimeUnit.MILLISECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            for (PendingValue value : batch) {
+                if (!queue.offer(value)) {
+                    droppedValues.incrementAndGet();
+                }
+            }
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void flush(List<PendingValue> batch) {
+        List<ItemValueVO> values = batch.stream().map(PendingValue::value).toList();
+        if (!mapper.checkDBAccessability()) {
+            logger.warn("JDBC::JdbcBatchWriter: No connection to database. Cannot persist {} queued values!",
+                    values.size());
+            failedValues.addAndGet(values.size());
+            return;
+        }
+        long timerStart = System.currentTimeMillis();
+        int failed;
+        try {
+            failed = mapper.storeItemValues(values);
+        } catch (JdbcSQLException e) {
+            logger.debug("JDBC::JdbcBatchWriter: Batch of {} values failed, storing them one by one: {}",
+                    values.size(), e.getMessage());
+            failed = storeSingleValues(values);
+        }
+        long flushTime = System.currentTimeMillis() - timerStart;
+        flushCount.incrementAndGet();
+        failedValues.addAndGet(failed);
+        flushedValues.addAndGet(values.size() - failed);
+        flushTimeTotal.addAndGet(flushTime);
+        flushTimeMax.accumulateAndGet(flushTime, Math::max);
+        lastFlushTime.set(flushTime);
+        logger.debug("JDBC::JdbcBatchWriter: Stored {} values in {} ms, {} values queued", values.size() - failed,
+                flushTime, queue.size());
+    }
+
+    private int storeSingleValues(List<ItemValueVO> values) {
+        int failed = 0;
+        for (ItemValueVO value : values) {
+            try {
+                mapper.storeItemValue(value.item(), value.state(), value.date(), value.alias());
+            } catch (JdbcException e) {
+                failed++;
+                logger.warn("JDBC::JdbcBatchWriter: Unable to store item '{}'", value.item().getName(), e);
+            }
+        }
+        return failed;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
+
+/**
+ * The {@link JdbcChunkedQuery} lazily iterates over the result of a query without a page size. Instead of loading
+ * the whole time range at once, it is read in chunks of limited size, each chunk starting where the previous one
+ * ended. Thus, only one chunk is held in memory and no connection is kept open between chunks.
+ *
+ * <p>
+ * Time filters have a precision of seconds, so each chunk starts at the second of the last value returned and skips
+ * the values of that second which have already been returned. As time is the primary key of the item tables, these
+ * are the first values of the chunk.
+ *
+ * <p>
+ * If a chunk cannot be queried, the iteration fails with an {@link IllegalStateException}.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcChunkedQuery implements Iterable<HistoricItem> {
+
+    /**
+     * Queries a single chunk.
+     */
+    @FunctionalInterface
+    public interface ChunkQuery {
+        List<HistoricItem> query(FilterCriteria filter) throws JdbcSQLException;
+    }
+
+    private final FilterCriteria filter;
+    private final int chunkSize;
+    private final ChunkQuery chunkQuery;
+
+    public JdbcChunkedQuery(FilterCriteria filter, int chunkSize, ChunkQuery chunkQuery) {
+        this.filter = filter;
+        this.chunkSize = chunkSize;
+        this.chunkQuery = chunkQuery;
+    }
+
+    @Override
+    public Iterator<HistoricItem> iterator() {
+        return new ChunkIterator();
+    }
+
+    private class ChunkIterator implements Iterator<HistoricItem> {
+        private final boolean ascending = filter.getOrdering() == Ordering.ASCENDING;
+        // times of the returned values which the next chunk will return again
+        private final Deque<Instant> returned = new ArrayDeque<>();
+        private Iterator<HistoricItem> chunk = Collections.emptyIterator();
+        private boolean exhausted = false;
+
+        @Override
+        public boolean hasNext() {
+            while (!chunk.hasNext() && !exhausted) {
+                chunk = queryNextChunk().iterator();
+            }
+            return chunk.hasNext();
+        }
+
+        @Override
+        public HistoricItem next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            HistoricItem item = chunk.next();
+            Instant last = item.getInstant();
+            Instant second = last.truncatedTo(ChronoUnit.SECONDS);
+            // ascending chunks start at the second of the last value, descending chunks end at the following second
+            while (!returned.isEmpty() && (ascending ? returned.getFirst().isBefore(second)
+                    : returned.getFirst().isAfter(second.plusSeconds(1)))) {
+                returned.removeFirst();
+            }
+            returned.addLast(last);
+            return item;
+        }
+
+        private List<HistoricItem> queryNextChunk() {
+            Instant last = returned.peekLast();
+            int skip = returned.size();
+            FilterCriteria chunkFilter = new FilterCriteria().setPageSize(skip + chunkSize).setPageNumber(0)
+                    .setOrdering(filter.getOrdering());
+            String itemName = filter.getItemName();
+            if (itemName != null) {
+                chunkFilter.setItemName(itemName);
+            }
+            ZonedDateTime beginDate = filter.getBeginDate();
+            ZonedDateTime endDate = filter.getEndDate();
+            if (last != null && ascending) {
+                beginDate = last.truncatedTo(ChronoUnit.SECONDS).atZone(ZoneOffset.UTC);
+            } else if (last != null) {
+                // the following second must not extend the time range beyond the end of the original filter
+                ZonedDateTime chunkEnd = last.truncatedTo(ChronoUnit.SECONDS).plusSeconds(1).atZone(ZoneOffset.UTC);
+                endDate = endDate == null || chunkEnd.isBefore(endDate) ? chunkEnd : endDate;
+            }
+            if (beginDate != null) {
+                chunkFilter.setBeginDate(beginDate);
+            }
+            if (endDate != null) {
+                chunkFilter.setEndDate(endDate);
+            }
+
+            List<HistoricItem> items;
+            try {
+                items = chunkQuery.query(chunkFilter);
+            } catch (JdbcSQLException e) {
+                exhausted = true;
+                throw new IllegalStateException("Unable to query values of item '" + itemName + "'", e);
+            }
+            exhausted = items.size() < chunkFilter.getPageSize();
+            return items.subList(Math.min(skip, items.size()), items.size());
+        }
+    }
+}
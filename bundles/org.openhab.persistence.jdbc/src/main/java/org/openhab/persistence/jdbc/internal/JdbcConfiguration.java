@@ -66,6 +66,13 @@ public class JdbcConfiguration {
 
     private int errReconnectThreshold = 0;
 
+    private int batchSize = 0;
+    private int batchLatency = 1000;
+    private int batchWriterThreads = 1;
+    private int batchQueueSize = 100000;
+
+    private int queryChunkSize = 0;
+
     public int timerCount = 0;
     public int time1000Statements = 0;
     public long timer1000 = 0;
@@ -191,6 +198,36 @@ public class JdbcConfiguration {
             logger.debug("JDBC::updateConfig: rebuildTableNames={}", rebuildTableNames);
         }
 
+        String bs = (String) configuration.get("batchSize");
+        if (bs != null && !bs.isBlank() && isNumericPattern.matcher(bs).matches()) {
+            batchSize = Integer.parseInt(bs);
+            logger.debug("JDBC::updateConfig: batchSize={}", batchSize);
+        }
+
+        String bl = (String) configuration.get("batchLatency");
+        if (bl != null && !bl.isBlank() && isNumericPattern.matcher(bl).matches()) {
+            batchLatency = Integer.parseInt(bl);
+            logger.debug("JDBC::updateConfig: batchLatency={}", batchLatency);
+        }
+
+        String bw = (String) configuration.get("batchWriterThreads");
+        if (bw != null && !bw.isBlank() && isNumericPattern.matcher(bw).matches()) {
+            batchWriterThreads = Math.max(1, Integer.parseInt(bw));
+            logger.debug("JDBC::updateConfig: batchWriterThreads={}", batchWriterThreads);
+        }
+
+        String bq = (String) configuration.get("batchQueueSize");
+        if (bq != null && !bq.isBlank() && isNumericPattern.matcher(bq).matches()) {
+            batchQueueSize = Math.max(1, Integer.parseInt(bq));
+            logger.debug("JDBC::updateConfig: batchQueueSize={}", batchQueueSize);
+        }
+
+        String qc = (String) configuration.get("queryChunkSize");
+        if (qc != null && !qc.isBlank() && isNumericPattern.matcher(qc).matches()) {
+            queryChunkSize = Integer.parseInt(qc);
+            logger.debug("JDBC::updateConfig: queryChunkSize={}", queryChunkSize);
+        }
+
         // undocumented
         String ac = (String) configuration.get("maximumPoolSize");
         if (ac != null && !ac.isBlank()) {
@@ -400,6 +437,44 @@ public class JdbcConfiguration {
         return tableUseRealItemNames && tableCaseSensitiveItemNames;
     }
 
+    /**
+     * Checks if values are written in batches by background writers.
+     *
+     * @return true if a batch size greater than one is configured.
+     */
+    public boolean isBatchEnabled() {
+        return batchSize > 1;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getBatchLatency() {
+        return batchLatency;
+    }
+
+    public int getBatchWriterThreads() {
+        return batchWriterThreads;
+    }
+
+    public int getBatchQueueSize() {
+        return batchQueueSize;
+    }
+
+    /**
+     * Checks if unpaged queries are read in chunks.
+     *
+     * @return true if a query chunk size greater than zero is configured.
+     */
+    public boolean isQueryChunkEnabled() {
+        return queryChunkSize > 0;
+    }
+
+    public int getQueryChunkSize() {
+        return queryChunkSize;
+    }
+
     public int getTableIdDigitCount() {
         return tableIdDigitCount;
     }
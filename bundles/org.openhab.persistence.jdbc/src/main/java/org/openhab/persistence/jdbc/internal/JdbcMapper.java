@@ -17,11 +17,14 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -37,6 +40,7 @@ import org.openhab.core.persistence.PersistenceItemInfo;
 import org.openhab.core.types.State;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
+import org.openhab.persistence.jdbc.internal.dto.ItemValueVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
 import org.openhab.persistence.jdbc.internal.dto.JdbcPersistenceItemInfo;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
@@ -59,10 +63,19 @@ public class JdbcMapper {
     private final TimeZoneProvider timeZoneProvider;
 
     // Error counter - used to reconnect to database on error
-    protected int errCnt;
-    protected boolean initialized = false;
+    protected volatile int errCnt;
+    protected volatile boolean initialized = false;
     protected @NonNullByDefault({}) JdbcConfiguration conf;
-    protected final Map<String, String> itemNameToTableNameMap = new HashMap<>();
+    // Metadata cache, loaded in bulk at startup and updated when tables are created or dropped and when items are
+    // added or removed, so that storing values needs neither metadata queries nor a global lock.
+    // A reload replaces the whole cache at once, so lookups never see it partially loaded.
+    protected volatile Map<String, String> itemNameToTableNameMap = new ConcurrentHashMap<>();
+    private volatile Set<String> verifiedTables = ConcurrentHashMap.newKeySet();
+    // Columns by lower case table name
+    private volatile Map<String, List<Column>> tableColumns = new ConcurrentHashMap<>();
+    private final Map<String, Object> tableCreationLocks = new ConcurrentHashMap<>();
+    // Held exclusively by a reload, so tables created meanwhile are not lost when the cache is replaced
+    private final ReadWriteLock metadataLock = new ReentrantReadWriteLock();
     protected @NonNullByDefault({}) NamingStrategy namingStrategy;
     private long afterAccessMin = 10000;
     private long afterAccessMax = 0;
@@ -145,6 +158,8 @@ public class JdbcMapper {
         logger.debug("JDBC::dropTable");
         long timerStart = System.currentTimeMillis();
         conf.getDBDAO().doDropTable(tableName);
+        verifiedTables.remove(tableName.toLowerCase());
+        tableColumns.remove(tableName.toLowerCase());
         logTime("doDropTable", timerStart, System.currentTimeMillis());
     }
 
@@ -179,16 +194,46 @@ public class JdbcMapper {
 
     protected List<Column> getTableColumns(String tableName) throws JdbcSQLException {
         logger.debug("JDBC::getTableColumns");
+        List<Column> is = tableColumns.get(tableName.toLowerCase());
+        if (is != null) {
+            return is;
+        }
         long timerStart = System.currentTimeMillis();
         ItemsVO isvo = new ItemsVO();
         isvo.setJdbcUriDatabaseName(conf.getDbName());
         isvo.setTableName(tableName);
         isvo.setItemsManageTable(conf.getItemsManageTable());
-        List<Column> is = conf.getDBDAO().doGetTableColumns(isvo);
+        is = conf.getDBDAO().doGetTableColumns(isvo);
+        tableColumns.put(tableName.toLowerCase(), is);
         logTime("getTableColumns", timerStart, System.currentTimeMillis());
         return is;
     }
 
+    private Map<String, List<Column>> getAllTableColumns(Set<String> tables) {
+        logger.debug("JDBC::getAllTableColumns");
+        Map<String, List<Column>> columns = new ConcurrentHashMap<>();
+        long timerStart = System.currentTimeMillis();
+        ItemsVO isvo = new ItemsVO();
+        isvo.setJdbcUriDatabaseName(conf.getDbName());
+        isvo.setItemsManageTable(conf.getItemsManageTable());
+        List<Column> allColumns;
+        try {
+            allColumns = conf.getDBDAO().doGetAllTableColumns(isvo);
+        } catch (JdbcSQLException e) {
+            // Columns are then loaded per table when needed
+            logger.debug("JDBC::getAllTableColumns: unable to load columns of all tables: {}", e.getMessage());
+            return columns;
+        }
+        for (Column column : allColumns) {
+            String tableName = column.getTableName().toLowerCase();
+            if (tables.contains(tableName)) {
+                columns.computeIfAbsent(tableName, k -> new ArrayList<>()).add(column);
+            }
+        }
+        logTime("getAllTableColumns", timerStart, System.currentTimeMillis());
+        return columns;
+    }
+
     /****************
      * MAPPERS ITEM *
      ****************/
@@ -212,6 +257,7 @@ public class JdbcMapper {
         logger.debug("JDBC::alterTableColumn");
         long timerStart = System.currentTimeMillis();
         conf.getDBDAO().doAlterTableColumn(tableName, columnName, columnType, nullable);
+        tableColumns.remove(tableName.toLowerCase());
         logTime("alterTableColumn", timerStart, System.currentTimeMillis());
     }
 
@@ -229,6 +275,34 @@ public class JdbcMapper {
         errCnt = 0;
     }
 
+    /**
+     * Stores the values in a single transaction.
+     *
+     * @return the number of values which could not be stored because their table could not be determined
+     */
+    protected int storeItemValues(List<ItemValueVO> values) throws JdbcSQLException {
+        logger.debug("JDBC::storeItemValues: {} values", values.size());
+        Map<String, List<ItemValueVO>> tableValues = new LinkedHashMap<>();
+        int failed = 0;
+        for (ItemValueVO value : values) {
+            try {
+                String tableName = getTable(value.item(), value.alias());
+                tableValues.computeIfAbsent(tableName, t -> new ArrayList<>()).add(value);
+            } catch (JdbcException e) {
+                failed++;
+                logger.warn("JDBC::storeItemValues: Unable to store item '{}'", value.item().getName(), e);
+            }
+        }
+        if (tableValues.isEmpty()) {
+            return failed;
+        }
+        long timerStart = System.currentTimeMillis();
+        conf.getDBDAO().doStoreItemValues(tableValues);
+        logTime("storeItemValues", timerStart, System.currentTimeMillis());
+        errCnt = 0;
+        return failed;
+    }
+
     public long getRowCount(String tableName) throws JdbcSQLException {
         return conf.getDBDAO().doGetRowCount(tableName);
     }
@@ -339,21 +413,48 @@ public class JdbcMapper {
     }
 
     public void populateItemNameToTableNameMap() throws JdbcSQLException {
-        itemNameToTableNameMap.clear();
-        if (conf.getTableUseRealCaseSensitiveItemNames()) {
-            for (String itemName : getItemTables().stream().map(t -> t.getTableName()).collect(Collectors.toList())) {
-                itemNameToTableNameMap.put(itemName, itemName);
-            }
-        } else {
-            for (ItemsVO vo : getItemIDTableNames()) {
-                String itemName = vo.getItemName();
-                if (!ItemUtil.isValidItemName(itemName)) {
-                    logger.warn("Skipping invalid item name {}", itemName);
-                    continue;
+        metadataLock.writeLock().lock();
+        try {
+            // Load all metadata in bulk, so tables do not need to be checked one by one when storing values
+            List<String> itemTables = getItemTables().stream().map(ItemsVO::getTableName).toList();
+            Map<String, String> tableNames = new ConcurrentHashMap<>();
+            if (conf.getTableUseRealCaseSensitiveItemNames()) {
+                for (String itemName : itemTables) {
+                    tableNames.put(itemName, itemName);
+                }
+            } else {
+                for (ItemsVO vo : getItemIDTableNames()) {
+                    String itemName = vo.getItemName();
+                    if (!ItemUtil.isValidItemName(itemName)) {
+                        logger.warn("Skipping invalid item name {}", itemName);
+                        continue;
+                    }
+                    tableNames.put(vo.getItemName(), namingStrategy.getTableName(vo.getItemId(), vo.getItemName()));
                 }
-                itemNameToTableNameMap.put(vo.getItemName(),
-                        namingStrategy.getTableName(vo.getItemId(), vo.getItemName()));
             }
+            Set<String> tables = ConcurrentHashMap.newKeySet();
+            itemTables.forEach(tableName -> tables.add(tableName.toLowerCase()));
+            Map<String, List<Column>> columns = getAllTableColumns(tables);
+
+            itemNameToTableNameMap = tableNames;
+            verifiedTables = tables;
+            tableColumns = columns;
+        } finally {
+            metadataLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Forgets the verified state and the columns of the table of an item, so that they are checked again the next time
+     * the item is stored.
+     *
+     * @param itemName the name of the item
+     */
+    protected void invalidateTableMetadata(String itemName) {
+        String tableName = itemNameToTableNameMap.get(itemName);
+        if (tableName != null) {
+            verifiedTables.remove(tableName.toLowerCase());
+            tableColumns.remove(tableName.toLowerCase());
         }
     }
 
@@ -365,10 +466,34 @@ public class JdbcMapper {
 
         // Table already exists - return the name
         String tableName = itemNameToTableNameMap.get(itemName);
-        if (!Objects.isNull(tableName)) {
+        if (tableName != null && verifiedTables.contains(tableName.toLowerCase())) {
             return tableName;
         }
 
+        metadataLock.readLock().lock();
+        try {
+            // Only one thread may create the table of an item, values of other items are not blocked
+            synchronized (tableCreationLocks.computeIfAbsent(itemName, k -> new Object())) {
+                tableName = itemNameToTableNameMap.get(itemName);
+                if (tableName == null) {
+                    tableName = createTable(item, itemName);
+                } else if (!verifiedTables.contains(tableName.toLowerCase())) {
+                    // Known item without table found at startup, e.g. dropped manually
+                    if (!ifTableExists(tableName)) {
+                        logger.debug("JDBC::getTable: table '{}' of item '{}' is missing, creating it", tableName,
+                                itemName);
+                        createItemTable(item, itemName, tableName);
+                    }
+                    verifiedTables.add(tableName.toLowerCase());
+                }
+                return tableName;
+            }
+        } finally {
+            metadataLock.readLock().unlock();
+        }
+    }
+
+    private String createTable(Item item, String itemName) throws JdbcException {
         logger.debug("JDBC::getTable: no table found for item '{}' in itemNameToTableNameMap", itemName);
 
         int itemId = 0;
@@ -387,19 +512,22 @@ public class JdbcMapper {
 
         // Create the table name
         logger.debug("JDBC::getTable: getTableName with rowId={} itemName={}", itemId, itemName);
-        tableName = namingStrategy.getTableName(itemId, itemName);
+        String tableName = namingStrategy.getTableName(itemId, itemName);
+
+        createItemTable(item, itemName, tableName);
+        verifiedTables.add(tableName.toLowerCase());
+        itemNameToTableNameMap.put(itemName, tableName);
+
+        return tableName;
+    }
 
-        // Create table for item
+    private void createItemTable(Item item, String itemName, String tableName) throws JdbcSQLException {
         String dataType = conf.getDBDAO().getDataType(item);
         ItemVO ivo = new ItemVO(tableName, itemName);
         ivo.setDbType(dataType);
-        ivo = createItemTable(ivo);
+        createItemTable(ivo);
         logger.debug("JDBC::getTable: Table created for item '{}' with dataType {} in SQL database.", itemName,
                 dataType);
-
-        itemNameToTableNameMap.put(itemName, tableName);
-
-        return tableName;
     }
 
     private void formatTableNames() throws JdbcSQLException {
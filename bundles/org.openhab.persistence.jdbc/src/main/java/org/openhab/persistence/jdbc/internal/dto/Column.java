@@ -29,11 +29,17 @@ import org.eclipse.jdt.annotation.Nullable;
 @NonNullByDefault
 public class Column {
 
+    private @Nullable String tableName;
     private @Nullable String columnName;
     private boolean isNullable;
     private @Nullable String columnType;
     private @Nullable String columnTypeAlias;
 
+    public String getTableName() {
+        String tableName = this.tableName;
+        return tableName != null ? tableName : "";
+    }
+
     public String getColumnName() {
         String columnName = this.columnName;
         return columnName != null ? columnName : "";
@@ -53,6 +59,10 @@ public class Column {
         return isNullable;
     }
 
+    public void setTableName(String tableName) {
+        this.tableName = tableName;
+    }
+
     public void setColumnName(String columnName) {
         this.columnName = columnName;
     }
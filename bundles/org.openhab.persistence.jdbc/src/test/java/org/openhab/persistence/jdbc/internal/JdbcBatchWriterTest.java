@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+import java.sql.SQLException;
+import java.time.ZonedDateTime;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.persistence.jdbc.internal.dto.ItemValueVO;
+import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
+import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
+
+/**
+ * Tests the counters of the {@link JdbcBatchWriter}.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class JdbcBatchWriterTest {
+    private final NumberItem item = new NumberItem("Temperature");
+
+    private @Mock @NonNullByDefault({}) JdbcMapper mapper;
+
+    @BeforeEach
+    public void setUp() {
+        when(mapper.checkDBAccessability()).thenReturn(true);
+    }
+
+    private void addValues(JdbcBatchWriter writer, int count) {
+        for (int i = 0; i < count; i++) {
+            writer.add(new ItemValueVO(item, new DecimalType(i), ZonedDateTime.now(), null));
+        }
+    }
+
+    @Test
+    public void fullQueueDropsValues() {
+        JdbcBatchWriter writer = new JdbcBatchWriter(mapper, 2, 1000, 1, 2);
+
+        addValues(writer, 3);
+
+        assertEquals(2, writer.getQueueSize());
+        assertEquals(1, writer.getDroppedValues());
+    }
+
+    @Test
+    public void valuesWithoutTableAreCountedAsFailed() throws JdbcSQLException {
+        when(mapper.storeItemValues(anyList())).thenReturn(1);
+        JdbcBatchWriter writer = new JdbcBatchWriter(mapper, 10, 1000, 1, 100);
+        addValues(writer, 3);
+
+        writer.stop();
+
+        assertEquals(2, writer.getFlushedValues());
+        assertEquals(1, writer.getFailedValues());
+    }
+
+    @Test
+    public void valuesFailingOneByOneAreNotCountedAsFlushed() throws JdbcException {
+        when(mapper.storeItemValues(anyList())).thenThrow(new JdbcSQLException(new SQLException("Duplicate")));
+        doThrow(new JdbcException("Failed")).doNothing().when(mapper).storeItemValue(any(), any(), any(), any());
+        JdbcBatchWriter writer = new JdbcBatchWriter(mapper, 10, 1000, 1, 100);
+        addValues(writer, 3);
+
+        writer.stop();
+
+        assertEquals(2, writer.getFlushedValues());
+        assertEquals(1, writer.getFailedValues());
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.persistence.jdbc.internal.dto.JdbcHistoricItem;
+import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
+
+/**
+ * Tests the {@link JdbcChunkedQuery} class.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcChunkedQueryTest {
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    // 10 values per second, more than fit into one chunk
+    private final List<Instant> values = IntStream.range(0, 35).mapToObj(i -> START.plusMillis(i * 100L)).toList();
+    private int queries;
+
+    @Test
+    void ascendingQueryReturnsAllValuesInOrder() {
+        FilterCriteria filter = new FilterCriteria().setItemName("item").setOrdering(Ordering.ASCENDING);
+
+        assertThat(read(new JdbcChunkedQuery(filter, 4, this::query)), is(values));
+    }
+
+    @Test
+    void descendingQueryReturnsAllValuesInOrder() {
+        FilterCriteria filter = new FilterCriteria().setItemName("item").setOrdering(Ordering.DESCENDING);
+
+        assertThat(read(new JdbcChunkedQuery(filter, 4, this::query)),
+                is(values.stream().sorted(Comparator.reverseOrder()).toList()));
+    }
+
+    @Test
+    void queryRespectsTimeRange() {
+        FilterCriteria filter = new FilterCriteria().setItemName("item").setOrdering(Ordering.ASCENDING)
+                .setBeginDate(START.plusSeconds(1).atZone(ZoneOffset.UTC))
+                .setEndDate(START.plusSeconds(2).atZone(ZoneOffset.UTC));
+
+        assertThat(read(new JdbcChunkedQuery(filter, 3, this::query)), is(values.subList(10, 21)));
+    }
+
+    @Test
+    void descendingQueryDoesNotExceedEndWithinSecond() {
+        FilterCriteria filter = new FilterCriteria().setItemName("item").setOrdering(Ordering.DESCENDING)
+                .setEndDate(START.plusMillis(2500).atZone(ZoneOffset.UTC));
+        List<Instant> expected = read(query(filter));
+
+        for (int chunkSize = 1; chunkSize <= 5; chunkSize++) {
+            assertThat(read(new JdbcChunkedQuery(filter, chunkSize, this::query)), is(expected));
+        }
+    }
+
+    @Test
+    void chunksAreQueriedLazily() {
+        FilterCriteria filter = new FilterCriteria().setItemName("item").setOrdering(Ordering.ASCENDING);
+        Iterator<HistoricItem> iterator = new JdbcChunkedQuery(filter, 4, this::query).iterator();
+
+        assertThat(queries, is(0));
+        for (int i = 0; i < 4; i++) {
+            iterator.next();
+        }
+        assertThat(queries, is(1));
+        iterator.next();
+        assertThat(queries, is(2));
+    }
+
+    @Test
+    void failingChunkQueryFailsIteration() {
+        FilterCriteria filter = new FilterCriteria().setItemName("item").setOrdering(Ordering.ASCENDING);
+        Iterator<HistoricItem> iterator = new JdbcChunkedQuery(filter, 4, chunkFilter -> {
+            if (queries > 0) {
+                throw new JdbcSQLException(new SQLException("connection lost"));
+            }
+            return query(chunkFilter);
+        }).iterator();
+
+        for (int i = 0; i < 4; i++) {
+            iterator.next();
+        }
+        assertThrows(IllegalStateException.class, iterator::hasNext);
+    }
+
+    private List<Instant> read(Iterable<HistoricItem> result) {
+        return StreamSupport.stream(result.spliterator(), false).map(HistoricItem::getInstant).toList();
+    }
+
+    /**
+     * Queries the values like the database, with time filters truncated to seconds.
+     */
+    private List<HistoricItem> query(FilterCriteria filter) {
+        queries++;
+        ZonedDateTime beginDate = filter.getBeginDate();
+        ZonedDateTime endDate = filter.getEndDate();
+        Instant begin = beginDate == null ? null : beginDate.toInstant().truncatedTo(ChronoUnit.SECONDS);
+        Instant end = endDate == null ? null : endDate.toInstant().truncatedTo(ChronoUnit.SECONDS);
+        List<Instant> result = new ArrayList<>(values.stream()
+                .filter(i -> (begin == null || !i.isBefore(begin)) && (end == null || !i.isAfter(end))).toList());
+        if (filter.getOrdering() == Ordering.DESCENDING) {
+            result.sort(Comparator.reverseOrder());
+        }
+        int offset = filter.getPageNumber() * filter.getPageSize();
+        return result.stream().skip(offset).limit(filter.getPageSize())
+                .<HistoricItem> map(i -> new JdbcHistoricItem("item", new DecimalType(1), i)).toList();
+    }
+}
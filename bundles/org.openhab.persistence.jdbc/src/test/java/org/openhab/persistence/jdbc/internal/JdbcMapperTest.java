@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.core.i18n.TimeZoneProvider;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.persistence.jdbc.internal.db.JdbcBaseDAO;
+import org.openhab.persistence.jdbc.internal.dto.Column;
+import org.openhab.persistence.jdbc.internal.dto.ItemVO;
+import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
+import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
+
+/**
+ * Tests the metadata cache of the {@link JdbcMapper}.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class JdbcMapperTest {
+    private final NumberItem item = new NumberItem("Temperature");
+
+    private @Mock @NonNullByDefault({}) JdbcConfiguration conf;
+    private @Mock @NonNullByDefault({}) JdbcBaseDAO dao;
+    private @Mock @NonNullByDefault({}) TimeZoneProvider timeZoneProvider;
+    private @NonNullByDefault({}) JdbcMapper mapper;
+
+    @BeforeEach
+    public void setup() throws JdbcSQLException {
+        when(conf.getDBDAO()).thenReturn(dao);
+        when(conf.getItemsManageTable()).thenReturn("items");
+        when(conf.getTableUseRealCaseSensitiveItemNames()).thenReturn(true);
+        when(conf.getTableUseRealItemNames()).thenReturn(true);
+        when(conf.getTableCaseSensitiveItemNames()).thenReturn(true);
+        when(dao.getDataType(any())).thenReturn("DOUBLE");
+        when(dao.doGetItemTables(any())).thenReturn(List.of());
+        when(dao.doGetAllTableColumns(any())).thenReturn(List.of());
+
+        mapper = new JdbcMapper(timeZoneProvider);
+        mapper.conf = conf;
+        mapper.namingStrategy = new NamingStrategy(conf);
+        mapper.initialized = true;
+    }
+
+    @Test
+    void existingTablesAreNotCheckedWhenStoring() throws Exception {
+        when(dao.doGetItemTables(any())).thenReturn(List.of(itemsVO("Temperature")));
+        mapper.populateItemNameToTableNameMap();
+
+        assertThat(mapper.getTable(item, null), is("Temperature"));
+        verify(dao, never()).doIfTableExists(anyString());
+        verify(dao, never()).doCreateItemTable(any());
+    }
+
+    @Test
+    void tableOfNewItemIsCreatedOnce() throws Exception {
+        mapper.populateItemNameToTableNameMap();
+        CountDownLatch creating = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            creating.await();
+            return null;
+        }).when(dao).doCreateItemTable(any(ItemVO.class));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit((Callable<String>) () -> mapper.getTable(item, null)));
+            }
+            creating.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get(), is("Temperature"));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(dao, times(1)).doCreateItemTable(any());
+    }
+
+    @Test
+    void cacheRemainsAvailableDuringReload() throws Exception {
+        when(dao.doGetItemTables(any())).thenReturn(List.of(itemsVO("Temperature")));
+        mapper.populateItemNameToTableNameMap();
+
+        List<String> tablesDuringReload = new ArrayList<>();
+        when(dao.doGetAllTableColumns(any())).thenAnswer(invocation -> {
+            tablesDuringReload.add(mapper.getTable(item, null));
+            return List.of();
+        });
+        mapper.populateItemNameToTableNameMap();
+
+        assertThat(tablesDuringReload, is(List.of("Temperature")));
+        assertThat(mapper.itemNameToTableNameMap.get("Temperature"), is("Temperature"));
+        verify(dao, never()).doIfTableExists(anyString());
+    }
+
+    @Test
+    void columnsAreLoadedInBulk() throws Exception {
+        Column time = column("TEMPERATURE", "time");
+        Column value = column("TEMPERATURE", "value");
+        when(dao.doGetItemTables(any())).thenReturn(List.of(itemsVO("Temperature")));
+        when(dao.doGetAllTableColumns(any())).thenReturn(List.of(time, value, column("other", "value")));
+        mapper.populateItemNameToTableNameMap();
+
+        assertThat(mapper.getTableColumns("Temperature"), is(List.of(time, value)));
+        verify(dao, never()).doGetTableColumns(any());
+    }
+
+    @Test
+    void columnsAreLoadedPerTableIfBulkLoadFails() throws Exception {
+        Column value = column("Temperature", "value");
+        when(dao.doGetItemTables(any())).thenReturn(List.of(itemsVO("Temperature")));
+        when(dao.doGetAllTableColumns(any())).thenThrow(new JdbcSQLException(new SQLException("not supported")));
+        when(dao.doGetTableColumns(any())).thenReturn(List.of(value));
+        mapper.populateItemNameToTableNameMap();
+
+        assertThat(mapper.getTableColumns("Temperature"), is(List.of(value)));
+        assertThat(mapper.getTableColumns("Temperature"), is(List.of(value)));
+        verify(dao, times(1)).doGetTableColumns(any());
+    }
+
+    @Test
+    void invalidatedTableIsCheckedAgain() throws Exception {
+        when(dao.doGetItemTables(any())).thenReturn(List.of(itemsVO("Temperature")));
+        mapper.populateItemNameToTableNameMap();
+        when(dao.doIfTableExists("Temperature")).thenReturn(false);
+
+        mapper.invalidateTableMetadata("Temperature");
+        assertThat(mapper.getTable(item, null), is("Temperature"));
+        assertThat(mapper.getTable(item, null), is("Temperature"));
+
+        verify(dao, times(1)).doIfTableExists("Temperature");
+        verify(dao, times(1)).doCreateItemTable(any());
+    }
+
+    private static ItemsVO itemsVO(String tableName) {
+        ItemsVO vo = new ItemsVO();
+        vo.setTableName(tableName);
+        return vo;
+    }
+
+    private static Column column(String tableName, String columnName) {
+        Column column = new Column();
+        column.setTableName(tableName);
+        column.setColumnName(columnName);
+        return column;
+    }
+}
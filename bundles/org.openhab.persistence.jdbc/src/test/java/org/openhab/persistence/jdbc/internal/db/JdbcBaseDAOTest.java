@@ -66,6 +66,7 @@ import org.openhab.core.library.unit.SIUnits;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.FilterCriteria.Ordering;
 import org.openhab.core.types.State;
+import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 
 /**
  * Tests the {@link JdbcBaseDAO}.
@@ -192,6 +193,28 @@ public class JdbcBaseDAOTest {
         assertThat(sql, is("SELECT time, value FROM " + DB_TABLE_NAME + " ORDER BY time DESC LIMIT 0,1"));
     }
 
+    @Test
+    void testStoreItemValueSqlProviderReturnsInsertQueryWithTimeParameter() {
+        ItemVO vo = new ItemVO(DB_TABLE_NAME, null);
+
+        String sql = jdbcBaseDAO.storeItemValueSqlProvider(vo);
+        assertThat(sql, is("INSERT INTO " + DB_TABLE_NAME
+                + " (time, value) VALUES( ?, ? ) ON DUPLICATE KEY UPDATE VALUE= ?"));
+    }
+
+    @Test
+    void testStoreItemValueParamsProviderReturnsTimestampAndValue() {
+        ItemVO vo = new ItemVO(DB_TABLE_NAME, null);
+        vo.setValue(42.0);
+        ZonedDateTime date = parseDateTimeString("2022-01-10T15:01:44");
+
+        Object[] params = jdbcBaseDAO.storeItemValueParamsProvider(vo, date);
+        assertThat(params.length, is(3));
+        assertThat(params[0], is(new java.sql.Timestamp(date.toInstant().toEpochMilli())));
+        assertThat(params[1], is(42.0));
+        assertThat(params[2], is(42.0));
+    }
+
     @Test
     void testHistItemFilterDeleteProviderReturnsDeleteQueryWithoutWhereClause() {
         String sql = jdbcBaseDAO.histItemFilterDeleteProvider(filter, DB_TABLE_NAME, UTC_ZONE_ID);
@@ -12,6 +12,7 @@
  */
 package org.openhab.persistence.jpa.internal;
 
+import java.math.BigDecimal;
 import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -35,12 +36,22 @@ public class JpaConfiguration {
     private static final String CFG_USERNAME = "user";
     private static final String CFG_PASSWORD = "password";
     private static final String CFG_SYNCMAPPING = "syncmappings";
+    private static final String CFG_BATCH_SIZE = "batchSize";
+    private static final String CFG_FLUSH_INTERVAL = "flushInterval";
+    private static final String CFG_BUFFER_SIZE = "bufferSize";
+
+    private static final int DEFAULT_BATCH_SIZE = 0;
+    private static final int DEFAULT_FLUSH_INTERVAL = 1000;
+    private static final int DEFAULT_BUFFER_SIZE = 100000;
 
     public final String dbConnectionUrl;
     public final String dbDriverClass;
     public final String dbUserName;
     public final String dbPassword;
     public final String dbSyncMapping;
+    public final int batchSize;
+    public final int flushInterval;
+    public final int bufferSize;
 
     public JpaConfiguration(final Map<String, @Nullable Object> properties) throws IllegalArgumentException {
         logger.debug("Creating JPA config...");
@@ -81,6 +92,28 @@ public class JpaConfiguration {
         }
         dbSyncMapping = param == null ? "" : param;
 
+        batchSize = parseInt(properties, CFG_BATCH_SIZE, DEFAULT_BATCH_SIZE, 0);
+        flushInterval = parseInt(properties, CFG_FLUSH_INTERVAL, DEFAULT_FLUSH_INTERVAL, 1);
+        bufferSize = parseInt(properties, CFG_BUFFER_SIZE, DEFAULT_BUFFER_SIZE, 1);
+
         logger.debug("Creating JPA config... done");
     }
+
+    private static int parseInt(final Map<String, @Nullable Object> properties, String key, int defaultValue,
+            int minValue) throws IllegalArgumentException {
+        Object value = properties.get(key);
+        if (value == null || value.toString().isBlank()) {
+            return defaultValue;
+        }
+        int result;
+        try {
+            result = new BigDecimal(value.toString().trim()).intValueExact();
+        } catch (ArithmeticException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + key + " in JPA configuration: " + value);
+        }
+        if (result < minValue) {
+            throw new IllegalArgumentException(key + " must be at least " + minValue + " in JPA configuration!");
+        }
+        return result;
+    }
 }
@@ -17,9 +17,13 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
+import org.apache.openjpa.persistence.OpenJPAEntityManager;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
@@ -45,6 +49,7 @@ import org.slf4j.LoggerFactory;
 import jakarta.persistence.EntityExistsException;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.FlushModeType;
 import jakarta.persistence.Persistence;
 import jakarta.persistence.Query;
 
@@ -63,6 +68,9 @@ public class JpaPersistenceService implements QueryablePersistenceService {
     private static final String SERVICE_ID = "jpa";
     private static final String SERVICE_LABEL = "JPA";
     protected static final String CONFIG_URI = "persistence:jpa";
+    private static final String THREADPOOL_NAME = "jpaPersistenceService";
+    private static final int MAX_IDLE_QUERY_ENTITY_MANAGERS = 4;
+    private static final long QUERY_FLUSH_TIMEOUT_MS = 1000;
 
     private final Logger logger = LoggerFactory.getLogger(JpaPersistenceService.class);
 
@@ -74,6 +82,12 @@ public class JpaPersistenceService implements QueryablePersistenceService {
 
     private boolean initialized;
 
+    private @Nullable JpaWriteBuffer writeBuffer;
+
+    // EntityManagers kept for reuse by queries, closed with the EntityManagerFactory
+    private final BlockingQueue<EntityManager> idleQueryEntityManagers = new ArrayBlockingQueue<>(
+            MAX_IDLE_QUERY_ENTITY_MANAGERS);
+
     @Activate
     public JpaPersistenceService(BundleContext context, Map<String, @Nullable Object> properties,
             final @Reference ItemRegistry itemRegistry) {
@@ -82,6 +96,13 @@ public class JpaPersistenceService implements QueryablePersistenceService {
         try {
             config = new JpaConfiguration(properties);
             initialized = true;
+            if (config.batchSize > 0) {
+                JpaWriteBuffer buffer = new JpaWriteBuffer(this::getEntityManagerFactory,
+                        ThreadPoolManager.getScheduledPool(THREADPOOL_NAME), config.batchSize, config.bufferSize,
+                        config.flushInterval);
+                buffer.start();
+                writeBuffer = buffer;
+            }
         } catch (IllegalArgumentException e) {
             logger.warn("{}", e.getMessage());
         }
@@ -107,6 +128,11 @@ public class JpaPersistenceService implements QueryablePersistenceService {
     @Deactivate
     public void deactivate() {
         logger.debug("Deactivating JPA persistence service");
+        JpaWriteBuffer buffer = writeBuffer;
+        if (buffer != null) {
+            buffer.close();
+            writeBuffer = null;
+        }
         closeEntityManagerFactory();
     }
 
@@ -155,6 +181,12 @@ public class JpaPersistenceService implements QueryablePersistenceService {
         pItem.setRealName(item.getName());
         pItem.setTimestamp(new Date());
 
+        JpaWriteBuffer buffer = writeBuffer;
+        if (buffer != null) {
+            buffer.add(pItem);
+            return;
+        }
+
         EntityManager em = getEntityManagerFactory().createEntityManager();
         try {
             logger.debug("Persisting item...");
@@ -231,14 +263,20 @@ public class JpaPersistenceService implements QueryablePersistenceService {
 
         logger.debug("The query: {}", queryString);
 
-        EntityManager em = getEntityManagerFactory().createEntityManager();
-        try {
-            // In RESOURCE_LOCAL calls to EntityManager require a begin/commit
-            em.getTransaction().begin();
+        String realName = alias != null ? alias : item.getName();
+        JpaWriteBuffer buffer = writeBuffer;
+        if (buffer != null && !buffer.flush(realName, QUERY_FLUSH_TIMEOUT_MS)) {
+            // make recently stored states visible to the query, but do not wait for the whole buffer
+            logger.debug("Recently stored states of item '{}' could not be persisted before querying", realName);
+        }
 
+        EntityManager em = takeQueryEntityManager();
+        try {
+            // Reading does not require a transaction
             logger.debug("Creating query...");
             Query query = em.createQuery(queryString);
-            query.setParameter("itemName", alias != null ? alias : item.getName());
+            query.setFlushMode(FlushModeType.COMMIT);
+            query.setParameter("itemName", realName);
             if (hasBeginDate) {
                 query.setParameter("beginDate", Date.from(filter.getBeginDate().toInstant()));
             }
@@ -261,19 +299,70 @@ public class JpaPersistenceService implements QueryablePersistenceService {
             List<HistoricItem> historicList = JpaHistoricItem.fromResultList(result, item);
             logger.debug("Convert to HistoricItem: {}", historicList.size());
 
-            em.getTransaction().commit();
-
             return historicList;
         } catch (Exception e) {
             logger.error("Error while querying database!", e);
-            em.getTransaction().rollback();
         } finally {
-            em.close();
+            releaseQueryEntityManager(em);
         }
 
         return List.of();
     }
 
+    /**
+     * Takes an idle EntityManager for a query or creates a new one. The EntityManager never flushes before a query and
+     * ignores changes of its persistence context, as it is only used for reading.
+     *
+     * @return EntityManager for a query
+     */
+    private EntityManager takeQueryEntityManager() {
+        EntityManagerFactory factory = getEntityManagerFactory();
+        EntityManager em;
+        while ((em = idleQueryEntityManagers.poll()) != null) {
+            if (em.isOpen() && em.getEntityManagerFactory() == factory) {
+                return em;
+            }
+            closeQueryEntityManager(em);
+        }
+        em = factory.createEntityManager();
+        em.setFlushMode(FlushModeType.COMMIT);
+        if (em instanceof OpenJPAEntityManager openJpaEntityManager) {
+            openJpaEntityManager.setIgnoreChanges(true);
+        }
+        return em;
+    }
+
+    /**
+     * Returns an EntityManager after a query. It is kept for reuse unless enough EntityManagers are idle or its
+     * EntityManagerFactory has been closed in the meantime.
+     *
+     * @param em the EntityManager used for a query
+     */
+    private void releaseQueryEntityManager(EntityManager em) {
+        try {
+            if (em.isOpen() && em.getEntityManagerFactory() == emf) {
+                // the results have been converted, do not keep the entities in the persistence context
+                em.clear();
+                if (idleQueryEntityManagers.offer(em)) {
+                    return;
+                }
+            }
+        } catch (IllegalStateException e) {
+            logger.debug("Failed to clear EntityManager: {}", e.getMessage());
+        }
+        closeQueryEntityManager(em);
+    }
+
+    private void closeQueryEntityManager(EntityManager em) {
+        try {
+            if (em.isOpen()) {
+                em.close();
+            }
+        } catch (IllegalStateException e) {
+            logger.debug("Failed to close EntityManager: {}", e.getMessage());
+        }
+    }
+
     /**
      * Creates a new EntityManagerFactory with properties read from openhab.cfg via JpaConfiguration.
      *
@@ -309,6 +398,10 @@ public class JpaPersistenceService implements QueryablePersistenceService {
      * Closes EntityManagerFactory
      */
     protected void closeEntityManagerFactory() {
+        EntityManager em;
+        while ((em = idleQueryEntityManagers.poll()) != null) {
+            closeQueryEntityManager(em);
+        }
         if (emf != null) {
             emf.close();
             emf = null;
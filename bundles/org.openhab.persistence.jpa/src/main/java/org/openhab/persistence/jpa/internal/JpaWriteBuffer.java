@@ -0,0 +1,332 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jpa.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.persistence.jpa.internal.model.JpaPersistentItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.persistence.EntityExistsException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+
+/**
+ * Write-behind buffer for {@link JpaPersistentItem}s.
+ *
+ * Items are persisted by a background task in one transaction per batch, so the JDBC driver can send the inserts as
+ * statement batches. A flush is triggered when {@code batchSize} items are pending and periodically every
+ * {@code flushInterval}. The writing task keeps its {@link EntityManager} between flushes.
+ *
+ * If a batch fails because the database is not reachable, the items are kept and retried with the next flush. If it
+ * fails because of a duplicate timestamp, the items are persisted one by one so that only the duplicates are lost.
+ *
+ * Before a query, only the pending items of the queried item are persisted, waiting a limited time for a running
+ * flush.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+public class JpaWriteBuffer {
+
+    private final Logger logger = LoggerFactory.getLogger(JpaWriteBuffer.class);
+
+    private final Supplier<EntityManagerFactory> entityManagerFactory;
+    private final ScheduledExecutorService scheduler;
+    private final int batchSize;
+    private final int capacity;
+    private final long flushIntervalMs;
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Deque<JpaPersistentItem> pending = new ArrayDeque<>();
+    private long droppedItems = 0;
+
+    private @Nullable EntityManager entityManager; // guarded by flushLock
+    private @Nullable ScheduledFuture<?> flushJob;
+
+    /**
+     * @param entityManagerFactory supplies the factory for the writing {@link EntityManager}
+     * @param scheduler the scheduler running the flushes
+     * @param batchSize the number of items persisted in one transaction, also the number of pending items that
+     *            triggers a flush
+     * @param capacity the maximum number of pending items, further items are dropped
+     * @param flushIntervalMs the interval of the periodic flush in milliseconds
+     */
+    public JpaWriteBuffer(Supplier<EntityManagerFactory> entityManagerFactory, ScheduledExecutorService scheduler,
+            int batchSize, int capacity, long flushIntervalMs) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.scheduler = scheduler;
+        this.batchSize = Math.max(1, batchSize);
+        this.capacity = Math.max(this.batchSize, capacity);
+        this.flushIntervalMs = Math.max(1, flushIntervalMs);
+    }
+
+    public void start() {
+        flushJob = scheduler.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the periodic flush, persists all pending items and closes the {@link EntityManager}.
+     *
+     * @return the number of items that could not be persisted
+     */
+    public int close() {
+        ScheduledFuture<?> job = flushJob;
+        if (job != null) {
+            job.cancel(false);
+            flushJob = null;
+        }
+        flush();
+        flushLock.lock();
+        try {
+            closeEntityManager();
+        } finally {
+            flushLock.unlock();
+        }
+        int remaining = getPendingItems();
+        if (remaining > 0) {
+            logger.warn("{} buffered items could not be persisted and are lost", remaining);
+        }
+        return remaining;
+    }
+
+    /**
+     * Adds an item. Never blocks on the database; the item is dropped if the buffer is full.
+     */
+    public void add(JpaPersistentItem item) {
+        boolean full;
+        synchronized (this) {
+            if (pending.size() >= capacity) {
+                if (++droppedItems % 1000 == 1) {
+                    logger.warn("JPA write buffer is full, dropping items ({} dropped so far)", droppedItems);
+                }
+                return;
+            }
+            pending.addLast(item);
+            full = pending.size() >= batchSize;
+        }
+        if (full && flushRequested.compareAndSet(false, true)) {
+            scheduler.execute(this::flush);
+        }
+    }
+
+    /**
+     * Persists all pending items.
+     *
+     * @return <code>false</code> if items are left because the database is not available
+     */
+    public boolean flush() {
+        flushLock.lock();
+        try {
+            flushRequested.set(false);
+            return flush(item -> true);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Persists the pending items of one item, waiting at most {@code timeoutMs} for a running flush to finish.
+     *
+     * @param realName the name of the item
+     * @param timeoutMs the maximum time to wait for a running flush in milliseconds
+     * @return <code>false</code> if items of the item are left because the database is not available or the running
+     *         flush did not finish in time
+     */
+    public boolean flush(String realName, long timeoutMs) {
+        try {
+            if (!flushLock.tryLock(timeoutMs, TimeUnit.MILLISECONDS)) {
+                return false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        try {
+            return flush(item -> realName.equals(item.getRealName()));
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private boolean flush(Predicate<JpaPersistentItem> filter) {
+        List<JpaPersistentItem> batch;
+        while (!(batch = take(filter)).isEmpty()) {
+            if (!write(batch)) {
+                requeue(batch);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public synchronized int getPendingItems() {
+        return pending.size();
+    }
+
+    public synchronized long getDroppedItems() {
+        return droppedItems;
+    }
+
+    private synchronized List<JpaPersistentItem> take(Predicate<JpaPersistentItem> filter) {
+        List<JpaPersistentItem> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+        Iterator<JpaPersistentItem> iterator = pending.iterator();
+        while (batch.size() < batchSize && iterator.hasNext()) {
+            JpaPersistentItem item = iterator.next();
+            if (filter.test(item)) {
+                iterator.remove();
+                batch.add(item);
+            }
+        }
+        return batch;
+    }
+
+    private synchronized void requeue(List<JpaPersistentItem> batch) {
+        for (int i = batch.size() - 1; i >= 0; i--) {
+            // the failed transaction may have assigned ids, persist fresh instances
+            pending.addFirst(copy(batch.get(i)));
+        }
+        int overflow = pending.size() - capacity;
+        if (overflow > 0) {
+            // keep the newest items
+            for (int i = 0; i < overflow; i++) {
+                pending.pollFirst();
+            }
+            droppedItems += overflow;
+            logger.warn("JPA write buffer is full, dropping {} items that failed to be persisted", overflow);
+        }
+    }
+
+    /**
+     * @return <code>false</code> if the items should be retried
+     */
+    private boolean write(List<JpaPersistentItem> batch) {
+        EntityManager em;
+        try {
+            em = getEntityManager();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to create EntityManager, retrying later: {}", e.getMessage());
+            return false;
+        }
+        EntityTransaction transaction = em.getTransaction();
+        try {
+            transaction.begin();
+            for (JpaPersistentItem item : batch) {
+                em.persist(item);
+            }
+            transaction.commit();
+            em.clear();
+            logger.debug("Persisted {} items", batch.size());
+            return true;
+        } catch (RuntimeException e) {
+            rollback(transaction);
+            closeEntityManager();
+            if (isDuplicate(e)) {
+                // there's a UNIQUE constraint in the database, and the batch contains a duplicate timestamp
+                logger.debug("Batch of {} items contains a duplicate timestamp, persisting items one by one",
+                        batch.size());
+                writeEach(batch);
+                return true;
+            }
+            logger.warn("Failed to persist {} items, retrying later: {}", batch.size(), e.getMessage());
+            return false;
+        }
+    }
+
+    private void writeEach(List<JpaPersistentItem> batch) {
+        for (JpaPersistentItem item : batch) {
+            JpaPersistentItem pItem = copy(item);
+            EntityTransaction transaction = null;
+            try {
+                EntityManager em = getEntityManager();
+                transaction = em.getTransaction();
+                transaction.begin();
+                em.persist(pItem);
+                transaction.commit();
+                em.clear();
+            } catch (RuntimeException e) {
+                if (isDuplicate(e)) {
+                    logger.debug("Failed to persist item {} because of duplicate timestamp", pItem.getName());
+                } else {
+                    logger.error("Error while persisting item {}: {}", pItem.getName(), e.getMessage());
+                }
+                if (transaction != null) {
+                    rollback(transaction);
+                }
+                closeEntityManager();
+            }
+        }
+    }
+
+    private EntityManager getEntityManager() {
+        EntityManager em = entityManager;
+        if (em == null || !em.isOpen()) {
+            em = entityManagerFactory.get().createEntityManager();
+            entityManager = em;
+        }
+        return em;
+    }
+
+    private void closeEntityManager() {
+        EntityManager em = entityManager;
+        entityManager = null;
+        if (em != null && em.isOpen()) {
+            try {
+                em.close();
+            } catch (RuntimeException e) {
+                logger.debug("Failed to close EntityManager: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void rollback(EntityTransaction transaction) {
+        try {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+        } catch (RuntimeException e) {
+            logger.debug("Rollback failed: {}", e.getMessage());
+        }
+    }
+
+    private static boolean isDuplicate(RuntimeException e) {
+        return e instanceof EntityExistsException || e.getCause() instanceof EntityExistsException;
+    }
+
+    private static JpaPersistentItem copy(JpaPersistentItem item) {
+        JpaPersistentItem copy = new JpaPersistentItem();
+        copy.setName(item.getName());
+        copy.setRealName(item.getRealName());
+        copy.setValue(item.getValue());
+        copy.setTimestamp(Date.from(item.getInstant()));
+        return copy;
+    }
+}
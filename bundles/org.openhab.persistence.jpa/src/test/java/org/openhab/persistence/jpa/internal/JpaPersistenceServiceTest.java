@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jpa.internal;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.core.items.ItemNotFoundException;
+import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.persistence.FilterCriteria;
+import org.osgi.framework.BundleContext;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.FlushModeType;
+import jakarta.persistence.Query;
+
+/**
+ * Tests the reuse of the query {@link EntityManager}s of the {@link JpaPersistenceService}.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class JpaPersistenceServiceTest {
+
+    private @Mock @NonNullByDefault({}) BundleContext bundleContext;
+    private @Mock @NonNullByDefault({}) ItemRegistry itemRegistry;
+    private @Mock @NonNullByDefault({}) EntityManagerFactory entityManagerFactory;
+    private @Mock @NonNullByDefault({}) EntityManager entityManager;
+    private @Mock @NonNullByDefault({}) Query query;
+
+    private @NonNullByDefault({}) JpaPersistenceService service;
+
+    @BeforeEach
+    public void setUp() throws ItemNotFoundException {
+        when(itemRegistry.getItem("Temperature")).thenReturn(new NumberItem("Temperature"));
+        when(entityManagerFactory.createEntityManager()).thenReturn(entityManager);
+        when(entityManager.getEntityManagerFactory()).thenReturn(entityManagerFactory);
+        when(entityManager.isOpen()).thenReturn(true);
+        when(entityManager.createQuery(anyString())).thenReturn(query);
+        when(query.getResultList()).thenReturn(List.of());
+
+        Map<String, @Nullable Object> properties = Map.of("url", "jdbc:derby:data", "driver",
+                "org.apache.derby.jdbc.EmbeddedDriver");
+        service = new JpaPersistenceService(bundleContext, properties, itemRegistry) {
+            @Override
+            protected EntityManagerFactory newEntityManagerFactory() {
+                return entityManagerFactory;
+            }
+        };
+    }
+
+    @Test
+    public void queriesReuseEntityManager() {
+        FilterCriteria filter = new FilterCriteria().setItemName("Temperature");
+
+        service.query(filter);
+        service.query(filter);
+
+        verify(entityManagerFactory, times(1)).createEntityManager();
+        verify(entityManager).setFlushMode(FlushModeType.COMMIT);
+        verify(query, times(2)).setFlushMode(FlushModeType.COMMIT);
+        verify(entityManager, times(2)).clear();
+        verify(entityManager, never()).close();
+    }
+
+    @Test
+    public void deactivateClosesIdleEntityManager() {
+        service.query(new FilterCriteria().setItemName("Temperature"));
+
+        service.deactivate();
+
+        verify(entityManager).close();
+        verify(entityManagerFactory).close();
+    }
+
+    @Test
+    public void entityManagerOfClosedFactoryIsNotReused() {
+        FilterCriteria filter = new FilterCriteria().setItemName("Temperature");
+        service.query(filter);
+        when(entityManager.isOpen()).thenReturn(false);
+
+        service.query(filter);
+
+        verify(entityManagerFactory, times(2)).createEntityManager();
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jpa.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.persistence.jpa.internal.model.JpaPersistentItem;
+
+import jakarta.persistence.EntityExistsException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.PersistenceException;
+
+/**
+ * Tests for {@link JpaWriteBuffer}.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class JpaWriteBufferTest {
+
+    private @Mock @NonNullByDefault({}) EntityManagerFactory entityManagerFactory;
+    private @Mock @NonNullByDefault({}) EntityManager entityManager;
+    private @Mock @NonNullByDefault({}) EntityTransaction transaction;
+    private @Mock @NonNullByDefault({}) ScheduledExecutorService scheduler;
+
+    @BeforeEach
+    public void setUp() {
+        when(entityManagerFactory.createEntityManager()).thenReturn(entityManager);
+        when(entityManager.getTransaction()).thenReturn(transaction);
+        when(entityManager.isOpen()).thenReturn(true);
+    }
+
+    private JpaWriteBuffer createBuffer(int batchSize, int capacity) {
+        return new JpaWriteBuffer(() -> entityManagerFactory, scheduler, batchSize, capacity, 60000);
+    }
+
+    private static JpaPersistentItem createItem(int value) {
+        return createItem("Item", value);
+    }
+
+    private static JpaPersistentItem createItem(String name, int value) {
+        JpaPersistentItem item = new JpaPersistentItem();
+        item.setName(name);
+        item.setRealName(name);
+        item.setValue(String.valueOf(value));
+        item.setTimestamp(new Date(1700000000000L + value));
+        return item;
+    }
+
+    private List<String> persistedValues(int count) {
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(entityManager, times(count)).persist(captor.capture());
+        return captor.getAllValues().stream().map(item -> ((JpaPersistentItem) item).getValue()).toList();
+    }
+
+    @Test
+    public void flushPersistsItemsInBatchesInOrder() {
+        JpaWriteBuffer buffer = createBuffer(2, 100);
+        for (int i = 0; i < 5; i++) {
+            buffer.add(createItem(i));
+        }
+
+        assertTrue(buffer.flush());
+
+        assertEquals(0, buffer.getPendingItems());
+        verify(transaction, times(3)).begin();
+        verify(transaction, times(3)).commit();
+        assertEquals(List.of("0", "1", "2", "3", "4"), persistedValues(5));
+    }
+
+    @Test
+    public void fullBatchTriggersFlush() {
+        JpaWriteBuffer buffer = createBuffer(2, 100);
+        buffer.add(createItem(0));
+        verify(scheduler, never()).execute(any());
+
+        buffer.add(createItem(1));
+        verify(scheduler).execute(any());
+    }
+
+    @Test
+    public void failedBatchIsRetriedInOrder() {
+        doThrow(new PersistenceException("Database not available")).doNothing().when(transaction).commit();
+        JpaWriteBuffer buffer = createBuffer(2, 100);
+        for (int i = 0; i < 3; i++) {
+            buffer.add(createItem(i));
+        }
+
+        assertFalse(buffer.flush());
+        assertEquals(3, buffer.getPendingItems());
+
+        assertTrue(buffer.flush());
+        assertEquals(0, buffer.getPendingItems());
+        assertEquals(List.of("0", "1", "0", "1", "2"), persistedValues(5));
+    }
+
+    @Test
+    public void batchWithDuplicateIsPersistedItemByItem() {
+        doThrow(new PersistenceException("Duplicate", new EntityExistsException())).doNothing().when(transaction)
+                .commit();
+        JpaWriteBuffer buffer = createBuffer(3, 100);
+        for (int i = 0; i < 3; i++) {
+            buffer.add(createItem(i));
+        }
+
+        assertTrue(buffer.flush());
+
+        assertEquals(0, buffer.getPendingItems());
+        verify(transaction, times(4)).commit();
+        assertEquals(List.of("0", "1", "2", "0", "1", "2"), persistedValues(6));
+    }
+
+    @Test
+    public void itemFlushPersistsOnlyItemsOfThatItem() {
+        JpaWriteBuffer buffer = createBuffer(10, 100);
+        buffer.add(createItem("Item", 0));
+        buffer.add(createItem("Other", 1));
+        buffer.add(createItem("Item", 2));
+
+        assertTrue(buffer.flush("Item", 1000));
+
+        assertEquals(1, buffer.getPendingItems());
+        assertEquals(List.of("0", "2"), persistedValues(2));
+    }
+
+    @Test
+    public void itemFlushDoesNotWaitForRunningFlush() throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return null;
+        }).doNothing().when(transaction).commit();
+        JpaWriteBuffer buffer = createBuffer(10, 100);
+        buffer.add(createItem(0));
+        Thread flushThread = new Thread(buffer::flush);
+        flushThread.start();
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        try {
+            assertFalse(buffer.flush("Item", 10));
+        } finally {
+            release.countDown();
+            flushThread.join();
+        }
+        assertEquals(0, buffer.getPendingItems());
+    }
+
+    @Test
+    public void fullBufferDropsItems() {
+        JpaWriteBuffer buffer = createBuffer(1, 2);
+        for (int i = 0; i < 3; i++) {
+            buffer.add(createItem(i));
+        }
+
+        assertEquals(2, buffer.getPendingItems());
+        assertEquals(1, buffer.getDroppedItems());
+    }
+
+    @Test
+    public void closeDrainsPendingItems() {
+        JpaWriteBuffer buffer = createBuffer(10, 100);
+        buffer.start();
+        for (int i = 0; i < 3; i++) {
+            buffer.add(createItem(i));
+        }
+
+        assertEquals(0, buffer.close());
+
+        assertEquals(List.of("0", "1", "2"), persistedValues(3));
+        verify(transaction).commit();
+        verify(entityManager).close();
+    }
+
+    @Test
+    public void closeReturnsItemsThatCannotBePersisted() {
+        doThrow(new PersistenceException("Database not available")).when(transaction).commit();
+        JpaWriteBuffer buffer = createBuffer(10, 100);
+        for (int i = 0; i < 3; i++) {
+            buffer.add(createItem(i));
+        }
+
+        assertEquals(3, buffer.close());
+    }
+}
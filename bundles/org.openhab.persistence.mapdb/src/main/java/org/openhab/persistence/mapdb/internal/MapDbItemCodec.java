@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.types.State;
+import org.openhab.core.types.TypeParser;
+import org.openhab.core.types.UnDefType;
+
+/**
+ * Binary encoding of {@link MapDbItem}s. Common state types are stored as primitives, all other states by their
+ * class name and full string representation.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+class MapDbItemCodec {
+    private static final byte VERSION = 1;
+
+    private static final byte TAG_NONE = 0;
+    private static final byte TAG_UNDEF = 1;
+    private static final byte TAG_DECIMAL = 2;
+    private static final byte TAG_PERCENT = 3;
+    private static final byte TAG_HSB = 4;
+    private static final byte TAG_ON_OFF = 5;
+    private static final byte TAG_OPEN_CLOSED = 6;
+    private static final byte TAG_GENERIC = 7;
+
+    private MapDbItemCodec() {
+        // prevent instantiation
+    }
+
+    static byte[] encode(MapDbItem item) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeUTF(item.getName());
+            out.writeLong(item.getTimestamp().toInstant().toEpochMilli());
+            writeState(out, item.getState());
+            writeState(out, item.getLastState());
+            ZonedDateTime lastStateChange = item.getLastStateChange();
+            out.writeBoolean(lastStateChange != null);
+            if (lastStateChange != null) {
+                out.writeLong(lastStateChange.toInstant().toEpochMilli());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    static MapDbItem decode(byte[] data) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported encoding version " + version);
+            }
+            MapDbItem item = new MapDbItem();
+            item.setName(in.readUTF());
+            item.setTimestamp(new Date(in.readLong()));
+            State state = readState(in);
+            if (state == null) {
+                throw new IOException("Missing state");
+            }
+            item.setState(state);
+            item.setLastState(readState(in));
+            item.setLastStateChange(in.readBoolean() ? new Date(in.readLong()) : null);
+            return item;
+        }
+    }
+
+    private static void writeState(DataOutputStream out, @Nullable State state) throws IOException {
+        if (state == null) {
+            out.writeByte(TAG_NONE);
+        } else if (state instanceof UnDefType undef) {
+            out.writeByte(TAG_UNDEF);
+            out.writeBoolean(undef == UnDefType.UNDEF);
+        } else if (state.getClass() == DecimalType.class) {
+            out.writeByte(TAG_DECIMAL);
+            writeDecimal(out, ((DecimalType) state).toBigDecimal());
+        } else if (state.getClass() == PercentType.class) {
+            out.writeByte(TAG_PERCENT);
+            writeDecimal(out, ((PercentType) state).toBigDecimal());
+        } else if (state.getClass() == HSBType.class) {
+            HSBType hsb = (HSBType) state;
+            out.writeByte(TAG_HSB);
+            writeDecimal(out, hsb.getHue().toBigDecimal());
+            writeDecimal(out, hsb.getSaturation().toBigDecimal());
+            writeDecimal(out, hsb.getBrightness().toBigDecimal());
+        } else if (state instanceof OnOffType) {
+            out.writeByte(TAG_ON_OFF);
+            out.writeBoolean(state == OnOffType.ON);
+        } else if (state instanceof OpenClosedType) {
+            out.writeByte(TAG_OPEN_CLOSED);
+            out.writeBoolean(state == OpenClosedType.OPEN);
+        } else {
+            out.writeByte(TAG_GENERIC);
+            out.writeUTF(state.getClass().getName());
+            out.writeUTF(state.toFullString());
+        }
+    }
+
+    private static @Nullable State readState(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case TAG_NONE:
+                return null;
+            case TAG_UNDEF:
+                return in.readBoolean() ? UnDefType.UNDEF : UnDefType.NULL;
+            case TAG_DECIMAL:
+                return new DecimalType(readDecimal(in));
+            case TAG_PERCENT:
+                return new PercentType(readDecimal(in));
+            case TAG_HSB:
+                return new HSBType(new DecimalType(readDecimal(in)), new PercentType(readDecimal(in)),
+                        new PercentType(readDecimal(in)));
+            case TAG_ON_OFF:
+                return OnOffType.from(in.readBoolean());
+            case TAG_OPEN_CLOSED:
+                return in.readBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+            case TAG_GENERIC:
+                String typeName = in.readUTF();
+                String value = in.readUTF();
+                try {
+                    @SuppressWarnings("unchecked")
+                    Class<? extends State> type = (Class<? extends State>) Class.forName(typeName);
+                    State state = TypeParser.parseState(List.of(type), value);
+                    if (state == null) {
+                        throw new IOException("Unable to parse state '" + value + "' as " + typeName);
+                    }
+                    return state;
+                } catch (ClassNotFoundException e) {
+                    throw new IOException("Unknown state type " + typeName, e);
+                }
+            default:
+                throw new IOException("Unknown state tag " + tag);
+        }
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        out.writeInt(value.scale());
+        out.writeShort(unscaled.length);
+        out.write(unscaled);
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        int scale = in.readInt();
+        byte[] unscaled = new byte[in.readUnsignedShort()];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+}
@@ -27,6 +27,8 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -35,6 +37,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.mapdb.DB;
 import org.mapdb.DBMaker;
+import org.mapdb.Serializer;
 import org.openhab.core.OpenHAB;
 import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.items.Item;
@@ -76,11 +79,17 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
     private static final Path BACKUP_DIR = DB_DIR.resolve("backup");
     private static final String DB_FILE_NAME = "storage.mapdb";
     private static final long DEACTIVATE_TIMEOUT_MS = 30000; // 30 seconds
+    private static final String JSON_MAP_NAME = "itemStore";
+    private static final String MAP_NAME = "itemStoreBinary";
 
     private final Logger logger = LoggerFactory.getLogger(MapDbPersistenceService.class);
 
     private final ExecutorService threadPool = ThreadPoolManager.getPool(getClass().getSimpleName());
+    // commits run one at a time, concurrently only with stores
+    private final ScheduledExecutorService committer = ThreadPoolManager
+            .getPoolBasedSequentialScheduledExecutorService(getClass().getSimpleName(), "commit");
     private final AtomicInteger pendingTasks = new AtomicInteger(0);
+    private final AtomicBoolean commitPending = new AtomicBoolean(false);
     private volatile boolean active;
 
     /**
@@ -88,7 +97,7 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
      */
 
     private @NonNullByDefault({}) DB db;
-    private @NonNullByDefault({}) Map<String, String> map;
+    private @NonNullByDefault({}) Map<String, byte[]> map;
 
     private transient Gson mapper = new GsonBuilder().setDateFormat(DateTimeType.DATE_PATTERN_JSON_COMPAT)
             .registerTypeHierarchyAdapter(State.class, new StateTypeAdapter()).create();
@@ -109,7 +118,7 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         File dbFile = DB_DIR.resolve(DB_FILE_NAME).toFile();
         try {
             db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
-            map = db.createTreeMap("itemStore").makeOrGet();
+            map = openMap(db);
         } catch (RuntimeException re) {
             Throwable cause = re.getCause();
             if (cause instanceof ClassNotFoundException cnf) {
@@ -141,7 +150,7 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
                 }
 
                 db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
-                map = db.createTreeMap("itemStore").makeOrGet();
+                map = openMap(db);
             } else {
                 logger.warn("Failed to create or open the MapDB: {}", re.getMessage());
                 logger.warn("MapDB persistence service activation has failed.");
@@ -150,6 +159,35 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         logger.debug("MapDB persistence service is now activated");
     }
 
+    /**
+     * Opens the map of binary encoded items. When it is created, the items stored as JSON by previous versions are
+     * migrated. The JSON map is kept, so a previous version still finds the items after a downgrade, but it is no
+     * longer updated.
+     */
+    Map<String, byte[]> openMap(DB db) {
+        boolean migrate = !db.exists(MAP_NAME) && db.exists(JSON_MAP_NAME);
+        Map<String, byte[]> binaryMap = db.createTreeMap(MAP_NAME).valueSerializer(Serializer.BYTE_ARRAY)
+                .makeOrGet();
+        if (migrate) {
+            // migrate entries stored as JSON by previous versions
+            Map<String, String> jsonMap = db.getTreeMap(JSON_MAP_NAME);
+            int migrated = 0;
+            for (Map.Entry<String, String> entry : jsonMap.entrySet()) {
+                Optional<MapDbItem> item = deserializeJson(entry.getValue());
+                if (item.isPresent()) {
+                    byte[] data = serialize(item.get());
+                    if (data != null) {
+                        binaryMap.put(entry.getKey(), data);
+                        migrated++;
+                    }
+                }
+            }
+            db.commit();
+            logger.info("Migrated {} MapDB entries to binary format", migrated);
+        }
+        return binaryMap;
+    }
+
     @Deactivate
     public void deactivate() {
         logger.debug("MapDB persistence service deactivated");
@@ -168,6 +206,7 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
             logger.warn("Timed out waiting for MapDB persistence tasks; {} tasks still pending.", pendingTasks.get());
         }
         if (db != null) {
+            db.commit();
             db.close();
         }
     }
@@ -220,10 +259,12 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         try {
             threadPool.submit(() -> {
                 try {
-                    String json = serialize(mItem);
-                    map.put(localAlias, json);
-                    db.commit();
-                    logger.debug("Stored '{}' with state '{}' as '{}' in MapDB database", localAlias, state, json);
+                    byte[] data = serialize(mItem);
+                    if (data != null) {
+                        map.put(localAlias, data);
+                        scheduleCommit();
+                        logger.debug("Stored '{}' with state '{}' in MapDB database", localAlias, state);
+                    }
                 } finally {
                     pendingTasks.decrementAndGet();
                 }
@@ -235,23 +276,47 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         }
     }
 
+    /**
+     * Schedules a commit, unless one is pending already, so a burst of stores is committed at once.
+     */
+    private void scheduleCommit() {
+        if (!commitPending.compareAndSet(false, true)) {
+            return;
+        }
+        pendingTasks.incrementAndGet();
+        try {
+            committer.submit(() -> {
+                try {
+                    commitPending.set(false);
+                    db.commit();
+                } finally {
+                    pendingTasks.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            commitPending.set(false);
+            pendingTasks.decrementAndGet();
+            db.commit();
+        }
+    }
+
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter) {
-        String json = map.get(filter.getItemName());
-        if (json == null) {
+        byte[] data = map.get(filter.getItemName());
+        if (data == null) {
             return List.of();
         }
-        Optional<MapDbItem> item = deserialize(json);
+        Optional<MapDbItem> item = deserialize(data);
         return item.isPresent() ? List.of(item.get()) : List.of();
     }
 
     @Override
     public @Nullable PersistedItem persistedItem(String itemName, @Nullable String alias) {
-        String json = map.get(alias != null ? alias : itemName);
-        if (json == null) {
+        byte[] data = map.get(alias != null ? alias : itemName);
+        if (data == null) {
             return null;
         }
-        Optional<MapDbItem> item = deserialize(json);
+        Optional<MapDbItem> item = deserialize(data);
         MapDbItem dbItem = item.orElse(null);
         if (dbItem != null) {
             dbItem.setName(itemName);
@@ -259,11 +324,29 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         return dbItem;
     }
 
-    private String serialize(MapDbItem item) {
-        return mapper.toJson(item);
+    private byte @Nullable [] serialize(MapDbItem item) {
+        try {
+            return MapDbItemCodec.encode(item);
+        } catch (IOException e) {
+            logger.warn("Failed to serialize '{}': {}", item.getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private Optional<MapDbItem> deserialize(byte[] data) {
+        try {
+            MapDbItem item = MapDbItemCodec.decode(data);
+            if (logger.isDebugEnabled()) {
+                logger.debug("Deserialized '{}' with state '{}'", item.getName(), item.getState());
+            }
+            return Optional.of(item);
+        } catch (IOException e) {
+            logger.warn("Deserialized invalid item: {}", e.getMessage());
+            return Optional.empty();
+        }
     }
 
-    private Optional<MapDbItem> deserialize(String json) {
+    private Optional<MapDbItem> deserializeJson(String json) {
         MapDbItem item = mapper.fromJson(json, MapDbItem.class);
         if (item == null) {
             logger.warn("Deserialized invalid item: {}", item);
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.openhab.core.library.types.DateTimeType;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.PointType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.library.unit.SIUnits;
+import org.openhab.core.types.State;
+import org.openhab.core.types.UnDefType;
+
+/**
+ * Tests for {@link MapDbItemCodec}.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+public class MapDbItemCodecTest {
+
+    private static Stream<State> states() {
+        return Stream.of(UnDefType.UNDEF, UnDefType.NULL, DecimalType.ZERO, new DecimalType(-1.123),
+                new DecimalType(new BigDecimal("123456789012345678901234567890.123456789")), PercentType.HUNDRED,
+                new PercentType(new BigDecimal("12.5")), HSBType.fromRGB(11, 22, 33), OnOffType.ON, OnOffType.OFF,
+                OpenClosedType.OPEN, OpenClosedType.CLOSED, new StringType("Test value"), new StringType(""),
+                new QuantityType<>("21.5 °C"), new QuantityType<>(3, SIUnits.METRE), new PointType("1.5,2.5"),
+                new DateTimeType("2024-01-02T03:04:05.678Z"));
+    }
+
+    private static MapDbItem item(State state, @Nullable State lastState, @Nullable Date lastStateChange) {
+        MapDbItem item = new MapDbItem();
+        item.setName("Item");
+        item.setState(state);
+        item.setTimestamp(new Date(1700000000123L));
+        item.setLastState(lastState);
+        item.setLastStateChange(lastStateChange);
+        return item;
+    }
+
+    @ParameterizedTest
+    @MethodSource("states")
+    public void stateIsDecodedAsEncoded(State state) throws IOException {
+        MapDbItem decoded = MapDbItemCodec.decode(MapDbItemCodec.encode(item(state, state, new Date(1600000000456L))));
+
+        assertEquals("Item", decoded.getName());
+        assertEquals(state, decoded.getState());
+        assertEquals(state.getClass(), decoded.getState().getClass());
+        assertEquals(state, decoded.getLastState());
+        assertEquals(1700000000123L, decoded.getTimestamp().toInstant().toEpochMilli());
+        ZonedDateTime lastStateChange = decoded.getLastStateChange();
+        assertNotNull(lastStateChange);
+        assertEquals(1600000000456L, lastStateChange.toInstant().toEpochMilli());
+    }
+
+    @Test
+    public void missingLastStateIsDecoded() throws IOException {
+        MapDbItem decoded = MapDbItemCodec.decode(MapDbItemCodec.encode(item(OnOffType.ON, null, null)));
+
+        assertEquals(OnOffType.ON, decoded.getState());
+        assertNull(decoded.getLastState());
+        assertNull(decoded.getLastStateChange());
+    }
+
+    @Test
+    public void unknownVersionIsRejected() throws IOException {
+        byte[] data = MapDbItemCodec.encode(item(OnOffType.ON, null, null));
+        data[0] = 99;
+
+        assertThrows(IOException.class, () -> MapDbItemCodec.decode(data));
+    }
+
+    @Test
+    public void truncatedDataIsRejected() throws IOException {
+        byte[] data = MapDbItemCodec.encode(item(new StringType("Test value"), null, null));
+        byte[] truncated = new byte[data.length - 4];
+        System.arraycopy(data, 0, truncated, 0, truncated.length);
+
+        assertThrows(IOException.class, () -> MapDbItemCodec.decode(truncated));
+    }
+}
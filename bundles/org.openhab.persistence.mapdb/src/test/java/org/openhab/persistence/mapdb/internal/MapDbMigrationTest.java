@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mapdb.DB;
+import org.mapdb.DBMaker;
+import org.openhab.core.library.types.DateTimeType;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.types.State;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Tests the migration of items stored as JSON to the binary format of {@link MapDbPersistenceService}.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+public class MapDbMigrationTest {
+    private static final String JSON_MAP_NAME = "itemStore";
+
+    private final Gson mapper = new GsonBuilder().setDateFormat(DateTimeType.DATE_PATTERN_JSON_COMPAT)
+            .registerTypeHierarchyAdapter(State.class, new StateTypeAdapter()).create();
+    private final DB db = DBMaker.newMemoryDB().make();
+    private final MapDbPersistenceService service = new MapDbPersistenceService();
+
+    @AfterEach
+    public void tearDown() {
+        db.close();
+    }
+
+    private String toJson(String name, State state) {
+        MapDbItem item = new MapDbItem();
+        item.setName(name);
+        item.setState(state);
+        item.setTimestamp(new Date(1700000000000L));
+        return mapper.toJson(item);
+    }
+
+    @Test
+    public void jsonItemsAreMigrated() throws IOException {
+        Map<String, String> jsonMap = db.getTreeMap(JSON_MAP_NAME);
+        jsonMap.put("Number", toJson("Number", new DecimalType(42.5)));
+        jsonMap.put("String", toJson("String", new StringType("Test value")));
+
+        Map<String, byte[]> map = service.openMap(db);
+
+        assertEquals(2, map.size());
+        MapDbItem number = MapDbItemCodec.decode(map.get("Number"));
+        assertEquals("Number", number.getName());
+        assertEquals(new DecimalType(42.5), number.getState());
+        assertEquals(1700000000000L, number.getTimestamp().toInstant().toEpochMilli());
+        assertEquals(new StringType("Test value"), MapDbItemCodec.decode(map.get("String")).getState());
+    }
+
+    @Test
+    public void jsonItemsAreKept() {
+        Map<String, String> jsonMap = db.getTreeMap(JSON_MAP_NAME);
+        String json = toJson("Switch", OnOffType.ON);
+        jsonMap.put("Switch", json);
+
+        service.openMap(db);
+
+        assertTrue(db.exists(JSON_MAP_NAME));
+        assertEquals(json, db.<String, String> getTreeMap(JSON_MAP_NAME).get("Switch"));
+    }
+
+    @Test
+    public void jsonItemsAreMigratedOnlyOnce() throws IOException {
+        Map<String, String> jsonMap = db.getTreeMap(JSON_MAP_NAME);
+        jsonMap.put("Switch", toJson("Switch", OnOffType.ON));
+        Map<String, byte[]> map = service.openMap(db);
+
+        // a value stored after the migration is not overwritten by the JSON value
+        MapDbItem item = MapDbItemCodec.decode(map.get("Switch"));
+        item.setState(OnOffType.OFF);
+        map.put("Switch", MapDbItemCodec.encode(item));
+        map = service.openMap(db);
+
+        assertEquals(OnOffType.OFF, MapDbItemCodec.decode(map.get("Switch")).getState());
+    }
+}
@@ -16,14 +16,18 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.bson.Document;
 import org.bson.types.ObjectId;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
@@ -48,15 +52,26 @@ import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.mongodb.MongoException;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.CreateCollectionOptions;
+import com.mongodb.client.model.TimeSeriesOptions;
 import com.mongodb.client.result.DeleteResult;
 
 /**
  * This is the implementation of the MongoDB {@link PersistenceService}.
  *
+ * <p>
+ * Documents are written one by one, or buffered and written per collection with {@code insertMany} if
+ * {@code bufferSize} is configured, see {@link MongoDBWriteBuffer}. Query results are ordered by
+ * {@code (timestamp, _id)}; consecutive pages of the same query continue after the last document of the previous page
+ * instead of skipping over all previous pages, if the previous page was read recently and the item has not been
+ * written since.
+ *
  * @author Thorsten Hoeger - Initial contribution
  * @author Stephan Brunner - Query fixes, Cleanup
  * @author René Ulbricht - Fixes type handling, driver update and cleanup
@@ -67,12 +82,45 @@ import com.mongodb.client.result.DeleteResult;
                 + "=org.openhab.mongodb")
 public class MongoDBPersistenceService implements ModifiablePersistenceService {
 
+    private static final String THREAD_POOL_NAME = "mongodb";
+    private static final int MAX_PAGE_ANCHORS = 100;
+    private static final long PAGE_ANCHOR_TTL_MS = 30000;
+
+    /**
+     * Identifies a page of a query.
+     */
+    private record PageKey(String collection, String item, String query, int sortDir, int pageSize, int pageNumber) {
+    }
+
+    /**
+     * The sort key of the last document of a page, and when the page was read.
+     */
+    private record PageAnchor(Date timestamp, Object id, long created) {
+    }
+
     private final Logger logger = LoggerFactory.getLogger(MongoDBPersistenceService.class);
 
     private String url = "";
     private String db = "";
     private String collection = "";
     private boolean collectionPerItem;
+    private boolean timeSeries;
+
+    // collections whose index (and time series layout) has been set up since connecting
+    private final Set<String> preparedCollections = ConcurrentHashMap.newKeySet();
+
+    // last document of recently read pages, so the next page can continue from there; dropped when the item is
+    // written or after a short time, so that a page continues from an anchor matching the current documents only
+    private final Map<PageKey, PageAnchor> pageAnchors = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<PageKey, PageAnchor> eldest) {
+            return size() > MAX_PAGE_ANCHORS;
+        }
+    };
+
+    private @Nullable MongoDBWriteBuffer writeBuffer;
 
     private boolean initialized = false;
 
@@ -110,20 +158,57 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         logger.debug("MongoDB collection {}", dbCollection);
         collection = dbCollection == null ? "" : dbCollection;
         collectionPerItem = dbCollection == null || dbCollection.isBlank();
+        timeSeries = Boolean.parseBoolean(String.valueOf(config.get("timeSeries")));
+        if (timeSeries && !collectionPerItem) {
+            logger.warn("Time series collections require a collection per item, ignoring mongodb:timeSeries.");
+            timeSeries = false;
+        }
 
         if (!tryConnectToDatabase()) {
             logger.warn("Failed to connect to MongoDB server. Trying to reconnect later.");
         }
 
+        int bufferSize = parseIntConfig(config, "bufferSize", 0);
+        if (bufferSize > 0) {
+            int flushInterval = parseIntConfig(config, "flushInterval", 1000);
+            int maxBufferedDocuments = parseIntConfig(config, "maxBufferedDocuments", 100000);
+            logger.debug("MongoDB write buffer: bufferSize {}, flushInterval {} ms, maxBufferedDocuments {}",
+                    bufferSize, flushInterval, maxBufferedDocuments);
+            MongoDBWriteBuffer buffer = new MongoDBWriteBuffer(
+                    collectionName -> tryConnectToDatabase() ? connectToCollection(collectionName) : null,
+                    ThreadPoolManager.getScheduledPool(THREAD_POOL_NAME), bufferSize, maxBufferedDocuments,
+                    flushInterval);
+            buffer.start();
+            writeBuffer = buffer;
+        }
+
         initialized = true;
     }
 
     @Deactivate
     public void deactivate(final int reason) {
         logger.debug("MongoDB persistence bundle stopping. Disconnecting from database.");
+        MongoDBWriteBuffer buffer = writeBuffer;
+        if (buffer != null) {
+            buffer.close();
+            writeBuffer = null;
+        }
         disconnectFromDatabase();
     }
 
+    private int parseIntConfig(Map<String, Object> config, String key, int defaultValue) {
+        Object value = config.get(key);
+        if (value == null || value.toString().isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.toString().trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid value '{}' for mongodb:{}, using {}", value, key, defaultValue);
+            return defaultValue;
+        }
+    }
+
     @Override
     public String getId() {
         return "mongodb";
@@ -213,11 +298,12 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
                 return null;
             }
 
-            MongoCollection<Document> mongoCollection = db.getDatabase(this.db).getCollection(collectionName);
-
-            Document idx = new Document();
-            idx.append(MongoDBFields.FIELD_ITEM, 1).append(MongoDBFields.FIELD_TIMESTAMP, 1);
-            mongoCollection.createIndex(idx);
+            MongoDatabase database = db.getDatabase(this.db);
+            MongoCollection<Document> mongoCollection = database.getCollection(collectionName);
+            if (!preparedCollections.contains(collectionName)) {
+                prepareCollection(database, mongoCollection, collectionName);
+                preparedCollections.add(collectionName);
+            }
 
             return mongoCollection;
         } catch (Exception e) {
@@ -226,6 +312,31 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         }
     }
 
+    /**
+     * Creates the time series collection, if configured, and the index matching the query access path: equality on
+     * the item name, then range and sort on {@code (timestamp, _id)}.
+     */
+    private void prepareCollection(MongoDatabase database, MongoCollection<Document> mongoCollection,
+            String collectionName) {
+        if (timeSeries && database.listCollections().filter(new Document("name", collectionName)).first() == null) {
+            try {
+                database.createCollection(collectionName, new CreateCollectionOptions().timeSeriesOptions(
+                        new TimeSeriesOptions(MongoDBFields.FIELD_TIMESTAMP).metaField(MongoDBFields.FIELD_ITEM)));
+                logger.debug("Created time series collection {}", collectionName);
+            } catch (MongoException e) {
+                logger.warn("Failed to create time series collection {}, using a regular collection: {}",
+                        collectionName, e.getMessage());
+            }
+        }
+
+        Document idx = new Document();
+        idx.append(MongoDBFields.FIELD_ITEM, 1).append(MongoDBFields.FIELD_TIMESTAMP, 1);
+        if (!timeSeries) {
+            idx.append(MongoDBFields.FIELD_ID, 1);
+        }
+        mongoCollection.createIndex(idx);
+    }
+
     /**
      * Disconnects from the database
      */
@@ -236,6 +347,7 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         }
 
         cl = null;
+        preparedCollections.clear();
     }
 
     @Override
@@ -255,6 +367,7 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
             // Logging is done in connectToCollection()
             return Collections.emptyList();
         }
+        flushWriteBuffer(collection);
 
         Document query = createQuery(filter);
         if (query == null) {
@@ -275,11 +388,39 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
 
         logger.debug("Query: {}", query);
 
-        Integer sortDir = (filter.getOrdering() == Ordering.ASCENDING) ? 1 : -1;
+        int sortDir = (filter.getOrdering() == Ordering.ASCENDING) ? 1 : -1;
+        int pageSize = filter.getPageSize();
+        int pageNumber = filter.getPageNumber();
+        String collectionName = collection.getNamespace().getCollectionName();
+        String name = alias != null ? alias : realItemName;
+        String queryKey = query.toJson();
+
+        // Continue after the last document of the previous page if it has been read before, skip otherwise
+        Document pageQuery = query;
+        int skip = pageNumber * pageSize;
+        if (pageNumber > 0) {
+            PageKey key = new PageKey(collectionName, name, queryKey, sortDir, pageSize, pageNumber - 1);
+            PageAnchor anchor;
+            synchronized (pageAnchors) {
+                anchor = pageAnchors.get(key);
+                if (anchor != null && System.currentTimeMillis() - anchor.created() > PAGE_ANCHOR_TTL_MS) {
+                    pageAnchors.remove(key);
+                    anchor = null;
+                }
+            }
+            if (anchor != null) {
+                pageQuery = new Document("$and", List.of(query, createKeysetQuery(anchor, sortDir)));
+                skip = 0;
+            }
+        }
+
         MongoCursor<Document> cursor = null;
+        @Nullable
+        Document last = null;
         try {
-            cursor = collection.find(query).sort(new Document(MongoDBFields.FIELD_TIMESTAMP, sortDir))
-                    .skip(filter.getPageNumber() * filter.getPageSize()).limit(filter.getPageSize()).iterator();
+            cursor = collection.find(pageQuery)
+                    .sort(new Document(MongoDBFields.FIELD_TIMESTAMP, sortDir).append(MongoDBFields.FIELD_ID, sortDir))
+                    .skip(skip).limit(pageSize).iterator();
 
             while (cursor.hasNext()) {
                 Document obj = cursor.next();
@@ -287,6 +428,7 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
                 final State state = MongoDBTypeConversions.getStateFromDocument(item, obj);
 
                 items.add(new MongoDBItem(realItemName, state, obj.getDate(MongoDBFields.FIELD_TIMESTAMP).toInstant()));
+                last = obj;
             }
         } finally {
             if (cursor != null) {
@@ -294,9 +436,55 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
             }
         }
 
+        if (last != null && items.size() == pageSize && pageSize < Integer.MAX_VALUE) {
+            Object id = last.get(MongoDBFields.FIELD_ID);
+            if (id != null) {
+                synchronized (pageAnchors) {
+                    pageAnchors.put(new PageKey(collectionName, name, queryKey, sortDir, pageSize, pageNumber),
+                            new PageAnchor(last.getDate(MongoDBFields.FIELD_TIMESTAMP), id,
+                                    System.currentTimeMillis()));
+                }
+            }
+        }
+
         return items;
     }
 
+    /**
+     * Creates a query for the documents following the given anchor in the sort order {@code (timestamp, _id)}.
+     */
+    private Document createKeysetQuery(PageAnchor anchor, int sortDir) {
+        String op = sortDir > 0 ? "$gt" : "$lt";
+        return new Document("$or",
+                List.of(new Document(MongoDBFields.FIELD_TIMESTAMP, new Document(op, anchor.timestamp())),
+                        new Document(MongoDBFields.FIELD_TIMESTAMP, anchor.timestamp())
+                                .append(MongoDBFields.FIELD_ID, new Document(op, anchor.id()))));
+    }
+
+    /**
+     * Drops the page anchors of an item, as its pages change when it is written.
+     *
+     * @param itemName the item, or null for all items of the collection
+     */
+    private void dropPageAnchors(String collectionName, @Nullable String itemName) {
+        synchronized (pageAnchors) {
+            if (!pageAnchors.isEmpty()) {
+                pageAnchors.keySet().removeIf(key -> key.collection().equals(collectionName)
+                        && (itemName == null || itemName.equals(key.item())));
+            }
+        }
+    }
+
+    /**
+     * Writes the buffered documents of a collection before it is read or modified.
+     */
+    private void flushWriteBuffer(MongoCollection<Document> collection) {
+        MongoDBWriteBuffer buffer = writeBuffer;
+        if (buffer != null) {
+            buffer.flush(collection.getNamespace().getCollectionName());
+        }
+    }
+
     private @Nullable Item getItem(String itemName) {
         try {
             return itemRegistry.getItem(itemName);
@@ -344,6 +532,18 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
             return;
         }
 
+        String realItemName = item.getName();
+        String name = (alias != null) ? alias : realItemName;
+        String collectionName = collectionPerItem ? name : this.collection;
+        Document obj = createDocument(item, name, date, state);
+        dropPageAnchors(collectionName, name);
+
+        MongoDBWriteBuffer buffer = writeBuffer;
+        if (buffer != null) {
+            buffer.add(collectionName, obj);
+            return;
+        }
+
         // Connect to mongodb server if we're not already connected
         // If we can't connect, log.
         if (!tryConnectToDatabase()) {
@@ -353,10 +553,6 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
             return;
         }
 
-        String realItemName = item.getName();
-        String name = (alias != null) ? alias : realItemName;
-        String collectionName = collectionPerItem ? name : this.collection;
-
         @Nullable
         MongoCollection<Document> collection = connectToCollection(collectionName);
 
@@ -365,24 +561,26 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
             return;
         }
 
-        Object value = MongoDBTypeConversions.convertValue(state);
+        try {
+            collection.insertOne(obj);
+        } catch (org.bson.BsonMaximumSizeExceededException e) {
+            logger.error("Document size exceeds maximum size of 16MB. Item {} not persisted.", name);
+            throw e;
+        }
+        logger.debug("MongoDB save {}={}", name, obj.get(MongoDBFields.FIELD_VALUE));
+    }
 
+    private Document createDocument(Item item, String name, Date date, State state) {
         Document obj = new Document();
         obj.put(MongoDBFields.FIELD_ID, new ObjectId());
         obj.put(MongoDBFields.FIELD_ITEM, name);
-        obj.put(MongoDBFields.FIELD_REALNAME, realItemName);
+        obj.put(MongoDBFields.FIELD_REALNAME, item.getName());
         obj.put(MongoDBFields.FIELD_TIMESTAMP, date);
-        obj.put(MongoDBFields.FIELD_VALUE, value);
+        obj.put(MongoDBFields.FIELD_VALUE, MongoDBTypeConversions.convertValue(state));
         if (item instanceof NumberItem && state instanceof QuantityType<?>) {
             obj.put(MongoDBFields.FIELD_UNIT, ((QuantityType<?>) state).getUnit().toString());
         }
-        try {
-            collection.insertOne(obj);
-        } catch (org.bson.BsonMaximumSizeExceededException e) {
-            logger.error("Document size exceeds maximum size of 16MB. Item {} not persisted.", name);
-            throw e;
-        }
-        logger.debug("MongoDB save {}={}", name, value);
+        return obj;
     }
 
     @Nullable
@@ -472,6 +670,8 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
             return false;
         }
 
+        flushWriteBuffer(collection);
+
         Document query = createQuery(filter);
         if (query == null) {
             return false;
@@ -480,6 +680,7 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         logger.debug("Query: {}", query);
 
         DeleteResult result = collection.deleteMany(query);
+        dropPageAnchors(collection.getNamespace().getCollectionName(), filter.getItemName());
 
         logger.debug("Deleted {} documents", result.getDeletedCount());
         return true;
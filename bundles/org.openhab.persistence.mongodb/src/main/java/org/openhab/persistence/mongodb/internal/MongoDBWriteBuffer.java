@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mongodb.internal;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import org.bson.BSONException;
+import org.bson.Document;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertManyOptions;
+
+/**
+ * Buffers documents per collection and writes them with a single unordered {@code insertMany} per collection.
+ *
+ * <p>
+ * A flush is triggered when {@code batchSize} documents are pending and periodically every {@code flushInterval}.
+ * Documents that could not be written because the server was not reachable are kept and retried with the next flush;
+ * since every document carries its own {@code _id}, documents that were written before the failure are rejected as
+ * duplicates on retry instead of being stored twice. Documents rejected by the server are not retried.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+public class MongoDBWriteBuffer {
+
+    private static final InsertManyOptions UNORDERED = new InsertManyOptions().ordered(false);
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final Logger logger = LoggerFactory.getLogger(MongoDBWriteBuffer.class);
+
+    private final Function<String, @Nullable MongoCollection<Document>> collectionProvider;
+    private final ScheduledExecutorService scheduler;
+    private final int batchSize;
+    private final int capacity;
+    private final long flushIntervalMs;
+
+    private final Object flushLock = new Object();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private Map<String, List<Document>> pending = new LinkedHashMap<>();
+    private int pendingDocuments = 0;
+    private long droppedDocuments = 0;
+
+    private @Nullable ScheduledFuture<?> flushJob;
+
+    /**
+     * @param collectionProvider returns the collection with the given name, or <code>null</code> if the database is
+     *            not available
+     * @param scheduler the scheduler running the flushes
+     * @param batchSize the number of pending documents that triggers a flush
+     * @param capacity the maximum number of pending documents, further documents are dropped
+     * @param flushIntervalMs the interval of the periodic flush in milliseconds
+     */
+    public MongoDBWriteBuffer(Function<String, @Nullable MongoCollection<Document>> collectionProvider,
+            ScheduledExecutorService scheduler, int batchSize, int capacity, long flushIntervalMs) {
+        this.collectionProvider = collectionProvider;
+        this.scheduler = scheduler;
+        this.batchSize = Math.max(1, batchSize);
+        this.capacity = Math.max(this.batchSize, capacity);
+        this.flushIntervalMs = Math.max(1, flushIntervalMs);
+    }
+
+    public void start() {
+        flushJob = scheduler.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the periodic flush and writes all pending documents.
+     *
+     * @return the number of documents that could not be written
+     */
+    public int close() {
+        ScheduledFuture<?> job = flushJob;
+        if (job != null) {
+            job.cancel(false);
+            flushJob = null;
+        }
+        flush();
+        int remaining = getPendingDocuments();
+        if (remaining > 0) {
+            logger.warn("{} buffered documents could not be written to MongoDB and are lost", remaining);
+        }
+        return remaining;
+    }
+
+    /**
+     * Adds a document. Never blocks on the database; the document is dropped if the buffer is full.
+     */
+    public void add(String collectionName, Document document) {
+        boolean full;
+        synchronized (this) {
+            if (pendingDocuments >= capacity) {
+                if (++droppedDocuments % 1000 == 1) {
+                    logger.warn("MongoDB write buffer is full, dropping documents ({} dropped so far)",
+                            droppedDocuments);
+                }
+                return;
+            }
+            pending.computeIfAbsent(collectionName, k -> new ArrayList<>()).add(document);
+            full = ++pendingDocuments >= batchSize;
+        }
+        if (full && flushRequested.compareAndSet(false, true)) {
+            scheduler.execute(this::flush);
+        }
+    }
+
+    /**
+     * Writes the pending documents of all collections.
+     */
+    public void flush() {
+        flush(null);
+    }
+
+    /**
+     * Writes the pending documents of a single collection, or of all collections.
+     *
+     * @param collectionName the collection to flush, or <code>null</code> for all collections
+     */
+    public void flush(@Nullable String collectionName) {
+        synchronized (flushLock) {
+            if (collectionName == null) {
+                flushRequested.set(false);
+            }
+            Map<String, List<Document>> batch = take(collectionName);
+            Iterator<Map.Entry<String, List<Document>>> entries = batch.entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<String, List<Document>> entry = entries.next();
+                if (!write(entry.getKey(), entry.getValue())) {
+                    // the server is not reachable, keep this and all remaining documents
+                    requeue(entry.getKey(), entry.getValue());
+                    entries.forEachRemaining(e -> requeue(e.getKey(), e.getValue()));
+                    return;
+                }
+            }
+        }
+    }
+
+    public synchronized int getPendingDocuments() {
+        return pendingDocuments;
+    }
+
+    public synchronized long getDroppedDocuments() {
+        return droppedDocuments;
+    }
+
+    private synchronized Map<String, List<Document>> take(@Nullable String collectionName) {
+        if (collectionName == null) {
+            Map<String, List<Document>> batch = pending;
+            pending = new LinkedHashMap<>();
+            pendingDocuments = 0;
+            return batch;
+        }
+        List<Document> documents = pending.remove(collectionName);
+        if (documents == null) {
+            return Map.of();
+        }
+        pendingDocuments -= documents.size();
+        return Map.of(collectionName, documents);
+    }
+
+    private synchronized void requeue(String collectionName, List<Document> documents) {
+        List<Document> current = pending.get(collectionName);
+        List<Document> merged = new ArrayList<>(documents);
+        if (current != null) {
+            merged.addAll(current);
+            pendingDocuments -= current.size();
+        }
+        int overflow = pendingDocuments + merged.size() - capacity;
+        if (overflow > 0) {
+            // keep the newest documents
+            overflow = Math.min(overflow, merged.size());
+            merged = new ArrayList<>(merged.subList(overflow, merged.size()));
+            droppedDocuments += overflow;
+            logger.warn("MongoDB write buffer is full, dropping {} documents that failed to be written", overflow);
+        }
+        if (!merged.isEmpty()) {
+            pending.put(collectionName, merged);
+            pendingDocuments += merged.size();
+        } else {
+            pending.remove(collectionName);
+        }
+    }
+
+    /**
+     * @return <code>false</code> if the documents should be retried
+     */
+    private boolean write(String collectionName, List<Document> documents) {
+        MongoCollection<Document> collection = collectionProvider.apply(collectionName);
+        if (collection == null) {
+            return false;
+        }
+        try {
+            collection.insertMany(documents, UNORDERED);
+            logger.debug("MongoDB saved {} documents to collection {}", documents.size(), collectionName);
+            return true;
+        } catch (MongoBulkWriteException e) {
+            // duplicate keys are documents already written by a previous, partly failed flush
+            long rejected = e.getWriteErrors().stream().filter(error -> error.getCode() != DUPLICATE_KEY).count();
+            if (rejected > 0) {
+                logger.warn("{} of {} documents not persisted to collection {}: {}", rejected, documents.size(),
+                        collectionName, e.getMessage());
+            }
+            return true;
+        } catch (MongoException e) {
+            logger.warn("Failed to write {} documents to collection {}, retrying later: {}", documents.size(),
+                    collectionName, e.getMessage());
+            return false;
+        } catch (BSONException e) {
+            // a single oversized document fails the whole request, write the others one by one
+            for (Document document : documents) {
+                try {
+                    collection.insertOne(document);
+                } catch (BSONException | MongoException e1) {
+                    logger.error("Document for item {} not persisted: {}", document.get(MongoDBFields.FIELD_ITEM),
+                            e1.getMessage());
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -1033,4 +1033,132 @@ public class MongoDBPersistenceServiceTest {
             dbContainer.stop();
         }
     }
+
+    /**
+     * Tests that buffered documents are written with the next flush, and before the collection is queried.
+     */
+    @Test
+    public void testBufferedStoreIsFlushedBeforeQuery() {
+        DatabaseTestContainer dbContainer = new DatabaseTestContainer(new MemoryBackend());
+        try {
+            SetupResult setupResult = DataCreationHelper.setupMongoDB("testCollection", dbContainer);
+            MongoDBPersistenceService service = setupResult.service;
+            MongoDatabase database = setupResult.database;
+            setupResult.config.put("bufferSize", "100");
+            setupResult.config.put("flushInterval", "3600000");
+
+            NumberItem itemReg = DataCreationHelper.createNumberItem("TestItem", 0);
+            try {
+                Mockito.when(setupResult.itemRegistry.getItem("TestItem")).thenReturn(itemReg);
+            } catch (ItemNotFoundException e) {
+            }
+
+            service.activate(setupResult.bundleContext, setupResult.config);
+
+            for (int i = 0; i < 5; i++) {
+                service.store(DataCreationHelper.createNumberItem("TestItem", i), ZonedDateTime.now().plusSeconds(i),
+                        new DecimalType(i));
+            }
+
+            MongoCollection<Document> collection = database.getCollection("testCollection");
+            assertEquals(0, collection.countDocuments());
+
+            Iterable<HistoricItem> result = service.query(DataCreationHelper.createFilterCriteria("TestItem"));
+            VerificationHelper.verifyQueryResult(result, 0, 1, 5);
+            assertEquals(5, collection.countDocuments());
+
+            service.store(DataCreationHelper.createNumberItem("TestItem", 5), null);
+            service.deactivate(1);
+            assertEquals(6, collection.countDocuments());
+        } finally {
+            dbContainer.stop();
+        }
+    }
+
+    /**
+     * Tests that consecutive pages return every document exactly once, also for documents with equal timestamps.
+     */
+    @Test
+    public void testConsecutivePagesReturnEveryDocumentOnce() {
+        DatabaseTestContainer dbContainer = new DatabaseTestContainer(new MemoryBackend());
+        try {
+            SetupResult setupResult = DataCreationHelper.setupMongoDB("testCollection", dbContainer);
+            MongoDBPersistenceService service = setupResult.service;
+
+            NumberItem itemReg = DataCreationHelper.createNumberItem("TestItem", 0);
+            try {
+                Mockito.when(setupResult.itemRegistry.getItem("TestItem")).thenReturn(itemReg);
+            } catch (ItemNotFoundException e) {
+            }
+
+            service.activate(setupResult.bundleContext, setupResult.config);
+
+            ZonedDateTime start = ZonedDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+            for (int i = 0; i < 25; i++) {
+                // two documents per timestamp
+                service.store(DataCreationHelper.createNumberItem("TestItem", i), start.plusSeconds(i / 2),
+                        new DecimalType(i));
+            }
+
+            List<Integer> values = new ArrayList<>();
+            for (int page = 0; page < 3; page++) {
+                FilterCriteria filter = DataCreationHelper.createFilterCriteria("TestItem");
+                filter.setPageNumber(page);
+                for (HistoricItem historicItem : service.query(filter)) {
+                    values.add(((DecimalType) historicItem.getState()).intValue());
+                }
+            }
+
+            assertEquals(25, values.size());
+            for (int i = 0; i < 25; i++) {
+                assertEquals(i, values.get(i));
+            }
+        } finally {
+            dbContainer.stop();
+        }
+    }
+
+    /**
+     * Tests that a page read after the item has been written matches the page read by skipping the previous pages.
+     */
+    @Test
+    public void testPageAfterWriteIgnoresAnchorOfPreviousPage() {
+        DatabaseTestContainer dbContainer = new DatabaseTestContainer(new MemoryBackend());
+        try {
+            SetupResult setupResult = DataCreationHelper.setupMongoDB("testCollection", dbContainer);
+            MongoDBPersistenceService service = setupResult.service;
+
+            NumberItem itemReg = DataCreationHelper.createNumberItem("TestItem", 0);
+            try {
+                Mockito.when(setupResult.itemRegistry.getItem("TestItem")).thenReturn(itemReg);
+            } catch (ItemNotFoundException e) {
+            }
+
+            service.activate(setupResult.bundleContext, setupResult.config);
+
+            ZonedDateTime start = ZonedDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+            for (int i = 0; i < 20; i++) {
+                service.store(DataCreationHelper.createNumberItem("TestItem", i), start.plusSeconds(i),
+                        new DecimalType(i));
+            }
+
+            FilterCriteria filter = DataCreationHelper.createFilterCriteria("TestItem");
+            service.query(filter);
+
+            // a value stored before the first page moves every later value to the next position
+            service.store(DataCreationHelper.createNumberItem("TestItem", 100), start.minusSeconds(1),
+                    new DecimalType(100));
+
+            filter = DataCreationHelper.createFilterCriteria("TestItem");
+            filter.setPageNumber(1);
+            List<Integer> values = new ArrayList<>();
+            for (HistoricItem historicItem : service.query(filter)) {
+                values.add(((DecimalType) historicItem.getState()).intValue());
+            }
+
+            assertEquals(List.of(9, 10, 11, 12, 13, 14, 15, 16, 17, 18), values);
+        } finally {
+            dbContainer.stop();
+        }
+    }
 }
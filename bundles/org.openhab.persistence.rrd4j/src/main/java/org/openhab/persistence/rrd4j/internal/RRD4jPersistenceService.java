@@ -22,18 +22,14 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentSkipListMap;
-import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 import java.util.function.DoubleFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -44,7 +40,6 @@ import javax.measure.Unit;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.OpenHAB;
-import org.openhab.core.common.NamedThreadFactory;
 import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
@@ -87,6 +82,7 @@ import org.rrd4j.core.RrdDb;
 import org.rrd4j.core.RrdDb.Builder;
 import org.rrd4j.core.RrdDbPool;
 import org.rrd4j.core.RrdDef;
+import org.rrd4j.core.RrdNioBackendFactory;
 import org.rrd4j.core.Sample;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -107,17 +103,16 @@ import org.slf4j.LoggerFactory;
                 + "=org.openhab.rrd4j")
 public class RRD4jPersistenceService implements QueryablePersistenceService {
 
-    private record Key(long timestamp, String name) implements Comparable<Key> {
-        @Override
-        public int compareTo(Key other) {
-            int c = Long.compare(timestamp, other.timestamp);
-
-            return (c == 0) ? Objects.compare(name, other.name, String::compareTo) : c;
-        }
-    }
-
     public static final String SERVICE_ID = "rrd4j";
 
+    private static final String WRITER_THREADS = "writerThreads";
+    private static final String BACKEND = "backend";
+    private static final String BACKEND_NIO = "nio";
+    private static final String SYNC_PERIOD = "syncPeriod";
+    private static final String MAX_OPEN_DATABASES = "maxOpenDatabases";
+    private static final Set<String> SERVICE_CONFIG_KEYS = Set.of(WRITER_THREADS, BACKEND, SYNC_PERIOD,
+            MAX_OPEN_DATABASES);
+
     private static final String DEFAULT_OTHER = "default_other";
     private static final String DEFAULT_NUMERIC = "default_numeric";
     private static final String DEFAULT_QUANTIFIABLE = "default_quantifiable";
@@ -125,22 +120,35 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     private static final Set<String> SUPPORTED_TYPES = Set.of(CoreItemFactory.SWITCH, CoreItemFactory.CONTACT,
             CoreItemFactory.DIMMER, CoreItemFactory.NUMBER, CoreItemFactory.ROLLERSHUTTER, CoreItemFactory.COLOR);
 
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1,
-            new NamedThreadFactory("RRD4j"));
-
     private final Map<String, RrdDefConfig> rrdDefs = new ConcurrentHashMap<>();
 
-    private final ConcurrentSkipListMap<Key, Double> storageMap = new ConcurrentSkipListMap<>(Key::compareTo);
-
     private static final String DATASOURCE_STATE = "state";
 
     private static final Path DB_FOLDER = Path.of(OpenHAB.getUserDataFolder(), "persistence", "rrd4j").toAbsolutePath();
 
     private static final RrdDbPool DATABASE_POOL = new RrdDbPool();
+    private static final int DATABASE_POOL_CAPACITY = DATABASE_POOL.getCapacity();
 
     private final Logger logger = LoggerFactory.getLogger(RRD4jPersistenceService.class);
     private final ItemRegistry itemRegistry;
     private boolean active = false;
+    private volatile @Nullable RRD4jWriter writer;
+    private volatile @Nullable RrdNioBackendFactory nioBackendFactory;
+    private volatile int maxOpenDatabases;
+    // databases kept open, so the memory-mapped files are not unmapped and synced on every update; in access order,
+    // so the least recently used database is closed when more than maxOpenDatabases are open
+    private final Map<String, RrdDb> openDatabases = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, RrdDb> eldest) {
+            if (size() <= maxOpenDatabases) {
+                return false;
+            }
+            closeDatabase(eldest.getValue());
+            return true;
+        }
+    };
 
     public static Path getDatabasePath(String name) {
         return DB_FOLDER.resolve(name + ".rrd");
@@ -150,18 +158,18 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         return DATABASE_POOL;
     }
 
-    private final ScheduledFuture<?> storeJob;
-
     @Activate
     public RRD4jPersistenceService(final @Reference ItemRegistry itemRegistry, Map<String, Object> config) {
         this.itemRegistry = itemRegistry;
-        storeJob = scheduler.scheduleWithFixedDelay(() -> doStore(false), 1, 1, TimeUnit.SECONDS);
         modified(config);
         active = true;
     }
 
     @Modified
     protected void modified(final Map<String, Object> config) {
+        updateBackend(config);
+        updateWriter(config);
+
         // clean existing definitions
         rrdDefs.clear();
 
@@ -213,8 +221,8 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         while (keys.hasNext()) {
             String key = keys.next();
 
-            if ("service.pid".equals(key) || "component.name".equals(key)) {
-                // ignore service.pid and name
+            if ("service.pid".equals(key) || "component.name".equals(key) || SERVICE_CONFIG_KEYS.contains(key)) {
+                // ignore service.pid, name and service configuration
                 continue;
             }
 
@@ -268,13 +276,116 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         }
     }
 
+    private int getIntConfig(final Map<String, Object> config, String key, int defaultValue) {
+        Object v = config.get(key);
+        if (v != null) {
+            try {
+                return Math.max(1, Integer.parseInt(v.toString().trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring illegal configuration {}={}", key, v);
+            }
+        }
+        return defaultValue;
+    }
+
+    private void updateBackend(final Map<String, Object> config) {
+        boolean nio = BACKEND_NIO.equalsIgnoreCase(Objects.toString(config.get(BACKEND), "").trim());
+        int syncPeriod = getIntConfig(config, SYNC_PERIOD, 300);
+        maxOpenDatabases = getIntConfig(config, MAX_OPEN_DATABASES, 500);
+
+        RrdNioBackendFactory oldFactory = nioBackendFactory;
+        if (oldFactory == null || !nio || oldFactory.getSyncPeriod() != syncPeriod) {
+            closeBackend();
+            if (nio) {
+                nioBackendFactory = new RrdNioBackendFactory(syncPeriod);
+                logger.debug("Using memory-mapped rrd4j backend, syncing every {} seconds", syncPeriod);
+            }
+        }
+        if (nioBackendFactory != null) {
+            // the limit may have changed while the backend was kept
+            synchronized (openDatabases) {
+                Iterator<RrdDb> eldest = openDatabases.values().iterator();
+                while (openDatabases.size() > maxOpenDatabases && eldest.hasNext()) {
+                    closeDatabase(eldest.next());
+                    eldest.remove();
+                }
+            }
+            // leave room for databases that are not kept open
+            DATABASE_POOL.setCapacity(DATABASE_POOL_CAPACITY + maxOpenDatabases);
+        }
+    }
+
+    private void closeDatabase(RrdDb db) {
+        try {
+            db.close();
+        } catch (IOException e) {
+            logger.debug("Error closing rrd4j database: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Get the names of the databases kept open, from the least to the most recently used.
+     */
+    List<String> getOpenDatabases() {
+        synchronized (openDatabases) {
+            return List.copyOf(openDatabases.keySet());
+        }
+    }
+
+    /**
+     * Closes the databases kept open, which syncs their dirty pages to disk, and the memory-mapped backend.
+     */
+    private void closeBackend() {
+        RrdNioBackendFactory factory = nioBackendFactory;
+        if (factory == null) {
+            return;
+        }
+        nioBackendFactory = null;
+        synchronized (openDatabases) {
+            openDatabases.values().forEach(this::closeDatabase);
+            openDatabases.clear();
+        }
+        try {
+            factory.close();
+        } catch (IOException e) {
+            logger.debug("Error closing rrd4j backend: {}", e.getMessage());
+        }
+        DATABASE_POOL.setCapacity(DATABASE_POOL_CAPACITY);
+    }
+
+    private void updateWriter(final Map<String, Object> config) {
+        int writerThreads = getIntConfig(config, WRITER_THREADS, 1);
+        RRD4jWriter oldWriter = writer;
+        if (oldWriter != null && oldWriter.getShardCount() == writerThreads) {
+            return;
+        }
+        // new values are buffered by the new writer, but only written after the old writer has written all values it
+        // still holds, so the values of an item are not written out of order
+        RRD4jWriter newWriter = new RRD4jWriter(this, writerThreads);
+        writer = newWriter;
+        if (oldWriter != null) {
+            oldWriter.stop();
+        }
+        newWriter.start();
+        logger.debug("Using {} rrd4j writer threads", writerThreads);
+    }
+
     @Deactivate
     protected void deactivate() {
         active = false;
-        storeJob.cancel(false);
 
-        // make sure we really store everything
-        doStore(true);
+        RRD4jWriter writer = this.writer;
+        if (writer != null) {
+            writer.stop();
+        }
+        closeBackend();
+    }
+
+    /**
+     * Get the writer, to report the state of its shards.
+     */
+    public @Nullable RRD4jWriter getWriter() {
+        return writer;
     }
 
     @Override
@@ -331,8 +442,12 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
             return;
         }
 
+        RRD4jWriter writer = this.writer;
+        if (writer == null) {
+            return;
+        }
         long now = System.currentTimeMillis() / 1000;
-        Double oldValue = storageMap.put(new Key(now, name), value);
+        Double oldValue = writer.add(name, now, value);
         if (oldValue != null && !oldValue.equals(value)) {
             logger.debug(
                     "Discarding value {} for item {} with timestamp {} because a new value ({}) arrived with the same timestamp.",
@@ -340,22 +455,13 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         }
     }
 
-    private void doStore(boolean force) {
-        long now = System.currentTimeMillis() / 1000;
-        while (!storageMap.isEmpty()) {
-            Key key = storageMap.firstKey();
-            if (now > key.timestamp || force) {
-                // no new elements can be added for this timestamp because we are already past that time or the service
-                // requires forced storing
-                Double value = storageMap.pollFirstEntry().getValue();
-                writePointToDatabase(key.name, value, key.timestamp);
-            } else {
-                return;
-            }
-        }
-    }
-
-    private synchronized void writePointToDatabase(String name, double value, long timestamp) {
+    /**
+     * Writes values to the database of an item, using a single database handle.
+     *
+     * @param name name or alias of the item
+     * @param points values to be written, in ascending order of their timestamps
+     */
+    void writePointsToDatabase(String name, List<RRD4jWriter.Point> points) {
         RrdDb db = null;
         try {
             db = getDB(name, true);
@@ -366,7 +472,21 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
             return;
         }
 
-        ConsolFun function = getConsolidationFunction(db);
+        try {
+            ConsolFun function = getConsolidationFunction(db);
+            for (RRD4jWriter.Point point : points) {
+                writePointToDatabase(db, function, name, point.value(), point.timestamp());
+            }
+        } finally {
+            try {
+                db.close();
+            } catch (IOException e) {
+                logger.debug("Error closing rrd4j database: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void writePointToDatabase(RrdDb db, ConsolFun function, String name, double value, long timestamp) {
         if (function != ConsolFun.AVERAGE) {
             try {
                 // we store the last value again, so that the value change
@@ -400,11 +520,6 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         } catch (Exception e) {
             logger.warn("Could not persist '{}' to rrd4j database: {}", name, e.getMessage());
         }
-        try {
-            db.close();
-        } catch (IOException e) {
-            logger.debug("Error closing rrd4j database: {}", e.getMessage());
-        }
     }
 
     @Override
@@ -694,12 +809,16 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         };
     }
 
-    protected synchronized @Nullable RrdDb getDB(String alias, boolean createFileIfAbsent) {
+    protected @Nullable RrdDb getDB(String alias, boolean createFileIfAbsent) {
         RrdDb db = null;
         Path path = getDatabasePath(alias);
+        RrdNioBackendFactory factory = nioBackendFactory;
         try {
             Builder builder = RrdDb.getBuilder();
             builder.setPool(DATABASE_POOL);
+            if (factory != null) {
+                builder.setBackendFactory(factory);
+            }
 
             if (Files.exists(path)) {
                 // recreate the RrdDb instance from the file
@@ -726,9 +845,30 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
             // this happens if the system is shut down
             logger.debug("Could not create rrd4j database file '{}': {}", path, e.getMessage());
         }
+        if (db != null && factory != null) {
+            keepOpen(alias, path, factory);
+        }
         return db;
     }
 
+    private void keepOpen(String alias, Path path, RrdNioBackendFactory factory) {
+        synchronized (openDatabases) {
+            // the lookup also marks the database as recently used
+            if (openDatabases.get(alias) != null) {
+                return;
+            }
+            try {
+                Builder builder = RrdDb.getBuilder();
+                builder.setPool(DATABASE_POOL);
+                builder.setBackendFactory(factory);
+                builder.setPath(path.toString());
+                openDatabases.put(alias, builder.build());
+            } catch (IOException e) {
+                logger.debug("Could not keep rrd4j database file '{}' open: {}", path, e.getMessage());
+            }
+        }
+    }
+
     private @Nullable RrdDefConfig getRrdDefConfig(String itemName) {
         RrdDefConfig useRdc = null;
         for (Map.Entry<String, RrdDefConfig> e : rrdDefs.entrySet()) {
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link RRD4jWriter} writes buffered values to the rrd4j databases. Items are distributed over a number of
+ * shards by their name, so all values of an item are written by the same shard and in order. Each shard is flushed
+ * every second by its own job, and all pending values of an item are written with a single database handle.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+public class RRD4jWriter {
+
+    private record Key(long timestamp, String name) implements Comparable<Key> {
+        @Override
+        public int compareTo(Key other) {
+            int c = Long.compare(timestamp, other.timestamp);
+
+            return (c == 0) ? Objects.compare(name, other.name, String::compareTo) : c;
+        }
+    }
+
+    /**
+     * A value to be written to the database of an item.
+     */
+    public record Point(long timestamp, double value) {
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(RRD4jWriter.class);
+
+    private final RRD4jPersistenceService service;
+    private final List<Shard> shards = new ArrayList<>();
+    private final ScheduledExecutorService scheduler;
+
+    public RRD4jWriter(RRD4jPersistenceService service, int shardCount) {
+        this.service = service;
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new Shard(i));
+        }
+        scheduler = Executors.newScheduledThreadPool(shardCount, new NamedThreadFactory("RRD4j"));
+    }
+
+    public void start() {
+        for (Shard shard : shards) {
+            scheduler.scheduleWithFixedDelay(() -> shard.flush(false), 1, 1, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Stops the flush jobs and synchronously writes all pending values.
+     */
+    public void stop() {
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.warn("Timed out waiting for rrd4j writers to finish");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // make sure we really store everything
+        for (Shard shard : shards) {
+            shard.flush(true);
+        }
+    }
+
+    /**
+     * Adds a value to be written.
+     *
+     * @return the value it replaces, if a value for the same item and timestamp was pending
+     */
+    public @Nullable Double add(String name, long timestamp, double value) {
+        return shards.get(Math.floorMod(name.hashCode(), shards.size())).pending.put(new Key(timestamp, name), value);
+    }
+
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    public List<Shard> getShards() {
+        return List.copyOf(shards);
+    }
+
+    /**
+     * A shard of items with its pending values and statistics.
+     */
+    public class Shard {
+        private final int index;
+        private final ConcurrentSkipListMap<Key, Double> pending = new ConcurrentSkipListMap<>(Key::compareTo);
+        private final AtomicLong writtenValues = new AtomicLong();
+        private volatile long lastFlushTime;
+
+        private Shard(int index) {
+            this.index = index;
+        }
+
+        private synchronized void flush(boolean force) {
+            long now = System.currentTimeMillis() / 1000;
+            // group all values that can be written by item, keeping their order
+            Map<String, List<Point>> points = new LinkedHashMap<>();
+            int count = 0;
+            while (!pending.isEmpty()) {
+                Key key = pending.firstKey();
+                if (now > key.timestamp || force) {
+                    // no new elements can be added for this timestamp because we are already past that time or the
+                    // service requires forced storing
+                    Entry<Key, Double> entry = pending.pollFirstEntry();
+                    points.computeIfAbsent(key.name, k -> new ArrayList<>())
+                            .add(new Point(key.timestamp, entry.getValue()));
+                    count++;
+                } else {
+                    break;
+                }
+            }
+            if (count == 0) {
+                return;
+            }
+            long start = System.currentTimeMillis();
+            points.forEach(service::writePointsToDatabase);
+            lastFlushTime = System.currentTimeMillis() - start;
+            writtenValues.addAndGet(count);
+            logger.trace("Shard {} wrote {} values of {} items in {} ms", index, count, points.size(), lastFlushTime);
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public int getPendingValues() {
+            return pending.size();
+        }
+
+        /**
+         * @return the age in seconds of the oldest pending value
+         */
+        public long getLag() {
+            Entry<Key, Double> first = pending.firstEntry();
+            return first == null ? 0 : Math.max(0, System.currentTimeMillis() / 1000 - first.getKey().timestamp);
+        }
+
+        public long getWrittenValues() {
+            return writtenValues.get();
+        }
+
+        public long getLastFlushTime() {
+            return lastFlushTime;
+        }
+    }
+}
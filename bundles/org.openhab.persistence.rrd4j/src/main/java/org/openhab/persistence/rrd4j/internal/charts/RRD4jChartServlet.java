@@ -21,8 +21,12 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Hashtable;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.imageio.ImageIO;
 import javax.servlet.Servlet;
@@ -75,7 +79,7 @@ import org.slf4j.LoggerFactory;
  *
  */
 @NonNullByDefault
-@Component(service = ChartProvider.class)
+@Component(service = { ChartProvider.class, RRD4jChartServlet.class })
 public class RRD4jChartServlet implements Servlet, ChartProvider {
 
     private final Logger logger = LoggerFactory.getLogger(RRD4jChartServlet.class);
@@ -105,6 +109,29 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
             entry("Y", Duration.ofDays(365))//
     );
 
+    private static final int CACHE_SIZE = 100;
+    // charts ending at most this long ago are considered to show the current time and are cached
+    private static final long LIVE_CHART_TOLERANCE = 60;
+    private static final long DEFAULT_STEP = 60;
+
+    private record ChartKey(@Nullable String theme, long period, int height, int width, @Nullable String items,
+            @Nullable String groups, @Nullable Integer dpi, @Nullable String interpolation, @Nullable Boolean legend) {
+    }
+
+    private record CachedChart(BufferedImage image, long expires) {
+    }
+
+    private final Map<ChartKey, CachedChart> chartCache = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ChartKey, CachedChart> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+
     private final HttpService httpService;
     private final ItemUIRegistry itemUIRegistry;
     private final TimeZoneProvider timeZoneProvider;
@@ -133,6 +160,29 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
     @Deactivate
     protected void deactivate() {
         httpService.unregister(SERVLET_NAME);
+        synchronized (chartCache) {
+            chartCache.clear();
+        }
+    }
+
+    /**
+     * @return the number of charts served from the cache
+     */
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    /**
+     * @return the number of cacheable charts which had to be created
+     */
+    public long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
+    public int getCachedCharts() {
+        synchronized (chartCache) {
+            return chartCache.size();
+        }
     }
 
     @Override
@@ -248,6 +298,26 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
             ZonedDateTime endTime, int height, int width, @Nullable String items, @Nullable String groups,
             @Nullable Integer dpi, @Nullable String interpolation, @Nullable Boolean legend)
             throws ItemNotFoundException {
+        long now = System.currentTimeMillis() / 1000;
+        long start = startTime.toEpochSecond();
+        long end = endTime.toEpochSecond();
+        // only charts up to now are cached, their content changes when a new row is added to an archive
+        ChartKey key = Math.abs(now - end) <= LIVE_CHART_TOLERANCE
+                ? new ChartKey(theme, end - start, height, width, items, groups, dpi, interpolation, legend)
+                : null;
+        if (key != null) {
+            CachedChart cached;
+            synchronized (chartCache) {
+                cached = chartCache.get(key);
+            }
+            if (cached != null && now < cached.expires()) {
+                cacheHits.incrementAndGet();
+                logger.trace("Serving chart from cache");
+                return cached.image();
+            }
+            cacheMisses.incrementAndGet();
+        }
+
         RrdGraphDef graphDef = new RrdGraphDef(startTime.toEpochSecond(), endTime.toEpochSecond());
         graphDef.setWidth(width);
         graphDef.setHeight(height);
@@ -261,6 +331,7 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
                 .get(RRD4jPersistenceService.SERVICE_ID);
 
         int seriesCounter = 0;
+        List<String> databaseNames = new ArrayList<>();
 
         // Loop through all the items
         if (items != null) {
@@ -269,6 +340,7 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
                 String alias = config != null ? config.getAliases().get(itemName) : null;
                 Item item = itemUIRegistry.getItem(itemName);
                 addLine(graphDef, item, alias, seriesCounter++);
+                databaseNames.add(alias != null ? alias : itemName);
             }
         }
 
@@ -281,6 +353,7 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
                     for (Item member : groupItem.getMembers()) {
                         String alias = config != null ? config.getAliases().get(member.getName()) : null;
                         addLine(graphDef, member, alias, seriesCounter++);
+                        databaseNames.add(alias != null ? alias : member.getName());
                     }
                 } else {
                     throw new ItemNotFoundException("Item '" + item.getName() + "' defined in groups is not a group.");
@@ -294,12 +367,47 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
             BufferedImage bi = new BufferedImage(graph.getRrdGraphInfo().getWidth(),
                     graph.getRrdGraphInfo().getHeight(), BufferedImage.TYPE_INT_RGB);
             graph.render(bi.getGraphics());
+            if (key != null) {
+                // the chart stays valid until the next row of the coarsest needed resolution is consolidated
+                long step = getArchiveStep(databaseNames, start, end, width);
+                synchronized (chartCache) {
+                    chartCache.put(key, new CachedChart(bi, (now / step + 1) * step));
+                }
+            }
             return bi;
         } catch (IOException e) {
             throw new UncheckedIOException("Error generating RrdGraph", e);
         }
     }
 
+    /**
+     * Get the smallest step of the archives used for a chart of the given databases.
+     */
+    private long getArchiveStep(List<String> databaseNames, long start, long end, int width) {
+        long resolution = Math.max(1, (end - start) / Math.max(1, width));
+        long step = Long.MAX_VALUE;
+        for (String name : databaseNames) {
+            try {
+                Builder builder = RrdDb.getBuilder();
+                builder.setPool(RRD4jPersistenceService.getDatabasePool());
+                builder.setPath(RRD4jPersistenceService.getDatabasePath(name).toString());
+                RrdDb db = builder.build();
+                try {
+                    ConsolFun consolFun = db.getRrdDef().getArcDefs()[0].getConsolFun();
+                    step = Math.min(step,
+                            db.findMatchingArchive(db.createFetchRequest(consolFun, start, end, resolution))
+                                    .getArcStep());
+                } finally {
+                    db.close();
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                logger.debug("Could not determine archive step of rrd4j database '{}': {}", name, e.getMessage());
+                return DEFAULT_STEP;
+            }
+        }
+        return step == Long.MAX_VALUE ? DEFAULT_STEP : step;
+    }
+
     @Override
     public ImageType getChartType() {
         return ImageType.png;
@@ -36,9 +36,13 @@ import org.openhab.core.persistence.PersistenceServiceRegistry;
 import org.openhab.core.persistence.registry.PersistenceServiceConfiguration;
 import org.openhab.core.persistence.registry.PersistenceServiceConfigurationRegistry;
 import org.openhab.persistence.rrd4j.internal.RRD4jPersistenceService;
+import org.openhab.persistence.rrd4j.internal.RRD4jWriter;
+import org.openhab.persistence.rrd4j.internal.charts.RRD4jChartServlet;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
 
 /**
  * The {@link RRD4jCommandExtension} is responsible for handling console commands
@@ -52,13 +56,17 @@ public class RRD4jCommandExtension extends AbstractConsoleCommandExtension imple
     private static final String CMD_LIST = "list";
     private static final String CMD_CHECK = "check";
     private static final String CMD_CLEAN = "clean";
-    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(List.of(CMD_LIST, CMD_CHECK, CMD_CLEAN),
-            false);
+    private static final String CMD_STATS = "stats";
+    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(
+            List.of(CMD_LIST, CMD_CHECK, CMD_CLEAN, CMD_STATS), false);
 
     private final PersistenceServiceRegistry persistenceServiceRegistry;
     private final PersistenceServiceConfigurationRegistry persistenceServiceConfigurationRegistry;
     private final ItemRegistry itemRegistry;
 
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    private volatile @Nullable RRD4jChartServlet chartServlet;
+
     @Activate
     public RRD4jCommandExtension(final @Reference PersistenceServiceRegistry persistenceServiceRegistry,
             final @Reference ItemRegistry itemRegistry,
@@ -89,6 +97,9 @@ public class RRD4jCommandExtension extends AbstractConsoleCommandExtension imple
         } else if (args.length >= 1 && args.length <= 2 && CMD_CLEAN.equalsIgnoreCase(args[0])) {
             checkAndClean(persistenceService, console, args.length == 2 ? args[1] : null, false);
             return;
+        } else if (args.length == 1 && CMD_STATS.equalsIgnoreCase(args[0])) {
+            printStats(persistenceService, console);
+            return;
         }
         printUsage(console);
     }
@@ -151,11 +162,32 @@ public class RRD4jCommandExtension extends AbstractConsoleCommandExtension imple
         console.println(nb + " files " + (checkOnly ? "to delete." : "deleted."));
     }
 
+    private void printStats(RRD4jPersistenceService persistenceService, Console console) {
+        RRD4jWriter writer = persistenceService.getWriter();
+        if (writer == null) {
+            console.println("Writer not running.");
+        } else {
+            console.println("Writer shards...");
+            for (RRD4jWriter.Shard shard : writer.getShards()) {
+                console.println(String.format("  - %d: %d pending, lag %d s, last flush %d ms, %d written",
+                        shard.getIndex(), shard.getPendingValues(), shard.getLag(), shard.getLastFlushTime(),
+                        shard.getWrittenValues()));
+            }
+        }
+        RRD4jChartServlet chartServlet = this.chartServlet;
+        if (chartServlet != null) {
+            console.println(String.format("Chart cache: %d cached, %d hits, %d misses", chartServlet.getCachedCharts(),
+                    chartServlet.getCacheHits(), chartServlet.getCacheMisses()));
+        }
+    }
+
     @Override
     public List<String> getUsages() {
         return List.of(buildCommandUsage(CMD_LIST, "list Round Robin Database files"),
                 buildCommandUsage(CMD_CHECK, "check for RRD files without existing item"),
-                buildCommandUsage(CMD_CLEAN + " [<itemName>]", "delete RRD files without existing item"));
+                buildCommandUsage(CMD_CLEAN + " [<itemName>]", "delete RRD files without existing item"),
+                buildCommandUsage(CMD_STATS,
+                        "show pending values and lag of the writer shards, and the chart cache statistics"));
     }
 
     @Override
@@ -15,10 +15,12 @@ package org.openhab.persistence.rrd4j.internal;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.jupiter.api.AfterEach;
@@ -37,6 +39,8 @@ import org.openhab.core.library.types.OnOffType;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.PersistedItem;
+import org.rrd4j.core.RrdDb;
+import org.rrd4j.core.RrdDbPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -232,6 +236,52 @@ class RRD4jPersistenceServiceTest {
         assertNotNull(results.iterator().hasNext());
     }
 
+    @Test
+    void changingWriterThreadsKeepsPendingValues() throws Exception {
+        configureNumberItem("_RECONFIGURED");
+
+        // Store a value and replace the writer before it is written
+        service.store(numberItem);
+        service.modified(Map.of("writerThreads", "2"));
+
+        RRD4jWriter writer = service.getWriter();
+        assertNotNull(writer);
+        assertEquals(2, writer.getShardCount());
+        waitForStorage(numberItem.getName(), STORAGE_TIMEOUT_MS);
+    }
+
+    @Test
+    void leastRecentlyUsedDatabaseIsClosed() throws Exception {
+        service.deactivate();
+        service = new RRD4jPersistenceService(itemRegistry, Map.of("backend", "nio", "maxOpenDatabases", "2"));
+        when(itemRegistry.getItem(anyString())).thenAnswer(invocation -> new NumberItem(invocation.getArgument(0)));
+
+        for (String name : List.of("LruA", "LruB", "LruA", "LruC")) {
+            RrdDb db = service.getDB(name, true);
+            assertNotNull(db);
+            db.close();
+        }
+
+        assertEquals(List.of("LruA", "LruC"), service.getOpenDatabases());
+    }
+
+    @Test
+    void changedMaxOpenDatabasesIsApplied() throws Exception {
+        service.deactivate();
+        service = new RRD4jPersistenceService(itemRegistry, Map.of("backend", "nio", "maxOpenDatabases", "3"));
+        when(itemRegistry.getItem(anyString())).thenAnswer(invocation -> new NumberItem(invocation.getArgument(0)));
+        for (String name : List.of("LimitA", "LimitB", "LimitC")) {
+            RrdDb db = service.getDB(name, true);
+            assertNotNull(db);
+            db.close();
+        }
+
+        service.modified(Map.of("backend", "nio", "maxOpenDatabases", "1"));
+
+        assertEquals(List.of("LimitC"), service.getOpenDatabases());
+        assertEquals(new RrdDbPool().getCapacity() + 1, RRD4jPersistenceService.getDatabasePool().getCapacity());
+    }
+
     @Test
     void serviceIdIsCorrect() throws Exception {
         RRD4jPersistenceService simpleService = new RRD4jPersistenceService(itemRegistry, Map.of());
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openhab.persistence.rrd4j.internal.RRD4jWriter.Point;
+import org.openhab.persistence.rrd4j.internal.RRD4jWriter.Shard;
+
+/**
+ * Tests for {@link RRD4jWriter}.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+class RRD4jWriterTest {
+
+    @Mock
+    private RRD4jPersistenceService service;
+
+    @Test
+    void valuesOfAnItemAreWrittenTogetherAndInOrder() {
+        RRD4jWriter writer = new RRD4jWriter(service, 4);
+        writer.add("a", 12, 3);
+        writer.add("b", 10, 4);
+        writer.add("a", 10, 1);
+        writer.add("a", 11, 2);
+
+        writer.stop();
+
+        verify(service).writePointsToDatabase("a", List.of(new Point(10, 1), new Point(11, 2), new Point(12, 3)));
+        verify(service).writePointsToDatabase("b", List.of(new Point(10, 4)));
+    }
+
+    @Test
+    void valueWithSameTimestampReplacesPendingValue() {
+        RRD4jWriter writer = new RRD4jWriter(service, 2);
+        assertNull(writer.add("a", 10, 1));
+        assertEquals(1.0, writer.add("a", 10, 2));
+
+        writer.stop();
+
+        verify(service).writePointsToDatabase("a", List.of(new Point(10, 2)));
+    }
+
+    @Test
+    void shardsReportPendingAndWrittenValues() {
+        RRD4jWriter writer = new RRD4jWriter(service, 3);
+        for (int i = 0; i < 10; i++) {
+            writer.add("item" + i, 10, i);
+        }
+        assertEquals(3, writer.getShardCount());
+        assertEquals(10, writer.getShards().stream().mapToInt(Shard::getPendingValues).sum());
+
+        writer.stop();
+
+        assertEquals(0, writer.getShards().stream().mapToInt(Shard::getPendingValues).sum());
+        assertEquals(10, writer.getShards().stream().mapToLong(Shard::getWrittenValues).sum());
+    }
+
+    @Test
+    void valuesOfCurrentSecondAreOnlyWrittenWhenForced() {
+        long now = System.currentTimeMillis() / 1000;
+        RRD4jWriter writer = new RRD4jWriter(service, 1);
+        writer.add("past", now - 10, 1);
+        writer.add("future", now + 3600, 2);
+        writer.start();
+
+        verify(service, timeout(5000)).writePointsToDatabase(eq("past"), any());
+        verify(service, never()).writePointsToDatabase(eq("future"), any());
+        assertEquals(1, writer.getShards().get(0).getPendingValues());
+
+        writer.stop();
+
+        verify(service).writePointsToDatabase("future", List.of(new Point(now + 3600, 2)));
+    }
+}
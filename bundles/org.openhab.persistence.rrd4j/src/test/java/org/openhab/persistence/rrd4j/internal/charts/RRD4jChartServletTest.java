@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal.charts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.Mockito.when;
+
+import java.awt.image.BufferedImage;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.core.i18n.TimeZoneProvider;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.persistence.registry.PersistenceServiceConfigurationRegistry;
+import org.openhab.core.ui.items.ItemUIRegistry;
+import org.osgi.service.http.HttpService;
+
+/**
+ * Tests for the chart cache of {@link RRD4jChartServlet}.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class RRD4jChartServletTest {
+    private static final String ITEM = "KnownNumber";
+
+    @Mock
+    private HttpService httpService;
+
+    @Mock
+    private ItemUIRegistry itemUIRegistry;
+
+    @Mock
+    private TimeZoneProvider timeZoneProvider;
+
+    @Mock
+    private PersistenceServiceConfigurationRegistry persistenceServiceConfigurationRegistry;
+
+    private RRD4jChartServlet servlet;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(itemUIRegistry.getItem(ITEM)).thenReturn(new NumberItem(ITEM));
+        when(itemUIRegistry.getLabel(ITEM)).thenReturn("Known number");
+        servlet = new RRD4jChartServlet(httpService, itemUIRegistry, timeZoneProvider,
+                persistenceServiceConfigurationRegistry);
+    }
+
+    private BufferedImage createChart(ZonedDateTime end, int width) throws Exception {
+        // a chart of a year uses a coarse archive, so the cached chart does not expire during the test
+        return servlet.createChart(null, null, end.minusYears(1), end, 240, width, ITEM, null, null, null, null);
+    }
+
+    @Test
+    void currentChartIsServedFromCache() throws Exception {
+        BufferedImage chart = createChart(ZonedDateTime.now(ZoneId.systemDefault()), 480);
+
+        assertSame(chart, createChart(ZonedDateTime.now(ZoneId.systemDefault()), 480));
+        assertEquals(1, servlet.getCacheHits());
+        assertEquals(1, servlet.getCacheMisses());
+        assertEquals(1, servlet.getCachedCharts());
+    }
+
+    @Test
+    void chartWithOtherParametersIsNotServedFromCache() throws Exception {
+        BufferedImage chart = createChart(ZonedDateTime.now(ZoneId.systemDefault()), 480);
+
+        assertNotSame(chart, createChart(ZonedDateTime.now(ZoneId.systemDefault()), 240));
+    }
+
+    @Test
+    void pastChartIsNotCached() throws Exception {
+        ZonedDateTime end = ZonedDateTime.now(ZoneId.systemDefault()).minusDays(1);
+        BufferedImage chart = createChart(end, 480);
+
+        assertNotSame(chart, createChart(end, 480));
+        assertEquals(0, servlet.getCacheHits());
+        assertEquals(0, servlet.getCacheMisses());
+    }
+
+    @Test
+    void chartExpiresWhenNextValueIsConsolidated() throws Exception {
+        // a chart of an hour uses the finest archive, which consolidates a value at least every minute
+        ZonedDateTime end = ZonedDateTime.now(ZoneId.systemDefault());
+        BufferedImage chart = servlet.createChart(null, null, end.minusHours(1), end, 240, 480, ITEM, null, null, null,
+                null);
+
+        long timeout = System.currentTimeMillis() + 75000;
+        while (System.currentTimeMillis() < timeout) {
+            Thread.sleep(1000);
+            end = ZonedDateTime.now(ZoneId.systemDefault());
+            if (chart != servlet.createChart(null, null, end.minusHours(1), end, 240, 480, ITEM, null, null, null,
+                    null)) {
+                return;
+            }
+        }
+        fail("Cached chart did not expire");
+    }
+
+    @Test
+    void cacheIsClearedOnDeactivation() throws Exception {
+        BufferedImage chart = createChart(ZonedDateTime.now(ZoneId.systemDefault()), 480);
+        servlet.deactivate();
+
+        assertNotSame(chart, createChart(ZonedDateTime.now(ZoneId.systemDefault()), 480));
+    }
+}
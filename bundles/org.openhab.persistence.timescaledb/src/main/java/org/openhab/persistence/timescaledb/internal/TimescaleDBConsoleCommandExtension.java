@@ -30,6 +30,7 @@ import org.osgi.service.component.annotations.Reference;
  *
  * <pre>
  * openhab:timescaledb downsample   - run the downsampling job immediately
+ * openhab:timescaledb buffer       - show the state of the ingest buffer
  * </pre>
  *
  * @author René Ulbricht - Initial contribution
@@ -40,7 +41,9 @@ public class TimescaleDBConsoleCommandExtension extends AbstractConsoleCommandEx
         implements ConsoleCommandCompleter {
 
     private static final String CMD_DOWNSAMPLE = "downsample";
-    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(List.of(CMD_DOWNSAMPLE), false);
+    private static final String CMD_BUFFER = "buffer";
+    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(List.of(CMD_DOWNSAMPLE, CMD_BUFFER),
+            false);
 
     private final TimescaleDBPersistenceService persistenceService;
 
@@ -52,7 +55,8 @@ public class TimescaleDBConsoleCommandExtension extends AbstractConsoleCommandEx
 
     @Override
     public List<String> getUsages() {
-        return List.of(buildCommandUsage(CMD_DOWNSAMPLE, "run the downsampling/retention job immediately"));
+        return List.of(buildCommandUsage(CMD_DOWNSAMPLE, "run the downsampling/retention job immediately"),
+                buildCommandUsage(CMD_BUFFER, "show pending rows, lag and flush duration of the ingest buffer"));
     }
 
     @Override
@@ -75,6 +79,19 @@ public class TimescaleDBConsoleCommandExtension extends AbstractConsoleCommandEx
             } else {
                 console.println("TimescaleDB persistence service is not active — cannot run job.");
             }
+        } else if (args.length == 1 && CMD_BUFFER.equals(args[0])) {
+            TimescaleDBIngestBuffer buffer = persistenceService.getIngestBuffer();
+            if (buffer == null) {
+                console.println("Ingest buffer is not active — rows are written synchronously or the service is "
+                        + "not active.");
+                return;
+            }
+            console.println("Pending rows:     " + buffer.getPendingRows());
+            console.println("Lag:              " + buffer.getLagMillis() + " ms");
+            console.println("Last flush:       " + buffer.getLastFlushRows() + " rows in "
+                    + buffer.getLastFlushMillis() + " ms");
+            console.println("Slowest flush:    " + buffer.getMaxFlushMillis() + " ms");
+            console.println("Dropped rows:     " + buffer.getDroppedRows());
         } else {
             printUsage(console);
         }
@@ -0,0 +1,367 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.timescaledb.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Asynchronous ingest buffer for item states.
+ *
+ * <p>
+ * {@link #add} only enqueues the row and never blocks. A flush is triggered when {@code batchSize} rows are pending
+ * and periodically every {@code flushInterval}. A flush resolves the item ids, streams the rows with
+ * {@code COPY ... FROM STDIN (FORMAT binary)} into a session-local staging table and merges them into the
+ * {@code items} hypertable with a single {@code INSERT ... SELECT ... ON CONFLICT DO NOTHING}, all in one
+ * transaction.
+ *
+ * <p>
+ * Rows of a failed flush are put back into the buffer and retried with the next flush. When the buffer is full, new
+ * rows are dropped.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+public class TimescaleDBIngestBuffer {
+
+    /**
+     * Resolves the item_id of a pending row, registering the item in {@code item_meta} if needed.
+     */
+    @FunctionalInterface
+    public interface ItemIdResolver {
+        int resolve(Connection connection, PendingRow row) throws SQLException;
+    }
+
+    /**
+     * A buffered item state together with the {@code item_meta} data needed to resolve its item_id.
+     */
+    public record PendingRow(String name, @Nullable String label, @Nullable String value, @Nullable String metadataJson,
+            Instant time, TimescaleDBMapper.Row row, long enqueuedNanos) {
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimescaleDBIngestBuffer.class);
+
+    // ON COMMIT DELETE ROWS empties the staging table at the end of every flush transaction, so it can be reused by
+    // every flush running on the same pooled connection.
+    private static final String SQL_CREATE_STAGING = """
+            CREATE TEMP TABLE IF NOT EXISTS items_staging (
+                time     TIMESTAMPTZ      NOT NULL,
+                item_id  INTEGER          NOT NULL,
+                value    DOUBLE PRECISION,
+                string   TEXT,
+                unit     TEXT
+            ) ON COMMIT DELETE ROWS
+            """;
+
+    private static final String SQL_COPY_STAGING = "COPY items_staging (time, item_id, value, string, unit) FROM STDIN (FORMAT binary)";
+
+    // Same target-less ON CONFLICT as TimescaleDBQuery.insert(): duplicates are silently discarded.
+    private static final String SQL_MERGE_STAGING = "INSERT INTO items (time, item_id, value, string, unit) SELECT time, item_id, value, string, unit FROM items_staging ON CONFLICT DO NOTHING";
+
+    // Binary COPY header: signature, flags field, header extension length
+    private static final byte[] COPY_SIGNATURE = "PGCOPY\n\377\r\n\0".getBytes(StandardCharsets.ISO_8859_1);
+    private static final short COPY_FIELD_COUNT = 5;
+
+    // PostgreSQL timestamps are microseconds since 2000-01-01T00:00:00Z
+    private static final long POSTGRES_EPOCH_SECONDS = 946_684_800L;
+
+    private final DataSource dataSource;
+    private final ItemIdResolver resolver;
+    private final ScheduledExecutorService scheduler;
+    private final LinkedBlockingQueue<PendingRow> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final AtomicLong droppedRows = new AtomicLong();
+    private volatile long inFlightSince;
+    private volatile long lastFlushRows;
+    private volatile long lastFlushNanos;
+    private volatile long maxFlushNanos;
+
+    private @Nullable ScheduledFuture<?> flushJob;
+
+    /**
+     * @param dataSource The data source the rows are written to.
+     * @param resolver Resolves the item_id of a pending row.
+     * @param scheduler The scheduler running the flushes.
+     * @param batchSize The number of pending rows triggering a flush, also the maximum rows per transaction.
+     * @param flushIntervalMs The maximum time in milliseconds a row stays in the buffer while the database is
+     *            available.
+     * @param capacity The maximum number of pending rows.
+     */
+    public TimescaleDBIngestBuffer(DataSource dataSource, ItemIdResolver resolver, ScheduledExecutorService scheduler,
+            int batchSize, long flushIntervalMs, int capacity) {
+        this.dataSource = dataSource;
+        this.resolver = resolver;
+        this.scheduler = scheduler;
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMs = Math.max(1, flushIntervalMs);
+        this.queue = new LinkedBlockingQueue<>(Math.max(this.batchSize, capacity));
+    }
+
+    /**
+     * Starts the periodic flush.
+     */
+    public void start() {
+        flushJob = scheduler.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the periodic flush and writes all pending rows.
+     *
+     * @return The number of rows that could not be written.
+     */
+    public int close() {
+        ScheduledFuture<?> job = flushJob;
+        if (job != null) {
+            job.cancel(false);
+            flushJob = null;
+        }
+        flushQuietly();
+        int remaining = queue.size();
+        if (remaining > 0) {
+            LOGGER.warn("{} buffered row(s) could not be written to TimescaleDB and are lost", remaining);
+        }
+        return remaining;
+    }
+
+    /**
+     * Enqueues an item state. Never blocks; the row is dropped if the buffer is full.
+     */
+    public void add(String name, @Nullable String label, @Nullable String value, @Nullable String metadataJson,
+            Instant time, TimescaleDBMapper.Row row) {
+        if (!queue.offer(new PendingRow(name, label, value, metadataJson, time, row, System.nanoTime()))) {
+            if (droppedRows.incrementAndGet() % 1000 == 1) {
+                LOGGER.warn("TimescaleDB ingest buffer is full, dropping rows ({} dropped so far)", droppedRows.get());
+            }
+            return;
+        }
+        if (queue.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            scheduler.execute(this::flushQuietly);
+        }
+    }
+
+    /**
+     * Writes all pending rows in batches of at most {@code batchSize} rows. Stops at the first failed batch, whose
+     * rows are put back into the buffer.
+     *
+     * @return {@code true} if all pending rows were written.
+     */
+    public synchronized boolean flush() {
+        flushRequested.set(false);
+        while (!queue.isEmpty()) {
+            List<PendingRow> batch = new ArrayList<>(Math.min(batchSize, queue.size()));
+            queue.drainTo(batch, batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+            inFlightSince = batch.get(0).enqueuedNanos();
+            long start = System.nanoTime();
+            try {
+                int inserted = write(batch);
+                long duration = System.nanoTime() - start;
+                lastFlushRows = batch.size();
+                lastFlushNanos = duration;
+                maxFlushNanos = Math.max(maxFlushNanos, duration);
+                LOGGER.debug("Flushed {} row(s) ({} inserted) in {} ms, {} row(s) pending", batch.size(), inserted,
+                        TimeUnit.NANOSECONDS.toMillis(duration), queue.size());
+            } catch (SQLException | IOException e) {
+                LOGGER.warn("Failed to flush {} row(s) to TimescaleDB, retrying later: {}", batch.size(),
+                        e.getMessage());
+                requeue(batch);
+                return false;
+            } finally {
+                inFlightSince = 0;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The number of rows waiting to be written.
+     */
+    public int getPendingRows() {
+        return queue.size();
+    }
+
+    /**
+     * @return The number of rows dropped because the buffer was full.
+     */
+    public long getDroppedRows() {
+        return droppedRows.get();
+    }
+
+    /**
+     * @return The age in milliseconds of the oldest row not yet written, {@code 0} if there is none.
+     */
+    public long getLagMillis() {
+        long oldest = inFlightSince;
+        if (oldest == 0) {
+            PendingRow head = queue.peek();
+            if (head == null) {
+                return 0;
+            }
+            oldest = head.enqueuedNanos();
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldest);
+    }
+
+    /**
+     * @return The number of rows written by the last successful flush transaction.
+     */
+    public long getLastFlushRows() {
+        return lastFlushRows;
+    }
+
+    /**
+     * @return The duration in milliseconds of the last successful flush transaction.
+     */
+    public long getLastFlushMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(lastFlushNanos);
+    }
+
+    /**
+     * @return The duration in milliseconds of the slowest successful flush transaction.
+     */
+    public long getMaxFlushMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxFlushNanos);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            LOGGER.error("Unexpected error while flushing the TimescaleDB ingest buffer: {}", e.getMessage(), e);
+        }
+    }
+
+    private int write(List<PendingRow> batch) throws SQLException, IOException {
+        try (Connection conn = dataSource.getConnection()) {
+            // item_meta upserts are committed on their own, so a failed COPY does not lose newly registered items
+            Map<String, Integer> itemIds = new HashMap<>();
+            int[] ids = new int[batch.size()];
+            for (int i = 0; i < ids.length; i++) {
+                PendingRow row = batch.get(i);
+                Integer id = itemIds.get(row.name());
+                if (id == null) {
+                    id = resolver.resolve(conn, row);
+                    itemIds.put(row.name(), id);
+                }
+                ids[i] = id;
+            }
+            byte[] data = encode(batch, ids);
+
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (Statement st = conn.createStatement()) {
+                st.execute(SQL_CREATE_STAGING);
+                conn.unwrap(PGConnection.class).getCopyAPI().copyIn(SQL_COPY_STAGING, new ByteArrayInputStream(data));
+                int inserted = st.executeUpdate(SQL_MERGE_STAGING);
+                conn.commit();
+                return inserted;
+            } catch (SQLException | IOException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private void requeue(List<PendingRow> batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            if (!queue.offer(batch.get(i))) {
+                long dropped = droppedRows.addAndGet(batch.size() - i);
+                LOGGER.warn("TimescaleDB ingest buffer is full, dropping rows ({} dropped so far)", dropped);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Encodes rows in the PostgreSQL binary COPY format.
+     *
+     * @param rows The rows to encode.
+     * @param itemIds The item_id of each row.
+     * @return The COPY data including header and trailer.
+     */
+    static byte[] encode(List<PendingRow> rows, int[] itemIds) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(19 + rows.size() * 48 + 2);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.write(COPY_SIGNATURE);
+        out.writeInt(0);
+        out.writeInt(0);
+        for (int i = 0; i < rows.size(); i++) {
+            PendingRow pending = rows.get(i);
+            TimescaleDBMapper.Row row = pending.row();
+            out.writeShort(COPY_FIELD_COUNT);
+            out.writeInt(Long.BYTES);
+            out.writeLong(toPostgresMicros(pending.time()));
+            out.writeInt(Integer.BYTES);
+            out.writeInt(itemIds[i]);
+            Double value = row.value();
+            if (value == null) {
+                out.writeInt(-1);
+            } else {
+                out.writeInt(Double.BYTES);
+                out.writeDouble(value);
+            }
+            writeText(out, row.string());
+            writeText(out, row.unit());
+        }
+        out.writeShort(-1);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    static long toPostgresMicros(Instant time) {
+        return (time.getEpochSecond() - POSTGRES_EPOCH_SECONDS) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    private static void writeText(DataOutputStream out, @Nullable String text) throws IOException {
+        if (text == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+}
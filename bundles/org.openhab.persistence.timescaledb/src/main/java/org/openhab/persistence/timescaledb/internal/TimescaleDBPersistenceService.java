@@ -14,6 +14,7 @@ package org.openhab.persistence.timescaledb.internal;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.Collections;
 import java.util.List;
@@ -65,6 +66,14 @@ import com.zaxxer.hikari.HikariDataSource;
  * Item names are cached in-memory ({@code name → item_id}) to avoid a SELECT on every
  * {@link #store} call. The cache is populated lazily on first store per item.
  *
+ * <p>
+ * If {@code batchSize} is greater than {@code 0}, {@link #store} does not touch the database: rows are handed to a
+ * {@link TimescaleDBIngestBuffer} that writes them in batches with {@code COPY}.
+ *
+ * <p>
+ * If {@code aggregateQueries} is enabled, chart-sized queries are aggregated in the database with
+ * {@code time_bucket}, see {@link TimescaleDBQueryPlanner}.
+ *
  * @author René Ulbricht - Initial contribution
  */
 @NonNullByDefault
@@ -93,6 +102,8 @@ public class TimescaleDBPersistenceService implements ModifiablePersistenceServi
     private @Nullable HikariDataSource dataSource;
     private @Nullable ScheduledFuture<?> downsampleJob;
     private @Nullable TimescaleDBDownsampleJob downsampleJobInstance;
+    private @Nullable TimescaleDBIngestBuffer ingestBuffer;
+    private boolean aggregateQueries;
 
     @Activate
     public TimescaleDBPersistenceService(final @Reference ItemRegistry itemRegistry,
@@ -128,11 +139,17 @@ public class TimescaleDBPersistenceService implements ModifiablePersistenceServi
         String chunkInterval = (String) config.getOrDefault("chunkInterval", "7 days");
         int retentionDays = parseIntConfig(config, "retentionDays", 0);
         int compressionAfterDays = parseIntConfig(config, "compressionAfterDays", 0);
+        int batchSize = parseIntConfig(config, "batchSize", 0);
+        int flushInterval = parseIntConfig(config, "flushInterval", 1000);
+        int bufferSize = parseIntConfig(config, "bufferSize", 100000);
+        aggregateQueries = Boolean.parseBoolean(String.valueOf(config.getOrDefault("aggregateQueries", "false")));
 
         LOGGER.debug(
                 "Activating TimescaleDB persistence: url={}, user={}, maxConnections={}, "
-                        + "chunkInterval={}, retentionDays={}, compressionAfterDays={}",
-                url, user, maxConnections, chunkInterval, retentionDays, compressionAfterDays);
+                        + "chunkInterval={}, retentionDays={}, compressionAfterDays={}, batchSize={}, "
+                        + "flushInterval={}, bufferSize={}",
+                url, user, maxConnections, chunkInterval, retentionDays, compressionAfterDays, batchSize,
+                flushInterval, bufferSize);
 
         HikariDataSource ds;
         try {
@@ -158,6 +175,14 @@ public class TimescaleDBPersistenceService implements ModifiablePersistenceServi
                     + "already-compressed (read-only) chunks and cause SQLExceptions.", compressionAfterDays);
         }
 
+        if (batchSize > 0) {
+            TimescaleDBIngestBuffer buffer = new TimescaleDBIngestBuffer(ds,
+                    (conn, row) -> getOrCreateItemId(conn, row.name(), row.label(), row.value(), row.metadataJson()),
+                    ThreadPoolManager.getScheduledPool(THREAD_POOL_NAME), batchSize, flushInterval, bufferSize);
+            buffer.start();
+            ingestBuffer = buffer;
+        }
+
         // Schedule the daily downsampling job via the openHAB shared thread pool
         TimescaleDBDownsampleJob job = new TimescaleDBDownsampleJob(ds, metadataService);
         downsampleJobInstance = job;
@@ -185,10 +210,25 @@ public class TimescaleDBPersistenceService implements ModifiablePersistenceServi
         return true;
     }
 
+    /**
+     * Returns the ingest buffer, for the Karaf console command.
+     *
+     * @return The ingest buffer, or {@code null} if the service is not activated or buffering is disabled.
+     */
+    public @Nullable TimescaleDBIngestBuffer getIngestBuffer() {
+        return ingestBuffer;
+    }
+
     @Deactivate
     public void deactivate() {
         LOGGER.debug("Deactivating TimescaleDB persistence service");
         metadataRegistry.removeRegistryChangeListener(this);
+
+        TimescaleDBIngestBuffer buffer = ingestBuffer;
+        if (buffer != null) {
+            buffer.close();
+            ingestBuffer = null;
+        }
         itemIdCache.clear();
 
         ScheduledFuture<?> job = downsampleJob;
@@ -271,6 +311,12 @@ public class TimescaleDBPersistenceService implements ModifiablePersistenceServi
             return;
         }
 
+        TimescaleDBIngestBuffer buffer = ingestBuffer;
+        if (buffer != null) {
+            buffer.add(name, label, valueStr, metadataJson, date.toInstant(), row);
+            return;
+        }
+
         try (Connection conn = ds.getConnection()) {
             int itemId = getOrCreateItemId(conn, name, label, valueStr, metadataJson);
             TimescaleDBQuery.insert(conn, itemId, date, row);
@@ -279,6 +325,18 @@ public class TimescaleDBPersistenceService implements ModifiablePersistenceServi
         }
     }
 
+    /**
+     * Writes the buffered rows, so that queries and removals see every state stored before. Waits for a flush already
+     * in progress.
+     */
+    private void flushIngestBuffer() {
+        TimescaleDBIngestBuffer buffer = ingestBuffer;
+        if (buffer != null && !buffer.flush()) {
+            LOGGER.debug("{} buffered row(s) could not be written and are not visible to the query",
+                    buffer.getPendingRows());
+        }
+    }
+
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter) {
         return query(filter, null);
@@ -291,6 +349,7 @@ public class TimescaleDBPersistenceService implements ModifiablePersistenceServi
             LOGGER.warn("FilterCriteria has no item name — returning empty query result");
             return Collections.emptyList();
         }
+        flushIngestBuffer();
 
         String queryName = alias != null ? alias : itemName;
 
@@ -332,8 +391,15 @@ public class TimescaleDBPersistenceService implements ModifiablePersistenceServi
             return Collections.emptyList();
         }
 
+        TimescaleDBQueryPlanner.QueryPlan plan = aggregateQueries ? TimescaleDBQueryPlanner.plan(item, filter,
+                metadataService.getDownsampleConfig(queryName).orElse(null), Instant.now()) : null;
+        if (plan != null) {
+            LOGGER.debug("Query for '{}' aggregated into {} buckets using {}", queryName, plan.sqlInterval(),
+                    plan.function());
+        }
+
         try (Connection conn = ds.getConnection()) {
-            return TimescaleDBQuery.query(conn, item, itemId, filter);
+            return TimescaleDBQuery.query(conn, item, itemId, filter, plan);
         } catch (SQLException e) {
             LOGGER.error("Query failed for item '{}': {}", queryName, e.getMessage(), e);
             return Collections.emptyList();
@@ -347,6 +413,7 @@ public class TimescaleDBPersistenceService implements ModifiablePersistenceServi
             LOGGER.warn("FilterCriteria has no item name — cannot remove data");
             return false;
         }
+        flushIngestBuffer();
 
         @Nullable
         Integer itemId = itemIdCache.get(itemName);
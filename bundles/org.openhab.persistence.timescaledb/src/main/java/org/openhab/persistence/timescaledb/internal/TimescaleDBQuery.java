@@ -66,6 +66,11 @@ public class TimescaleDBQuery {
     // --- SELECT base ---
     private static final String SQL_SELECT_BASE = "SELECT time, value, string, unit FROM items WHERE item_id = ?";
 
+    // --- SELECT aggregated (see TimescaleDBQueryPlanner) ---
+    // Bucket width and aggregation function are pre-validated strings from the planner's interval ladder and the
+    // AggregationFunction enum. Raw and downsampled rows of a bucket are aggregated together.
+    private static final String SQL_SELECT_BUCKETED_TEMPLATE = "SELECT time_bucket('%s', time) AS bucket, %s(value), NULL::text, MAX(unit) FROM items WHERE item_id = ? AND value IS NOT NULL";
+
     // --- DELETE ---
     private static final String SQL_DELETE_BASE = "DELETE FROM items WHERE item_id = ?";
 
@@ -155,7 +160,25 @@ public class TimescaleDBQuery {
      */
     public static List<HistoricItem> query(Connection connection, Item item, int itemId, FilterCriteria filter)
             throws SQLException {
-        StringBuilder sql = new StringBuilder(SQL_SELECT_BASE);
+        return query(connection, item, itemId, filter, null);
+    }
+
+    /**
+     * Queries historic items according to the given filter criteria, aggregating them into time buckets if a
+     * {@link TimescaleDBQueryPlanner.QueryPlan} is given.
+     *
+     * @param connection The JDBC connection.
+     * @param item The openHAB item (used for state reconstruction).
+     * @param itemId The item_id from {@code item_meta}.
+     * @param filter The filter criteria.
+     * @param plan The aggregated query to run, or {@code null} to read raw rows.
+     * @return An ordered list of matching {@link HistoricItem}s, one per bucket for aggregated queries.
+     * @throws SQLException on any database error.
+     */
+    public static List<HistoricItem> query(Connection connection, Item item, int itemId, FilterCriteria filter,
+            TimescaleDBQueryPlanner.@Nullable QueryPlan plan) throws SQLException {
+        StringBuilder sql = new StringBuilder(plan == null ? SQL_SELECT_BASE
+                : SQL_SELECT_BUCKETED_TEMPLATE.formatted(plan.sqlInterval(), plan.function().toSql()));
         List<Object> params = new ArrayList<>();
         params.add(itemId);
 
@@ -185,9 +208,13 @@ public class TimescaleDBQuery {
             }
         }
 
-        // ORDER BY
+        // GROUP BY / ORDER BY
         String direction = filter.getOrdering() == Ordering.ASCENDING ? "ASC" : "DESC";
-        sql.append(" ORDER BY time ").append(direction);
+        if (plan != null) {
+            sql.append(" GROUP BY bucket ORDER BY bucket ").append(direction);
+        } else {
+            sql.append(" ORDER BY time ").append(direction);
+        }
 
         // Pagination
         if (filter.getPageSize() > 0) {
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.timescaledb.internal;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.items.GroupItem;
+import org.openhab.core.items.Item;
+import org.openhab.core.library.items.DimmerItem;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.items.RollershutterItem;
+import org.openhab.core.persistence.FilterCriteria;
+
+/**
+ * Decides whether a query can be answered with {@code time_bucket} aggregation instead of raw rows.
+ *
+ * <p>
+ * A query is aggregated when it asks for a bounded number of points ({@code pageSize}) over a time range that
+ * contains more data than that, e.g. a chart of a month of data. The bucket width is the smallest interval from a
+ * fixed ladder that keeps the number of buckets within the page size, so the database returns at most one row per
+ * bucket instead of every stored row.
+ *
+ * <p>
+ * Raw rows are read when
+ * <ul>
+ * <li>the query is not chart-shaped: no begin date, no page size or a state filter,</li>
+ * <li>the item is not numeric, so its states cannot be aggregated,</li>
+ * <li>the requested density is finer than one minute, or</li>
+ * <li>the whole range has already been downsampled to a resolution that meets the requested density, in which case
+ * the stored rows are already the coarsest data available.</li>
+ * </ul>
+ *
+ * <p>
+ * The plan does not depend on the page number: every page of a query is read with the same bucket width, so paging
+ * through an aggregated query returns consecutive buckets instead of mixing buckets and raw rows.
+ *
+ * <p>
+ * Aggregated buckets use the item's downsampling function, so charts of raw and downsampled ranges look alike, and
+ * {@code AVG} for items without one.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+public class TimescaleDBQueryPlanner {
+
+    /**
+     * An aggregated query.
+     *
+     * @param sqlInterval Validated SQL interval literal used as {@code time_bucket} width, e.g. {@code "1 hour"}.
+     * @param function Aggregation function applied to each bucket.
+     */
+    public record QueryPlan(String sqlInterval, AggregationFunction function) {
+    }
+
+    private record Bucket(Duration width, String sqlInterval) {
+    }
+
+    // Ascending; contains every DownsampleConfig.INTERVAL_MAP value so downsampled resolutions can be looked up
+    private static final List<Bucket> BUCKETS = List.of(new Bucket(Duration.ofMinutes(1), "1 minute"),
+            new Bucket(Duration.ofMinutes(5), "5 minutes"), new Bucket(Duration.ofMinutes(15), "15 minutes"),
+            new Bucket(Duration.ofMinutes(30), "30 minutes"), new Bucket(Duration.ofHours(1), "1 hour"),
+            new Bucket(Duration.ofHours(2), "2 hours"), new Bucket(Duration.ofHours(6), "6 hours"),
+            new Bucket(Duration.ofHours(12), "12 hours"), new Bucket(Duration.ofDays(1), "1 day"),
+            new Bucket(Duration.ofDays(7), "7 days"));
+
+    private TimescaleDBQueryPlanner() {
+        // utility class
+    }
+
+    /**
+     * Plans a query.
+     *
+     * @param item The queried item.
+     * @param filter The filter criteria.
+     * @param config The item's downsampling config, or {@code null} if it has none.
+     * @param now The current time.
+     * @return The aggregated query to run, or {@code null} to read raw rows.
+     */
+    public static @Nullable QueryPlan plan(Item item, FilterCriteria filter, @Nullable DownsampleConfig config,
+            Instant now) {
+        int pageSize = filter.getPageSize();
+        ZonedDateTime beginDate = filter.getBeginDate();
+        if (pageSize <= 0 || pageSize == Integer.MAX_VALUE || beginDate == null || filter.getState() != null
+                || !isNumeric(item)) {
+            return null;
+        }
+
+        Instant begin = beginDate.toInstant();
+        ZonedDateTime endDate = filter.getEndDate();
+        Instant end = endDate == null || endDate.toInstant().isAfter(now) ? now : endDate.toInstant();
+        if (!end.isAfter(begin)) {
+            return null;
+        }
+
+        Duration density = Duration.between(begin, end).dividedBy(pageSize);
+        if (density.compareTo(BUCKETS.get(0).width()) < 0) {
+            return null;
+        }
+
+        // Rows older than the raw retention have been replaced by downsampled rows; allow one extra day because the
+        // downsampling job runs only once a day
+        if (config != null && config.hasDownsampling()
+                && !end.isAfter(now.minus(Duration.ofDays(config.retainRawDays() + 1L)))) {
+            Duration resolution = resolutionOf(config.sqlInterval());
+            if (resolution != null && density.compareTo(resolution) <= 0) {
+                return null;
+            }
+        }
+
+        AggregationFunction function = config != null ? config.function() : null;
+        return new QueryPlan(bucketInterval(density), function != null ? function : AggregationFunction.AVG);
+    }
+
+    /**
+     * Returns the smallest bucket interval not smaller than the given width.
+     */
+    static String bucketInterval(Duration width) {
+        for (Bucket bucket : BUCKETS) {
+            if (bucket.width().compareTo(width) >= 0) {
+                return bucket.sqlInterval();
+            }
+        }
+        long days = width.toDays() + (width.equals(Duration.ofDays(width.toDays())) ? 0 : 1);
+        return days + " days";
+    }
+
+    private static @Nullable Duration resolutionOf(@Nullable String sqlInterval) {
+        for (Bucket bucket : BUCKETS) {
+            if (bucket.sqlInterval().equals(sqlInterval)) {
+                return bucket.width();
+            }
+        }
+        return null;
+    }
+
+    private static boolean isNumeric(Item item) {
+        Item realItem = item;
+        if (item instanceof GroupItem groupItem) {
+            Item baseItem = groupItem.getBaseItem();
+            if (baseItem != null) {
+                realItem = baseItem;
+            }
+        }
+        return realItem instanceof NumberItem || realItem instanceof DimmerItem
+                || realItem instanceof RollershutterItem;
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.timescaledb.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import javax.sql.DataSource;
+
+import org.eclipse.jdt.annotation.DefaultLocation;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+/**
+ * Unit tests for {@link TimescaleDBIngestBuffer} using mocked JDBC connections.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault({ DefaultLocation.RETURN_TYPE, DefaultLocation.PARAMETER })
+@SuppressWarnings("null")
+class TimescaleDBIngestBufferTest {
+
+    private static final Instant TIME = Instant.parse("2024-05-01T10:15:30.123456Z");
+
+    private DataSource dataSource;
+    private Connection connection;
+    private Statement statement;
+    private CopyManager copyManager;
+    private ScheduledExecutorService scheduler;
+    private List<byte[]> copied;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = mock(DataSource.class);
+        connection = mock(Connection.class);
+        statement = mock(Statement.class);
+        copyManager = mock(CopyManager.class);
+        scheduler = mock(ScheduledExecutorService.class);
+        PGConnection pgConnection = mock(PGConnection.class);
+        copied = new ArrayList<>();
+
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.getAutoCommit()).thenReturn(true);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        when(copyManager.copyIn(anyString(), any(InputStream.class))).thenAnswer(invocation -> {
+            copied.add(invocation.getArgument(1, InputStream.class).readAllBytes());
+            return 0L;
+        });
+    }
+
+    @Test
+    void addDoesNotTouchDatabaseBelowBatchSize() throws Exception {
+        var buffer = new TimescaleDBIngestBuffer(dataSource, (conn, row) -> 1, scheduler, 10, 1000, 100);
+        buffer.add("Sensor1", null, null, null, TIME, new TimescaleDBMapper.Row(1.0, null, null));
+
+        assertEquals(1, buffer.getPendingRows());
+        verify(dataSource, never()).getConnection();
+        verify(scheduler, never()).execute(any());
+    }
+
+    @Test
+    void addSchedulesFlushWhenBatchSizeIsReached() {
+        var buffer = new TimescaleDBIngestBuffer(dataSource, (conn, row) -> 1, scheduler, 2, 1000, 100);
+        buffer.add("Sensor1", null, null, null, TIME, new TimescaleDBMapper.Row(1.0, null, null));
+        buffer.add("Sensor1", null, null, null, TIME.plusSeconds(1), new TimescaleDBMapper.Row(2.0, null, null));
+        buffer.add("Sensor1", null, null, null, TIME.plusSeconds(2), new TimescaleDBMapper.Row(3.0, null, null));
+
+        // only one flush is requested until it has run
+        verify(scheduler, times(1)).execute(any());
+    }
+
+    @Test
+    void addDropsRowsWhenBufferIsFull() {
+        var buffer = new TimescaleDBIngestBuffer(dataSource, (conn, row) -> 1, scheduler, 2, 1000, 2);
+        for (int i = 0; i < 3; i++) {
+            buffer.add("Sensor1", null, null, null, TIME.plusSeconds(i), new TimescaleDBMapper.Row(1.0, null, null));
+        }
+
+        assertEquals(2, buffer.getPendingRows());
+        assertEquals(1, buffer.getDroppedRows());
+    }
+
+    @Test
+    void flushCopiesIntoStagingAndMergesInOneTransaction() throws Exception {
+        List<String> resolved = new ArrayList<>();
+        var buffer = new TimescaleDBIngestBuffer(dataSource, (conn, row) -> {
+            resolved.add(row.name());
+            return row.name().equals("Sensor1") ? 7 : 8;
+        }, scheduler, 10, 1000, 100);
+        buffer.add("Sensor1", null, null, null, TIME, new TimescaleDBMapper.Row(1.0, null, null));
+        buffer.add("Sensor2", null, null, null, TIME, new TimescaleDBMapper.Row(null, "text", null));
+        buffer.add("Sensor1", null, null, null, TIME.plusSeconds(1), new TimescaleDBMapper.Row(2.0, null, "°C"));
+
+        assertTrue(buffer.flush());
+
+        // item ids are resolved once per item and batch
+        assertEquals(List.of("Sensor1", "Sensor2"), resolved);
+        verify(connection).setAutoCommit(false);
+        verify(statement).execute(contains("CREATE TEMP TABLE IF NOT EXISTS items_staging"));
+        verify(copyManager).copyIn(contains("FROM STDIN (FORMAT binary)"), any(InputStream.class));
+        verify(statement).executeUpdate(contains("INSERT INTO items"));
+        verify(connection).commit();
+        verify(connection).setAutoCommit(true);
+        assertEquals(0, buffer.getPendingRows());
+        assertEquals(3, buffer.getLastFlushRows());
+        assertEquals(0, buffer.getLagMillis());
+    }
+
+    @Test
+    void flushSplitsRowsIntoBatches() throws Exception {
+        var buffer = new TimescaleDBIngestBuffer(dataSource, (conn, row) -> 1, scheduler, 2, 1000, 100);
+        for (int i = 0; i < 5; i++) {
+            buffer.add("Sensor1", null, null, null, TIME.plusSeconds(i), new TimescaleDBMapper.Row(1.0, null, null));
+        }
+
+        assertTrue(buffer.flush());
+
+        assertEquals(3, copied.size());
+        verify(connection, times(3)).commit();
+    }
+
+    @Test
+    void failedFlushKeepsRowsForRetry() throws Exception {
+        var buffer = new TimescaleDBIngestBuffer(dataSource, (conn, row) -> 1, scheduler, 10, 1000, 100);
+        buffer.add("Sensor1", null, null, null, TIME, new TimescaleDBMapper.Row(1.0, null, null));
+        when(statement.executeUpdate(anyString())).thenThrow(new SQLException("connection lost"));
+
+        assertFalse(buffer.flush());
+
+        verify(connection).rollback();
+        verify(connection, never()).commit();
+        assertEquals(1, buffer.getPendingRows());
+
+        reset(statement);
+        assertTrue(buffer.flush());
+        assertEquals(0, buffer.getPendingRows());
+    }
+
+    @Test
+    void closeFlushesPendingRows() throws Exception {
+        var buffer = new TimescaleDBIngestBuffer(dataSource, (conn, row) -> 1, scheduler, 10, 1000, 100);
+        buffer.add("Sensor1", null, null, null, TIME, new TimescaleDBMapper.Row(1.0, null, null));
+
+        assertEquals(0, buffer.close());
+        assertEquals(1, copied.size());
+    }
+
+    @Test
+    void encodeWritesPostgresBinaryCopyFormat() throws Exception {
+        var rows = List.of(
+                new TimescaleDBIngestBuffer.PendingRow("Sensor1", null, null, null, TIME,
+                        new TimescaleDBMapper.Row(21.5, null, "°C"), 0),
+                new TimescaleDBIngestBuffer.PendingRow("Sensor2", null, null, null, TIME,
+                        new TimescaleDBMapper.Row(null, "ON", null), 0));
+
+        var in = new DataInputStream(
+                new ByteArrayInputStream(TimescaleDBIngestBuffer.encode(rows, new int[] { 7, 8 })));
+
+        byte[] signature = new byte[11];
+        in.readFully(signature);
+        assertArrayEquals("PGCOPY\n\377\r\n\0".getBytes(StandardCharsets.ISO_8859_1), signature);
+        assertEquals(0, in.readInt()); // flags
+        assertEquals(0, in.readInt()); // header extension
+
+        long micros = TimescaleDBIngestBuffer.toPostgresMicros(TIME);
+        assertEquals(5, in.readShort());
+        assertEquals(8, in.readInt());
+        assertEquals(micros, in.readLong());
+        assertEquals(4, in.readInt());
+        assertEquals(7, in.readInt());
+        assertEquals(8, in.readInt());
+        assertEquals(21.5, in.readDouble());
+        assertEquals(-1, in.readInt()); // string
+        byte[] unit = "°C".getBytes(StandardCharsets.UTF_8);
+        assertEquals(unit.length, in.readInt());
+        assertArrayEquals(unit, in.readNBytes(unit.length));
+
+        assertEquals(5, in.readShort());
+        assertEquals(8, in.readInt());
+        assertEquals(micros, in.readLong());
+        assertEquals(4, in.readInt());
+        assertEquals(8, in.readInt());
+        assertEquals(-1, in.readInt()); // value
+        assertEquals(2, in.readInt());
+        assertEquals("ON", new String(in.readNBytes(2), StandardCharsets.UTF_8));
+        assertEquals(-1, in.readInt()); // unit
+
+        assertEquals(-1, in.readShort()); // trailer
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    void toPostgresMicrosCountsFromPostgresEpoch() {
+        assertEquals(0, TimescaleDBIngestBuffer.toPostgresMicros(Instant.parse("2000-01-01T00:00:00Z")));
+        assertEquals(-1, TimescaleDBIngestBuffer.toPostgresMicros(Instant.parse("1999-12-31T23:59:59.999999Z")));
+        assertEquals(86_400_000_001L,
+                TimescaleDBIngestBuffer.toPostgresMicros(Instant.parse("2000-01-02T00:00:00.000001Z")));
+    }
+}
@@ -355,6 +355,41 @@ class TimescaleDBPersistenceServiceTest {
         assertFalse(service.remove(filter));
     }
 
+    @Test
+    void queryFlushesIngestBufferFirst() throws Exception {
+        TimescaleDBIngestBuffer buffer = injectIngestBuffer();
+        var filter = new FilterCriteria();
+        filter.setItemName("Sensor1");
+
+        service.query(filter);
+
+        var order = inOrder(buffer, dataSource);
+        order.verify(buffer).flush();
+        order.verify(dataSource).getConnection();
+    }
+
+    @Test
+    void removeFlushesIngestBufferFirst() throws Exception {
+        TimescaleDBIngestBuffer buffer = injectIngestBuffer();
+        var filter = new FilterCriteria();
+        filter.setItemName("Sensor1");
+
+        service.remove(filter);
+
+        var order = inOrder(buffer, dataSource);
+        order.verify(buffer).flush();
+        order.verify(dataSource).getConnection();
+    }
+
+    private TimescaleDBIngestBuffer injectIngestBuffer() throws Exception {
+        TimescaleDBIngestBuffer buffer = mock(TimescaleDBIngestBuffer.class);
+        when(buffer.flush()).thenReturn(true);
+        var bufferField = TimescaleDBPersistenceService.class.getDeclaredField("ingestBuffer");
+        bufferField.setAccessible(true);
+        bufferField.set(service, buffer);
+        return buffer;
+    }
+
     // ------------------------------------------------------------------
     // activate() / deactivate() — real code paths
     // ------------------------------------------------------------------
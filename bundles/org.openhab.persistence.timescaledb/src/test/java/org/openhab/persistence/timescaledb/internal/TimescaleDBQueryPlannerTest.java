@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.timescaledb.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import org.eclipse.jdt.annotation.DefaultLocation;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.items.StringItem;
+import org.openhab.core.library.items.SwitchItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.FilterCriteria;
+
+/**
+ * Unit tests for {@link TimescaleDBQueryPlanner}.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault({ DefaultLocation.RETURN_TYPE, DefaultLocation.PARAMETER })
+@SuppressWarnings("null")
+class TimescaleDBQueryPlannerTest {
+
+    private static final Instant NOW = Instant.parse("2024-06-30T12:00:00Z");
+    private static final NumberItem ITEM = new NumberItem("Sensor");
+
+    @Test
+    void monthChartIsAggregatedIntoPageSizedBuckets() {
+        // 30 days / 500 points = 86.4 minutes → 2 hour buckets, 360 rows
+        var plan = TimescaleDBQueryPlanner.plan(ITEM, filter(Duration.ofDays(30), 500), null, NOW);
+
+        assertNotNull(plan);
+        assertEquals("2 hours", plan.sqlInterval());
+        assertEquals(AggregationFunction.AVG, plan.function());
+    }
+
+    @Test
+    void configuredAggregationFunctionIsUsed() {
+        var config = new DownsampleConfig(AggregationFunction.SUM, "1 hour", 5, 0);
+
+        var plan = TimescaleDBQueryPlanner.plan(ITEM, filter(Duration.ofDays(2), 100), config, NOW);
+
+        assertNotNull(plan);
+        assertEquals("30 minutes", plan.sqlInterval());
+        assertEquals(AggregationFunction.SUM, plan.function());
+    }
+
+    @Test
+    void highDetailWindowReadsRawRows() {
+        // 1 hour / 100 points = 36 seconds, finer than the smallest bucket
+        assertNull(TimescaleDBQueryPlanner.plan(ITEM, filter(Duration.ofHours(1), 100), null, NOW));
+    }
+
+    @Test
+    void unpagedQueryReadsRawRows() {
+        var filter = filter(Duration.ofDays(30), 500);
+        filter.setPageSize(Integer.MAX_VALUE);
+
+        assertNull(TimescaleDBQueryPlanner.plan(ITEM, filter, null, NOW));
+    }
+
+    @Test
+    void queryWithoutBeginDateReadsRawRows() {
+        var filter = new FilterCriteria();
+        filter.setItemName("Sensor");
+        filter.setPageSize(1);
+
+        assertNull(TimescaleDBQueryPlanner.plan(ITEM, filter, null, NOW));
+    }
+
+    @Test
+    void stateFilterReadsRawRows() {
+        var filtered = filter(Duration.ofDays(30), 500);
+        filtered.setState(new DecimalType(10));
+        filtered.setOperator(FilterCriteria.Operator.GT);
+        assertNull(TimescaleDBQueryPlanner.plan(ITEM, filtered, null, NOW));
+    }
+
+    @Test
+    void everyPageOfDownsampledRangeIsAggregatedAlike() {
+        var config = new DownsampleConfig(AggregationFunction.MAX, "1 hour", 5, 0);
+        // 30 days / 100 points = 7.2 hours → 12 hour buckets, 60 rows on the first page and none on later pages
+        var filter = filter(Duration.ofDays(30), 100);
+        var firstPage = TimescaleDBQueryPlanner.plan(ITEM, filter, config, NOW);
+        assertNotNull(firstPage);
+        assertEquals("12 hours", firstPage.sqlInterval());
+
+        for (int page = 1; page < 3; page++) {
+            filter.setPageNumber(page);
+            assertEquals(firstPage, TimescaleDBQueryPlanner.plan(ITEM, filter, config, NOW));
+        }
+    }
+
+    @Test
+    void nonNumericItemsReadRawRows() {
+        var filter = filter(Duration.ofDays(30), 500);
+
+        assertNull(TimescaleDBQueryPlanner.plan(new StringItem("Text"), filter, null, NOW));
+        assertNull(TimescaleDBQueryPlanner.plan(new SwitchItem("Switch"), filter, null, NOW));
+    }
+
+    @Test
+    void downsampledRangeAtRequestedDensityReadsStoredRows() {
+        var config = new DownsampleConfig(AggregationFunction.AVG, "1 hour", 5, 0);
+        // 10 days ending 20 days ago, 500 points = 28.8 minutes, coarser data is already stored
+        var filter = new FilterCriteria();
+        filter.setItemName("Sensor");
+        filter.setBeginDate(ZonedDateTime.ofInstant(NOW.minus(Duration.ofDays(30)), ZoneOffset.UTC));
+        filter.setEndDate(ZonedDateTime.ofInstant(NOW.minus(Duration.ofDays(20)), ZoneOffset.UTC));
+        filter.setPageSize(500);
+
+        assertNull(TimescaleDBQueryPlanner.plan(ITEM, filter, config, NOW));
+
+        // the same range including raw rows is aggregated
+        filter.setEndDate(ZonedDateTime.ofInstant(NOW, ZoneOffset.UTC));
+        filter.setPageSize(1000);
+        assertNotNull(TimescaleDBQueryPlanner.plan(ITEM, filter, config, NOW));
+    }
+
+    @Test
+    void bucketIntervalBeyondLadderUsesWholeDays() {
+        assertEquals("1 minute", TimescaleDBQueryPlanner.bucketInterval(Duration.ofSeconds(60)));
+        assertEquals("7 days", TimescaleDBQueryPlanner.bucketInterval(Duration.ofDays(3)));
+        assertEquals("8 days", TimescaleDBQueryPlanner.bucketInterval(Duration.ofDays(7).plusHours(1)));
+        assertEquals("14 days", TimescaleDBQueryPlanner.bucketInterval(Duration.ofDays(14)));
+    }
+
+    private static FilterCriteria filter(Duration range, int pageSize) {
+        var filter = new FilterCriteria();
+        filter.setItemName("Sensor");
+        filter.setBeginDate(ZonedDateTime.ofInstant(NOW.minus(range), ZoneOffset.UTC));
+        filter.setEndDate(ZonedDateTime.ofInstant(NOW, ZoneOffset.UTC));
+        filter.setPageSize(pageSize);
+        return filter;
+    }
+}
@@ -303,6 +303,53 @@ class TimescaleDBQueryTest {
         assertTrue(sql.contains("OFFSET ?"), "Should have OFFSET clause");
     }
 
+    @Test
+    void queryWithplanAggregatesintobuckets() throws Exception {
+        var capturedSql = new java.util.ArrayList<String>();
+        when(connection.prepareStatement(anyString())).thenAnswer(inv -> {
+            capturedSql.add(inv.getArgument(0));
+            return preparedStatement;
+        });
+
+        var filter = new FilterCriteria();
+        filter.setItemName("Sensor");
+        filter.setBeginDate(ZonedDateTime.now().minusDays(30));
+        filter.setPageSize(500);
+        filter.setOrdering(Ordering.ASCENDING);
+
+        TimescaleDBQuery.query(connection, new NumberItem("Sensor"), 1, filter,
+                new TimescaleDBQueryPlanner.QueryPlan("2 hours", AggregationFunction.MAX));
+
+        String sql = capturedSql.get(0);
+        assertTrue(sql.contains("time_bucket('2 hours', time)"), "Should bucket by the planned interval");
+        assertTrue(sql.contains("MAX(value)"), "Should aggregate with the planned function");
+        assertTrue(sql.contains("GROUP BY bucket ORDER BY bucket ASC"));
+        assertTrue(sql.contains("LIMIT ?"), "Should keep the page size");
+    }
+
+    @Test
+    void queryWithplanOnlaterpageAggregatesintobuckets() throws Exception {
+        var capturedSql = new java.util.ArrayList<String>();
+        when(connection.prepareStatement(anyString())).thenAnswer(inv -> {
+            capturedSql.add(inv.getArgument(0));
+            return preparedStatement;
+        });
+
+        var filter = new FilterCriteria();
+        filter.setItemName("Sensor");
+        filter.setBeginDate(ZonedDateTime.now().minusDays(30));
+        filter.setPageSize(100);
+        filter.setPageNumber(1);
+
+        TimescaleDBQuery.query(connection, new NumberItem("Sensor"), 1, filter,
+                new TimescaleDBQueryPlanner.QueryPlan("12 hours", AggregationFunction.MAX));
+
+        String sql = capturedSql.get(0);
+        assertTrue(sql.contains("time_bucket('12 hours', time)"), "Later pages should bucket like the first one");
+        assertTrue(sql.contains("LIMIT ?"), "Should have LIMIT clause");
+        assertTrue(sql.contains("OFFSET ?"), "Should skip the buckets of earlier pages");
+    }
+
     // ------------------------------------------------------------------
     // findItemId — SELECT-only cache-miss fallback
     // ------------------------------------------------------------------
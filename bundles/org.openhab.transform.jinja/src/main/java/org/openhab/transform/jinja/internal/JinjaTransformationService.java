@@ -13,12 +13,9 @@
 package org.openhab.transform.jinja.internal;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -30,13 +27,23 @@ import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.JinjavaConfig;
+import com.hubspot.jinjava.interpret.Context;
 import com.hubspot.jinjava.interpret.FatalTemplateErrorsException;
+import com.hubspot.jinjava.interpret.InterpreterFactory;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.tree.Node;
 
 /**
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by Jinja2 Expressions.
  *
+ * <p>
+ * Parsed templates are cached, and a JSON input is bound as {@code value_json} through views that only convert the
+ * fields a template accesses.
+ *
  * @author Jochen Klein - Initial contribution
  *
  */
@@ -44,9 +51,14 @@ import com.hubspot.jinjava.interpret.FatalTemplateErrorsException;
 @Component(property = { "openhab.transform=JINJA" })
 public class JinjaTransformationService implements TransformationService {
 
+    private static final int MAX_CACHE_SIZE = 256;
+    private static final ObjectReader JSON_READER = new ObjectMapper().reader();
+
     private final Logger logger = LoggerFactory.getLogger(JinjaTransformationService.class);
 
-    private final Jinjava jinjava = new Jinjava();
+    private final Map<String, Node> templateCache = new ConcurrentHashMap<>();
+    private final Jinjava jinjava = new Jinjava(
+            JinjavaConfig.newBuilder().withInterpreterFactory(new CachingInterpreterFactory()).build());
 
     /**
      * Transforms the input <code>value</code> by Jinja template.
@@ -64,11 +76,13 @@ public class JinjaTransformationService implements TransformationService {
 
         bindings.put("value", value);
 
-        try {
-            JsonNode tree = new ObjectMapper().readTree(value);
-            bindings.put("value_json", toObject(tree));
-        } catch (IOException e) {
-            // ok, then value_json is null...
+        if (mayBeJson(value)) {
+            try {
+                JsonNode tree = JSON_READER.readTree(value);
+                bindings.put("value_json", JsonNodeView.of(tree));
+            } catch (IOException e) {
+                // ok, then value_json is null...
+            }
         }
 
         try {
@@ -82,33 +96,64 @@ public class JinjaTransformationService implements TransformationService {
         return transformationResult;
     }
 
-    private static @Nullable Object toObject(JsonNode node) {
-        switch (node.getNodeType()) {
-            case ARRAY: {
-                List<@Nullable Object> result = new ArrayList<>();
-                for (JsonNode el : node) {
-                    result.add(toObject(el));
-                }
-                return result;
+    int getCachedTemplates() {
+        return templateCache.size();
+    }
+
+    /**
+     * Checks the first character, to avoid the cost of a parse exception for plain values.
+     */
+    private static boolean mayBeJson(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                return c == '{' || c == '[' || c == '"' || c == '-' || (c >= '0' && c <= '9') || c == 't' || c == 'f'
+                        || c == 'n';
+            }
+        }
+        return false;
+    }
+
+    private class CachingInterpreterFactory implements InterpreterFactory {
+        @Override
+        public JinjavaInterpreter newInstance(JinjavaInterpreter orig) {
+            return new CachingInterpreter(orig);
+        }
+
+        @Override
+        public JinjavaInterpreter newInstance(Jinjava application, Context context, JinjavaConfig renderConfig) {
+            return new CachingInterpreter(application, context, renderConfig);
+        }
+    }
+
+    /**
+     * Takes parsed templates from the cache. Templates with syntax errors are not cached, so that every rendering
+     * reports the errors.
+     */
+    private class CachingInterpreter extends JinjavaInterpreter {
+        CachingInterpreter(JinjavaInterpreter orig) {
+            super(orig);
+        }
+
+        CachingInterpreter(Jinjava application, Context context, JinjavaConfig renderConfig) {
+            super(application, context, renderConfig);
+        }
+
+        @Override
+        public Node parse(String template) {
+            Node root = templateCache.get(template);
+            if (root != null) {
+                return root;
             }
-            case NUMBER:
-                return node.decimalValue();
-            case OBJECT: {
-                Map<String, @Nullable Object> result = new HashMap<>();
-                Iterator<Entry<String, JsonNode>> it = node.fields();
-                while (it.hasNext()) {
-                    Entry<String, JsonNode> field = it.next();
-                    result.put(field.getKey(), toObject(field.getValue()));
+            int errors = getErrorsCopy().size();
+            root = super.parse(template);
+            if (getErrorsCopy().size() == errors) {
+                if (templateCache.size() >= MAX_CACHE_SIZE) {
+                    templateCache.clear();
                 }
-                return result;
+                templateCache.put(template, root);
             }
-            case STRING:
-                return node.asText();
-            case BOOLEAN:
-                return node.asBoolean();
-            case NULL:
-            default:
-                return null;
+            return root;
         }
     }
 }
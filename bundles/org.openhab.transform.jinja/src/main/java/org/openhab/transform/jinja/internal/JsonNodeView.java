@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.jinja.internal;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Converts a {@link JsonNode} into the objects used by the templates.
+ *
+ * <p>
+ * Objects and arrays are returned as {@link Map} and {@link List} views, which convert their elements when they are
+ * accessed. Nested views are the same instances on every access. A view is copied when it is modified, and a
+ * {@link Map} view also when it is iterated, so it behaves like the {@link HashMap} and {@link ArrayList} that were
+ * bound before.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+final class JsonNodeView {
+
+    private JsonNodeView() {
+    }
+
+    static @Nullable Object of(JsonNode node) {
+        switch (node.getNodeType()) {
+            case ARRAY:
+                return new ArrayView(node);
+            case NUMBER:
+                return node.decimalValue();
+            case OBJECT:
+                return new ObjectView(node);
+            case STRING:
+                return node.asText();
+            case BOOLEAN:
+                return node.asBoolean();
+            case NULL:
+            default:
+                return null;
+        }
+    }
+
+    private static class ObjectView extends AbstractMap<String, @Nullable Object> {
+        private final JsonNode node;
+        private final Map<String, @Nullable Object> children = new HashMap<>();
+        private @Nullable Map<String, @Nullable Object> copy;
+
+        ObjectView(JsonNode node) {
+            this.node = node;
+        }
+
+        @Override
+        public @Nullable Object get(@Nullable Object key) {
+            Map<String, @Nullable Object> copy = this.copy;
+            if (copy != null) {
+                return copy.get(key);
+            }
+            if (!(key instanceof String name)) {
+                return null;
+            }
+            JsonNode child = node.get(name);
+            if (child == null) {
+                return null;
+            }
+            if (child.isContainerNode()) {
+                return children.computeIfAbsent(name, k -> of(child));
+            }
+            return of(child);
+        }
+
+        @Override
+        public boolean containsKey(@Nullable Object key) {
+            Map<String, @Nullable Object> copy = this.copy;
+            if (copy != null) {
+                return copy.containsKey(key);
+            }
+            return key instanceof String name && node.has(name);
+        }
+
+        @Override
+        public int size() {
+            Map<String, @Nullable Object> copy = this.copy;
+            return copy != null ? copy.size() : node.size();
+        }
+
+        @Override
+        public @Nullable Object put(String key, @Nullable Object value) {
+            return copy().put(key, value);
+        }
+
+        @Override
+        public @Nullable Object remove(@Nullable Object key) {
+            return copy().remove(key);
+        }
+
+        @Override
+        public Set<Entry<String, @Nullable Object>> entrySet() {
+            return copy().entrySet();
+        }
+
+        private Map<String, @Nullable Object> copy() {
+            Map<String, @Nullable Object> copy = this.copy;
+            if (copy == null) {
+                copy = new LinkedHashMap<>();
+                Iterator<Entry<String, JsonNode>> it = node.fields();
+                while (it.hasNext()) {
+                    String name = it.next().getKey();
+                    copy.put(name, get(name));
+                }
+                this.copy = copy;
+            }
+            return copy;
+        }
+    }
+
+    private static class ArrayView extends AbstractList<@Nullable Object> {
+        private final JsonNode node;
+        private final @Nullable Object[] children;
+        private @Nullable List<@Nullable Object> copy;
+
+        ArrayView(JsonNode node) {
+            this.node = node;
+            this.children = new @Nullable Object[node.size()];
+        }
+
+        @Override
+        public @Nullable Object get(int index) {
+            List<@Nullable Object> copy = this.copy;
+            if (copy != null) {
+                return copy.get(index);
+            }
+            JsonNode child = node.get(index);
+            if (child == null) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            if (child.isContainerNode()) {
+                Object converted = children[index];
+                if (converted == null) {
+                    converted = of(child);
+                    children[index] = converted;
+                }
+                return converted;
+            }
+            return of(child);
+        }
+
+        @Override
+        public int size() {
+            List<@Nullable Object> copy = this.copy;
+            return copy != null ? copy.size() : node.size();
+        }
+
+        @Override
+        public @Nullable Object set(int index, @Nullable Object element) {
+            return copy().set(index, element);
+        }
+
+        @Override
+        public void add(int index, @Nullable Object element) {
+            copy().add(index, element);
+        }
+
+        @Override
+        public @Nullable Object remove(int index) {
+            return copy().remove(index);
+        }
+
+        private List<@Nullable Object> copy() {
+            List<@Nullable Object> copy = this.copy;
+            if (copy == null) {
+                copy = new ArrayList<>(node.size());
+                for (int i = 0; i < node.size(); i++) {
+                    copy.add(get(i));
+                }
+                this.copy = copy;
+            }
+            return copy;
+        }
+    }
+}
@@ -14,10 +14,15 @@ package org.openhab.transform.jinja.internal;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.List;
+import java.util.Map;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.openhab.core.transform.TransformationException;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 /**
  * @author Jochen Klein - Initial contribution
  */
@@ -113,4 +118,48 @@ public class JinjaTransformationServiceTest {
         // then map key is defined
         assertEquals("true", transformedResponse);
     }
+
+    @Test
+    public void testNestedValues() throws TransformationException {
+        String json = "{\"a\": {\"list\": [{\"id\": 1, \"name\": \"one\"}, {\"id\": 2, \"name\": \"two\"}]}}";
+
+        assertEquals("two", processor.transform("{{ value_json.a.list[1].name }}", json));
+        assertEquals("2", processor.transform("{{ value_json.a.list|length }}", json));
+        assertEquals("1,2,", processor.transform("{% for e in value_json.a.list %}{{ e.id }},{% endfor %}", json));
+    }
+
+    @Test
+    public void testTemplateIsParsedOnce() throws TransformationException {
+        assertEquals("Hello world!", processor.transform("Hello {{ value }}!", "world"));
+        assertEquals("Hello you!", processor.transform("Hello {{ value }}!", "you"));
+        assertEquals(1, processor.getCachedTemplates());
+    }
+
+    @Test
+    public void testTemplateErrorIsNotCached() {
+        for (int i = 0; i < 2; i++) {
+            assertThrows(TransformationException.class,
+                    () -> processor.transform("Hello {{{ value_json.string }}!", "{\"string\": \"world\"}"));
+        }
+        assertEquals(0, processor.getCachedTemplates());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testJsonViewCanBeModified() throws Exception {
+        Map<String, Object> object = (Map<String, Object>) JsonNodeView
+                .of(new ObjectMapper().readTree("{\"a\": [1, {\"b\": true}], \"c\": \"d\"}"));
+        List<Object> list = (List<Object>) object.get("a");
+        assertSame(list, object.get("a"));
+        assertEquals(true, ((Map<String, Object>) list.get(1)).get("b"));
+
+        list.add("e");
+        object.put("f", null);
+        object.remove("c");
+
+        assertEquals(3, list.size());
+        assertEquals("e", list.get(2));
+        assertSame(list, object.get("a"));
+        assertEquals(List.of("a", "f"), List.copyOf(object.keySet()));
+    }
 }
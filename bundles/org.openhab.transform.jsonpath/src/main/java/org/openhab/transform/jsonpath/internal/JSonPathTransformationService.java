@@ -12,7 +12,12 @@
  */
 package org.openhab.transform.jsonpath.internal;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -24,6 +29,7 @@ import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.InvalidJsonException;
 import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.JsonPath;
@@ -32,6 +38,10 @@ import com.jayway.jsonpath.PathNotFoundException;
 /**
  * The implementation of a {@link TransformationService} which transforms the input by JSonPath Expressions.
  *
+ * <p>
+ * Compiled expressions are cached. The parsed documents are kept for a short time, so that the channels of a thing
+ * which apply different expressions to the same response share one parse.
+ *
  * @author Gaël L'hopital - Initial contribution
  * @author Sebastian Janzen - Initial contribution
  */
@@ -39,8 +49,15 @@ import com.jayway.jsonpath.PathNotFoundException;
 @Component(property = { "openhab.transform=JSONPATH" })
 public class JSonPathTransformationService implements TransformationService {
 
+    private static final int MAX_CACHE_SIZE = 256;
+    private static final int MAX_DOCUMENTS = 4;
+    private static final long DOCUMENT_TTL_NANOS = TimeUnit.SECONDS.toNanos(2);
+
     private final Logger logger = LoggerFactory.getLogger(JSonPathTransformationService.class);
 
+    private final Map<String, JsonPath> pathCache = new ConcurrentHashMap<>();
+    private final Deque<ParsedDocument> documents = new ArrayDeque<>(); // guarded by itself
+
     /**
      * Transforms the input <code>source</code> by JSonPath expression.
      *
@@ -62,7 +79,9 @@ public class JSonPathTransformationService implements TransformationService {
             return null;
         }
         try {
-            Object transformationResult = JsonPath.read(source, jsonPathExpression);
+            Configuration configuration = Configuration.defaultConfiguration();
+            Object transformationResult = getPath(jsonPathExpression).read(getDocument(source, configuration),
+                    configuration);
             logger.debug("transformation resulted in '{}'", transformationResult);
             if (transformationResult == null) {
                 return null;
@@ -78,6 +97,52 @@ public class JSonPathTransformationService implements TransformationService {
         }
     }
 
+    /**
+     * Returns the compiled expression.
+     *
+     * @throws InvalidPathException if the expression is invalid
+     */
+    JsonPath getPath(String jsonPathExpression) {
+        JsonPath path = pathCache.get(jsonPathExpression);
+        if (path == null) {
+            path = JsonPath.compile(jsonPathExpression);
+            if (pathCache.size() >= MAX_CACHE_SIZE) {
+                pathCache.clear();
+            }
+            pathCache.put(jsonPathExpression, path);
+        }
+        return path;
+    }
+
+    /**
+     * Returns the parsed document, parsing it if an equal source has not been parsed recently. The document must not
+     * be modified.
+     *
+     * @throws InvalidJsonException if the source is not valid JSON
+     */
+    Object getDocument(String source, Configuration configuration) {
+        long now = System.nanoTime();
+        synchronized (documents) {
+            documents.removeIf(document -> now - document.parsedAt() > DOCUMENT_TTL_NANOS);
+            for (ParsedDocument document : documents) {
+                // the sources of the channels of a thing are usually equal, but not the same instance
+                if (document.source() == source || document.source().equals(source)) {
+                    return document.document();
+                }
+            }
+        }
+
+        Object document = configuration.jsonProvider().parse(source);
+
+        synchronized (documents) {
+            if (documents.size() >= MAX_DOCUMENTS) {
+                documents.removeFirst();
+            }
+            documents.addLast(new ParsedDocument(source, document, now));
+        }
+        return document;
+    }
+
     private String flattenList(List<?> list) {
         if (list.size() == 1) {
             return list.get(0).toString();
@@ -102,4 +167,7 @@ public class JSonPathTransformationService implements TransformationService {
     private String createStringList(List<?> list) {
         return list.stream().map(n -> "\"" + n + "\"").collect(Collectors.joining(", ", "[", "]"));
     }
+
+    private record ParsedDocument(String source, Object document, long parsedAt) {
+    }
 }
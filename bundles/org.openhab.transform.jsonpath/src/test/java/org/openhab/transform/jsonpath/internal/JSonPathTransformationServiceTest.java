@@ -19,6 +19,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.openhab.core.transform.TransformationException;
 
+import com.jayway.jsonpath.Configuration;
+
 /**
  * @author Gaël L'hopital - Initial contribution
  */
@@ -129,4 +131,23 @@ public class JSonPathTransformationServiceTest {
         String transformedResponse = processor.transform("$.data", json);
         assertEquals(list, transformedResponse);
     }
+
+    @Test
+    public void testPathIsCompiledOnce() {
+        assertSame(processor.getPath("$[0].name"), processor.getPath("$[0].name"));
+    }
+
+    @Test
+    public void testEqualSourcesAreParsedOnce() throws TransformationException {
+        Configuration configuration = Configuration.defaultConfiguration();
+        Object document = processor.getDocument(new String(JSON_ARRAY), configuration);
+        assertSame(document, processor.getDocument(new String(JSON_ARRAY), configuration));
+        assertNotSame(document, processor.getDocument(JSON_ARRAY.replace("bob", "carol"), configuration));
+
+        // the shared document is not modified by the transformations
+        assertEquals("bob", processor.transform("$[0].name", JSON_ARRAY));
+        assertEquals("[1, 2]", processor.transform("$[*].id", JSON_ARRAY));
+        assertEquals("alice", processor.transform("$[1].name", JSON_ARRAY));
+        assertSame(document, processor.getDocument(JSON_ARRAY, configuration));
+    }
 }
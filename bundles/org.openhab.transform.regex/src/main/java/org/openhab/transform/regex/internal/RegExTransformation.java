@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.regex.internal;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A compiled regex transformation function.
+ *
+ * <p>
+ * The function is either the substitution form {@code s/regex/substitution/options}, which replaces the first or,
+ * with option {@code g}, all matches, or a regular expression with one group, which has to match the whole input
+ * and returns the content of its group. Instances are immutable and can be used by multiple threads.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+public final class RegExTransformation {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RegExTransformation.class);
+
+    private static final Pattern SUBSTR_PATTERN = Pattern.compile("^s/(.*?[^\\\\])/(.*?[^\\\\])/(.*)$");
+
+    private final String expression;
+    private final Pattern pattern;
+    private final @Nullable String substitution;
+    private final boolean global;
+
+    private RegExTransformation(String expression, Pattern pattern, @Nullable String substitution, boolean global) {
+        this.expression = expression;
+        this.pattern = pattern;
+        this.substitution = substitution;
+        this.global = global;
+    }
+
+    /**
+     * Compiles a transformation function.
+     *
+     * @param expression the substitution form or the regular expression
+     * @return the compiled function
+     * @throws PatternSyntaxException if the regular expression is invalid
+     */
+    public static RegExTransformation compile(String expression) throws PatternSyntaxException {
+        Matcher substMatcher = SUBSTR_PATTERN.matcher(expression);
+        if (substMatcher.matches()) {
+            String regex = substMatcher.group(1);
+            String substitution = substMatcher.group(2);
+            String options = substMatcher.group(3);
+            return new RegExTransformation(expression, Pattern.compile(regex), substitution, "g".equals(options));
+        }
+        return new RegExTransformation(expression, Pattern.compile("^" + expression + "$", Pattern.DOTALL), null,
+                false);
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    /**
+     * Applies the function to the trimmed source.
+     *
+     * @param source the input
+     * @return the transformed input, or <code>null</code> if the regular expression does not match
+     */
+    public @Nullable String apply(String source) {
+        String substitution = this.substitution;
+        if (substitution != null) {
+            LOGGER.debug("Using substitution form of regex transformation");
+            Matcher matcher = pattern.matcher(source.trim());
+            return global ? matcher.replaceAll(substitution) : matcher.replaceFirst(substitution);
+        }
+
+        Matcher matcher = pattern.matcher(source.trim());
+        if (!matcher.matches()) {
+            LOGGER.debug(
+                    "the given regex '^{}$' doesn't match the given content '{}' -> couldn't compute transformation",
+                    expression, source);
+            return null;
+        }
+        matcher.reset();
+
+        String result = "";
+        while (matcher.find()) {
+            if (matcher.groupCount() == 0) {
+                LOGGER.info(
+                        "the given regular expression '^{}$' doesn't contain a group. No content will be extracted and returned!",
+                        expression);
+                continue;
+            }
+
+            result = matcher.group(1);
+
+            if (matcher.groupCount() > 1) {
+                LOGGER.debug(
+                        "the given regular expression '^{}$' contains more than one group. Only the first group will be returned!",
+                        expression);
+            }
+        }
+
+        return result;
+    }
+}
@@ -12,8 +12,9 @@
  */
 package org.openhab.transform.regex.internal;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -38,7 +39,10 @@ public class RegExTransformationService implements TransformationService {
 
     private final Logger logger = LoggerFactory.getLogger(RegExTransformationService.class);
 
-    private static final Pattern SUBSTR_PATTERN = Pattern.compile("^s/(.*?[^\\\\])/(.*?[^\\\\])/(.*)$");
+    // bindings typically apply a few functions to every incoming message, compile each of them once
+    private static final int MAX_CACHE_SIZE = 256;
+
+    private final Map<String, RegExTransformation> cache = new ConcurrentHashMap<>();
 
     @Override
     public @Nullable String transform(String regExpression, String source) throws TransformationException {
@@ -48,50 +52,25 @@ public class RegExTransformationService implements TransformationService {
 
         logger.debug("about to transform '{}' by the function '{}'", source, regExpression);
 
-        String result = "";
-
-        Matcher substMatcher = SUBSTR_PATTERN.matcher(regExpression);
-        if (substMatcher.matches()) {
-            logger.debug("Using substitution form of regex transformation");
-            String regex = substMatcher.group(1);
-            String substitution = substMatcher.group(2);
-            String options = substMatcher.group(3);
-            if ("g".equals(options)) {
-                result = source.trim().replaceAll(regex, substitution);
-            } else {
-                result = source.trim().replaceFirst(regex, substitution);
-            }
-            if (result != null) {
-                return result;
-            }
-        }
-
-        Matcher matcher = Pattern.compile("^" + regExpression + "$", Pattern.DOTALL).matcher(source.trim());
-        if (!matcher.matches()) {
-            logger.debug(
-                    "the given regex '^{}$' doesn't match the given content '{}' -> couldn't compute transformation",
-                    regExpression, source);
-            return null;
-        }
-        matcher.reset();
-
-        while (matcher.find()) {
-            if (matcher.groupCount() == 0) {
-                logger.info(
-                        "the given regular expression '^{}$' doesn't contain a group. No content will be extracted and returned!",
-                        regExpression);
-                continue;
-            }
-
-            result = matcher.group(1);
+        return getTransformation(regExpression).apply(source);
+    }
 
-            if (matcher.groupCount() > 1) {
-                logger.debug(
-                        "the given regular expression '^{}$' contains more than one group. Only the first group will be returned!",
-                        regExpression);
+    /**
+     * Returns the compiled function, compiling it if it is not cached yet.
+     *
+     * @param regExpression the function
+     * @return the compiled function
+     * @throws PatternSyntaxException if the regular expression is invalid
+     */
+    RegExTransformation getTransformation(String regExpression) throws PatternSyntaxException {
+        RegExTransformation transformation = cache.get(regExpression);
+        if (transformation == null) {
+            if (cache.size() >= MAX_CACHE_SIZE) {
+                // functions built from changing input would fill the cache, start over
+                cache.clear();
             }
+            transformation = cache.computeIfAbsent(regExpression, RegExTransformation::compile);
         }
-
-        return result;
+        return transformation;
     }
 }
@@ -12,7 +12,10 @@
  */
 package org.openhab.transform.regex.internal.profiles;
 
+import java.util.regex.PatternSyntaxException;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.library.types.StringType;
 import org.openhab.core.thing.profiles.ProfileCallback;
 import org.openhab.core.thing.profiles.ProfileContext;
@@ -24,6 +27,7 @@ import org.openhab.core.transform.TransformationService;
 import org.openhab.core.types.Command;
 import org.openhab.core.types.State;
 import org.openhab.core.types.Type;
+import org.openhab.transform.regex.internal.RegExTransformation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,6 +47,8 @@ public class RegexTransformationProfile implements StateProfile {
 
     private final TransformationService service;
     private final ProfileCallback callback;
+    // transforms with the function compiled once for this profile, or with the service if it could not be compiled
+    private final TransformationService compiledService;
 
     private static final String FUNCTION_PARAM = "function";
     private static final String SOURCE_FORMAT_PARAM = "sourceFormat";
@@ -74,6 +80,19 @@ public class RegexTransformationProfile implements StateProfile {
             function = null;
             sourceFormat = null;
         }
+        compiledService = compile(function);
+    }
+
+    private TransformationService compile(@Nullable String function) {
+        if (function != null) {
+            try {
+                RegExTransformation transformation = RegExTransformation.compile(function);
+                return (transformationFunction, source) -> transformation.apply(source);
+            } catch (PatternSyntaxException e) {
+                logger.warn("Invalid regular expression '{}': {}", function, e.getMessage());
+            }
+        }
+        return service;
     }
 
     @Override
@@ -117,7 +136,7 @@ public class RegexTransformationProfile implements StateProfile {
     private Type transformState(Type state) {
         String result = state.toFullString();
         try {
-            result = TransformationHelper.transform(service, function, sourceFormat, state.toFullString());
+            result = TransformationHelper.transform(compiledService, function, sourceFormat, state.toFullString());
         } catch (TransformationException e) {
             logger.warn("Could not transform state '{}' with function '{}' and format '{}'", state, function,
                     sourceFormat);
@@ -14,6 +14,8 @@ package org.openhab.transform.regex.internal;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.regex.PatternSyntaxException;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.openhab.core.transform.TransformationException;
@@ -75,4 +77,31 @@ public class RegExTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("varX=12 varY=54 ", transformedResponse);
     }
+
+    @Test
+    public void testTransformByRegex_noMatch() throws TransformationException {
+        // method under test
+        String transformedResponse = processor.transform("temp=(\\d+)", "humidity=42");
+
+        // Asserts
+        assertNull(transformedResponse);
+    }
+
+    @Test
+    public void testTransformByRegex_compiledOnce() throws TransformationException {
+        RegExTransformation first = processor.getTransformation("s/([A-Z]+)([0-9]+),*/var$1=$2 /g");
+        RegExTransformation second = processor.getTransformation("s/([A-Z]+)([0-9]+),*/var$1=$2 /g");
+
+        // Asserts
+        assertSame(first, second);
+        assertEquals("varX=12 varY=54 ", second.apply("X12,Y54"));
+        assertEquals("varX=1 ", second.apply(" X1 "));
+    }
+
+    @Test
+    public void testTransformByRegex_invalidRegex() {
+        assertThrows(PatternSyntaxException.class, () -> processor.transform("temp=(\\d+", "temp=42"));
+        // the failure is not cached
+        assertThrows(PatternSyntaxException.class, () -> processor.transform("temp=(\\d+", "temp=42"));
+    }
 }
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The ranges of a scale file, compiled for lookup by binary search.
+ *
+ * <p>
+ * The limits of all ranges split the number line into disjoint intervals: the limits themselves and the open
+ * intervals between them. Each interval gets the label of the first range in file order that contains it, so a lookup
+ * gives the same result as testing the ranges one after another.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+public class ScaleTable {
+
+    private static final BigDecimal HALF = new BigDecimal("0.5");
+
+    private final String format;
+    private final @Nullable String nonNumeric;
+
+    /** the sorted, distinct limits */
+    private final BigDecimal[] limits;
+    private final double[] approximateLimits;
+    /**
+     * The labels of the intervals. The label of the limit {@code i} is at {@code 2 * i + 1}, the label of the open
+     * interval below it at {@code 2 * i}.
+     */
+    private final @Nullable String[] labels;
+
+    /**
+     * @param ranges the ranges and their labels, in the order of the file
+     * @param format the presentation format
+     * @param nonNumeric the label for non-numeric inputs, or <code>null</code> if there is none
+     */
+    public ScaleTable(Map<Range, String> ranges, String format, @Nullable String nonNumeric) {
+        this.format = format;
+        this.nonNumeric = nonNumeric;
+
+        TreeSet<BigDecimal> sortedLimits = new TreeSet<>();
+        for (Range range : ranges.keySet()) {
+            if (range.min != null) {
+                sortedLimits.add(range.min);
+            }
+            if (range.max != null) {
+                sortedLimits.add(range.max);
+            }
+        }
+        limits = sortedLimits.toArray(new BigDecimal[0]);
+        approximateLimits = new double[limits.length];
+        for (int i = 0; i < limits.length; i++) {
+            approximateLimits[i] = limits[i].doubleValue();
+        }
+
+        labels = new @Nullable String[2 * limits.length + 1];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = firstMatch(ranges, representative(i));
+        }
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public @Nullable String getNonNumeric() {
+        return nonNumeric;
+    }
+
+    /**
+     * @return the label of the first range containing the value, or <code>null</code> if there is none
+     */
+    public @Nullable String get(BigDecimal value) {
+        int low = 0;
+        int high = limits.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = value.compareTo(limits[mid]);
+            if (cmp < 0) {
+                high = mid - 1;
+            } else if (cmp > 0) {
+                low = mid + 1;
+            } else {
+                return labels[2 * mid + 1];
+            }
+        }
+        return labels[2 * low];
+    }
+
+    /**
+     * Looks up a decimal number without converting it to a {@link BigDecimal}, unless it is too close to a limit to
+     * decide in double precision.
+     *
+     * @param value the value of {@code source} parsed as double
+     * @param source a decimal number as accepted by {@link BigDecimal#BigDecimal(String)}
+     * @return the label of the first range containing the value, or <code>null</code> if there is none
+     */
+    public @Nullable String get(double value, String source) {
+        BigDecimal exact = null;
+        int low = 0;
+        int high = limits.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp;
+            // rounding to double is monotonic, so only equal doubles may be in either order
+            if (value < approximateLimits[mid]) {
+                cmp = -1;
+            } else if (value > approximateLimits[mid]) {
+                cmp = 1;
+            } else {
+                if (exact == null) {
+                    exact = new BigDecimal(source);
+                }
+                cmp = exact.compareTo(limits[mid]);
+            }
+            if (cmp < 0) {
+                high = mid - 1;
+            } else if (cmp > 0) {
+                low = mid + 1;
+            } else {
+                return labels[2 * mid + 1];
+            }
+        }
+        return labels[2 * low];
+    }
+
+    /**
+     * @return a value inside the interval with the given index
+     */
+    private BigDecimal representative(int interval) {
+        int limit = interval / 2;
+        if (interval % 2 == 1) {
+            return limits[limit];
+        } else if (limits.length == 0) {
+            return BigDecimal.ZERO;
+        } else if (limit == 0) {
+            return limits[0].subtract(BigDecimal.ONE);
+        } else if (limit == limits.length) {
+            return limits[limit - 1].add(BigDecimal.ONE);
+        } else {
+            return limits[limit - 1].add(limits[limit]).multiply(HALF);
+        }
+    }
+
+    private static @Nullable String firstMatch(Map<Range, String> ranges, BigDecimal value) {
+        for (Map.Entry<Range, String> entry : ranges.entrySet()) {
+            if (entry.getKey().contains(value)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -187,4 +187,18 @@ public class ScaleTransformServiceTest {
         String source = "200";
         assertThrows(TransformationException.class, () -> processor.transform(existingscale, source));
     }
+
+    @Test
+    public void testValueCloseToLimit() throws TransformationException {
+        // the limits are closer than the precision of a double
+        String existingscale = "scale" + File.separator + "precision.scale";
+
+        assertEquals("below", processor.transform(existingscale, "0.09999999999999999999"));
+        assertEquals("between", processor.transform(existingscale, "0.1"));
+        assertEquals("between", processor.transform(existingscale, "1e-1"));
+        assertEquals("between", processor.transform(existingscale, "0.100000000000000000005"));
+        assertEquals("between", processor.transform(existingscale, "0.10000000000000000001"));
+        assertEquals("above", processor.transform(existingscale, "0.10000000000000000002"));
+        assertEquals("above", processor.transform(existingscale, "1E400"));
+    }
 }
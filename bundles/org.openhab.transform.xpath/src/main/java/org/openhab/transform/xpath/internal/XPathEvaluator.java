@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.xpath.internal;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * Evaluates XPath expressions against XML documents.
+ *
+ * <p>
+ * An evaluator keeps its {@link DocumentBuilder} and the compiled expressions it has evaluated, none of which are
+ * thread-safe. It must only be used by one thread at a time, the {@link XPathTransformationService} keeps a pool of
+ * them. Simple expressions on large documents are evaluated by a {@link XPathStreamingExpression}, which does not
+ * build the document tree.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+public class XPathEvaluator {
+
+    /**
+     * Documents with at least that many characters are streamed if the expression allows it.
+     */
+    static final int STREAMING_THRESHOLD = 64 * 1024;
+
+    private static final int MAX_CACHED_EXPRESSIONS = 64;
+
+    private final Logger logger = LoggerFactory.getLogger(XPathEvaluator.class);
+
+    private final DocumentBuilder builder;
+    private final XPath xpath = XPathFactory.newInstance().newXPath();
+    private final Map<String, XPathExpression> expressions = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<String, XPathExpression> eldest) {
+            return size() > MAX_CACHED_EXPRESSIONS;
+        }
+    };
+    private @Nullable XMLInputFactory inputFactory;
+
+    public XPathEvaluator() throws ParserConfigurationException {
+        DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
+        // see https://cheatsheetseries.owasp.org/cheatsheets/XML_External_Entity_Prevention_Cheat_Sheet.html
+        domFactory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+        domFactory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+        domFactory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+        domFactory.setXIncludeAware(false);
+        domFactory.setExpandEntityReferences(false);
+        domFactory.setNamespaceAware(true);
+        domFactory.setValidating(false);
+        builder = domFactory.newDocumentBuilder();
+    }
+
+    /**
+     * Evaluates the expression against the document and returns the result as string.
+     */
+    public String evaluate(String xpathExpression, String source)
+            throws XPathExpressionException, SAXException, IOException {
+        if (source.length() >= STREAMING_THRESHOLD) {
+            XPathStreamingExpression streamingExpression = XPathStreamingExpression.compile(xpathExpression);
+            if (streamingExpression != null) {
+                try {
+                    return streamingExpression.evaluate(getInputFactory(), source);
+                } catch (XMLStreamException e) {
+                    logger.debug("streaming '{}' failed, evaluating on the document tree: {}", xpathExpression,
+                            e.getMessage());
+                }
+            }
+        }
+
+        XPathExpression expr = expressions.get(xpathExpression);
+        if (expr == null) {
+            expr = xpath.compile(xpathExpression);
+            expressions.put(xpathExpression, expr);
+        }
+
+        try (StringReader stringReader = new StringReader(source)) {
+            InputSource inputSource = new InputSource(stringReader);
+            inputSource.setEncoding("UTF-8");
+
+            builder.reset();
+            Document doc = builder.parse(inputSource);
+
+            return (String) expr.evaluate(doc, XPathConstants.STRING);
+        }
+    }
+
+    private XMLInputFactory getInputFactory() {
+        XMLInputFactory factory = inputFactory;
+        if (factory == null) {
+            factory = XPathStreamingExpression.createInputFactory();
+            inputFactory = factory;
+        }
+        return factory;
+    }
+}
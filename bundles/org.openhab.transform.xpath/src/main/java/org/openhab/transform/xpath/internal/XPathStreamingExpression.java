@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.xpath.internal;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A simple XPath location path which is evaluated while streaming the document with StAX.
+ *
+ * <p>
+ * Supported are paths of element names without prefix, either absolute ({@code /a/b/c}) or starting anywhere in the
+ * document ({@code //b/c}), optionally followed by an attribute ({@code /@name}) or {@code /text()}. As with the
+ * {@code string()} function, the result is the string value of the first selected node in document order, or an empty
+ * string if no node is selected. Reading stops as soon as the result is known, so content after it is not checked for
+ * well-formedness.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+public final class XPathStreamingExpression {
+
+    private static final Pattern NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_.-]*");
+    private static final String TEXT = "text()";
+
+    private final boolean anywhere;
+    private final String[] elements;
+    private final @Nullable String attribute;
+    private final boolean text;
+
+    private XPathStreamingExpression(boolean anywhere, String[] elements, @Nullable String attribute, boolean text) {
+        this.anywhere = anywhere;
+        this.elements = elements;
+        this.attribute = attribute;
+        this.text = text;
+    }
+
+    /**
+     * Compiles an expression.
+     *
+     * @param expression the XPath expression
+     * @return the streaming expression, or <code>null</code> if the expression is not supported
+     */
+    public static @Nullable XPathStreamingExpression compile(String expression) {
+        boolean anywhere;
+        String path;
+        if (expression.startsWith("//")) {
+            anywhere = true;
+            path = expression.substring(2);
+        } else if (expression.startsWith("/")) {
+            anywhere = false;
+            path = expression.substring(1);
+        } else {
+            return null;
+        }
+
+        String[] steps = path.split("/", -1);
+        int elementCount = steps.length;
+        String attribute = null;
+        boolean text = false;
+        String last = steps[steps.length - 1];
+        if (last.startsWith("@") && NAME.matcher(last.substring(1)).matches()) {
+            attribute = last.substring(1);
+            elementCount--;
+        } else if (TEXT.equals(last)) {
+            text = true;
+            elementCount--;
+        }
+        if (elementCount == 0) {
+            return null;
+        }
+        for (int i = 0; i < elementCount; i++) {
+            if (!NAME.matcher(steps[i]).matches()) {
+                return null;
+            }
+        }
+
+        String[] elements = new String[elementCount];
+        System.arraycopy(steps, 0, elements, 0, elementCount);
+        return new XPathStreamingExpression(anywhere, elements, attribute, text);
+    }
+
+    /**
+     * Creates a factory for {@link #evaluate(XMLInputFactory, String)}. Documents with a DTD are rejected.
+     */
+    public static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    /**
+     * Evaluates the expression against the document.
+     *
+     * @param factory a factory created by {@link #createInputFactory()}
+     * @param source the document
+     * @return the string value of the first selected node
+     * @throws XMLStreamException if the document is not well-formed or contains a DTD or entity references
+     */
+    public String evaluate(XMLInputFactory factory, String source) throws XMLStreamException {
+        XMLStreamReader reader = factory.createXMLStreamReader(new StringReader(source));
+        try {
+            return evaluate(reader);
+        } finally {
+            reader.close();
+        }
+    }
+
+    private String evaluate(XMLStreamReader reader) throws XMLStreamException {
+        // local names of the open elements, "" for elements in a namespace
+        List<String> path = new ArrayList<>();
+        // whether the open elements are selected by the element steps
+        List<Boolean> selected = new ArrayList<>();
+
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    String namespace = reader.getNamespaceURI();
+                    path.add(namespace == null || namespace.isEmpty() ? reader.getLocalName() : "");
+                    boolean matches = matches(path);
+                    selected.add(matches);
+                    if (matches) {
+                        String attribute = this.attribute;
+                        if (attribute != null) {
+                            String value = getAttribute(reader, attribute);
+                            if (value != null) {
+                                return value;
+                            }
+                        } else if (!text) {
+                            return getStringValue(reader);
+                        }
+                    }
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    path.remove(path.size() - 1);
+                    selected.remove(selected.size() - 1);
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    if (text && !selected.isEmpty() && selected.get(selected.size() - 1)) {
+                        return reader.getText();
+                    }
+                    break;
+                case XMLStreamConstants.DTD:
+                case XMLStreamConstants.ENTITY_REFERENCE:
+                    throw new XMLStreamException("DTDs and entity references are not supported");
+                default:
+                    break;
+            }
+        }
+        return "";
+    }
+
+    private boolean matches(List<String> path) {
+        int offset = path.size() - elements.length;
+        if (offset < 0 || (!anywhere && offset != 0)) {
+            return false;
+        }
+        for (int i = 0; i < elements.length; i++) {
+            if (!elements[i].equals(path.get(offset + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads the current element and returns the text of all its descendants.
+     */
+    private static String getStringValue(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder value = new StringBuilder();
+        int depth = 1;
+        while (depth > 0) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    depth++;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    depth--;
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    value.append(reader.getText());
+                    break;
+                case XMLStreamConstants.ENTITY_REFERENCE:
+                    throw new XMLStreamException("entity references are not supported");
+                default:
+                    break;
+            }
+        }
+        return value.toString();
+    }
+
+    private static @Nullable String getAttribute(XMLStreamReader reader, String name) {
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String namespace = reader.getAttributeNamespace(i);
+            if ((namespace == null || namespace.isEmpty()) && name.equals(reader.getAttributeLocalName(i))) {
+                return reader.getAttributeValue(i);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.xpath.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Compares the results of {@link XPathStreamingExpression} with those of the document tree evaluation.
+ *
+ * @author Dan Cunningham - Initial contribution
+ */
+@NonNullByDefault
+public class XPathStreamingExpressionTest extends AbstractTransformationServiceTest {
+
+    private static final String MIXED = """
+            <?xml version="1.0"?><root xmlns:x="urn:x"><a id="1"><b>one<c>two</c>three</b></a>\
+            <a><b x:id="ns" id="2">four &amp; <![CDATA[<five>]]></b><x:b id="3">six</x:b></a>\
+            <a><a><b id="4"><!-- comment -->seven</b></a></a></root>\
+            """;
+
+    private final XMLInputFactory factory = XPathStreamingExpression.createInputFactory();
+
+    @ParameterizedTest
+    @ValueSource(strings = { "//current_conditions/temp_c/@data",
+            "/xml_api_reply/weather/forecast_information/city/@data", "//forecast_conditions/high/@data",
+            "//forecast_conditions", "/xml_api_reply/weather/missing/@data", "/weather/forecast_conditions/low/@data",
+            "//icon/@missing" })
+    public void testWeather(String expression) throws Exception {
+        assertSameResult(expression, source);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "/root/a/b", "/root/a/b/text()", "//b/@id", "//a/b/@id", "/root/a/b/@id", "//a/a/b",
+            "//a/a/b/text()", "//c", "/root", "//b/c/text()", "/root/a/@id" })
+    public void testMixedContent(String expression) throws Exception {
+        assertSameResult(expression, MIXED);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "temp_c", "/", "//", "/a//b", "/a/b[1]", "//x:b", "/a/b/", "/a/@b/c", "/a/node()",
+            "count(/a)", "/a | /b", "/text()" })
+    public void testUnsupportedExpression(String expression) {
+        assertNull(XPathStreamingExpression.compile(expression));
+    }
+
+    @Test
+    public void testDocumentWithDtdIsRejected() {
+        XPathStreamingExpression expression = XPathStreamingExpression.compile("/a");
+        assertNotNull(expression);
+        assertThrows(XMLStreamException.class,
+                () -> expression.evaluate(factory, "<!DOCTYPE a [<!ENTITY e \"x\">]><a>&e;</a>"));
+    }
+
+    private void assertSameResult(String xpath, String document) throws Exception {
+        XPathStreamingExpression expression = XPathStreamingExpression.compile(xpath);
+        assertNotNull(expression);
+        assertEquals(new XPathEvaluator().evaluate(xpath, document), expression.evaluate(factory, document), xpath);
+    }
+}
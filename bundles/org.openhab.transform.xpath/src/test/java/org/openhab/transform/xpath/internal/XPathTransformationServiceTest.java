@@ -38,4 +38,34 @@ public class XPathTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testLargeDocument() throws Exception {
+        StringBuilder document = new StringBuilder("<list>");
+        for (int i = 0; document.length() < XPathEvaluator.STREAMING_THRESHOLD; i++) {
+            document.append("<entry id=\"").append(i).append("\"><value>").append(i * 2).append("</value></entry>");
+        }
+        document.append("<last id=\"end\"/></list>");
+
+        assertEquals("0", processor.transform("/list/entry/@id", document.toString()));
+        assertEquals("end", processor.transform("//last/@id", document.toString()));
+        // not streamed
+        assertEquals("4", processor.transform("/list/entry[3]/value", document.toString()));
+    }
+
+    @Test
+    public void testRepeatedTransformation() throws TransformationException {
+        for (int i = 0; i < 3; i++) {
+            assertEquals("8", processor.transform("//current_conditions/temp_c/@data", source));
+            assertEquals("46", processor.transform("//current_conditions/temp_f/@data", source));
+        }
+    }
+
+    @Test
+    public void testInvalidInput() {
+        assertThrows(TransformationException.class, () -> processor.transform("//temp_c[", source));
+        assertThrows(TransformationException.class, () -> processor.transform("//temp_c", "<unclosed>"));
+        // the pooled evaluator is still usable
+        assertDoesNotThrow(() -> assertEquals("8", processor.transform("//current_conditions/temp_c/@data", source)));
+    }
 }
@@ -14,11 +14,13 @@ package org.openhab.transform.xslt.internal;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -54,4 +56,28 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testStylesheetIsCompiledOnce() throws Exception {
+        Path xsl = transformHttpPath.resolve("google_weather.xsl");
+        Files.copy(getClass().getResourceAsStream("google_weather.xsl"), xsl, StandardCopyOption.REPLACE_EXISTING);
+
+        assertSame(processor.getTemplates(xsl.toFile()), processor.getTemplates(xsl.toFile()));
+    }
+
+    @Test
+    public void testChangedStylesheetIsCompiledAgain() throws Exception {
+        Path xsl = transformHttpPath.resolve("changing.xsl");
+        Files.copy(getClass().getResourceAsStream("google_weather.xsl"), xsl, StandardCopyOption.REPLACE_EXISTING);
+        assertEquals("8", processor.transform("http/changing.xsl", source));
+
+        File file = xsl.toFile();
+        FileTime lastModified = Files.getLastModifiedTime(xsl);
+        Files.writeString(xsl, Files.readString(xsl).replace("temp_c/@data", "temp_f/@data"));
+        // the file system may not have a resolution finer than the time since the first write
+        Files.setLastModifiedTime(xsl, FileTime.fromMillis(lastModified.toMillis() + 2000));
+
+        assertEquals("46", processor.transform("http/changing.xsl", source));
+        assertSame(processor.getTemplates(file), processor.getTemplates(file));
+    }
 }